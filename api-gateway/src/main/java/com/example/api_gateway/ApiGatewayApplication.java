@@ -1,9 +1,14 @@
 package com.example.api_gateway;
 
+import com.example.api_gateway.aot.GatewayRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@ImportRuntimeHints(GatewayRuntimeHints.class)
 public class ApiGatewayApplication {
 
 	public static void main(String[] args) {
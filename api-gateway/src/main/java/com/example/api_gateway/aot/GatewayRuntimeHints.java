@@ -0,0 +1,64 @@
+package com.example.api_gateway.aot;
+
+import com.example.api_gateway.cache.TransactionSettledEvent;
+import com.example.api_gateway.faults.FaultSpec;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+import java.util.List;
+
+/**
+ * Reachability metadata the native image needs beyond what Spring AOT and the GraalVM
+ * metadata repository provide. jjwt's API module finds its implementation classes by name
+ * and its JSON support through {@link java.util.ServiceLoader}; neither is visible to static
+ * analysis, and jjwt-impl is only on the runtime classpath, so they are named here. The rate
+ * limiter's Lua script is read from the classpath at startup. Lettuce and Netty, used by the
+ * reactive Redis client, ship their own metadata.
+ */
+public class GatewayRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final List<String> JJWT_IMPLEMENTATIONS = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.impl.security.JwksBridge",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardCurves",
+            "io.jsonwebtoken.impl.security.DefaultDynamicJwkBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetBuilder",
+            "io.jsonwebtoken.impl.security.DefaultJwkSetParserBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationBuilder",
+            "io.jsonwebtoken.impl.security.DefaultKeyOperationPolicyBuilder",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (String type : JJWT_IMPLEMENTATIONS) {
+            hints.reflection().registerTypeIfPresent(classLoader, type,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.Serializer");
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.Deserializer");
+
+        hints.resources().registerPattern("scripts/token_bucket.lua");
+
+        // Rules are rendered as JSON by the faults actuator endpoint
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), FaultSpec.class);
+
+        // Read from RabbitMQ messages as JSON by the response cache invalidator
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                TransactionSettledEvent.class);
+    }
+}
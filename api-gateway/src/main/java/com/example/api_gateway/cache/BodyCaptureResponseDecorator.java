@@ -0,0 +1,69 @@
+package com.example.api_gateway.cache;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.util.function.Consumer;
+
+/**
+ * Copies the downstream body as it is written to the client, and hands it to
+ * {@code onCaptured} once complete. Buffers pass through unchanged; the copy is dropped as
+ * soon as the body outgrows {@code maximumBodyBytes}, so large responses are neither held in
+ * memory nor captured. Streaming responses ({@code writeAndFlushWith}) are passed through
+ * untouched and never captured.
+ */
+public class BodyCaptureResponseDecorator extends ServerHttpResponseDecorator {
+
+    private final int maximumBodyBytes;
+    private final Consumer<CachedResponse> onCaptured;
+
+    public BodyCaptureResponseDecorator(ServerHttpResponse delegate, int maximumBodyBytes,
+                                        Consumer<CachedResponse> onCaptured) {
+        super(delegate);
+        this.maximumBodyBytes = maximumBodyBytes;
+        this.onCaptured = onCaptured;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        Capture capture = new Capture();
+        Flux<? extends DataBuffer> copied = Flux.from(body)
+                .doOnNext(capture::append)
+                .doOnComplete(() -> {
+                    HttpStatusCode status = getStatusCode();
+                    if (status != null && capture.copy != null) {
+                        onCaptured.accept(CachedResponse.of(status, getHeaders(), capture.copy.toByteArray()));
+                    }
+                });
+        return super.writeWith(copied);
+    }
+
+    private final class Capture {
+
+        // Null once the body has outgrown the limit
+        private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+        void append(DataBuffer buffer) {
+            if (copy == null) {
+                return;
+            }
+            int count = buffer.readableByteCount();
+            if (copy.size() + count > maximumBodyBytes) {
+                copy = null;
+                return;
+            }
+            // Read a copy and rewind, leaving the buffer for the client
+            byte[] bytes = new byte[count];
+            int position = buffer.readPosition();
+            buffer.read(bytes);
+            buffer.readPosition(position);
+            copy.write(bytes, 0, count);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.api_gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * A fully buffered downstream response that can be replayed to other clients. Only the
+ * {@link #REPLAYED_HEADERS headers that describe the body itself} are kept; per-exchange
+ * headers such as {@code Set-Cookie} or {@code Date} are never replayed.
+ */
+public record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+
+    public static final List<String> REPLAYED_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE,
+            HttpHeaders.CONTENT_ENCODING,
+            HttpHeaders.CONTENT_LANGUAGE,
+            HttpHeaders.CONTENT_DISPOSITION,
+            HttpHeaders.CACHE_CONTROL,
+            HttpHeaders.EXPIRES,
+            HttpHeaders.ETAG,
+            HttpHeaders.LAST_MODIFIED,
+            HttpHeaders.VARY);
+
+    /**
+     * Keeps the replayable subset of {@code upstreamHeaders}.
+     */
+    public static CachedResponse of(HttpStatusCode status, HttpHeaders upstreamHeaders, byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        for (String name : REPLAYED_HEADERS) {
+            List<String> values = upstreamHeaders.get(name);
+            if (values != null) {
+                headers.put(name, List.copyOf(values));
+            }
+        }
+        return new CachedResponse(status, HttpHeaders.readOnlyHttpHeaders(headers), body);
+    }
+
+    public MediaType contentType() {
+        return headers.getContentType();
+    }
+}
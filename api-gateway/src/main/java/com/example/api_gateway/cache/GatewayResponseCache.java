@@ -0,0 +1,113 @@
+package com.example.api_gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user store of buffered GET responses. Every key carries the user's current
+ * generation; {@link #invalidateUser(String)} moves the user to a new generation so
+ * older entries become unreachable immediately and simply age out. A response that was
+ * fetched before an invalidation is stored under the old generation and is never served.
+ * <p>
+ * Entries are weighed by body size, so the cache holds at most {@code maximum-total-size}
+ * bytes of bodies however large the individual responses are.
+ */
+@Component
+public class GatewayResponseCache {
+
+    public static final String CACHE_NAME = "gateway.responses";
+
+    // Charged on top of the body for the key, headers and bookkeeping, so empty bodies are not free
+    static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    @Autowired
+    private ResponseCacheProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AtomicLong generationSequence = new AtomicLong();
+
+    private Cache<String, Long> generations;
+
+    private Cache<Key, Entry> responses;
+
+    private Counter invalidations;
+
+    @PostConstruct
+    public void init() {
+        // A forgotten user restarts at a fresh sequence value, never at one an old entry may still carry.
+        generations = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .build();
+        responses = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumTotalSize().toBytes())
+                .weigher((Key key, Entry entry) -> ENTRY_OVERHEAD_BYTES + entry.response().body().length)
+                .expireAfter(new EntryExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, CACHE_NAME);
+        invalidations = meterRegistry.counter("gateway.response-cache.invalidations");
+    }
+
+    /**
+     * Builds the lookup key for a request, pinned to the user's current generation.
+     */
+    public Key keyFor(String route, String userId, String pathAndQuery) {
+        long generation = generations.get(userId, id -> generationSequence.incrementAndGet());
+        return new Key(route, userId, generation, pathAndQuery);
+    }
+
+    public CachedResponse get(Key key) {
+        Entry entry = responses.getIfPresent(key);
+        return entry != null ? entry.response() : null;
+    }
+
+    public void put(Key key, CachedResponse response, Duration ttl) {
+        responses.put(key, new Entry(response, ttl));
+    }
+
+    public void invalidateUser(String userId) {
+        generations.put(userId, generationSequence.incrementAndGet());
+        invalidations.increment();
+    }
+
+    long weightedSize() {
+        responses.cleanUp();
+        return responses.policy().eviction().orElseThrow().weightedSize().orElse(0);
+    }
+
+    public record Key(String route, String userId, long generation, String pathAndQuery) {
+    }
+
+    private record Entry(CachedResponse response, Duration ttl) {
+    }
+
+    private static final class EntryExpiry implements Expiry<Key, Entry> {
+
+        @Override
+        public long expireAfterCreate(Key key, Entry entry, long currentTime) {
+            return entry.ttl().toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, Entry entry, long currentTime, long currentDuration) {
+            return entry.ttl().toNanos();
+        }
+
+        @Override
+        public long expireAfterRead(Key key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
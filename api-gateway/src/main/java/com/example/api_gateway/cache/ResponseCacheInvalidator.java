@@ -0,0 +1,108 @@
+package com.example.api_gateway.cache;
+
+import com.example.api_gateway.util.RateLimitedLogger;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Keeps the {@link GatewayResponseCache} of every gateway replica in step with writes.
+ * <ul>
+ *     <li>A write seen by this replica drops the user's entries here and is announced on
+ *     a Redis channel that all replicas listen to.</li>
+ *     <li>Balances and statuses that the services change asynchronously after
+ *     {@code /transactions/verify-otp} arrive as {@code transaction.settled} events, which
+ *     every replica receives on its own queue.</li>
+ * </ul>
+ * Both channels are best effort; entries that miss an invalidation still expire with their TTL.
+ */
+@Component
+public class ResponseCacheInvalidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResponseCacheInvalidator.class);
+
+    public static final String CHANNEL = "gateway:response-cache:invalidations";
+
+    private static final RateLimitedLogger broadcastFailures =
+            new RateLimitedLogger(logger, Duration.ofSeconds(10));
+
+    // Lets a replica skip its own announcements, which it has already applied
+    private final String replicaId = UUID.randomUUID().toString();
+
+    @Autowired
+    private GatewayResponseCache responseCache;
+
+    @Autowired
+    private ResponseCacheProperties properties;
+
+    @Autowired
+    private ReactiveStringRedisTemplate redisTemplate;
+
+    private Disposable subscription;
+
+    @PostConstruct
+    public void init() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        // Subscribing connects to Redis synchronously, so keep that off the startup thread and retry it
+        subscription = Flux.defer(() -> redisTemplate.listenToChannel(CHANNEL))
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnNext(message -> onAnnouncement(message.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> broadcastFailures.warn(
+                                "Not listening for response cache invalidations: {}",
+                                signal.failure().getMessage())))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * Drops the user's entries on this replica immediately and completes once the other
+     * replicas have been told, or after {@code broadcast-timeout} if Redis is slow or down.
+     */
+    public Mono<Void> invalidateUser(String userId) {
+        responseCache.invalidateUser(userId);
+        return redisTemplate.convertAndSend(CHANNEL, replicaId + ":" + userId)
+                .timeout(properties.getBroadcastTimeout())
+                .doOnError(e -> broadcastFailures.warn(
+                        "Response cache invalidation not broadcast to other replicas: {}", e.toString()))
+                .onErrorResume(e -> Mono.empty())
+                .then();
+    }
+
+    @RabbitListener(queues = "#{responseCacheInvalidationQueue.name}")
+    public void handleTransactionSettled(TransactionSettledEvent event) {
+        for (UUID userId : event.getUserIds()) {
+            responseCache.invalidateUser(userId.toString());
+        }
+    }
+
+    void onAnnouncement(String message) {
+        int separator = message.indexOf(':');
+        if (separator < 0 || message.substring(0, separator).equals(replicaId)) {
+            return;
+        }
+        responseCache.invalidateUser(message.substring(separator + 1));
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.api_gateway.cache;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Gives every gateway replica its own auto-deleted queue on transaction-service's
+ * {@code transaction.events} exchange, so each one hears about every settled transaction.
+ */
+@Configuration
+public class ResponseCacheMessagingConfig {
+
+    public static final String TRANSACTION_EVENTS_EXCHANGE = "transaction.events";
+    public static final String TRANSACTION_SETTLED_ROUTING_KEY = "transaction.settled";
+
+    @Bean
+    public TopicExchange transactionEventsExchange() {
+        return new TopicExchange(TRANSACTION_EVENTS_EXCHANGE, true, false);
+    }
+
+    @Bean
+    public Queue responseCacheInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding responseCacheInvalidationBinding() {
+        return BindingBuilder.bind(responseCacheInvalidationQueue())
+                .to(transactionEventsExchange())
+                .with(TRANSACTION_SETTLED_ROUTING_KEY);
+    }
+
+    @Bean
+    public MessageConverter messageConverter() {
+        Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
+        // The publisher's type id names one of its own classes; read the listener's parameter type instead
+        converter.setAlwaysConvertToInferredType(true);
+        return converter;
+    }
+}
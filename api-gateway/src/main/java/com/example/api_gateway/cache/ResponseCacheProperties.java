@@ -0,0 +1,125 @@
+package com.example.api_gateway.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cacheable read paths and the write paths that invalidate them, e.g.
+ * {@code gateway.response-cache.routes.wallets.path=/wallets}. Cached entries are always
+ * scoped to the authenticated user.
+ */
+@ConfigurationProperties(prefix = "gateway.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    /** Upper bound on the number of users whose cache generation is remembered. */
+    private long maximumSize = 10_000;
+
+    /** Upper bound on the summed size of cached bodies across all users. */
+    private DataSize maximumTotalSize = DataSize.ofMegabytes(64);
+
+    /** Responses with a larger body are passed through without being cached. */
+    private DataSize maximumBodySize = DataSize.ofKilobytes(256);
+
+    private Map<String, CachedRoute> routes = new LinkedHashMap<>();
+
+    /** Successful non-GET requests on these paths drop the caller's cached responses. */
+    private List<String> invalidatePaths = new ArrayList<>();
+
+    /** How long a write waits to tell the other gateway replicas before it is answered anyway. */
+    private Duration broadcastTimeout = Duration.ofMillis(100);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public DataSize getMaximumTotalSize() {
+        return maximumTotalSize;
+    }
+
+    public void setMaximumTotalSize(DataSize maximumTotalSize) {
+        this.maximumTotalSize = maximumTotalSize;
+    }
+
+    public DataSize getMaximumBodySize() {
+        return maximumBodySize;
+    }
+
+    public void setMaximumBodySize(DataSize maximumBodySize) {
+        this.maximumBodySize = maximumBodySize;
+    }
+
+    public Map<String, CachedRoute> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, CachedRoute> routes) {
+        this.routes = routes;
+    }
+
+    public List<String> getInvalidatePaths() {
+        return invalidatePaths;
+    }
+
+    public void setInvalidatePaths(List<String> invalidatePaths) {
+        this.invalidatePaths = invalidatePaths;
+    }
+
+    public Duration getBroadcastTimeout() {
+        return broadcastTimeout;
+    }
+
+    public void setBroadcastTimeout(Duration broadcastTimeout) {
+        this.broadcastTimeout = broadcastTimeout;
+    }
+
+    public static class CachedRoute {
+
+        private String path;
+
+        private Duration ttl = Duration.ofSeconds(5);
+
+        public CachedRoute() {
+        }
+
+        public CachedRoute(String path, Duration ttl) {
+            this.path = path;
+            this.ttl = ttl;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.api_gateway.cache;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * transaction-service's announcement that a transaction reached its final status. The
+ * balances it moved are committed by then, so the listed users' cached responses are stale.
+ */
+public class TransactionSettledEvent {
+
+    private UUID transactionId;
+
+    private String status;
+
+    private List<UUID> userIds = List.of();
+
+    private Long timestamp;
+
+    public UUID getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(UUID transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public List<UUID> getUserIds() {
+        return userIds;
+    }
+
+    public void setUserIds(List<UUID> userIds) {
+        this.userIds = userIds != null ? userIds : List.of();
+    }
+
+    public Long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(Long timestamp) {
+        this.timestamp = timestamp;
+    }
+}
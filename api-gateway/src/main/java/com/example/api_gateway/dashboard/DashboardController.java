@@ -0,0 +1,54 @@
+package com.example.api_gateway.dashboard;
+
+import com.example.api_gateway.filter.AuthenticationFilter;
+import com.example.api_gateway.filter.DeadlineFilter;
+import com.example.api_gateway.filter.GatewayErrorResponses;
+import com.example.api_gateway.util.VerifiedClaims;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Target of the {@code /me/dashboard} route, which forwards here after the gateway's global
+ * filters (authentication, rate limiting, shedding) have run. Requests reaching this path
+ * directly carry no verified claims and are rejected.
+ */
+@RestController
+public class DashboardController {
+
+    public static final String PATH = "/internal/dashboard";
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @GetMapping(PATH)
+    public Mono<Void> dashboard(ServerWebExchange exchange) {
+        VerifiedClaims claims = exchange.getAttribute(AuthenticationFilter.CLAIMS_ATTR);
+        if (claims == null || claims.userId() == null) {
+            return GatewayErrorResponses.write(exchange, HttpStatus.UNAUTHORIZED, "Authentication required");
+        }
+
+        String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        Long deadline = exchange.getAttribute(DeadlineFilter.DEADLINE_ATTR);
+        return dashboardService.dashboard(claims, authorization, deadline)
+                .flatMap(document -> write(exchange.getResponse(), document))
+                .onErrorResume(DashboardUnavailableException.class, e -> GatewayErrorResponses.write(
+                        exchange, HttpStatus.BAD_GATEWAY, "Dashboard data is unavailable"));
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, ObjectNode document) {
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        byte[] body = document.toString().getBytes(StandardCharsets.UTF_8);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+}
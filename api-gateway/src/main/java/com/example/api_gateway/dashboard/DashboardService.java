@@ -0,0 +1,173 @@
+package com.example.api_gateway.dashboard;
+
+import com.example.api_gateway.filter.DeadlineFilter;
+import com.example.api_gateway.filter.LoadBalancingFilter;
+import com.example.api_gateway.loadbalancer.InstanceBalancer;
+import com.example.api_gateway.loadbalancer.ServiceInstance;
+import com.example.api_gateway.util.VerifiedClaims;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.route.RouteLocator;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Builds the home screen document by calling user-service, wallet-service and
+ * transaction-service in parallel. Each leg has its own timeout; a failed leg is reported
+ * under {@code errors} and its section is {@code null}, so the client still gets the rest.
+ */
+@Service
+public class DashboardService {
+
+    static final String USER_LEG = "user";
+    static final String WALLETS_LEG = "wallets";
+    static final String TRANSACTIONS_LEG = "transactions";
+
+    @Autowired
+    private WebClient.Builder webClientBuilder;
+
+    @Autowired
+    private RouteLocator routeLocator;
+
+    @Autowired
+    private InstanceBalancer instanceBalancer;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${gateway.dashboard.leg-timeout:2s}")
+    private Duration legTimeout;
+
+    @Value("${gateway.dashboard.transactions-page-size:10}")
+    private int transactionsPageSize;
+
+    @Value("${gateway.dashboard.user-route:user-service}")
+    private String userRoute;
+
+    @Value("${gateway.dashboard.wallet-route:wallet-service}")
+    private String walletRoute;
+
+    @Value("${gateway.dashboard.transaction-route:transaction-service}")
+    private String transactionRoute;
+
+    private WebClient webClient;
+
+    @PostConstruct
+    public void init() {
+        webClient = webClientBuilder.build();
+    }
+
+    /**
+     * Returns the merged document. Each leg is bounded by the leg timeout and by the request
+     * deadline (epoch milliseconds, may be null), whose remaining time is passed on to the backends.
+     *
+     * @throws DashboardUnavailableException (as an error signal) if every leg failed
+     */
+    public Mono<ObjectNode> dashboard(VerifiedClaims claims, String authorization, Long deadline) {
+        Duration timeout = legTimeout;
+        if (deadline != null) {
+            Duration remaining = Duration.ofMillis(Math.max(0, deadline - System.currentTimeMillis()));
+            timeout = remaining.compareTo(legTimeout) < 0 ? remaining : legTimeout;
+        }
+        Mono<LegResult> user = leg(USER_LEG, userRoute, "/users/" + claims.userId(),
+                claims, authorization, deadline, timeout);
+        Mono<LegResult> wallets = leg(WALLETS_LEG, walletRoute, "/wallets/with-balance",
+                claims, authorization, deadline, timeout);
+        Mono<LegResult> transactions = leg(TRANSACTIONS_LEG, transactionRoute,
+                "/transactions?page=0&size=" + transactionsPageSize, claims, authorization, deadline, timeout);
+
+        return Mono.zip(user, wallets, transactions)
+                .flatMap(results -> {
+                    List<LegResult> legs = List.of(results.getT1(), results.getT2(), results.getT3());
+                    ObjectNode document = objectMapper.createObjectNode();
+                    ObjectNode errors = objectMapper.createObjectNode();
+                    for (LegResult leg : legs) {
+                        document.set(leg.name(), leg.body());
+                        if (leg.error() != null) {
+                            errors.put(leg.name(), leg.error());
+                        }
+                    }
+                    if (errors.size() == legs.size()) {
+                        return Mono.error(new DashboardUnavailableException(errors.toString()));
+                    }
+                    if (!errors.isEmpty()) {
+                        document.set("errors", errors);
+                    }
+                    return Mono.just(document);
+                });
+    }
+
+    private Mono<LegResult> leg(String name, String routeId, String pathAndQuery, VerifiedClaims claims,
+                                String authorization, Long deadline, Duration timeout) {
+        return routeLocator.getRoutes()
+                .filter(route -> routeId.equals(route.getId()))
+                .next()
+                .switchIfEmpty(Mono.error(new IllegalStateException("No route with id " + routeId)))
+                .flatMap(route -> call(route, pathAndQuery, claims, authorization, deadline))
+                .timeout(timeout)
+                .map(body -> new LegResult(name, body, null))
+                .onErrorResume(e -> Mono.just(new LegResult(name, null, describe(e))));
+    }
+
+    private Mono<JsonNode> call(Route route, String pathAndQuery, VerifiedClaims claims,
+                                String authorization, Long deadline) {
+        Object instances = route.getMetadata().get(LoadBalancingFilter.INSTANCES_METADATA_KEY);
+        ServiceInstance instance = instances != null
+                ? instanceBalancer.choose(route.getId(), LoadBalancingFilter.parseInstances(instances))
+                : null;
+        URI base = instance != null ? instance.getUri() : route.getUri();
+        URI uri = URI.create(base.getScheme() + "://" + base.getRawAuthority() + pathAndQuery);
+
+        Mono<JsonNode> request = webClient.get()
+                .uri(uri)
+                .headers(headers -> {
+                    if (authorization != null) {
+                        headers.set(HttpHeaders.AUTHORIZATION, authorization);
+                    }
+                    headers.set("X-User-Id", claims.userId());
+                    headers.set("X-User-Email", claims.email());
+                    headers.set("X-User-Role", claims.role() != null ? claims.role() : "USER");
+                    if (deadline != null) {
+                        long budget = Math.max(0, deadline - System.currentTimeMillis());
+                        headers.set(DeadlineFilter.HEADER, Long.toString(budget));
+                    }
+                })
+                .retrieve()
+                .bodyToMono(JsonNode.class);
+        if (instance == null) {
+            return request;
+        }
+        instanceBalancer.onStart(instance);
+        return request
+                .doOnSuccess(body -> instanceBalancer.onComplete(route.getId(), instance, false))
+                .doOnError(e -> instanceBalancer.onComplete(route.getId(), instance,
+                        !(e instanceof WebClientResponseException ex) || ex.getStatusCode().is5xxServerError()))
+                .doOnCancel(() -> instanceBalancer.onComplete(route.getId(), instance, false));
+    }
+
+    private static String describe(Throwable e) {
+        if (e instanceof TimeoutException) {
+            return "timeout";
+        }
+        if (e instanceof WebClientResponseException responseException) {
+            return "status " + responseException.getStatusCode().value();
+        }
+        return "unavailable";
+    }
+
+    private record LegResult(String name, JsonNode body, String error) {
+    }
+}
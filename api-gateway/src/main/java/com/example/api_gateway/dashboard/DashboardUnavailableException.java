@@ -0,0 +1,11 @@
+package com.example.api_gateway.dashboard;
+
+/**
+ * Raised when none of the dashboard's downstream calls succeeded.
+ */
+public class DashboardUnavailableException extends RuntimeException {
+
+    public DashboardUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.api_gateway.faults;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/faults}: read the current faults, switch injection on or off
+ * ({@code POST {"enabled": true}}), and set or clear a route's faults
+ * ({@code POST /actuator/faults/wallet-service {"spec": "delay=200ms,error=0.1"}},
+ * {@code DELETE /actuator/faults/wallet-service}).
+ */
+@Component
+@Endpoint(id = "faults")
+public class FaultInjectionEndpoint {
+
+    private final FaultInjectionProperties properties;
+
+    public FaultInjectionEndpoint(FaultInjectionProperties properties) {
+        this.properties = properties;
+    }
+
+    @ReadOperation
+    public Map<String, Object> faults() {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("enabled", properties.isEnabled());
+        state.put("header", properties.getHeader());
+        state.put("routes", properties.getRoutes());
+        return state;
+    }
+
+    @WriteOperation
+    public Map<String, Object> setEnabled(boolean enabled) {
+        properties.setEnabled(enabled);
+        return faults();
+    }
+
+    @WriteOperation
+    public Map<String, Object> setRoute(@Selector String route, String spec) {
+        properties.getRoutes().put(route, FaultSpec.parse(spec));
+        return faults();
+    }
+
+    @DeleteOperation
+    public Map<String, Object> clearRoute(@Selector String route) {
+        properties.getRoutes().remove(route);
+        return faults();
+    }
+}
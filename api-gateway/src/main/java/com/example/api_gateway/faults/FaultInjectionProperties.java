@@ -0,0 +1,47 @@
+package com.example.api_gateway.faults;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fault injection for load testing, off by default. Faults come from
+ * {@code gateway.faults.routes.<route-id>} or, per request, from the clause addressed to
+ * {@code api-gateway} in the {@code header}. Both can be changed at runtime through the
+ * {@code faults} actuator endpoint.
+ */
+@ConfigurationProperties(prefix = "gateway.faults")
+public class FaultInjectionProperties {
+
+    private volatile boolean enabled = false;
+
+    /** Request header carrying per-request faults, see {@link FaultSpec#forTarget}. */
+    private String header = "X-Fault-Inject";
+
+    private Map<String, FaultSpec> routes = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getHeader() {
+        return header;
+    }
+
+    public void setHeader(String header) {
+        this.header = header;
+    }
+
+    public Map<String, FaultSpec> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, FaultSpec> routes) {
+        this.routes = new ConcurrentHashMap<>(routes);
+    }
+}
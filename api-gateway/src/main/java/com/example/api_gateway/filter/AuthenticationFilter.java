@@ -1,6 +1,8 @@
 package com.example.api_gateway.filter;
 
-import com.example.api_gateway.util.JwtUtil;
+import com.example.api_gateway.util.JwtClaimsCache;
+import com.example.api_gateway.util.VerifiedClaims;
+import io.jsonwebtoken.JwtException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
@@ -8,7 +10,6 @@ import org.springframework.cloud.gateway.filter.GlobalFilter;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
-import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
@@ -20,10 +21,23 @@ import java.util.List;
 @Component
 public class AuthenticationFilter implements GlobalFilter, Ordered {
 
+    /** Exchange attribute holding the {@link VerifiedClaims} of an authenticated request. */
+    public static final String CLAIMS_ATTR = AuthenticationFilter.class.getName() + ".claims";
+
+    /** Exchange attribute holding one of the {@code OUTCOME_*} values, used to tag request metrics. */
+    public static final String AUTH_OUTCOME_ATTR = AuthenticationFilter.class.getName() + ".outcome";
+
+    public static final String OUTCOME_AUTHENTICATED = "authenticated";
+    public static final String OUTCOME_EXCLUDED = "excluded";
+    public static final String OUTCOME_MISSING_TOKEN = "missing_token";
+    public static final String OUTCOME_INVALID_TOKEN = "invalid_token";
+
+    public static final int ORDER = -1;
+
     @Autowired
-    private JwtUtil jwtUtil;
+    private JwtClaimsCache jwtClaimsCache;
 
-    @Value("${gateway.auth.excluded-paths:/auth/signup,/auth/login,/actuator}")
+    @Value("${gateway.auth.excluded-paths:/auth/signup,/auth/login,/auth/refresh,/auth/logout,/actuator}")
     private String excludedPathsString;
 
     private List<String> excludedPaths;
@@ -39,54 +53,51 @@ public class AuthenticationFilter implements GlobalFilter, Ordered {
         String path = request.getURI().getPath();
 
         if (isExcludedPath(path)) {
+            exchange.getAttributes().put(AUTH_OUTCOME_ATTR, OUTCOME_EXCLUDED);
             return chain.filter(exchange);
         }
 
         String authHeader = request.getHeaders().getFirst("Authorization");
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            exchange.getAttributes().put(AUTH_OUTCOME_ATTR, OUTCOME_MISSING_TOKEN);
             return onError(exchange, "Missing or invalid Authorization header", HttpStatus.UNAUTHORIZED);
         }
         String token = authHeader.substring(7);
 
-        if (!jwtUtil.validateToken(token)) {
+        VerifiedClaims claims;
+        try {
+            claims = jwtClaimsCache.verify(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            exchange.getAttributes().put(AUTH_OUTCOME_ATTR, OUTCOME_INVALID_TOKEN);
             return onError(exchange, "Invalid or expired JWT token", HttpStatus.UNAUTHORIZED);
         }
+        exchange.getAttributes().put(CLAIMS_ATTR, claims);
+        exchange.getAttributes().put(AUTH_OUTCOME_ATTR, OUTCOME_AUTHENTICATED);
 
-        try {
-            String email = jwtUtil.getEmailFromToken(token);
-            String userId = jwtUtil.getUserIdFromToken(token);
-            String role = jwtUtil.getRoleFromToken(token);
-            
-            ServerHttpRequest modifiedRequest = request.mutate()
-                    .header("X-User-Email", email)
-                    .header("X-User-Id", userId)
-                    .header("X-User-Role", role != null ? role : "USER")
-                    .build();
-
-            return chain.filter(exchange.mutate().request(modifiedRequest).build());
-        } catch (Exception e) {
-            return onError(exchange, "Error processing JWT token: " + e.getMessage(), HttpStatus.UNAUTHORIZED);
-        }
+        ServerHttpRequest modifiedRequest = request.mutate()
+                .header("X-User-Email", claims.email())
+                .header("X-User-Id", claims.userId())
+                .header("X-User-Role", claims.role() != null ? claims.role() : "USER")
+                .build();
+
+        return chain.filter(exchange.mutate().request(modifiedRequest).build());
     }
 
     private boolean isExcludedPath(String path) {
-        return excludedPaths.stream().anyMatch(path::startsWith);
+        for (String excluded : excludedPaths) {
+            if (path.startsWith(excluded)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private Mono<Void> onError(ServerWebExchange exchange, String message, HttpStatus status) {
-        ServerHttpResponse response = exchange.getResponse();
-        response.setStatusCode(status);
-        response.getHeaders().add("Content-Type", "application/json");
-
-        String errorBody = String.format("{\"error\": \"%s\", \"status\": %d, \"message\": \"%s\"}",
-                status.getReasonPhrase(), status.value(), message);
-
-        return response.writeWith(
-                Mono.just(response.bufferFactory().wrap(errorBody.getBytes())));
+        return GatewayErrorResponses.write(exchange, status, message);
     }
 
     @Override
     public int getOrder() {
-        return -1;
+        return ORDER;
     }
 }
@@ -0,0 +1,95 @@
+package com.example.api_gateway.filter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Gives every request a deadline, {@code gateway.deadline.default-timeout} from arrival or the
+ * route's {@code metadata.deadline}; a client may ask for less time in {@value #HEADER} but
+ * never more. {@link DeadlineHeadersFilter} passes the time left on to the services, each of
+ * which bounds its own calls by it. The gateway answers 504 itself once the deadline passes.
+ */
+@Component
+public class DeadlineFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = RequestTimingFilter.ORDER + 1;
+
+    /** Time left in milliseconds; relative, so it means the same on hosts whose clocks disagree. */
+    public static final String HEADER = "X-Request-Budget-Ms";
+
+    /** Exchange attribute holding the deadline as epoch milliseconds of the gateway's clock. */
+    public static final String DEADLINE_ATTR = DeadlineFilter.class.getName() + ".deadline";
+
+    /** Exchange attribute set when the route allows longer than the default timeout. */
+    public static final String EXTENDED_DEADLINE_ATTR = DeadlineFilter.class.getName() + ".extended";
+
+    public static final String DEADLINE_METADATA_KEY = "deadline";
+
+    @Value("${gateway.deadline.default-timeout:10s}")
+    private Duration defaultTimeout;
+
+    private Clock clock = Clock.systemUTC();
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long now = clock.millis();
+        Duration timeout = timeout(exchange);
+        long deadline = now + timeout.toMillis();
+        Long requested = parse(exchange.getRequest().getHeaders().getFirst(HEADER));
+        if (requested != null && now + requested < deadline) {
+            deadline = now + requested;
+        }
+        if (deadline <= now) {
+            return GatewayErrorResponses.write(exchange, HttpStatus.GATEWAY_TIMEOUT, "Request deadline exceeded");
+        }
+
+        exchange.getAttributes().put(DEADLINE_ATTR, deadline);
+        if (timeout.compareTo(defaultTimeout) > 0) {
+            exchange.getAttributes().put(EXTENDED_DEADLINE_ATTR, Boolean.TRUE);
+        }
+        return chain.filter(exchange)
+                .timeout(Duration.ofMillis(deadline - now), Mono.defer(() -> exchange.getResponse().isCommitted()
+                        ? Mono.empty()
+                        : GatewayErrorResponses.write(exchange, HttpStatus.GATEWAY_TIMEOUT, "Request deadline exceeded")));
+    }
+
+    private Duration timeout(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        Object configured = route != null ? route.getMetadata().get(DEADLINE_METADATA_KEY) : null;
+        if (configured instanceof Number millis) {
+            return Duration.ofMillis(millis.longValue());
+        }
+        if (configured != null) {
+            return DurationStyle.detectAndParse(configured.toString().trim());
+        }
+        return defaultTimeout;
+    }
+
+    static Long parse(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.api_gateway.filter;
+
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.Clock;
+
+/**
+ * Sets {@value DeadlineFilter#HEADER} on every proxied request to the time left before the
+ * request's deadline. Header filters run as the request is sent, so time spent in the gateway,
+ * and a hedge's delay, are already taken off.
+ */
+@Component
+public class DeadlineHeadersFilter implements HttpHeadersFilter {
+
+    private Clock clock = Clock.systemUTC();
+
+    @Override
+    public HttpHeaders filter(HttpHeaders input, ServerWebExchange exchange) {
+        Long deadline = exchange.getAttribute(DeadlineFilter.DEADLINE_ATTR);
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(input);
+        if (deadline == null) {
+            headers.remove(DeadlineFilter.HEADER);
+        } else {
+            headers.set(DeadlineFilter.HEADER, Long.toString(Math.max(0, deadline - clock.millis())));
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.api_gateway.filter;
+
+import com.example.api_gateway.protection.DownstreamProtectionProperties;
+import com.example.api_gateway.protection.RouteProtection;
+import com.netflix.concurrency.limits.Limiter;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fails fast with 503 when a route's circuit breaker is open or its adaptive concurrency
+ * limit is reached, instead of letting requests queue up on a slow downstream service.
+ * Runs after the response cache and request coalescing, so only real upstream calls
+ * take a slot.
+ */
+@Component
+public class DownstreamProtectionFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = RequestCoalescingFilter.ORDER + 1;
+
+    @Autowired
+    private RouteProtection routeProtection;
+
+    @Autowired
+    private DownstreamProtectionProperties properties;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || route == null) {
+            return chain.filter(exchange);
+        }
+        String routeId = route.getId();
+
+        CircuitBreaker circuitBreaker = routeProtection.circuitBreaker(routeId);
+        if (!circuitBreaker.tryAcquirePermission()) {
+            routeProtection.recordRejection(routeId, "circuit_open");
+            long retryAfter = properties.getCircuitBreaker().getWaitDurationInOpenState().toSeconds();
+            return reject(exchange, Math.max(1, retryAfter), "Service temporarily unavailable");
+        }
+
+        Optional<Limiter.Listener> slot = routeProtection.acquire(routeId);
+        if (slot.isEmpty()) {
+            circuitBreaker.releasePermission();
+            routeProtection.recordRejection(routeId, "concurrency_limit");
+            return reject(exchange, 1, "Too many concurrent requests");
+        }
+        Limiter.Listener listener = slot.get();
+
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doOnSuccess(ignored -> {
+                    long elapsed = System.nanoTime() - start;
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    listener.onSuccess();
+                    if (status != null && status.is5xxServerError()) {
+                        circuitBreaker.onError(elapsed, TimeUnit.NANOSECONDS,
+                                new DownstreamServerErrorException(routeId, status));
+                    } else {
+                        circuitBreaker.onSuccess(elapsed, TimeUnit.NANOSECONDS);
+                    }
+                })
+                .doOnError(e -> {
+                    // Connection failures and timeouts are the overload signal the limit reacts to.
+                    listener.onDropped();
+                    circuitBreaker.onError(System.nanoTime() - start, TimeUnit.NANOSECONDS, e);
+                })
+                .doOnCancel(() -> {
+                    listener.onIgnore();
+                    circuitBreaker.releasePermission();
+                });
+    }
+
+    private static Mono<Void> reject(ServerWebExchange exchange, long retryAfterSeconds, String message) {
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return GatewayErrorResponses.write(exchange, HttpStatus.SERVICE_UNAVAILABLE, message);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    /** Records a downstream 5xx response as a failed call for the circuit breaker. */
+    static final class DownstreamServerErrorException extends RuntimeException {
+
+        DownstreamServerErrorException(String routeId, HttpStatusCode status) {
+            super("Route " + routeId + " responded with " + status.value(), null, false, false);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.api_gateway.filter;
+
+import com.example.api_gateway.faults.FaultInjectionProperties;
+import com.example.api_gateway.faults.FaultSpec;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Injects latency, errors and connection aborts in front of a route, for reproducing slow
+ * or failing dependencies under load. Runs just inside {@link DownstreamProtectionFilter}
+ * so injected faults count against the route's circuit breaker and concurrency limit like
+ * real ones would. Does nothing unless {@code gateway.faults.enabled} is on.
+ */
+@Component
+public class FaultInjectionFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = DownstreamProtectionFilter.ORDER + 1;
+
+    static final String ERROR_MESSAGE = "Fault injected";
+
+    @Autowired
+    private FaultInjectionProperties properties;
+
+    @Value("${spring.application.name:api-gateway}")
+    private String applicationName;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        FaultSpec spec = resolve(exchange);
+        if (spec == null) {
+            return chain.filter(exchange);
+        }
+
+        RandomGenerator random = ThreadLocalRandom.current();
+        Duration delay = spec.sampleDelay(random);
+        Mono<Void> outcome;
+        if (spec.shouldAbort(random)) {
+            outcome = Mono.defer(() -> abort(exchange));
+        } else if (spec.shouldError(random)) {
+            HttpStatus status = HttpStatus.valueOf(spec.getErrorStatus());
+            outcome = Mono.defer(() -> GatewayErrorResponses.write(exchange, status, ERROR_MESSAGE));
+        } else {
+            outcome = Mono.defer(() -> chain.filter(exchange));
+        }
+        return delay.isZero() ? outcome : Mono.delay(delay).then(outcome);
+    }
+
+    private FaultSpec resolve(ServerWebExchange exchange) {
+        try {
+            FaultSpec fromHeader = FaultSpec.forTarget(
+                    exchange.getRequest().getHeaders().getFirst(properties.getHeader()), applicationName);
+            if (fromHeader != null) {
+                return fromHeader;
+            }
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? properties.getRoutes().get(route.getId()) : null;
+    }
+
+    private static Mono<Void> abort(ServerWebExchange exchange) {
+        Object nativeRequest;
+        try {
+            nativeRequest = ServerHttpRequestDecorator.getNativeRequest(exchange.getRequest());
+        } catch (IllegalArgumentException e) {
+            nativeRequest = null;
+        }
+        if (nativeRequest instanceof Connection connection) {
+            connection.channel().close();
+            return Mono.empty();
+        }
+        return Mono.error(new IllegalStateException("Connection aborted by fault injection"));
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.api_gateway.filter;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes the JSON error body shared by every gateway filter that short-circuits a request.
+ * Bodies are encoded once per status and message and reused, so rejecting a request under
+ * load does not format or encode anything. Messages must therefore be constants.
+ */
+public final class GatewayErrorResponses {
+
+    private static final Map<HttpStatus, Map<String, byte[]>> BODIES = new ConcurrentHashMap<>();
+
+    private GatewayErrorResponses() {
+    }
+
+    public static Mono<Void> write(ServerWebExchange exchange, HttpStatus status, String message) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+
+        return response.writeWith(
+                Mono.just(response.bufferFactory().wrap(body(status, message))));
+    }
+
+    static byte[] body(HttpStatus status, String message) {
+        Map<String, byte[]> byMessage = BODIES.computeIfAbsent(status, s -> new ConcurrentHashMap<>());
+        byte[] body = byMessage.get(message);
+        if (body == null) {
+            body = byMessage.computeIfAbsent(message, m -> encode(status, m));
+        }
+        return body;
+    }
+
+    private static byte[] encode(HttpStatus status, String message) {
+        String errorBody = String.format("{\"error\": \"%s\", \"status\": %d, \"message\": \"%s\"}",
+                status.getReasonPhrase(), status.value(), message);
+        return errorBody.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,189 @@
+package com.example.api_gateway.filter;
+
+import com.example.api_gateway.filter.LoadBalancingFilter.InstanceOutcome;
+import com.example.api_gateway.hedging.HedgingProperties;
+import com.example.api_gateway.hedging.RequestHedger;
+import com.example.api_gateway.loadbalancer.InstanceBalancer;
+import com.example.api_gateway.loadbalancer.ServiceInstance;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hedges GETs on routes with {@code metadata.hedge=true} and more than one instance. The
+ * filter proxies such requests itself instead of leaving them to the Netty routing filter:
+ * it sends the request to the instance {@link LoadBalancingFilter} chose and, if no answer has
+ * arrived after the route's hedge delay and the hedge budget allows it, a second copy to
+ * another instance. The first response is written and the other attempt is cancelled.
+ * Responses are buffered in full, so only routes returning small bodies should opt in.
+ */
+@Component
+public class HedgingFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = LoadBalancingFilter.ORDER + 1;
+
+    public static final String HEDGE_METADATA_KEY = "hedge";
+
+    private static final byte[] EMPTY_BODY = new byte[0];
+
+    @Autowired
+    private HedgingProperties properties;
+
+    @Autowired
+    private RequestHedger requestHedger;
+
+    @Autowired
+    private InstanceBalancer instanceBalancer;
+
+    @Autowired
+    private WebClient.Builder webClientBuilder;
+
+    @Autowired
+    private ObjectProvider<List<HttpHeadersFilter>> headersFilters;
+
+    private WebClient webClient;
+
+    @PostConstruct
+    public void init() {
+        webClient = webClientBuilder.build();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        URI requestUrl = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        ServiceInstance primary = exchange.getAttribute(LoadBalancingFilter.INSTANCE_ATTR);
+        if (!properties.isEnabled() || route == null || requestUrl == null || primary == null
+                || !HttpMethod.GET.equals(exchange.getRequest().getMethod())
+                || !"true".equals(String.valueOf(route.getMetadata().get(HEDGE_METADATA_KEY)))
+                || ServerWebExchangeUtils.isAlreadyRouted(exchange)) {
+            return chain.filter(exchange);
+        }
+        Optional<ServiceInstance> alternate = instanceBalancer.chooseOther(route.getId(), primary);
+        if (alternate.isEmpty()) {
+            return chain.filter(exchange);
+        }
+
+        ServerWebExchangeUtils.setAlreadyRouted(exchange);
+        String routeId = route.getId();
+        HttpHeaders headers = requestHeaders(exchange);
+        Optional<Duration> delay = requestHedger.onRequest(routeId);
+
+        // The response may come from the hedge, so the primary is scored on its own attempt:
+        // unknown until it answers or fails, and a timeout if the hedge beat it
+        exchange.getAttributes().put(LoadBalancingFilter.INSTANCE_OUTCOME_ATTR, InstanceOutcome.UNKNOWN);
+        long start = System.nanoTime();
+        // A primary cancelled because the hedge won is recorded with its time until the cancel. That
+        // is only a lower bound, but leaving it out would drop exactly the slow primaries, pulling
+        // the percentile down and hedging ever more
+        Mono<Attempt> primaryAttempt = send(requestUrl, headers, false)
+                .doOnSuccess(attempt -> exchange.getAttributes().put(LoadBalancingFilter.INSTANCE_OUTCOME_ATTR,
+                        attempt == null || attempt.status().is5xxServerError()
+                                ? InstanceOutcome.FAILED : InstanceOutcome.SUCCEEDED))
+                .doOnError(e -> exchange.getAttributes().put(LoadBalancingFilter.INSTANCE_OUTCOME_ATTR,
+                        InstanceOutcome.FAILED))
+                .doFinally(signal -> requestHedger.recordPrimaryLatency(routeId, System.nanoTime() - start));
+        if (delay.isEmpty()) {
+            return primaryAttempt.flatMap(attempt -> write(exchange, attempt));
+        }
+
+        AtomicBoolean hedged = new AtomicBoolean();
+        Mono<Attempt> hedgeAttempt = Mono.delay(delay.get())
+                .filter(tick -> requestHedger.tryHedge(routeId))
+                .flatMap(tick -> {
+                    hedged.set(true);
+                    // Rebuilt so the deadline budget it carries is what is left now, not at the primary's start
+                    return tracked(routeId, alternate.get(),
+                            send(LoadBalancingFilter.withInstance(requestUrl, alternate.get().getUri()),
+                                    requestHeaders(exchange), true));
+                });
+
+        return Mono.firstWithValue(primaryAttempt, hedgeAttempt)
+                .onErrorMap(NoSuchElementException.class, HedgingFilter::firstFailure)
+                .doOnNext(attempt -> {
+                    if (hedged.get()) {
+                        requestHedger.recordWinner(routeId, attempt.hedge());
+                    }
+                    if (attempt.hedge()) {
+                        // The primary had not answered within the hedge delay plus the hedge's own time
+                        exchange.getAttributes().replace(LoadBalancingFilter.INSTANCE_OUTCOME_ATTR,
+                                InstanceOutcome.UNKNOWN, InstanceOutcome.FAILED);
+                    }
+                })
+                .flatMap(attempt -> write(exchange, attempt));
+    }
+
+    private Mono<Attempt> send(URI uri, HttpHeaders headers, boolean hedge) {
+        return webClient.get()
+                .uri(uri)
+                .headers(h -> h.addAll(headers))
+                .exchangeToMono(response -> response.bodyToMono(byte[].class)
+                        .defaultIfEmpty(EMPTY_BODY)
+                        .map(body -> new Attempt(response.statusCode(), response.headers().asHttpHeaders(), body, hedge)));
+    }
+
+    /** Accounts a hedge attempt against its instance like {@link LoadBalancingFilter} does for the primary. */
+    private Mono<Attempt> tracked(String routeId, ServiceInstance instance, Mono<Attempt> attempt) {
+        instanceBalancer.onStart(instance);
+        return attempt
+                .doOnSuccess(result -> instanceBalancer.onComplete(routeId, instance,
+                        result == null || result.status().is5xxServerError()))
+                .doOnError(e -> instanceBalancer.onComplete(routeId, instance, true))
+                .doOnCancel(() -> instanceBalancer.onAbandoned(instance));
+    }
+
+    private HttpHeaders requestHeaders(ServerWebExchange exchange) {
+        HttpHeaders filtered = HttpHeadersFilter.filterRequest(headersFilters.getIfAvailable(), exchange);
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(filtered);
+        headers.remove(HttpHeaders.HOST);
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        return headers;
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, Attempt attempt) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(attempt.status());
+        HttpHeaders filtered = HttpHeadersFilter.filter(headersFilters.getIfAvailable(), attempt.headers(),
+                exchange, HttpHeadersFilter.Type.RESPONSE);
+        response.getHeaders().putAll(filtered);
+        response.getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+        response.getHeaders().setContentLength(attempt.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(attempt.body())));
+    }
+
+    /** Both attempts failed, or the primary failed and no hedge was sent: surface the first failure. */
+    private static Throwable firstFailure(NoSuchElementException e) {
+        Throwable[] suppressed = e.getSuppressed();
+        return suppressed.length > 0 ? suppressed[0] : e;
+    }
+
+    private record Attempt(HttpStatusCode status, HttpHeaders headers, byte[] body, boolean hedge) {
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
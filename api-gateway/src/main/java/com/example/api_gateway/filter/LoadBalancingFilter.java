@@ -0,0 +1,196 @@
+package com.example.api_gateway.filter;
+
+import com.example.api_gateway.loadbalancer.InstanceBalancer;
+import com.example.api_gateway.loadbalancer.ServiceInstance;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.RouteToRequestUrlFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Spreads a route across the instances listed in its metadata, e.g.
+ * {@code spring.cloud.gateway.routes[1].metadata.instances=http://wallet-1:8082,http://wallet-2:8082}.
+ * Runs right after the request URL is resolved from the route's {@code uri}, and swaps in the
+ * chosen instance's scheme, host and port. Routes without {@code instances} are untouched.
+ * <p>
+ * A route that also sets {@code metadata.hash-key} is routed by consistent hashing on that
+ * top-level field of the JSON request body instead, so requests for the same key always reach
+ * the instance holding its state. Requests whose body lacks the key fall back to normal balancing.
+ */
+@Component
+public class LoadBalancingFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = RouteToRequestUrlFilter.ROUTE_TO_URL_FILTER_ORDER + 1;
+
+    public static final String INSTANCES_METADATA_KEY = "instances";
+
+    public static final String HASH_KEY_METADATA_KEY = "hash-key";
+
+    /** Exchange attribute holding the {@link ServiceInstance} the request was sent to. */
+    public static final String INSTANCE_ATTR = LoadBalancingFilter.class.getName() + ".instance";
+
+    /**
+     * Exchange attribute holding the {@link InstanceOutcome} of the request to the chosen
+     * instance, set by a later filter that proxies the request itself and knows better than the
+     * response, as {@link HedgingFilter} does when the response may come from another instance.
+     */
+    public static final String INSTANCE_OUTCOME_ATTR = LoadBalancingFilter.class.getName() + ".outcome";
+
+    /** Bodies larger than this are not parsed for a hash key. */
+    private static final int MAX_HASH_BODY_BYTES = 16 * 1024;
+
+    @Autowired
+    private InstanceBalancer instanceBalancer;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<String, List<URI>> instanceUris = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        URI requestUrl = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        if (route == null || requestUrl == null || !route.getMetadata().containsKey(INSTANCES_METADATA_KEY)) {
+            return chain.filter(exchange);
+        }
+
+        List<URI> uris = instanceUris.computeIfAbsent(route.getId(),
+                id -> parseInstances(route.getMetadata().get(INSTANCES_METADATA_KEY)));
+        Object hashKeyField = route.getMetadata().get(HASH_KEY_METADATA_KEY);
+        if (hashKeyField == null) {
+            return route(exchange, chain, route, requestUrl, instanceBalancer.choose(route.getId(), uris));
+        }
+
+        return ServerWebExchangeUtils.cacheRequestBody(exchange, cachedRequest -> {
+            ServerWebExchange cachedExchange = exchange.mutate().request(cachedRequest).build();
+            DataBuffer body = exchange.getAttribute(ServerWebExchangeUtils.CACHED_REQUEST_BODY_ATTR);
+            String key = extractHashKey(body, hashKeyField.toString());
+            ServiceInstance instance = key != null
+                    ? instanceBalancer.chooseByKey(route.getId(), uris, key)
+                    : instanceBalancer.choose(route.getId(), uris);
+            return route(cachedExchange, chain, route, requestUrl, instance);
+        });
+    }
+
+    private Mono<Void> route(ServerWebExchange exchange, GatewayFilterChain chain, Route route,
+                             URI requestUrl, ServiceInstance instance) {
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR,
+                withInstance(requestUrl, instance.getUri()));
+        exchange.getAttributes().put(INSTANCE_ATTR, instance);
+
+        instanceBalancer.onStart(instance);
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    InstanceOutcome outcome = exchange.getAttribute(INSTANCE_OUTCOME_ATTR);
+                    if (outcome == null) {
+                        outcome = outcome(signal, exchange.getResponse().getStatusCode());
+                    }
+                    switch (outcome) {
+                        case SUCCEEDED -> instanceBalancer.onComplete(route.getId(), instance, false);
+                        case FAILED -> instanceBalancer.onComplete(route.getId(), instance, true);
+                        case UNKNOWN -> instanceBalancer.onAbandoned(instance);
+                    }
+                });
+    }
+
+    // A cancel, usually the client going away, says nothing about the instance
+    private static InstanceOutcome outcome(SignalType signal, HttpStatusCode status) {
+        if (signal == SignalType.CANCEL) {
+            return InstanceOutcome.UNKNOWN;
+        }
+        boolean failed = signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError());
+        return failed ? InstanceOutcome.FAILED : InstanceOutcome.SUCCEEDED;
+    }
+
+    /**
+     * Reads {@code field} from a JSON object body. UUID values are normalised to their
+     * canonical form so that the gateway and the backend hash the same string.
+     */
+    private String extractHashKey(DataBuffer body, String field) {
+        if (body == null || body.readableByteCount() == 0 || body.readableByteCount() > MAX_HASH_BODY_BYTES) {
+            return null;
+        }
+        byte[] bytes = new byte[body.readableByteCount()];
+        body.toByteBuffer(body.readPosition(), ByteBuffer.wrap(bytes), 0, bytes.length);
+        try {
+            JsonNode value = objectMapper.readTree(bytes).get(field);
+            if (value == null || !value.isTextual() || value.asText().isEmpty()) {
+                return null;
+            }
+            try {
+                return UUID.fromString(value.asText()).toString();
+            } catch (IllegalArgumentException e) {
+                return value.asText();
+            }
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /** Points {@code requestUrl} at {@code instanceUri}, keeping its path and query. */
+    public static URI withInstance(URI requestUrl, URI instanceUri) {
+        return UriComponentsBuilder.fromUri(requestUrl)
+                .scheme(instanceUri.getScheme())
+                .host(instanceUri.getHost())
+                .port(instanceUri.getPort())
+                .build(true)
+                .toUri();
+    }
+
+    public static List<URI> parseInstances(Object metadata) {
+        List<URI> uris = new ArrayList<>();
+        if (metadata instanceof Collection<?> values) {
+            for (Object value : values) {
+                uris.add(URI.create(value.toString().trim()));
+            }
+        } else if (metadata instanceof Map<?, ?> indexed) {
+            // Indexed properties (instances[0]=...) bind to a map keyed by index.
+            for (Object value : indexed.values()) {
+                uris.add(URI.create(value.toString().trim()));
+            }
+        } else {
+            for (String value : metadata.toString().split(",")) {
+                uris.add(URI.create(value.trim()));
+            }
+        }
+        if (uris.isEmpty()) {
+            throw new IllegalStateException("Route metadata '" + INSTANCES_METADATA_KEY + "' lists no instances");
+        }
+        return List.copyOf(uris);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    /** How the request to the chosen instance went, for its passive health check. */
+    public enum InstanceOutcome {
+        SUCCEEDED,
+        FAILED,
+        UNKNOWN
+    }
+}
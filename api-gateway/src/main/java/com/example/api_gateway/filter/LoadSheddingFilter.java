@@ -0,0 +1,135 @@
+package com.example.api_gateway.filter;
+
+import com.example.api_gateway.shedding.LoadShedder;
+import com.example.api_gateway.shedding.LoadSheddingProperties;
+import com.example.api_gateway.shedding.RequestPriority;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sheds low-priority reads first when the gateway is overloaded so that money-moving
+ * requests such as {@code /transactions/verify-otp} keep going through. Runs before
+ * authentication so shed requests don't cost a JWT verification.
+ */
+@Component
+public class LoadSheddingFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = AuthenticationFilter.ORDER - 1;
+
+    @Autowired
+    private LoadShedder loadShedder;
+
+    @Autowired
+    private LoadSheddingProperties properties;
+
+    private List<PathPattern> criticalPatterns;
+
+    private List<PathPattern> lowPriorityPatterns;
+
+    @PostConstruct
+    public void init() {
+        criticalPatterns = parse(properties.getCriticalPaths());
+        lowPriorityPatterns = parse(properties.getLowPriorityPaths());
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+
+        RequestPriority priority = classify(exchange.getRequest());
+        if (!loadShedder.tryAdmit(priority)) {
+            long retryAfter = Math.max(1, properties.getRetryAfter().toSeconds());
+            exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+            return GatewayErrorResponses.write(exchange, HttpStatus.SERVICE_UNAVAILABLE,
+                    "Gateway is overloaded, please retry later");
+        }
+
+        long admittedAt = loadShedder.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> loadShedder.release(admittedAt, reflectsBackendLatency(exchange)));
+    }
+
+    /**
+     * Streams last as long as the client keeps reading, routes with an extended deadline are
+     * slow by design, and cache hits never reach a backend; none of them says how loaded the
+     * backends are.
+     */
+    static boolean reflectsBackendLatency(ServerWebExchange exchange) {
+        if (exchange.getAttribute(ResponseCacheFilter.CACHE_HIT_ATTR) != null
+                || exchange.getAttribute(DeadlineFilter.EXTENDED_DEADLINE_ATTR) != null) {
+            return false;
+        }
+        MediaType contentType = exchange.getResponse().getHeaders().getContentType();
+        if (contentType != null && isStreaming(contentType)) {
+            return false;
+        }
+        try {
+            for (MediaType accepted : exchange.getRequest().getHeaders().getAccept()) {
+                if (isStreaming(accepted)) {
+                    return false;
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            // A malformed Accept header can't have asked for a stream
+        }
+        return true;
+    }
+
+    private static boolean isStreaming(MediaType mediaType) {
+        return MediaType.APPLICATION_NDJSON.equalsTypeAndSubtype(mediaType)
+                || MediaType.TEXT_EVENT_STREAM.equalsTypeAndSubtype(mediaType);
+    }
+
+    RequestPriority classify(ServerHttpRequest request) {
+        PathContainer path = request.getPath().pathWithinApplication();
+        if (matchesAny(criticalPatterns, path)) {
+            return RequestPriority.CRITICAL;
+        }
+        if (HttpMethod.GET.equals(request.getMethod()) && matchesAny(lowPriorityPatterns, path)) {
+            return RequestPriority.LOW;
+        }
+        return RequestPriority.NORMAL;
+    }
+
+    private static boolean matchesAny(List<PathPattern> patterns, PathContainer path) {
+        for (PathPattern pattern : patterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<PathPattern> parse(List<String> paths) {
+        List<PathPattern> patterns = new ArrayList<>();
+        for (String path : paths) {
+            patterns.add(PathPatternParser.defaultInstance.parse(path));
+        }
+        return patterns;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.api_gateway.filter;
+
+import com.example.api_gateway.ratelimit.RateLimitProperties;
+import com.example.api_gateway.ratelimit.RedisTokenBucketRateLimiter;
+import com.example.api_gateway.util.VerifiedClaims;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-user token bucket rate limiting. Authenticated requests are keyed by the user id
+ * that {@link AuthenticationFilter} verified; anonymous requests (e.g. {@code /auth/**})
+ * are keyed by client address.
+ */
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = AuthenticationFilter.ORDER + 1;
+
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    @Autowired
+    private RedisTokenBucketRateLimiter rateLimiter;
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    private List<MatchedBudget> budgets;
+
+    @PostConstruct
+    public void init() {
+        budgets = new ArrayList<>();
+        for (Map.Entry<String, RateLimitProperties.Budget> entry : properties.getBudgets().entrySet()) {
+            budgets.add(new MatchedBudget(entry.getKey(),
+                    PathPatternParser.defaultInstance.parse(entry.getValue().getPath()), entry.getValue()));
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+
+        MatchedBudget budget = findBudget(exchange.getRequest().getPath().pathWithinApplication());
+        if (budget == null) {
+            return chain.filter(exchange);
+        }
+
+        return rateLimiter.tryAcquire(budget.name(), budget.budget(), resolveKey(exchange))
+                .flatMap(result -> {
+                    HttpHeaders headers = exchange.getResponse().getHeaders();
+                    headers.set(REMAINING_HEADER, Long.toString(result.remaining()));
+                    if (result.allowed()) {
+                        return chain.filter(exchange);
+                    }
+                    long retryAfterSeconds = (long) Math.ceil(1 / budget.budget().getReplenishRate());
+                    headers.set(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, retryAfterSeconds)));
+                    return GatewayErrorResponses.write(exchange, HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded");
+                });
+    }
+
+    private MatchedBudget findBudget(PathContainer path) {
+        for (MatchedBudget budget : budgets) {
+            if (budget.pattern().matches(path)) {
+                return budget;
+            }
+        }
+        return null;
+    }
+
+    private String resolveKey(ServerWebExchange exchange) {
+        VerifiedClaims claims = exchange.getAttribute(AuthenticationFilter.CLAIMS_ATTR);
+        if (claims != null && claims.userId() != null) {
+            return "user:" + claims.userId();
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress != null && remoteAddress.getAddress() != null) {
+            return "ip:" + remoteAddress.getAddress().getHostAddress();
+        }
+        return "ip:unknown";
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private record MatchedBudget(String name, PathPattern pattern, RateLimitProperties.Budget budget) {
+    }
+}
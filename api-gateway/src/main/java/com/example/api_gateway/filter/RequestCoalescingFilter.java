@@ -0,0 +1,126 @@
+package com.example.api_gateway.filter;
+
+import com.example.api_gateway.cache.BodyCaptureResponseDecorator;
+import com.example.api_gateway.cache.CachedResponse;
+import com.example.api_gateway.util.VerifiedClaims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Collapses identical concurrent GETs (same user, method, path and query) into a single
+ * upstream call and replays the buffered response to every waiter. Enabled per route with
+ * {@code spring.cloud.gateway.routes[n].metadata.coalesce=true}. If the leading request
+ * fails, is cancelled or its body is too large to buffer, waiters fall back to their own
+ * upstream call.
+ */
+@Component
+public class RequestCoalescingFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = ResponseCacheFilter.ORDER + 1;
+
+    public static final String COALESCE_METADATA_KEY = "coalesce";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${gateway.coalescing.maximum-body-size:256KB}")
+    private DataSize maximumBodySize;
+
+    private final ConcurrentMap<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Counter> coalescedCounters = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        VerifiedClaims claims = exchange.getAttribute(AuthenticationFilter.CLAIMS_ATTR);
+        if (!HttpMethod.GET.equals(request.getMethod()) || !isCoalescing(route)
+                || claims == null || claims.userId() == null) {
+            return chain.filter(exchange);
+        }
+
+        String key = claims.userId() + " " + request.getMethod().name() + " " + pathAndQuery(request);
+        Sinks.One<CachedResponse> sink = Sinks.one();
+        Sinks.One<CachedResponse> leader = inFlight.putIfAbsent(key, sink);
+        if (leader != null) {
+            return leader.asMono()
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(response -> {
+                        if (response.isEmpty()) {
+                            return chain.filter(exchange);
+                        }
+                        coalescedCounter(route).increment();
+                        return write(exchange.getResponse(), response.get());
+                    });
+        }
+
+        BodyCaptureResponseDecorator decorated = new BodyCaptureResponseDecorator(exchange.getResponse(),
+                (int) maximumBodySize.toBytes(),
+                captured -> {
+                    inFlight.remove(key, sink);
+                    sink.tryEmitValue(captured);
+                });
+        return chain.filter(exchange.mutate().response(decorated).build())
+                .doFinally(signal -> {
+                    inFlight.remove(key, sink);
+                    sink.tryEmitEmpty();
+                });
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private Counter coalescedCounter(Route route) {
+        return coalescedCounters.computeIfAbsent(route.getId(), this::createCoalescedCounter);
+    }
+
+    private Counter createCoalescedCounter(String routeId) {
+        return Counter.builder("gateway.requests.coalesced")
+                .description("Requests answered with the response of an identical in-flight request")
+                .tag("route", routeId)
+                .register(meterRegistry);
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, CachedResponse cached) {
+        response.setStatusCode(cached.status());
+        response.getHeaders().putAll(cached.headers());
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private static boolean isCoalescing(Route route) {
+        return route != null && Boolean.parseBoolean(String.valueOf(route.getMetadata().get(COALESCE_METADATA_KEY)));
+    }
+
+    private static String pathAndQuery(ServerHttpRequest request) {
+        String query = request.getURI().getRawQuery();
+        String path = request.getURI().getRawPath();
+        return query != null ? path + "?" + query : path;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+}
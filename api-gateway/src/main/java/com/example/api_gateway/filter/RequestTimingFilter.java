@@ -0,0 +1,99 @@
+package com.example.api_gateway.filter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every request end to end as {@code gateway.requests}, tagged by route id, status
+ * class and the outcome recorded by {@link AuthenticationFilter}. Runs first so the timing
+ * includes every other gateway filter. Requests slower than
+ * {@code gateway.metrics.slow-request-threshold} are also logged.
+ */
+@Component
+public class RequestTimingFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+    public static final String REQUEST_TIMER = "gateway.requests";
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestTimingFilter.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${gateway.metrics.slow-request-threshold:1s}")
+    private Duration slowRequestThreshold;
+
+    private final ConcurrentMap<TimerTags, Timer> timers = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long start = System.nanoTime();
+        return chain.filter(exchange)
+                .doFinally(signal -> record(exchange, signal, System.nanoTime() - start));
+    }
+
+    private void record(ServerWebExchange exchange, SignalType signal, long elapsedNanos) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : "none";
+        String status = statusClass(exchange.getResponse().getStatusCode(), signal);
+        String authOutcome = exchange.getAttributeOrDefault(AuthenticationFilter.AUTH_OUTCOME_ATTR, "none");
+
+        timers.computeIfAbsent(new TimerTags(routeId, status, authOutcome), this::timer)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        if (elapsedNanos >= slowRequestThreshold.toNanos()) {
+            logger.warn("Slow request: {} {} route={} status={} auth={} took {} ms",
+                    exchange.getRequest().getMethod(), exchange.getRequest().getURI().getRawPath(),
+                    routeId, status, authOutcome, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        }
+    }
+
+    private Timer timer(TimerTags tags) {
+        return Timer.builder(REQUEST_TIMER)
+                .description("End-to-end gateway request latency")
+                .tag("route", tags.routeId())
+                .tag("status", tags.status())
+                .tag("auth", tags.authOutcome())
+                .publishPercentiles(0.5, 0.95, 0.99, 0.999)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    static String statusClass(HttpStatusCode status, SignalType signal) {
+        if (signal == SignalType.CANCEL) {
+            return "CANCELLED";
+        }
+        if (status == null) {
+            return signal == SignalType.ON_ERROR ? "5xx" : "UNKNOWN";
+        }
+        return (status.value() / 100) + "xx";
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private record TimerTags(String routeId, String status, String authOutcome) {
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.api_gateway.filter;
+
+import com.example.api_gateway.cache.BodyCaptureResponseDecorator;
+import com.example.api_gateway.cache.CachedResponse;
+import com.example.api_gateway.cache.GatewayResponseCache;
+import com.example.api_gateway.cache.ResponseCacheInvalidator;
+import com.example.api_gateway.cache.ResponseCacheProperties;
+import com.example.api_gateway.util.VerifiedClaims;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serves repeated GETs on the configured read paths from {@link GatewayResponseCache} and
+ * drops the caller's entries once one of their writes succeeds. {@link ResponseCacheInvalidator}
+ * passes that on to the other replicas and follows up on changes the services apply
+ * asynchronously. Only authenticated requests take part, and entries are keyed by the
+ * verified user id, never by the client-supplied {@code X-User-Id} header.
+ */
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = RateLimitFilter.ORDER + 1;
+
+    static final String CACHE_HEADER = "X-Cache";
+
+    /** Exchange attribute set when the response was served from the cache. */
+    public static final String CACHE_HIT_ATTR = ResponseCacheFilter.class.getName() + ".hit";
+
+    @Autowired
+    private GatewayResponseCache responseCache;
+
+    @Autowired
+    private ResponseCacheInvalidator invalidator;
+
+    @Autowired
+    private ResponseCacheProperties properties;
+
+    private List<CachedPath> cachedPaths;
+
+    private List<PathPattern> invalidatePatterns;
+
+    @PostConstruct
+    public void init() {
+        cachedPaths = new ArrayList<>();
+        for (ResponseCacheProperties.CachedRoute route : properties.getRoutes().values()) {
+            cachedPaths.add(new CachedPath(PathPatternParser.defaultInstance.parse(route.getPath()), route));
+        }
+        invalidatePatterns = new ArrayList<>();
+        for (String path : properties.getInvalidatePaths()) {
+            invalidatePatterns.add(PathPatternParser.defaultInstance.parse(path));
+        }
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        VerifiedClaims claims = exchange.getAttribute(AuthenticationFilter.CLAIMS_ATTR);
+        if (!properties.isEnabled() || claims == null || claims.userId() == null) {
+            return chain.filter(exchange);
+        }
+
+        ServerHttpRequest request = exchange.getRequest();
+        PathContainer path = request.getPath().pathWithinApplication();
+
+        if (HttpMethod.GET.equals(request.getMethod())) {
+            CachedPath cachedPath = findCachedPath(path);
+            return cachedPath != null
+                    ? serveCached(exchange, chain, claims.userId(), cachedPath)
+                    : chain.filter(exchange);
+        }
+
+        if (isInvalidating(path)) {
+            ServerHttpResponse response = exchange.getResponse();
+            // Invalidate before the response is committed so the client can't read stale data in between,
+            // on this replica or, Redis permitting, any other.
+            response.beforeCommit(() -> {
+                HttpStatusCode status = response.getStatusCode();
+                return status != null && status.is2xxSuccessful()
+                        ? invalidator.invalidateUser(claims.userId())
+                        : Mono.empty();
+            });
+        }
+        return chain.filter(exchange);
+    }
+
+    private Mono<Void> serveCached(ServerWebExchange exchange, GatewayFilterChain chain,
+                                   String userId, CachedPath cachedPath) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : "unknown";
+        GatewayResponseCache.Key key = responseCache.keyFor(routeId, userId, pathAndQuery(exchange.getRequest()));
+
+        CachedResponse cached = responseCache.get(key);
+        ServerHttpResponse response = exchange.getResponse();
+        if (cached != null) {
+            exchange.getAttributes().put(CACHE_HIT_ATTR, Boolean.TRUE);
+            response.setStatusCode(cached.status());
+            response.getHeaders().putAll(cached.headers());
+            response.getHeaders().set(CACHE_HEADER, "HIT");
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+        }
+
+        response.getHeaders().set(CACHE_HEADER, "MISS");
+        BodyCaptureResponseDecorator decorated = new BodyCaptureResponseDecorator(response,
+                (int) properties.getMaximumBodySize().toBytes(),
+                captured -> {
+                    if (HttpStatus.OK.equals(captured.status())) {
+                        responseCache.put(key, captured, cachedPath.route().getTtl());
+                    }
+                });
+        return chain.filter(exchange.mutate().response(decorated).build());
+    }
+
+    private CachedPath findCachedPath(PathContainer path) {
+        for (CachedPath cachedPath : cachedPaths) {
+            if (cachedPath.pattern().matches(path)) {
+                return cachedPath;
+            }
+        }
+        return null;
+    }
+
+    private boolean isInvalidating(PathContainer path) {
+        for (PathPattern pattern : invalidatePatterns) {
+            if (pattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String pathAndQuery(ServerHttpRequest request) {
+        String query = request.getURI().getRawQuery();
+        String path = request.getURI().getRawPath();
+        return query != null ? path + "?" + query : path;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    private record CachedPath(PathPattern pattern, ResponseCacheProperties.CachedRoute route) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.api_gateway.hedging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket that earns {@code ratio} of a hedge for every request and spends one per hedge,
+ * so hedges never exceed that share of a route's traffic beyond a small burst.
+ */
+final class HedgeBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long earnedPerRequest;
+
+    private final long capacity;
+
+    private final AtomicLong balance = new AtomicLong();
+
+    HedgeBudget(double ratio, int maxBurst) {
+        this.earnedPerRequest = Math.round(ratio * SCALE);
+        this.capacity = Math.max(1, maxBurst) * SCALE;
+    }
+
+    void onRequest() {
+        balance.accumulateAndGet(earnedPerRequest, (current, earned) -> Math.min(capacity, current + earned));
+    }
+
+    boolean tryAcquire() {
+        while (true) {
+            long current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+}
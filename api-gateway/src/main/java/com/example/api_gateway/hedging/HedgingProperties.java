@@ -0,0 +1,100 @@
+package com.example.api_gateway.hedging;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Hedging for routes that opt in with {@code metadata.hedge=true}. A GET that has not been
+ * answered after the route's recent {@code percentile} latency (clamped to
+ * {@code min-delay}..{@code max-delay}) is sent again to another instance, as long as the
+ * route's hedge budget allows it.
+ */
+@ConfigurationProperties(prefix = "gateway.hedging")
+public class HedgingProperties {
+
+    private boolean enabled = true;
+
+    /** Latency percentile of recent primary attempts after which a hedge is sent. */
+    private double percentile = 0.95;
+
+    private Duration minDelay = Duration.ofMillis(10);
+
+    private Duration maxDelay = Duration.ofSeconds(1);
+
+    /** Number of recent primary attempts the percentile is computed over. */
+    private int windowSize = 1000;
+
+    /** No hedging until a route has this many latency samples. */
+    private int minSamples = 100;
+
+    /** Extra load hedging may add, as a share of the route's requests. */
+    private double budgetRatio = 0.05;
+
+    /** Hedges that may be sent back to back once the budget has accumulated. */
+    private int maxBurst = 10;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public void setPercentile(double percentile) {
+        this.percentile = percentile;
+    }
+
+    public Duration getMinDelay() {
+        return minDelay;
+    }
+
+    public void setMinDelay(Duration minDelay) {
+        this.minDelay = minDelay;
+    }
+
+    public Duration getMaxDelay() {
+        return maxDelay;
+    }
+
+    public void setMaxDelay(Duration maxDelay) {
+        this.maxDelay = maxDelay;
+    }
+
+    public int getWindowSize() {
+        return windowSize;
+    }
+
+    public void setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    public int getMinSamples() {
+        return minSamples;
+    }
+
+    public void setMinSamples(int minSamples) {
+        this.minSamples = minSamples;
+    }
+
+    public double getBudgetRatio() {
+        return budgetRatio;
+    }
+
+    public void setBudgetRatio(double budgetRatio) {
+        this.budgetRatio = budgetRatio;
+    }
+
+    public int getMaxBurst() {
+        return maxBurst;
+    }
+
+    public void setMaxBurst(int maxBurst) {
+        this.maxBurst = maxBurst;
+    }
+}
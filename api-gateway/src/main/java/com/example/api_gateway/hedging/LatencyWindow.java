@@ -0,0 +1,53 @@
+package com.example.api_gateway.hedging;
+
+import java.util.Arrays;
+
+/**
+ * Ring buffer of the most recent latencies for one route. The percentile is recomputed
+ * every {@code size / 10} samples rather than on every request.
+ */
+final class LatencyWindow {
+
+    private final long[] samples;
+
+    private final int recomputeEvery;
+
+    private final double percentile;
+
+    private int next;
+
+    private int count;
+
+    private long recorded;
+
+    private volatile long cachedPercentileNanos = -1;
+
+    LatencyWindow(int size, double percentile) {
+        this.samples = new long[size];
+        this.recomputeEvery = Math.max(1, size / 10);
+        this.percentile = percentile;
+    }
+
+    synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+        if (++recorded % recomputeEvery == 0 || cachedPercentileNanos < 0) {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile * count) - 1;
+            cachedPercentileNanos = sorted[Math.max(0, Math.min(count - 1, index))];
+        }
+    }
+
+    synchronized int count() {
+        return count;
+    }
+
+    /** Latest computed percentile, or -1 before any sample. */
+    long percentileNanos() {
+        return cachedPercentileNanos;
+    }
+}
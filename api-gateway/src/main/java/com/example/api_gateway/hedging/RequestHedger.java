@@ -0,0 +1,115 @@
+package com.example.api_gateway.hedging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-route hedging state: the recent latency of primary attempts, which sets the hedge
+ * delay, and the budget that caps how many hedges are sent. Publishes
+ * {@code gateway.hedging.requests}, {@code gateway.hedging.hedges} (by {@code result}: sent
+ * or budget_exhausted) and {@code gateway.hedging.wins} (by {@code winner}: primary or
+ * hedge), from which hedge rate and win rate follow.
+ */
+@Component
+public class RequestHedger {
+
+    @Autowired
+    private HedgingProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<String, RouteHedging> routes = new ConcurrentHashMap<>();
+
+    /** Counts a hedgeable request and returns the delay before its hedge, or empty while warming up. */
+    public Optional<Duration> onRequest(String routeId) {
+        RouteHedging route = route(routeId);
+        route.requests.increment();
+        route.budget.onRequest();
+        return delay(route);
+    }
+
+    /** Spends budget for a hedge; false means the hedge must not be sent. */
+    public boolean tryHedge(String routeId) {
+        RouteHedging route = route(routeId);
+        if (route.budget.tryAcquire()) {
+            route.hedgesSent.increment();
+            return true;
+        }
+        route.budgetExhausted.increment();
+        return false;
+    }
+
+    public void recordPrimaryLatency(String routeId, long nanos) {
+        route(routeId).latencies.record(nanos);
+    }
+
+    public void recordWinner(String routeId, boolean hedgeWon) {
+        RouteHedging route = route(routeId);
+        (hedgeWon ? route.hedgeWins : route.primaryWins).increment();
+    }
+
+    private Optional<Duration> delay(RouteHedging route) {
+        long percentile = route.latencies.percentileNanos();
+        if (percentile < 0 || route.latencies.count() < properties.getMinSamples()) {
+            return Optional.empty();
+        }
+        long min = properties.getMinDelay().toNanos();
+        long max = properties.getMaxDelay().toNanos();
+        return Optional.of(Duration.ofNanos(Math.max(min, Math.min(max, percentile))));
+    }
+
+    private RouteHedging route(String routeId) {
+        return routes.computeIfAbsent(routeId, this::createRoute);
+    }
+
+    private RouteHedging createRoute(String routeId) {
+        RouteHedging route = new RouteHedging(
+                new LatencyWindow(properties.getWindowSize(), properties.getPercentile()),
+                new HedgeBudget(properties.getBudgetRatio(), properties.getMaxBurst()),
+                Counter.builder("gateway.hedging.requests")
+                        .description("Requests eligible for hedging")
+                        .tag("route", routeId)
+                        .register(meterRegistry),
+                hedgeCounter(routeId, "sent"),
+                hedgeCounter(routeId, "budget_exhausted"),
+                winCounter(routeId, "primary"),
+                winCounter(routeId, "hedge"));
+        TimeGauge.builder("gateway.hedging.delay", route, TimeUnit.NANOSECONDS,
+                        r -> delay(r).map(d -> (double) d.toNanos()).orElse(0.0))
+                .description("Current delay before a hedge is sent, zero while warming up")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        return route;
+    }
+
+    private Counter hedgeCounter(String routeId, String result) {
+        return Counter.builder("gateway.hedging.hedges")
+                .description("Hedge attempts, by whether the budget allowed them")
+                .tag("route", routeId)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private Counter winCounter(String routeId, String winner) {
+        return Counter.builder("gateway.hedging.wins")
+                .description("Which attempt answered first when a hedge was sent")
+                .tag("route", routeId)
+                .tag("winner", winner)
+                .register(meterRegistry);
+    }
+
+    private record RouteHedging(LatencyWindow latencies, HedgeBudget budget, Counter requests,
+                                Counter hedgesSent, Counter budgetExhausted,
+                                Counter primaryWins, Counter hedgeWins) {
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.api_gateway.loadbalancer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongSupplier;
+
+/**
+ * Power-of-two-choices balancer over a route's static instance list: picks two random
+ * healthy instances and sends the request to the one with fewer outstanding requests.
+ * An instance that fails {@code gateway.load-balancer.consecutive-failures} times in a
+ * row is ejected for {@code gateway.load-balancer.ejection-duration}. If every instance
+ * is ejected, all of them are considered again rather than failing the request.
+ * <p>
+ * Routes holding per-key state on one instance use {@link #chooseByKey} instead, which
+ * always maps a key to the same instance through a {@link ConsistentHashRing}.
+ */
+@Component
+public class InstanceBalancer {
+
+    private static final Logger logger = LoggerFactory.getLogger(InstanceBalancer.class);
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${gateway.load-balancer.consecutive-failures:5}")
+    private int consecutiveFailures;
+
+    @Value("${gateway.load-balancer.ejection-duration:30s}")
+    private Duration ejectionDuration;
+
+    private LongSupplier nanoClock = System::nanoTime;
+
+    private final ConcurrentMap<String, List<ServiceInstance>> routes = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, ConsistentHashRing<ServiceInstance>> rings = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<ServiceInstance, Counter> ejectionCounters = new ConcurrentHashMap<>();
+
+    public ServiceInstance choose(String routeId, List<URI> uris) {
+        List<ServiceInstance> instances = routes.computeIfAbsent(routeId, id -> createInstances(id, uris));
+        if (instances.size() == 1) {
+            return instances.get(0);
+        }
+
+        long now = nanoClock.getAsLong();
+        List<ServiceInstance> candidates = new ArrayList<>(instances.size());
+        for (ServiceInstance instance : instances) {
+            if (!instance.isEjected(now)) {
+                candidates.add(instance);
+            }
+        }
+        if (candidates.isEmpty()) {
+            candidates = instances;
+        }
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(candidates.size());
+        int second = random.nextInt(candidates.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = candidates.get(first);
+        ServiceInstance b = candidates.get(second);
+        return a.getOutstanding() <= b.getOutstanding() ? a : b;
+    }
+
+    /**
+     * Returns the instance owning {@code key} on the route's hash ring. Ejection is ignored:
+     * the owner is the only instance holding the key's state, so another one cannot serve it.
+     */
+    public ServiceInstance chooseByKey(String routeId, List<URI> uris, String key) {
+        ConsistentHashRing<ServiceInstance> ring = rings.computeIfAbsent(routeId, id -> new ConsistentHashRing<>(
+                routes.computeIfAbsent(id, r -> createInstances(r, uris)),
+                instance -> instance.getUri().toString()));
+        return ring.nodeFor(key);
+    }
+
+    /**
+     * Picks a healthy instance of an already balanced route other than {@code exclude}, for a
+     * second attempt at the same request. Empty if the route has no other healthy instance.
+     */
+    public Optional<ServiceInstance> chooseOther(String routeId, ServiceInstance exclude) {
+        List<ServiceInstance> instances = routes.get(routeId);
+        if (instances == null) {
+            return Optional.empty();
+        }
+        long now = nanoClock.getAsLong();
+        ServiceInstance best = null;
+        for (ServiceInstance instance : instances) {
+            if (instance != exclude && !instance.isEjected(now)
+                    && (best == null || instance.getOutstanding() < best.getOutstanding())) {
+                best = instance;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    public void onStart(ServiceInstance instance) {
+        instance.requestStarted();
+    }
+
+    /**
+     * Ends a request whose outcome is unknown, such as one the client cancelled. It counts
+     * neither as a success nor as a failure.
+     */
+    public void onAbandoned(ServiceInstance instance) {
+        instance.requestFinished();
+    }
+
+    public void onComplete(String routeId, ServiceInstance instance, boolean failed) {
+        instance.requestFinished();
+        if (!failed) {
+            instance.recordSuccess();
+            return;
+        }
+        if (instance.recordFailure(consecutiveFailures, nanoClock.getAsLong(), ejectionDuration.toNanos())) {
+            logger.warn("Ejecting {} from route {} for {} after {} consecutive failures",
+                    instance.getUri(), routeId, ejectionDuration, consecutiveFailures);
+            ejectionCounters.computeIfAbsent(instance, i -> meterRegistry.counter("gateway.lb.ejections",
+                    "route", routeId, "instance", i.getUri().toString())).increment();
+        }
+    }
+
+    private List<ServiceInstance> createInstances(String routeId, List<URI> uris) {
+        List<ServiceInstance> instances = new ArrayList<>(uris.size());
+        for (URI uri : uris) {
+            ServiceInstance instance = new ServiceInstance(uri);
+            Gauge.builder("gateway.lb.outstanding", instance, ServiceInstance::getOutstanding)
+                    .description("Requests in flight to a backend instance")
+                    .tag("route", routeId)
+                    .tag("instance", uri.toString())
+                    .register(meterRegistry);
+            instances.add(instance);
+        }
+        return List.copyOf(instances);
+    }
+}
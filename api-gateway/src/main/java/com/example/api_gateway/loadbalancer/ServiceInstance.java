@@ -0,0 +1,59 @@
+package com.example.api_gateway.loadbalancer;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One statically configured backend instance with its outstanding request count and
+ * passive health state.
+ */
+public class ServiceInstance {
+
+    private final URI uri;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long ejectedUntilNanos;
+    // nanoTime has no fixed origin, so a zero ejectedUntilNanos can't stand for "never ejected"
+    private volatile boolean everEjected;
+
+    ServiceInstance(URI uri) {
+        this.uri = uri;
+    }
+
+    public URI getUri() {
+        return uri;
+    }
+
+    public int getOutstanding() {
+        return outstanding.get();
+    }
+
+    boolean isEjected(long nowNanos) {
+        return everEjected && nowNanos - ejectedUntilNanos < 0;
+    }
+
+    void requestStarted() {
+        outstanding.incrementAndGet();
+    }
+
+    void requestFinished() {
+        outstanding.decrementAndGet();
+    }
+
+    void recordSuccess() {
+        consecutiveFailures.set(0);
+    }
+
+    /**
+     * Returns true if this failure ejected the instance.
+     */
+    boolean recordFailure(int threshold, long nowNanos, long ejectionNanos) {
+        if (consecutiveFailures.incrementAndGet() < threshold) {
+            return false;
+        }
+        consecutiveFailures.set(0);
+        ejectedUntilNanos = nowNanos + ejectionNanos;
+        everEjected = true;
+        return true;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.api_gateway.protection;
+
+import com.netflix.concurrency.limits.Limiter;
+import com.netflix.concurrency.limits.limit.Gradient2Limit;
+import com.netflix.concurrency.limits.limiter.SimpleLimiter;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds one adaptive concurrency limiter and one circuit breaker per downstream route,
+ * created on first use. Limits and in-flight counts are exported as
+ * {@code gateway.concurrency.limit} / {@code gateway.concurrency.inflight}, breaker state
+ * through the standard {@code resilience4j.circuitbreaker.*} meters.
+ */
+@Component
+public class RouteProtection {
+
+    @Autowired
+    private DownstreamProtectionProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    private final ConcurrentMap<String, SimpleLimiter<Void>> limiters = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<RejectionTags, Counter> rejectionCounters = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        DownstreamProtectionProperties.CircuitBreaker breaker = properties.getCircuitBreaker();
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(breaker.getFailureRateThreshold())
+                .slowCallDurationThreshold(breaker.getSlowCallDurationThreshold())
+                .slowCallRateThreshold(breaker.getSlowCallRateThreshold())
+                .slidingWindowSize(breaker.getSlidingWindowSize())
+                .minimumNumberOfCalls(breaker.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(breaker.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(breaker.getPermittedCallsInHalfOpenState())
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .build();
+        circuitBreakerRegistry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+    }
+
+    public CircuitBreaker circuitBreaker(String routeId) {
+        return circuitBreakerRegistry.circuitBreaker(routeId);
+    }
+
+    /**
+     * Takes a concurrency slot for the route, or returns empty when the route is at its current limit.
+     */
+    public Optional<Limiter.Listener> acquire(String routeId) {
+        return limiters.computeIfAbsent(routeId, this::createLimiter).acquire(null);
+    }
+
+    public void recordRejection(String routeId, String reason) {
+        rejectionCounters.computeIfAbsent(new RejectionTags(routeId, reason), this::rejectionCounter).increment();
+    }
+
+    private Counter rejectionCounter(RejectionTags tags) {
+        return Counter.builder("gateway.concurrency.rejected")
+                .description("Requests failed fast before reaching the downstream service")
+                .tag("route", tags.routeId())
+                .tag("reason", tags.reason())
+                .register(meterRegistry);
+    }
+
+    private SimpleLimiter<Void> createLimiter(String routeId) {
+        DownstreamProtectionProperties.Limit limit = properties.getLimit();
+        SimpleLimiter<Void> limiter = SimpleLimiter.newBuilder()
+                .named(routeId)
+                .limit(Gradient2Limit.newBuilder()
+                        .initialLimit(limit.getInitialLimit())
+                        .minLimit(limit.getMinLimit())
+                        .maxConcurrency(limit.getMaxLimit())
+                        .build())
+                .build();
+        Gauge.builder("gateway.concurrency.limit", limiter, SimpleLimiter::getLimit)
+                .description("Current adaptive in-flight limit")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.inflight", limiter, SimpleLimiter::getInflight)
+                .tag("route", routeId)
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    private record RejectionTags(String routeId, String reason) {
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.api_gateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+
+/**
+ * In-memory token buckets used when Redis is unreachable. Limits are enforced per
+ * gateway replica only, so this is a degraded mode rather than a replacement.
+ */
+public class LocalTokenBucketRateLimiter {
+
+    private final Cache<String, TokenBucket> buckets;
+
+    public LocalTokenBucketRateLimiter(long maximumKeys) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+    }
+
+    public RateLimitResult tryAcquire(String key, RateLimitProperties.Budget budget, long nowMillis) {
+        TokenBucket bucket = buckets.get(key, k -> new TokenBucket(budget.getCapacity(), nowMillis));
+        return bucket.tryConsume(budget, nowMillis);
+    }
+
+    static final class TokenBucket {
+
+        private double tokens;
+        private long lastRefillMillis;
+
+        TokenBucket(double tokens, long nowMillis) {
+            this.tokens = tokens;
+            this.lastRefillMillis = nowMillis;
+        }
+
+        synchronized RateLimitResult tryConsume(RateLimitProperties.Budget budget, long nowMillis) {
+            long elapsed = Math.max(0, nowMillis - lastRefillMillis);
+            tokens = Math.min(budget.getCapacity(), tokens + elapsed * budget.getReplenishRate() / 1000.0);
+            lastRefillMillis = nowMillis;
+
+            boolean allowed = tokens >= 1;
+            if (allowed) {
+                tokens -= 1;
+            }
+            return new RateLimitResult(allowed, (long) Math.floor(tokens));
+        }
+    }
+}
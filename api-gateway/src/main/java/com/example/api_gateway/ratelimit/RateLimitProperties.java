@@ -0,0 +1,113 @@
+package com.example.api_gateway.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-path token bucket budgets, e.g.
+ * {@code gateway.rate-limit.budgets.wallets.path=/wallets/**}. Budgets are checked in
+ * declaration order and the first matching path wins.
+ */
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /** How long to wait for Redis before falling back to the local bucket. */
+    private Duration redisTimeout = Duration.ofMillis(100);
+
+    /** How long to keep using the local bucket after a Redis failure before retrying Redis. */
+    private Duration fallbackCooldown = Duration.ofSeconds(5);
+
+    /** Upper bound on the number of keys tracked by the local fallback bucket. */
+    private long localMaximumKeys = 100_000;
+
+    private Map<String, Budget> budgets = new LinkedHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getRedisTimeout() {
+        return redisTimeout;
+    }
+
+    public void setRedisTimeout(Duration redisTimeout) {
+        this.redisTimeout = redisTimeout;
+    }
+
+    public Duration getFallbackCooldown() {
+        return fallbackCooldown;
+    }
+
+    public void setFallbackCooldown(Duration fallbackCooldown) {
+        this.fallbackCooldown = fallbackCooldown;
+    }
+
+    public long getLocalMaximumKeys() {
+        return localMaximumKeys;
+    }
+
+    public void setLocalMaximumKeys(long localMaximumKeys) {
+        this.localMaximumKeys = localMaximumKeys;
+    }
+
+    public Map<String, Budget> getBudgets() {
+        return budgets;
+    }
+
+    public void setBudgets(Map<String, Budget> budgets) {
+        this.budgets = budgets;
+    }
+
+    public static class Budget {
+
+        private String path;
+
+        /** Maximum burst size. */
+        private int capacity = 20;
+
+        /** Tokens added back per second. */
+        private double replenishRate = 10;
+
+        public Budget() {
+        }
+
+        public Budget(String path, int capacity, double replenishRate) {
+            this.path = path;
+            this.capacity = capacity;
+            this.replenishRate = replenishRate;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public double getReplenishRate() {
+            return replenishRate;
+        }
+
+        public void setReplenishRate(double replenishRate) {
+            this.replenishRate = replenishRate;
+        }
+    }
+}
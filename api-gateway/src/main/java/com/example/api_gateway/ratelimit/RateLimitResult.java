@@ -0,0 +1,4 @@
+package com.example.api_gateway.ratelimit;
+
+public record RateLimitResult(boolean allowed, long remaining) {
+}
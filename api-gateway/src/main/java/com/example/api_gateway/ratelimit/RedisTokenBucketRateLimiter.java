@@ -0,0 +1,114 @@
+package com.example.api_gateway.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Distributed token bucket backed by a single Lua script, so each check is one Redis
+ * round trip shared by every gateway replica. Falls back to a local bucket while Redis
+ * is unreachable and retries Redis after {@code gateway.rate-limit.fallback-cooldown}.
+ * The script refills from Redis's own clock; the local clock only drives the fallback.
+ */
+@Component
+public class RedisTokenBucketRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisTokenBucketRateLimiter.class);
+
+    static final String KEY_PREFIX = "rate_limit:";
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisScript<List<Long>> SCRIPT = (RedisScript) RedisScript.of(
+            new ClassPathResource("scripts/token_bucket.lua"), List.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final RateLimitProperties properties;
+    private final LocalTokenBucketRateLimiter localLimiter;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier clock;
+    private final AtomicLong redisRetryAtMillis = new AtomicLong();
+    private final ConcurrentMap<RequestTags, Counter> requestCounters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RedisTokenBucketRateLimiter(ReactiveStringRedisTemplate redisTemplate,
+                                       RateLimitProperties properties,
+                                       MeterRegistry meterRegistry) {
+        this(redisTemplate, properties, meterRegistry, System::currentTimeMillis);
+    }
+
+    RedisTokenBucketRateLimiter(ReactiveStringRedisTemplate redisTemplate,
+                                RateLimitProperties properties,
+                                MeterRegistry meterRegistry,
+                                LongSupplier clock) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.localLimiter = new LocalTokenBucketRateLimiter(properties.getLocalMaximumKeys());
+    }
+
+    public Mono<RateLimitResult> tryAcquire(String budgetName, RateLimitProperties.Budget budget, String key) {
+        long now = clock.getAsLong();
+        if (now < redisRetryAtMillis.get()) {
+            return Mono.just(record(budgetName, "local", localLimiter.tryAcquire(budgetName + ":" + key, budget, now)));
+        }
+
+        List<String> keys = List.of(KEY_PREFIX + budgetName + ":" + key);
+        List<String> args = List.of(
+                Double.toString(budget.getReplenishRate()),
+                Integer.toString(budget.getCapacity()),
+                "1");
+
+        return redisTemplate.execute(SCRIPT, keys, args)
+                .reduce(new ArrayList<Long>(), (reply, part) -> {
+                    reply.addAll(part);
+                    return reply;
+                })
+                .timeout(properties.getRedisTimeout())
+                .map(reply -> {
+                    if (reply.size() != 2) {
+                        throw new IllegalStateException("Unexpected rate limiter reply: " + reply);
+                    }
+                    return new RateLimitResult(reply.get(0) == 1L, reply.get(1));
+                })
+                .map(result -> record(budgetName, "redis", result))
+                .onErrorResume(e -> {
+                    if (redisRetryAtMillis.getAndSet(now + properties.getFallbackCooldown().toMillis()) <= now) {
+                        logger.warn("Redis rate limiter unavailable, using local buckets: {}", e.toString());
+                    }
+                    return Mono.just(record(budgetName, "local",
+                            localLimiter.tryAcquire(budgetName + ":" + key, budget, now)));
+                });
+    }
+
+    private RateLimitResult record(String budgetName, String backend, RateLimitResult result) {
+        RequestTags tags = new RequestTags(budgetName, backend, result.allowed());
+        requestCounters.computeIfAbsent(tags, this::requestCounter).increment();
+        return result;
+    }
+
+    private Counter requestCounter(RequestTags tags) {
+        return Counter.builder("gateway.rate-limit.requests")
+                .tag("budget", tags.budget())
+                .tag("backend", tags.backend())
+                .tag("outcome", tags.allowed() ? "allowed" : "rejected")
+                .register(meterRegistry);
+    }
+
+    private record RequestTags(String budget, String backend, boolean allowed) {
+    }
+}
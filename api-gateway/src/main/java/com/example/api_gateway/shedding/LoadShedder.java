@@ -0,0 +1,119 @@
+package com.example.api_gateway.shedding;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Tracks gateway-wide in-flight requests and an exponentially weighted moving average of
+ * request latency, and decides per priority whether a new request is admitted.
+ */
+@Component
+public class LoadShedder {
+
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    @Autowired
+    private LoadSheddingProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private LongSupplier nanoClock = System::nanoTime;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double averageLatencyNanos;
+
+    private volatile long lastSampleNanos;
+
+    private final ConcurrentMap<RequestTags, Counter> requestCounters = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("gateway.shedding.inflight", inFlight, AtomicInteger::get)
+                .description("Requests currently being processed by the gateway")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Admits the request and counts it as in flight, or returns false if it should be shed.
+     * Every admitted request must be paired with {@link #release(long, boolean)}, passing the
+     * {@link #nanoTime()} taken on admission.
+     */
+    public boolean tryAdmit(RequestPriority priority) {
+        int current = inFlight.incrementAndGet();
+        if (current > limitFor(priority) || (priority == RequestPriority.LOW && isLatencyHigh())) {
+            inFlight.decrementAndGet();
+            record(priority, "shed");
+            return false;
+        }
+        record(priority, "admitted");
+        return true;
+    }
+
+    /**
+     * Ends an admitted request. Its latency only feeds the average when
+     * {@code reflectsBackendLatency}; requests whose duration is set by something other than
+     * backend load, such as streams or cache hits, would otherwise skew it.
+     */
+    public void release(long admittedAtNanos, boolean reflectsBackendLatency) {
+        inFlight.decrementAndGet();
+        if (!reflectsBackendLatency) {
+            return;
+        }
+        long elapsedNanos = nanoClock.getAsLong() - admittedAtNanos;
+        synchronized (this) {
+            averageLatencyNanos = averageLatencyNanos == 0
+                    ? elapsedNanos
+                    : averageLatencyNanos + LATENCY_SMOOTHING * (elapsedNanos - averageLatencyNanos);
+            lastSampleNanos = nanoClock.getAsLong();
+        }
+    }
+
+    public long nanoTime() {
+        return nanoClock.getAsLong();
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    private int limitFor(RequestPriority priority) {
+        int max = properties.getMaxInFlight();
+        return switch (priority) {
+            case CRITICAL -> max;
+            case NORMAL -> (int) (max * properties.getNormalPriorityInFlightRatio());
+            case LOW -> (int) (max * properties.getLowPriorityInFlightRatio());
+        };
+    }
+
+    private boolean isLatencyHigh() {
+        if (nanoClock.getAsLong() - lastSampleNanos > properties.getLatencyWindow().toNanos()) {
+            return false;
+        }
+        return averageLatencyNanos > properties.getLatencyThreshold().toNanos();
+    }
+
+    private void record(RequestPriority priority, String outcome) {
+        requestCounters.computeIfAbsent(new RequestTags(priority, outcome), this::requestCounter).increment();
+    }
+
+    private Counter requestCounter(RequestTags tags) {
+        return Counter.builder("gateway.shedding.requests")
+                .tag("priority", tags.priority().name().toLowerCase())
+                .tag("outcome", tags.outcome())
+                .register(meterRegistry);
+    }
+
+    private record RequestTags(RequestPriority priority, String outcome) {
+    }
+}
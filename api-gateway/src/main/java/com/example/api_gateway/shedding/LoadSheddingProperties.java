@@ -0,0 +1,112 @@
+package com.example.api_gateway.shedding;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Priority classification and shedding thresholds. Requests on {@code critical-paths} are
+ * shed only at {@code max-in-flight}; GETs on {@code low-priority-paths} are shed first,
+ * once in-flight requests or recent latency cross their thresholds. Everything else is
+ * normal priority.
+ */
+@ConfigurationProperties(prefix = "gateway.shedding")
+public class LoadSheddingProperties {
+
+    private boolean enabled = true;
+
+    /** Hard cap on concurrent requests in the gateway; even critical requests are shed above it. */
+    private int maxInFlight = 400;
+
+    /** Share of {@link #maxInFlight} above which low-priority reads are shed. */
+    private double lowPriorityInFlightRatio = 0.5;
+
+    /** Share of {@link #maxInFlight} above which normal-priority requests are shed. */
+    private double normalPriorityInFlightRatio = 0.8;
+
+    /** Low-priority reads are also shed while the average request latency is above this. */
+    private Duration latencyThreshold = Duration.ofMillis(500);
+
+    /** Latency samples older than this are ignored, so an idle gateway doesn't keep shedding. */
+    private Duration latencyWindow = Duration.ofSeconds(1);
+
+    private Duration retryAfter = Duration.ofSeconds(2);
+
+    private List<String> criticalPaths = new ArrayList<>();
+
+    private List<String> lowPriorityPaths = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public double getLowPriorityInFlightRatio() {
+        return lowPriorityInFlightRatio;
+    }
+
+    public void setLowPriorityInFlightRatio(double lowPriorityInFlightRatio) {
+        this.lowPriorityInFlightRatio = lowPriorityInFlightRatio;
+    }
+
+    public double getNormalPriorityInFlightRatio() {
+        return normalPriorityInFlightRatio;
+    }
+
+    public void setNormalPriorityInFlightRatio(double normalPriorityInFlightRatio) {
+        this.normalPriorityInFlightRatio = normalPriorityInFlightRatio;
+    }
+
+    public Duration getLatencyThreshold() {
+        return latencyThreshold;
+    }
+
+    public void setLatencyThreshold(Duration latencyThreshold) {
+        this.latencyThreshold = latencyThreshold;
+    }
+
+    public Duration getLatencyWindow() {
+        return latencyWindow;
+    }
+
+    public void setLatencyWindow(Duration latencyWindow) {
+        this.latencyWindow = latencyWindow;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    public void setRetryAfter(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+
+    public List<String> getCriticalPaths() {
+        return criticalPaths;
+    }
+
+    public void setCriticalPaths(List<String> criticalPaths) {
+        this.criticalPaths = criticalPaths;
+    }
+
+    public List<String> getLowPriorityPaths() {
+        return lowPriorityPaths;
+    }
+
+    public void setLowPriorityPaths(List<String> lowPriorityPaths) {
+        this.lowPriorityPaths = lowPriorityPaths;
+    }
+}
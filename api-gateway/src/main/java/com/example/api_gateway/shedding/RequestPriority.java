@@ -0,0 +1,10 @@
+package com.example.api_gateway.shedding;
+
+/**
+ * Shedding order under overload: {@code LOW} goes first, {@code CRITICAL} only at the hard limit.
+ */
+public enum RequestPriority {
+    CRITICAL,
+    NORMAL,
+    LOW
+}
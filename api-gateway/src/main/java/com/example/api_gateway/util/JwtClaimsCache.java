@@ -0,0 +1,194 @@
+package com.example.api_gateway.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of verified JWT claims keyed by a SHA-256 digest of the token.
+ * Each entry lives until the token's own {@code exp}, so repeat requests from the
+ * same session skip signature verification.
+ * <p>
+ * Rejection is kept cheaper than acceptance: tokens that are not even shaped like a
+ * compact JWS are refused before hashing, and digests of tokens that failed
+ * verification are remembered briefly so replaying an expired or forged token does
+ * not pay for the HMAC again.
+ */
+@Component
+public class JwtClaimsCache {
+
+    public static final String CACHE_NAME = "jwt.claims";
+
+    public static final String VERIFICATION_TIMER = "gateway.auth.jwt.verification";
+
+    public static final String REJECTED_CACHE_NAME = "jwt.rejected";
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtClaimsCache.class);
+
+    private static final RateLimitedLogger rejectionLogger = new RateLimitedLogger(logger, Duration.ofSeconds(10));
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${gateway.auth.claims-cache.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${gateway.auth.claims-cache.max-ttl:PT30M}")
+    private Duration maxTtl;
+
+    @Value("${gateway.auth.rejected-cache.maximum-size:10000}")
+    private long rejectedMaximumSize;
+
+    @Value("${gateway.auth.rejected-cache.ttl:PT5M}")
+    private Duration rejectedTtl;
+
+    private Cache<String, VerifiedClaims> cache;
+
+    private Cache<String, Boolean> rejected;
+
+    private Timer validTimer;
+
+    private Timer invalidTimer;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry(maxTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        rejected = Caffeine.newBuilder()
+                .maximumSize(rejectedMaximumSize)
+                .expireAfterWrite(rejectedTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, rejected, REJECTED_CACHE_NAME);
+        validTimer = verificationTimer("valid");
+        invalidTimer = verificationTimer("invalid");
+    }
+
+    /**
+     * Returns the claims of a valid token, verifying the signature only on a cache miss.
+     * Malformed and previously rejected tokens fail fast with a shared
+     * {@link RejectedTokenException}.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
+     * @throws IllegalArgumentException if the token is null or empty
+     */
+    public VerifiedClaims verify(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("JWT token is null or empty");
+        }
+        if (!JwtUtil.hasCompactJwsShape(token)) {
+            throw RejectedTokenException.MALFORMED;
+        }
+        String key = digest(token);
+        if (rejected.getIfPresent(key) != null) {
+            throw RejectedTokenException.PREVIOUSLY_REJECTED;
+        }
+        try {
+            return cache.get(key, k -> parseTimed(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            rejected.put(key, Boolean.TRUE);
+            rejectionLogger.warn("Rejected JWT token: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    private VerifiedClaims parseTimed(String token) {
+        long start = System.nanoTime();
+        try {
+            VerifiedClaims claims = jwtUtil.parseClaims(token);
+            validTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return claims;
+        } catch (RuntimeException e) {
+            invalidTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private Timer verificationTimer(String outcome) {
+        return Timer.builder(VERIFICATION_TIMER)
+                .description("JWT signature verification on claims cache misses")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.95, 0.99, 0.999)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    long rejectedSize() {
+        rejected.cleanUp();
+        return rejected.estimatedSize();
+    }
+
+    long estimatedSize() {
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Expires each entry at the token's {@code exp}, capped by the configured maximum TTL.
+     */
+    static final class TokenExpiry implements Expiry<String, VerifiedClaims> {
+
+        private final Duration maxTtl;
+
+        TokenExpiry(Duration maxTtl) {
+            this.maxTtl = maxTtl;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedClaims claims, long currentTime) {
+            if (claims.expiresAt() == null) {
+                return maxTtl.toNanos();
+            }
+            Duration remaining = Duration.between(Instant.now(), claims.expiresAt());
+            if (remaining.isNegative()) {
+                return 0;
+            }
+            return remaining.compareTo(maxTtl) < 0 ? remaining.toNanos() : maxTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
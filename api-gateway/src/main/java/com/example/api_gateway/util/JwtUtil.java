@@ -2,25 +2,39 @@ package com.example.api_gateway.util;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
 import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.time.Duration;
+import java.util.Date;
 
 @Component
 public class JwtUtil {
 
+    /** Upper bound on the length of a token worth verifying; ours are a few hundred bytes. */
+    public static final int MAX_TOKEN_LENGTH = 4096;
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
+
+    private static final RateLimitedLogger rejectionLogger = new RateLimitedLogger(logger, Duration.ofSeconds(10));
+
     @Value("${jwt.secret:MySecretKeyForJWTTokenGenerationMustBeAtLeast256BitsLongForHS256Algorithm}")
     private String secretKeyString;
 
     private SecretKey secretKey;
 
+    private JwtParser jwtParser;
+
     @PostConstruct
     public void initializeSecretKey() {
         try {
@@ -35,75 +49,108 @@ public class JwtUtil {
                 }
             }
             this.secretKey = Keys.hmacShaKeyFor(finalKeyBytes);
+            this.jwtParser = Jwts.parser()
+                    .verifyWith(secretKey)
+                    .build();
         } catch (Exception e) {
-            System.err.println("Failed to initialize JWT secret key: " + e.getMessage());
+            logger.error("Failed to initialize JWT secret key: {}", e.getMessage());
             throw new RuntimeException("Failed to initialize JWT secret key", e);
         }
     }
 
+    /**
+     * Verifies the signature and expiry of the token once and extracts every claim
+     * the gateway forwards downstream.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
+     * @throws IllegalArgumentException if the token is null or empty
+     */
+    public VerifiedClaims parseClaims(String token) {
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+        Date expiration = claims.getExpiration();
+        return new VerifiedClaims(
+                claims.getSubject(),
+                claims.get("userId", String.class),
+                claims.get("role", String.class),
+                expiration != null ? expiration.toInstant() : null);
+    }
+
+    /**
+     * Cheap structural check run before any cryptography: three non-empty base64url
+     * segments whose header starts like a JSON object. Anything failing this can never
+     * verify, so it is rejected without decoding or hashing.
+     */
+    public static boolean hasCompactJwsShape(String token) {
+        int length = token.length();
+        if (length < 5 || length > MAX_TOKEN_LENGTH || !token.startsWith("eyJ")) {
+            return false;
+        }
+        int dots = 0;
+        int segmentLength = 0;
+        for (int i = 0; i < length; i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                if (segmentLength == 0 || ++dots > 2) {
+                    return false;
+                }
+                segmentLength = 0;
+            } else if (isBase64UrlChar(c)) {
+                segmentLength++;
+            } else {
+                return false;
+            }
+        }
+        return dots == 2 && segmentLength > 0;
+    }
+
+    private static boolean isBase64UrlChar(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_';
+    }
+
     public boolean validateToken(String token) {
+        if (token == null || !hasCompactJwsShape(token)) {
+            return false;
+        }
         try {
-            Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token);
+            jwtParser.parseSignedClaims(token);
             return true;
         } catch (ExpiredJwtException e) {
-            System.err.println("JWT token has expired: " + e.getMessage());
+            rejectionLogger.warn("JWT token has expired: {}", e.getMessage());
             return false;
         } catch (MalformedJwtException e) {
-            System.err.println("Invalid JWT token format: " + e.getMessage());
+            rejectionLogger.warn("Invalid JWT token format: {}", e.getMessage());
             return false;
         } catch (UnsupportedJwtException e) {
-            System.err.println("Unsupported JWT token: " + e.getMessage());
+            rejectionLogger.warn("Unsupported JWT token: {}", e.getMessage());
             return false;
         } catch (SignatureException e) {
-            System.err.println("Invalid JWT signature: " + e.getMessage());
+            rejectionLogger.warn("Invalid JWT signature: {}", e.getMessage());
             return false;
         } catch (IllegalArgumentException e) {
-            System.err.println("JWT token is null or empty: " + e.getMessage());
+            rejectionLogger.warn("JWT token is null or empty: {}", e.getMessage());
             return false;
         } catch (Exception e) {
-            System.err.println("Error validating JWT token: " + e.getMessage());
+            rejectionLogger.warn("Error validating JWT token: {}", e.getMessage());
             return false;
         }
     }
 
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.getSubject();
+        return parseClaims(token).email();
     }
 
     public String getUserIdFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.get("userId", String.class);
+        return parseClaims(token).userId();
     }
 
     public String getRoleFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-        return claims.get("role", String.class);
+        return parseClaims(token).role();
     }
 
     public boolean isTokenExpired(String token) {
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-            return claims.getExpiration().before(new java.util.Date());
+            Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+            return claims.getExpiration().before(new Date());
         } catch (Exception e) {
             return true;
         }
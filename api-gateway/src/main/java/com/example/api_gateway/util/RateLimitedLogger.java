@@ -0,0 +1,62 @@
+package com.example.api_gateway.util;
+
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Emits at most one warning per interval and counts the rest, so a flood of rejected
+ * requests cannot turn logging into the bottleneck. Suppressed messages are reported
+ * with the next one that gets through.
+ */
+public final class RateLimitedLogger {
+
+    private final Logger logger;
+
+    private final long intervalNanos;
+
+    private final LongSupplier nanoClock;
+
+    private final AtomicLong nextAllowedNanos;
+
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public RateLimitedLogger(Logger logger, Duration interval) {
+        this(logger, interval, System::nanoTime);
+    }
+
+    RateLimitedLogger(Logger logger, Duration interval, LongSupplier nanoClock) {
+        this.logger = logger;
+        this.intervalNanos = interval.toNanos();
+        this.nanoClock = nanoClock;
+        this.nextAllowedNanos = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    public void warn(String message, Object arg) {
+        if (!logger.isWarnEnabled() || !tryAcquire()) {
+            return;
+        }
+        long dropped = suppressed.getAndSet(0);
+        if (dropped > 0) {
+            logger.warn(message + " ({} similar messages suppressed)", arg, dropped);
+        } else {
+            logger.warn(message, arg);
+        }
+    }
+
+    long suppressedCount() {
+        return suppressed.get();
+    }
+
+    private boolean tryAcquire() {
+        long now = nanoClock.getAsLong();
+        long next = nextAllowedNanos.get();
+        if (now - next >= 0 && nextAllowedNanos.compareAndSet(next, now + intervalNanos)) {
+            return true;
+        }
+        suppressed.incrementAndGet();
+        return false;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.api_gateway.util;
+
+import io.jsonwebtoken.JwtException;
+
+/**
+ * Thrown for tokens rejected without signature verification. Instances are shared and
+ * carry no stack trace, so rejecting garbage costs no allocation.
+ */
+public final class RejectedTokenException extends JwtException {
+
+    static final RejectedTokenException MALFORMED =
+            new RejectedTokenException("JWT token is not a compact JWS");
+
+    static final RejectedTokenException PREVIOUSLY_REJECTED =
+            new RejectedTokenException("JWT token was already rejected");
+
+    private RejectedTokenException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
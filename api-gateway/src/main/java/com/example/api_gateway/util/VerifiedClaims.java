@@ -0,0 +1,10 @@
+package com.example.api_gateway.util;
+
+import java.time.Instant;
+
+/**
+ * Immutable view of the claims the gateway needs from a JWT whose signature
+ * has already been verified.
+ */
+public record VerifiedClaims(String email, String userId, String role, Instant expiresAt) {
+}
@@ -0,0 +1,46 @@
+-- Token bucket check in a single round trip.
+-- KEYS[1]  bucket hash key
+-- ARGV[1]  replenish rate (tokens per second)
+-- ARGV[2]  burst capacity
+-- ARGV[3]  tokens requested
+-- Returns { allowed (0/1), tokens remaining (floored) }
+
+local key = KEYS[1]
+local rate = tonumber(ARGV[1])
+local capacity = tonumber(ARGV[2])
+local requested = tonumber(ARGV[3])
+
+-- Redis's clock, not the caller's, so replicas with skewed clocks share one timeline.
+-- Replicate the writes rather than the script, which is no longer deterministic (Redis < 5).
+redis.replicate_commands()
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local ttl = math.ceil(capacity / rate * 2)
+if ttl < 1 then
+    ttl = 1
+end
+
+local bucket = redis.call('HMGET', key, 'tokens', 'ts')
+local tokens = tonumber(bucket[1])
+local last = tonumber(bucket[2])
+if tokens == nil then
+    tokens = capacity
+end
+if last == nil then
+    last = now
+end
+
+local elapsed = math.max(0, now - last)
+tokens = math.min(capacity, tokens + (elapsed * rate / 1000))
+
+local allowed = 0
+if tokens >= requested then
+    tokens = tokens - requested
+    allowed = 1
+end
+
+redis.call('HSET', key, 'tokens', tostring(tokens), 'ts', tostring(now))
+redis.call('EXPIRE', key, ttl)
+
+return { allowed, math.floor(tokens) }
@@ -0,0 +1,184 @@
+package com.example.api_gateway;
+
+import com.sun.net.httpserver.HttpServer;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs {@code /me/dashboard} against stub user, wallet and transaction services.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class DashboardIntegrationTest {
+
+    /** JwtUtil signs with the first 32 bytes of jwt.secret. */
+    private static final String SECRET = "MySecretKeyForJWTTokenGenerationMustBeAtLeast256BitsLongForHS256Algorithm";
+
+    /** Per-path stub behaviour: body to return, or "slow"/"error". */
+    private static final Map<String, String> behaviour = new ConcurrentHashMap<>();
+
+    private static final HttpServer userService = stub();
+    private static final HttpServer walletService = stub();
+    private static final HttpServer transactionService = stub();
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @DynamicPropertySource
+    static void routes(DynamicPropertyRegistry registry) {
+        registry.add("gateway.rate-limit.enabled", () -> "false");
+        registry.add("gateway.dashboard.leg-timeout", () -> "500ms");
+        // Indexed route lists are not merged across property sources, so every route is redefined here.
+        registry.add("spring.cloud.gateway.routes[0].id", () -> "user-service");
+        registry.add("spring.cloud.gateway.routes[0].uri", () -> uri(userService));
+        registry.add("spring.cloud.gateway.routes[0].predicates[0]", () -> "Path=/users/**,/auth/**");
+        registry.add("spring.cloud.gateway.routes[1].id", () -> "wallet-service");
+        registry.add("spring.cloud.gateway.routes[1].uri", () -> uri(walletService));
+        registry.add("spring.cloud.gateway.routes[1].predicates[0]", () -> "Path=/wallets/**");
+        registry.add("spring.cloud.gateway.routes[2].id", () -> "transaction-service");
+        registry.add("spring.cloud.gateway.routes[2].uri", () -> uri(transactionService));
+        registry.add("spring.cloud.gateway.routes[2].predicates[0]", () -> "Path=/transactions/**");
+        registry.add("spring.cloud.gateway.routes[3].id", () -> "dashboard");
+        registry.add("spring.cloud.gateway.routes[3].uri", () -> "forward:/");
+        registry.add("spring.cloud.gateway.routes[3].predicates[0]", () -> "Path=/me/dashboard");
+        registry.add("spring.cloud.gateway.routes[3].filters[0]", () -> "SetPath=/internal/dashboard");
+    }
+
+    @AfterEach
+    void resetStubs() {
+        behaviour.clear();
+    }
+
+    @AfterAll
+    static void stopStubs() {
+        userService.stop(0);
+        walletService.stop(0);
+        transactionService.stop(0);
+    }
+
+    @Test
+    void testDashboard_AllLegsSucceed_ReturnsMergedDocument() {
+        behaviour.put("/users/user123", "{\"id\":\"user123\",\"name\":\"Test\"}");
+        behaviour.put("/wallets/with-balance", "[{\"id\":\"w1\",\"balance\":100}]");
+        behaviour.put("/transactions", "{\"content\":[],\"page\":0}");
+
+        webTestClient.get().uri("/me/dashboard")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.user.name").isEqualTo("Test")
+                .jsonPath("$.wallets[0].balance").isEqualTo(100)
+                .jsonPath("$.transactions.page").isEqualTo(0)
+                .jsonPath("$.errors").doesNotExist();
+    }
+
+    @Test
+    void testDashboard_SlowAndFailingLegs_ReturnsPartialResult() {
+        behaviour.put("/users/user123", "{\"id\":\"user123\",\"name\":\"Test\"}");
+        behaviour.put("/wallets/with-balance", "slow");
+        behaviour.put("/transactions", "error");
+
+        webTestClient.get().uri("/me/dashboard")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.user.name").isEqualTo("Test")
+                .jsonPath("$.wallets").isEmpty()
+                .jsonPath("$.errors.wallets").isEqualTo("timeout")
+                .jsonPath("$.errors.transactions").isEqualTo("status 500");
+    }
+
+    @Test
+    void testDashboard_AllLegsFail_ReturnsBadGateway() {
+        behaviour.put("/users/user123", "error");
+        behaviour.put("/wallets/with-balance", "error");
+        behaviour.put("/transactions", "error");
+
+        webTestClient.get().uri("/me/dashboard")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token())
+                .exchange()
+                .expectStatus().isEqualTo(502)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(502);
+    }
+
+    @Test
+    void testDashboard_WithoutToken_ReturnsUnauthorized() {
+        webTestClient.get().uri("/me/dashboard")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void testInternalPath_CalledDirectly_ReturnsUnauthorized() {
+        webTestClient.get().uri("/internal/dashboard")
+                .header("X-User-Id", "user123")
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    private static String token() {
+        Date now = new Date();
+        return Jwts.builder()
+                .subject("test@example.com")
+                .claim("userId", "user123")
+                .claim("role", "USER")
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + 3600000))
+                .signWith(Keys.hmacShaKeyFor(Arrays.copyOf(SECRET.getBytes(), 32)))
+                .compact();
+    }
+
+    private static HttpServer stub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.createContext("/", exchange -> {
+                String mode = behaviour.getOrDefault(exchange.getRequestURI().getPath(), "error");
+                if ("slow".equals(mode)) {
+                    try {
+                        Thread.sleep(2000);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    mode = "{}";
+                }
+                int status = "error".equals(mode) ? 500 : 200;
+                byte[] body = ("error".equals(mode) ? "{\"error\":\"boom\"}" : mode).getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(status, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String uri(HttpServer server) {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+}
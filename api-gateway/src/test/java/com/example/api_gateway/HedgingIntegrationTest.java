@@ -0,0 +1,122 @@
+package com.example.api_gateway;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sends GETs through a hedged route whose two stub instances are one fast and one stalled,
+ * and checks that once the delay is learned, requests landing on the stalled instance are
+ * answered by a hedge to the fast one.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class HedgingIntegrationTest {
+
+    private static final long STALL_MILLIS = 800;
+
+    private static final List<HttpServer> stubs = List.of(stub("fast", 0), stub("stalled", STALL_MILLIS));
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void routes(DynamicPropertyRegistry registry) {
+        registry.add("gateway.auth.excluded-paths", () -> "/auth/signup,/auth/login,/actuator,/stub");
+        registry.add("gateway.rate-limit.enabled", () -> "false");
+        registry.add("gateway.protection.enabled", () -> "false");
+        registry.add("gateway.shedding.enabled", () -> "false");
+        registry.add("gateway.hedging.percentile", () -> "0.25");
+        registry.add("gateway.hedging.min-samples", () -> "10");
+        registry.add("gateway.hedging.window-size", () -> "50");
+        registry.add("gateway.hedging.budget-ratio", () -> "1.0");
+        registry.add("gateway.hedging.min-delay", () -> "20ms");
+        registry.add("spring.cloud.gateway.routes[0].id", () -> "stub-service");
+        registry.add("spring.cloud.gateway.routes[0].uri", () -> uri(stubs.get(0)));
+        registry.add("spring.cloud.gateway.routes[0].predicates[0]", () -> "Path=/stub/**");
+        registry.add("spring.cloud.gateway.routes[0].metadata.hedge", () -> "true");
+        registry.add("spring.cloud.gateway.routes[0].metadata.instances",
+                () -> uri(stubs.get(0)) + "," + uri(stubs.get(1)));
+    }
+
+    @AfterAll
+    static void stopStubs() {
+        stubs.forEach(server -> server.stop(0));
+    }
+
+    @Test
+    void testSlowPrimaryIsHedgedToOtherInstance() {
+        for (int i = 0; i < 10; i++) {
+            get(i);
+        }
+
+        long slowest = 0;
+        for (int i = 0; i < 20; i++) {
+            long start = System.nanoTime();
+            assertEquals("{\"instance\":\"fast\"}", get(i));
+            slowest = Math.max(slowest, (System.nanoTime() - start) / 1_000_000);
+        }
+
+        assertTrue(slowest < STALL_MILLIS / 2, "slowest hedged request took " + slowest + "ms");
+        assertTrue(meterRegistry.get("gateway.hedging.hedges")
+                .tags("route", "stub-service", "result", "sent").counter().count() > 0);
+        assertTrue(meterRegistry.get("gateway.hedging.wins")
+                .tags("route", "stub-service", "winner", "hedge").counter().count() > 0);
+    }
+
+    private String get(int i) {
+        return webTestClient.get().uri("/stub/balance?i=" + i)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private static HttpServer stub(String name, long delayMillis) {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.createContext("/", exchange -> {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                byte[] body = ("{\"instance\":\"" + name + "\"}").getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                } catch (IOException e) {
+                    // the gateway cancelled the losing attempt
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String uri(HttpServer server) {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+}
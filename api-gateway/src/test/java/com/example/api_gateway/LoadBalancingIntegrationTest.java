@@ -0,0 +1,100 @@
+package com.example.api_gateway;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Routes requests through the gateway to three local stub servers, one of which always
+ * fails, and checks that traffic is spread over the healthy ones once the bad one is ejected.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class LoadBalancingIntegrationTest {
+
+    private static final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+
+    private static final List<HttpServer> stubs = List.of(
+            stub("a", 200), stub("b", 200), stub("broken", 500));
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @DynamicPropertySource
+    static void routes(DynamicPropertyRegistry registry) {
+        registry.add("gateway.auth.excluded-paths", () -> "/auth/signup,/auth/login,/actuator,/stub");
+        registry.add("gateway.load-balancer.consecutive-failures", () -> "2");
+        registry.add("gateway.load-balancer.ejection-duration", () -> "1m");
+        registry.add("gateway.rate-limit.enabled", () -> "false");
+        registry.add("gateway.protection.enabled", () -> "false");
+        registry.add("spring.cloud.gateway.routes[0].id", () -> "stub-service");
+        registry.add("spring.cloud.gateway.routes[0].uri", () -> uri(stubs.get(0)));
+        registry.add("spring.cloud.gateway.routes[0].predicates[0]", () -> "Path=/stub/**");
+        registry.add("spring.cloud.gateway.routes[0].metadata.instances",
+                () -> uri(stubs.get(0)) + "," + uri(stubs.get(1)) + "," + uri(stubs.get(2)));
+    }
+
+    @AfterAll
+    static void stopStubs() {
+        stubs.forEach(server -> server.stop(0));
+    }
+
+    @Test
+    void testRequestsSpreadAcrossInstancesAndFailingInstanceIsEjected() {
+        int failures = 0;
+        for (int i = 0; i < 60; i++) {
+            int status = webTestClient.get().uri("/stub/ping?i=" + i)
+                    .exchange()
+                    .returnResult(String.class)
+                    .getStatus()
+                    .value();
+            if (status == 500) {
+                failures++;
+            }
+        }
+
+        assertTrue(hits.get("a").get() > 10, "instance a got " + hits.get("a"));
+        assertTrue(hits.get("b").get() > 10, "instance b got " + hits.get("b"));
+        assertEquals(2, hits.get("broken").get());
+        assertEquals(2, failures);
+    }
+
+    private static HttpServer stub(String name, int status) {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            hits.put(name, new AtomicInteger());
+            server.createContext("/", exchange -> {
+                hits.get(name).incrementAndGet();
+                byte[] body = ("{\"instance\":\"" + name + "\"}").getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(status, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String uri(HttpServer server) {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.api_gateway;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Startup time and resident memory of the native executable against the JVM jar. Build both
+ * with {@code mvn -Pnative package}, then run {@code mvn -Pbenchmark test
+ * -Dtest=NativeStartupComparisonTest}. Startup is measured until the first answer from
+ * {@code /actuator/health}; RSS is read from {@code /proc} after a short burst of requests.
+ * Skipped when either artifact is missing or not on Linux.
+ */
+@Tag("benchmark")
+class NativeStartupComparisonTest {
+
+    private static final int RUNS = 3;
+
+    private static final int WARMUP_REQUESTS = 500;
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    @Test
+    void compareNativeWithJvm() throws Exception {
+        Path nativeExecutable = Paths.get("target", "api-gateway");
+        Path jar = findJar();
+        assumeTrue(Files.isExecutable(nativeExecutable), "Run mvn -Pnative package first");
+        assumeTrue(jar != null, "No executable jar in target/");
+        assumeTrue(Files.isDirectory(Paths.get("/proc/self")), "RSS is read from /proc");
+
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        Result jvm = measure(List.of(java, "-jar", jar.toString()));
+        Result nativeImage = measure(List.of(nativeExecutable.toString()));
+
+        System.out.println("API gateway startup, median of " + RUNS + " runs:");
+        System.out.printf("  %-8s %8d ms startup %8d MB RSS%n", "jvm", jvm.startupMillis(), jvm.rssKb() / 1024);
+        System.out.printf("  %-8s %8d ms startup %8d MB RSS%n", "native",
+                nativeImage.startupMillis(), nativeImage.rssKb() / 1024);
+
+        assertTrue(nativeImage.startupMillis() < jvm.startupMillis(), "Native image should start faster");
+        assertTrue(nativeImage.rssKb() < jvm.rssKb(), "Native image should use less memory");
+    }
+
+    private Result measure(List<String> command) throws Exception {
+        List<Long> startups = new ArrayList<>();
+        List<Long> rss = new ArrayList<>();
+        for (int run = 0; run < RUNS; run++) {
+            int port = freePort();
+            List<String> fullCommand = new ArrayList<>(command);
+            fullCommand.add("--server.port=" + port);
+            fullCommand.add("--management.health.redis.enabled=false");
+            URI health = URI.create("http://localhost:" + port + "/actuator/health");
+
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(fullCommand)
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            try {
+                awaitFirstResponse(process, health);
+                startups.add((System.nanoTime() - start) / 1_000_000);
+                for (int i = 0; i < WARMUP_REQUESTS; i++) {
+                    get(health);
+                }
+                rss.add(residentSetKb(process.pid()));
+            } finally {
+                process.destroy();
+                if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            }
+        }
+        return new Result(median(startups), median(rss));
+    }
+
+    private void awaitFirstResponse(Process process, URI health) throws Exception {
+        long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            assertTrue(process.isAlive(), "Gateway exited during startup");
+            try {
+                get(health);
+                return;
+            } catch (IOException notListeningYet) {
+                Thread.sleep(10);
+            }
+        }
+        fail("Gateway did not answer within " + STARTUP_TIMEOUT);
+    }
+
+    private void get(URI uri) throws IOException, InterruptedException {
+        httpClient.send(HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).build(),
+                HttpResponse.BodyHandlers.discarding());
+    }
+
+    private static long residentSetKb(long pid) throws IOException {
+        for (String line : Files.readAllLines(Paths.get("/proc", Long.toString(pid), "status"))) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", ""));
+            }
+        }
+        throw new IllegalStateException("No VmRSS for process " + pid);
+    }
+
+    private static Path findJar() throws IOException {
+        Path target = Paths.get("target");
+        if (!Files.isDirectory(target)) {
+            return null;
+        }
+        try (Stream<Path> files = Files.list(target)) {
+            return files.filter(file -> file.getFileName().toString().matches("api-gateway-.*\\.jar"))
+                    .findFirst()
+                    .orElse(null);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long median(List<Long> values) {
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+
+    private record Result(long startupMillis, long rssKb) {
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.api_gateway;
+
+import com.example.api_gateway.loadbalancer.ConsistentHashRing;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sends OTP verifications through the gateway to three stub instances and checks that each
+ * transaction id always reaches the instance owning it on the hash ring, with the body intact.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class StickyRoutingIntegrationTest {
+
+    private static final List<HttpServer> stubs = List.of(stub("a"), stub("b"), stub("c"));
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @DynamicPropertySource
+    static void routes(DynamicPropertyRegistry registry) {
+        registry.add("gateway.auth.excluded-paths", () -> "/auth/signup,/auth/login,/actuator,/transactions");
+        registry.add("gateway.rate-limit.enabled", () -> "false");
+        registry.add("gateway.protection.enabled", () -> "false");
+        registry.add("spring.cloud.gateway.routes[0].id", () -> "transaction-otp");
+        registry.add("spring.cloud.gateway.routes[0].uri", () -> uri(stubs.get(0)));
+        registry.add("spring.cloud.gateway.routes[0].predicates[0]", () -> "Path=/transactions/verify-otp");
+        registry.add("spring.cloud.gateway.routes[0].metadata.instances", StickyRoutingIntegrationTest::instances);
+        registry.add("spring.cloud.gateway.routes[0].metadata.hash-key", () -> "transactionId");
+    }
+
+    @AfterAll
+    static void stopStubs() {
+        stubs.forEach(server -> server.stop(0));
+    }
+
+    @Test
+    void testVerifyOtp_SameTransactionAlwaysReachesOwningInstance() {
+        List<String> uris = List.of(instances().split(","));
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(uris, uri -> uri);
+        Set<String> used = new HashSet<>();
+
+        for (int i = 0; i < 20; i++) {
+            UUID transactionId = UUID.randomUUID();
+            String expected = name(uris.indexOf(ring.nodeFor(transactionId.toString())));
+            String body = "{\"transactionId\":\"" + transactionId + "\",\"otp\":\"123456\"}";
+            for (int attempt = 0; attempt < 3; attempt++) {
+                webTestClient.post().uri("/transactions/verify-otp")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(body)
+                        .exchange()
+                        .expectStatus().isOk()
+                        .expectBody()
+                        .jsonPath("$.instance").isEqualTo(expected)
+                        .jsonPath("$.echo").isEqualTo(body);
+            }
+            used.add(expected);
+        }
+
+        assertTrue(used.size() > 1, "all transactions hashed to " + used);
+    }
+
+    @Test
+    void testVerifyOtp_MissingKeyStillRouted() {
+        webTestClient.post().uri("/transactions/verify-otp")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"otp\":\"123456\"}")
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    private static String instances() {
+        return uri(stubs.get(0)) + "," + uri(stubs.get(1)) + "," + uri(stubs.get(2));
+    }
+
+    private static String name(int index) {
+        return List.of("a", "b", "c").get(index);
+    }
+
+    private static HttpServer stub(String name) {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/", exchange -> {
+                String echo;
+                try (InputStream in = exchange.getRequestBody()) {
+                    echo = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+                }
+                byte[] body = ("{\"instance\":\"" + name + "\",\"echo\":\"" + echo.replace("\"", "\\\"") + "\"}")
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String uri(HttpServer server) {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+}
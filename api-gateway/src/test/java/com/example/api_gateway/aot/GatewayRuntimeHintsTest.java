@@ -0,0 +1,42 @@
+package com.example.api_gateway.aot;
+
+import com.example.api_gateway.cache.TransactionSettledEvent;
+import com.example.api_gateway.faults.FaultSpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GatewayRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    void setUp() {
+        new GatewayRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void testJjwtImplementationsReachable() {
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("io.jsonwebtoken.impl.DefaultJwtParserBuilder")).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(TypeReference.of("io.jsonwebtoken.jackson.io.JacksonDeserializer")).test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("META-INF/services/io.jsonwebtoken.io.Deserializer").test(hints));
+    }
+
+    @Test
+    void testRateLimitScriptAndFaultRulesReachable() {
+        assertTrue(RuntimeHintsPredicates.resource().forResource("scripts/token_bucket.lua").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(FaultSpec.class).test(hints));
+    }
+
+    @Test
+    void testSettledTransactionEventBindable() {
+        assertTrue(RuntimeHintsPredicates.reflection().onType(TransactionSettledEvent.class).test(hints));
+    }
+}
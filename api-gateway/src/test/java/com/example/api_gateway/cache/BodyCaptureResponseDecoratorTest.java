@@ -0,0 +1,91 @@
+package com.example.api_gateway.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BodyCaptureResponseDecoratorTest {
+
+    private final List<CachedResponse> captured = new ArrayList<>();
+
+    @Test
+    void testWriteWith_SmallBody_CapturedAndWritten() {
+        MockServerHttpResponse response = response();
+        BodyCaptureResponseDecorator decorated = new BodyCaptureResponseDecorator(response, 16, captured::add);
+
+        StepVerifier.create(decorated.writeWith(chunks("[{\"id\"", ":1}]"))).verifyComplete();
+
+        assertEquals("[{\"id\":1}]", response.getBodyAsString().block());
+        assertEquals(1, captured.size());
+        assertEquals("[{\"id\":1}]", new String(captured.get(0).body(), StandardCharsets.UTF_8));
+        assertEquals(HttpStatus.OK, captured.get(0).status());
+        assertEquals(MediaType.APPLICATION_JSON, captured.get(0).contentType());
+    }
+
+    @Test
+    void testWriteWith_KeepsOnlyHeadersDescribingTheBody() {
+        MockServerHttpResponse response = response();
+        response.getHeaders().setETag("\"v1\"");
+        response.getHeaders().setCacheControl("private, max-age=5");
+        response.getHeaders().setVary(List.of(HttpHeaders.ACCEPT_LANGUAGE));
+        response.getHeaders().add(HttpHeaders.SET_COOKIE, "session=abc");
+        response.getHeaders().add("X-Request-Id", "r-1");
+        BodyCaptureResponseDecorator decorated = new BodyCaptureResponseDecorator(response, 16, captured::add);
+
+        StepVerifier.create(decorated.writeWith(chunks("[]"))).verifyComplete();
+
+        HttpHeaders headers = captured.get(0).headers();
+        assertEquals("\"v1\"", headers.getETag());
+        assertEquals("private, max-age=5", headers.getCacheControl());
+        assertEquals(List.of(HttpHeaders.ACCEPT_LANGUAGE), headers.getVary());
+        assertEquals(MediaType.APPLICATION_JSON, headers.getContentType());
+        assertFalse(headers.containsKey(HttpHeaders.SET_COOKIE));
+        assertFalse(headers.containsKey("X-Request-Id"));
+    }
+
+    @Test
+    void testWriteWith_BodyOverLimit_WrittenButNotCaptured() {
+        MockServerHttpResponse response = response();
+        BodyCaptureResponseDecorator decorated = new BodyCaptureResponseDecorator(response, 8, captured::add);
+
+        StepVerifier.create(decorated.writeWith(chunks("12345", "67890", "abc"))).verifyComplete();
+
+        assertEquals("1234567890abc", response.getBodyAsString().block());
+        assertTrue(captured.isEmpty());
+    }
+
+    @Test
+    void testWriteWith_UpstreamError_NotCaptured() {
+        MockServerHttpResponse response = response();
+        BodyCaptureResponseDecorator decorated = new BodyCaptureResponseDecorator(response, 16, captured::add);
+
+        Flux<DataBuffer> failing = chunks("[").concatWith(Flux.error(new IllegalStateException("reset")));
+        StepVerifier.create(decorated.writeWith(failing)).verifyError(IllegalStateException.class);
+
+        assertTrue(captured.isEmpty());
+    }
+
+    private static MockServerHttpResponse response() {
+        MockServerHttpResponse response = new MockServerHttpResponse();
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response;
+    }
+
+    private static Flux<DataBuffer> chunks(String... parts) {
+        return Flux.fromArray(parts)
+                .map(part -> DefaultDataBufferFactory.sharedInstance.wrap(part.getBytes(StandardCharsets.UTF_8)));
+    }
+}
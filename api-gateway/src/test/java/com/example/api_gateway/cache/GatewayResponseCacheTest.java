@@ -0,0 +1,91 @@
+package com.example.api_gateway.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GatewayResponseCacheTest {
+
+    private GatewayResponseCache responseCache;
+    private SimpleMeterRegistry meterRegistry;
+
+    private final CachedResponse response = CachedResponse.of(HttpStatus.OK, json(), "[]".getBytes());
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        responseCache = new GatewayResponseCache();
+        ReflectionTestUtils.setField(responseCache, "properties", new ResponseCacheProperties());
+        ReflectionTestUtils.setField(responseCache, "meterRegistry", meterRegistry);
+        responseCache.init();
+    }
+
+    @Test
+    void testGet_AfterPut_ReturnsResponse() {
+        GatewayResponseCache.Key key = responseCache.keyFor("wallet-service", "user1", "/wallets");
+        responseCache.put(key, response, Duration.ofMinutes(1));
+
+        assertSame(response, responseCache.get(responseCache.keyFor("wallet-service", "user1", "/wallets")));
+    }
+
+    @Test
+    void testInvalidateUser_ResponseFetchedBeforeInvalidation_IsNeverServed() {
+        GatewayResponseCache.Key inFlight = responseCache.keyFor("wallet-service", "user1", "/wallets");
+        responseCache.invalidateUser("user1");
+        responseCache.put(inFlight, response, Duration.ofMinutes(1));
+
+        assertNull(responseCache.get(responseCache.keyFor("wallet-service", "user1", "/wallets")));
+        assertEquals(1.0, meterRegistry.get("gateway.response-cache.invalidations").counter().count());
+    }
+
+    @Test
+    void testInvalidateUser_OtherUsersUnaffected() {
+        GatewayResponseCache.Key key = responseCache.keyFor("wallet-service", "user2", "/wallets");
+        responseCache.put(key, response, Duration.ofMinutes(1));
+
+        responseCache.invalidateUser("user1");
+
+        assertSame(response, responseCache.get(responseCache.keyFor("wallet-service", "user2", "/wallets")));
+    }
+
+    @Test
+    void testGet_AfterTtl_ReturnsNull() throws InterruptedException {
+        GatewayResponseCache.Key key = responseCache.keyFor("wallet-service", "user1", "/wallets");
+        responseCache.put(key, response, Duration.ofMillis(20));
+
+        Thread.sleep(60);
+
+        assertNull(responseCache.get(key));
+    }
+
+    @Test
+    void testPut_LargeBodies_BoundedByTotalSize() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setMaximumTotalSize(DataSize.ofKilobytes(64));
+        ReflectionTestUtils.setField(responseCache, "properties", properties);
+        responseCache.init();
+
+        CachedResponse large = CachedResponse.of(HttpStatus.OK, json(), new byte[16 * 1024]);
+        for (int i = 0; i < 100; i++) {
+            responseCache.put(responseCache.keyFor("wallet-service", "user" + i, "/wallets"), large, Duration.ofMinutes(1));
+        }
+
+        assertTrue(responseCache.weightedSize() <= DataSize.ofKilobytes(64).toBytes());
+        assertTrue(responseCache.weightedSize() > 0);
+    }
+
+    private static HttpHeaders json() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return headers;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.api_gateway.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ResponseCacheInvalidatorTest {
+
+    private GatewayResponseCache responseCache;
+    private ReactiveStringRedisTemplate redisTemplate;
+    private ResponseCacheInvalidator invalidator;
+
+    @BeforeEach
+    void setUp() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        responseCache = new GatewayResponseCache();
+        ReflectionTestUtils.setField(responseCache, "properties", properties);
+        ReflectionTestUtils.setField(responseCache, "meterRegistry", new SimpleMeterRegistry());
+        responseCache.init();
+
+        redisTemplate = mock(ReactiveStringRedisTemplate.class);
+        invalidator = new ResponseCacheInvalidator();
+        ReflectionTestUtils.setField(invalidator, "responseCache", responseCache);
+        ReflectionTestUtils.setField(invalidator, "properties", properties);
+        ReflectionTestUtils.setField(invalidator, "redisTemplate", redisTemplate);
+    }
+
+    @Test
+    void testOnAnnouncement_FromOtherReplica_DropsUsersEntries() {
+        cache("user1");
+
+        invalidator.onAnnouncement("other-replica:user1");
+
+        assertFalse(isCached("user1"));
+    }
+
+    @Test
+    void testOnAnnouncement_OwnAnnouncement_Ignored() {
+        when(redisTemplate.convertAndSend(anyString(), anyString())).thenReturn(Mono.just(1L));
+        StepVerifier.create(invalidator.invalidateUser("user1")).verifyComplete();
+        cache("user1");
+
+        String sent = mockingDetails(redisTemplate).getInvocations().iterator().next().getArgument(1);
+        invalidator.onAnnouncement(sent);
+
+        assertTrue(isCached("user1"));
+    }
+
+    @Test
+    void testInvalidateUser_RedisSlow_CompletesAfterTimeout() {
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setBroadcastTimeout(Duration.ofMillis(10));
+        ReflectionTestUtils.setField(invalidator, "properties", properties);
+        when(redisTemplate.convertAndSend(anyString(), anyString())).thenReturn(Mono.never());
+        cache("user1");
+
+        StepVerifier.create(invalidator.invalidateUser("user1")).expectComplete().verify(Duration.ofSeconds(5));
+
+        assertFalse(isCached("user1"));
+    }
+
+    @Test
+    void testHandleTransactionSettled_DropsEveryListedUser() {
+        UUID sender = UUID.randomUUID();
+        UUID receiver = UUID.randomUUID();
+        cache(sender.toString());
+        cache(receiver.toString());
+        cache("bystander");
+
+        TransactionSettledEvent event = new TransactionSettledEvent();
+        event.setStatus("SUCCESS");
+        event.setUserIds(List.of(sender, receiver));
+        invalidator.handleTransactionSettled(event);
+
+        assertFalse(isCached(sender.toString()));
+        assertFalse(isCached(receiver.toString()));
+        assertTrue(isCached("bystander"));
+    }
+
+    private void cache(String userId) {
+        responseCache.put(responseCache.keyFor("wallet-service", userId, "/wallets"),
+                CachedResponse.of(HttpStatus.OK, new HttpHeaders(), "[]".getBytes()), Duration.ofMinutes(1));
+    }
+
+    private boolean isCached(String userId) {
+        return responseCache.get(responseCache.keyFor("wallet-service", userId, "/wallets")) != null;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.api_gateway.faults;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FaultSpecTest {
+
+    @Test
+    void testParse() {
+        FaultSpec spec = FaultSpec.parse("delay=200ms, distribution=exponential, max-delay=2s,"
+                + "delay-probability=0.5, error=0.1, status=500, abort=0.05");
+
+        assertEquals(FaultSpec.Distribution.EXPONENTIAL, spec.getDistribution());
+        assertEquals(Duration.ofMillis(200), spec.getDelay());
+        assertEquals(Duration.ofSeconds(2), spec.getMaxDelay());
+        assertEquals(0.5, spec.getDelayProbability());
+        assertEquals(0.1, spec.getErrorRate());
+        assertEquals(500, spec.getErrorStatus());
+        assertEquals(0.05, spec.getAbortRate());
+    }
+
+    @Test
+    void testParse_Malformed_Throws() {
+        assertThrows(IllegalArgumentException.class, () -> FaultSpec.parse("delay"));
+        assertThrows(IllegalArgumentException.class, () -> FaultSpec.parse("jitter=5ms"));
+        assertThrows(IllegalArgumentException.class, () -> FaultSpec.parse("distribution=gaussian"));
+        assertThrows(IllegalArgumentException.class, () -> FaultSpec.parse("error=1,status=999"));
+        assertThrows(IllegalArgumentException.class, () -> FaultSpec.parse("error=1,status=0"));
+        assertThrows(IllegalArgumentException.class, () -> FaultSpec.parse("error=1,status=599"));
+    }
+
+    @Test
+    void testForTarget_PicksOwnClause() {
+        String header = "api-gateway:delay=100ms;wallet-service:error=1";
+
+        assertEquals(Duration.ofMillis(100), FaultSpec.forTarget(header, "api-gateway").getDelay());
+        assertEquals(1.0, FaultSpec.forTarget(header, "wallet-service").getErrorRate());
+        assertNull(FaultSpec.forTarget(header, "user-service"));
+        assertNull(FaultSpec.forTarget(null, "api-gateway"));
+    }
+
+    @Test
+    void testSampleDelay_Distributions() {
+        Random random = new Random(42);
+        FaultSpec spec = FaultSpec.parse("delay=100ms,max-delay=1s");
+        assertEquals(Duration.ofMillis(100), spec.sampleDelay(random));
+
+        spec.setDistribution(FaultSpec.Distribution.UNIFORM);
+        for (int i = 0; i < 1000; i++) {
+            long millis = spec.sampleDelay(random).toMillis();
+            assertTrue(millis >= 0 && millis <= 200);
+        }
+
+        spec.setDistribution(FaultSpec.Distribution.PARETO);
+        long max = 0;
+        for (int i = 0; i < 1000; i++) {
+            long millis = spec.sampleDelay(random).toMillis();
+            assertTrue(millis >= 100 && millis <= 1000);
+            max = Math.max(max, millis);
+        }
+        assertTrue(max > 500, "Pareto should produce a long tail");
+    }
+
+    @Test
+    void testSampleDelay_Probability() {
+        Random random = new Random(7);
+        FaultSpec spec = FaultSpec.parse("delay=100ms,delay-probability=0.1");
+
+        int delayed = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (!spec.sampleDelay(random).isZero()) {
+                delayed++;
+            }
+        }
+        assertTrue(delayed > 800 && delayed < 1200);
+    }
+}
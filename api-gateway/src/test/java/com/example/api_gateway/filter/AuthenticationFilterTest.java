@@ -1,6 +1,9 @@
 package com.example.api_gateway.filter;
 
-import com.example.api_gateway.util.JwtUtil;
+import com.example.api_gateway.util.JwtClaimsCache;
+import com.example.api_gateway.util.VerifiedClaims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -27,7 +30,7 @@ import org.mockito.ArgumentCaptor;
 class AuthenticationFilterTest {
 
     @Mock
-    private JwtUtil jwtUtil;
+    private JwtClaimsCache jwtClaimsCache;
 
     @Mock
     private GatewayFilterChain filterChain;
@@ -58,7 +61,7 @@ class AuthenticationFilterTest {
                 .verifyComplete();
 
         verify(filterChain, times(1)).filter(any(ServerWebExchange.class));
-        verify(jwtUtil, never()).validateToken(anyString());
+        verify(jwtClaimsCache, never()).verify(anyString());
     }
 
     @Test
@@ -74,7 +77,7 @@ class AuthenticationFilterTest {
                 .verifyComplete();
 
         verify(filterChain, times(1)).filter(any(ServerWebExchange.class));
-        verify(jwtUtil, never()).validateToken(anyString());
+        verify(jwtClaimsCache, never()).verify(anyString());
     }
 
     @Test
@@ -90,7 +93,7 @@ class AuthenticationFilterTest {
                 .verifyComplete();
 
         verify(filterChain, times(1)).filter(any(ServerWebExchange.class));
-        verify(jwtUtil, never()).validateToken(anyString());
+        verify(jwtClaimsCache, never()).verify(anyString());
     }
 
     @Test
@@ -104,8 +107,10 @@ class AuthenticationFilterTest {
                 .verifyComplete();
 
         verify(filterChain, never()).filter(any(ServerWebExchange.class));
-        verify(jwtUtil, never()).validateToken(anyString());
+        verify(jwtClaimsCache, never()).verify(anyString());
         assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertEquals(AuthenticationFilter.OUTCOME_MISSING_TOKEN,
+                exchange.getAttribute(AuthenticationFilter.AUTH_OUTCOME_ATTR));
     }
 
     @Test
@@ -121,7 +126,7 @@ class AuthenticationFilterTest {
                 .verifyComplete();
 
         verify(filterChain, never()).filter(any(ServerWebExchange.class));
-        verify(jwtUtil, never()).validateToken(anyString());
+        verify(jwtClaimsCache, never()).verify(anyString());
         assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
     }
 
@@ -133,16 +138,18 @@ class AuthenticationFilterTest {
                 .build();
         exchange = MockServerWebExchange.from(request);
 
-        when(jwtUtil.validateToken(token)).thenReturn(false);
+        when(jwtClaimsCache.verify(token)).thenThrow(new MalformedJwtException("Invalid JWT token format"));
 
         Mono<Void> result = authenticationFilter.filter(exchange, filterChain);
 
         StepVerifier.create(result)
                 .verifyComplete();
 
-        verify(jwtUtil, times(1)).validateToken(token);
+        verify(jwtClaimsCache, times(1)).verify(token);
         verify(filterChain, never()).filter(any(ServerWebExchange.class));
         assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertEquals(AuthenticationFilter.OUTCOME_INVALID_TOKEN,
+                exchange.getAttribute(AuthenticationFilter.AUTH_OUTCOME_ATTR));
     }
 
     @Test
@@ -157,10 +164,7 @@ class AuthenticationFilterTest {
                 .build();
         exchange = MockServerWebExchange.from(request);
 
-        when(jwtUtil.validateToken(token)).thenReturn(true);
-        when(jwtUtil.getEmailFromToken(token)).thenReturn(email);
-        when(jwtUtil.getUserIdFromToken(token)).thenReturn(userId);
-        when(jwtUtil.getRoleFromToken(token)).thenReturn(role);
+        when(jwtClaimsCache.verify(token)).thenReturn(new VerifiedClaims(email, userId, role, null));
         when(filterChain.filter(any(ServerWebExchange.class))).thenReturn(Mono.empty());
 
         ArgumentCaptor<ServerWebExchange> exchangeCaptor = ArgumentCaptor.forClass(ServerWebExchange.class);
@@ -170,16 +174,15 @@ class AuthenticationFilterTest {
         StepVerifier.create(result)
                 .verifyComplete();
 
-        verify(jwtUtil, times(1)).validateToken(token);
-        verify(jwtUtil, times(1)).getEmailFromToken(token);
-        verify(jwtUtil, times(1)).getUserIdFromToken(token);
-        verify(jwtUtil, times(1)).getRoleFromToken(token);
+        verify(jwtClaimsCache, times(1)).verify(token);
         verify(filterChain, times(1)).filter(exchangeCaptor.capture());
 
         ServerHttpRequest modifiedRequest = exchangeCaptor.getValue().getRequest();
         assertEquals(email, modifiedRequest.getHeaders().getFirst("X-User-Email"));
         assertEquals(userId, modifiedRequest.getHeaders().getFirst("X-User-Id"));
         assertEquals(role, modifiedRequest.getHeaders().getFirst("X-User-Role"));
+        assertEquals(AuthenticationFilter.OUTCOME_AUTHENTICATED,
+                exchange.getAttribute(AuthenticationFilter.AUTH_OUTCOME_ATTR));
     }
 
     @Test
@@ -193,10 +196,7 @@ class AuthenticationFilterTest {
                 .build();
         exchange = MockServerWebExchange.from(request);
 
-        when(jwtUtil.validateToken(token)).thenReturn(true);
-        when(jwtUtil.getEmailFromToken(token)).thenReturn(email);
-        when(jwtUtil.getUserIdFromToken(token)).thenReturn(userId);
-        when(jwtUtil.getRoleFromToken(token)).thenReturn(null);
+        when(jwtClaimsCache.verify(token)).thenReturn(new VerifiedClaims(email, userId, null, null));
         when(filterChain.filter(any(ServerWebExchange.class))).thenReturn(Mono.empty());
 
         ArgumentCaptor<ServerWebExchange> exchangeCaptor = ArgumentCaptor.forClass(ServerWebExchange.class);
@@ -206,7 +206,7 @@ class AuthenticationFilterTest {
         StepVerifier.create(result)
                 .verifyComplete();
 
-        verify(jwtUtil, times(1)).validateToken(token);
+        verify(jwtClaimsCache, times(1)).verify(token);
         verify(filterChain, times(1)).filter(exchangeCaptor.capture());
 
         ServerHttpRequest modifiedRequest = exchangeCaptor.getValue().getRequest();
@@ -227,10 +227,7 @@ class AuthenticationFilterTest {
                 .build();
         exchange = MockServerWebExchange.from(request);
 
-        when(jwtUtil.validateToken(token)).thenReturn(true);
-        when(jwtUtil.getEmailFromToken(token)).thenReturn(email);
-        when(jwtUtil.getUserIdFromToken(token)).thenReturn(userId);
-        when(jwtUtil.getRoleFromToken(token)).thenReturn(role);
+        when(jwtClaimsCache.verify(token)).thenReturn(new VerifiedClaims(email, userId, role, null));
         when(filterChain.filter(any(ServerWebExchange.class))).thenReturn(Mono.empty());
 
         ArgumentCaptor<ServerWebExchange> exchangeCaptor = ArgumentCaptor.forClass(ServerWebExchange.class);
@@ -249,7 +246,7 @@ class AuthenticationFilterTest {
     }
 
     @Test
-    void testFilter_ExceptionWhenExtractingClaims_ShouldReturnUnauthorized() {
+    void testFilter_ExpiredToken_ShouldReturnUnauthorized() {
         String token = "valid.token";
 
         request = MockServerHttpRequest.get("/users/123")
@@ -257,15 +254,14 @@ class AuthenticationFilterTest {
                 .build();
         exchange = MockServerWebExchange.from(request);
 
-        when(jwtUtil.validateToken(token)).thenReturn(true);
-        when(jwtUtil.getEmailFromToken(token)).thenThrow(new RuntimeException("Token parsing error"));
+        when(jwtClaimsCache.verify(token)).thenThrow(new ExpiredJwtException(null, null, "JWT expired"));
 
         Mono<Void> result = authenticationFilter.filter(exchange, filterChain);
 
         StepVerifier.create(result)
                 .verifyComplete();
 
-        verify(jwtUtil, times(1)).validateToken(token);
+        verify(jwtClaimsCache, times(1)).verify(token);
         verify(filterChain, never()).filter(any(ServerWebExchange.class));
         assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
     }
@@ -290,12 +286,12 @@ class AuthenticationFilterTest {
                 .build();
         exchange = MockServerWebExchange.from(request);
 
-        when(jwtUtil.validateToken(anyString())).thenReturn(false);
+        when(jwtClaimsCache.verify(anyString())).thenThrow(new IllegalArgumentException("JWT token is null or empty"));
 
         Mono<Void> result = authenticationFilter.filter(exchange, filterChain);
 
         StepVerifier.create(result).verifyComplete();
-        verify(jwtUtil, times(1)).validateToken(anyString());
+        verify(jwtClaimsCache, times(1)).verify(anyString());
     }
 
     @Test
@@ -317,6 +313,6 @@ class AuthenticationFilterTest {
                 .verifyComplete();
 
         verify(filterChain, times(1)).filter(any(ServerWebExchange.class));
-        verify(jwtUtil, never()).validateToken(anyString());
+        verify(jwtClaimsCache, never()).verify(anyString());
     }
 }
@@ -0,0 +1,149 @@
+package com.example.api_gateway.filter;
+
+import com.example.api_gateway.util.JwtClaimsCache;
+import com.example.api_gateway.util.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Single-threaded throughput of the authentication filter for rejected tokens, compared
+ * with the cached happy path. Run with {@code mvn -Pbenchmark test}; each figure is
+ * requests per second on one core.
+ */
+@Tag("benchmark")
+class AuthenticationRejectionBenchmarkTest {
+
+    private static final String SECRET = "MySecretKeyForJWTTokenGenerationMustBeAtLeast256BitsLongForHS256Algorithm";
+
+    private static final int WARMUP_ITERATIONS = 50_000;
+
+    private static final int MEASURED_ITERATIONS = 200_000;
+
+    private static final GatewayFilterChain CHAIN = exchange -> Mono.empty();
+
+    private JwtUtil jwtUtil;
+
+    private JwtClaimsCache cache;
+
+    private AuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secretKeyString", SECRET);
+        jwtUtil.initializeSecretKey();
+
+        cache = new JwtClaimsCache();
+        ReflectionTestUtils.setField(cache, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(cache, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "maximumSize", 10_000L);
+        ReflectionTestUtils.setField(cache, "maxTtl", Duration.ofMinutes(30));
+        ReflectionTestUtils.setField(cache, "rejectedMaximumSize", 10_000L);
+        ReflectionTestUtils.setField(cache, "rejectedTtl", Duration.ofMinutes(5));
+        cache.init();
+
+        filter = new AuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "jwtClaimsCache", cache);
+        ReflectionTestUtils.setField(filter, "excludedPathsString", "/auth/signup,/auth/login,/actuator");
+        filter.init();
+    }
+
+    @Test
+    void benchmarkRejectionThroughput() {
+        long now = System.currentTimeMillis();
+        Map<String, String> scenarios = new LinkedHashMap<>();
+        scenarios.put("missing header", null);
+        scenarios.put("garbage token", "Bearer not-a-jwt");
+        scenarios.put("expired token", "Bearer " + token(SECRET, now - 120_000, now - 60_000));
+        scenarios.put("forged signature", "Bearer " + token(SECRET.replace('M', 'N'), now, now + 3_600_000));
+        scenarios.put("valid token (cached)", "Bearer " + token(SECRET, now, now + 3_600_000));
+
+        System.out.println("Authentication filter throughput, single thread:");
+        for (Map.Entry<String, String> scenario : scenarios.entrySet()) {
+            boolean expectRejection = !scenario.getKey().startsWith("valid");
+            run(scenario.getValue(), WARMUP_ITERATIONS, expectRejection);
+            long start = System.nanoTime();
+            run(scenario.getValue(), MEASURED_ITERATIONS, expectRejection);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("  %-22s %,12.0f req/s%n", scenario.getKey(), MEASURED_ITERATIONS / seconds);
+        }
+    }
+
+    @Test
+    void benchmarkTokenCheckOnly() {
+        long now = System.currentTimeMillis();
+        String expired = token(SECRET, now - 120_000, now - 60_000);
+        String forged = token(SECRET.replace('M', 'N'), now, now + 3_600_000);
+
+        System.out.println("Token check without the exchange, single thread:");
+        measure("garbage token", () -> rejects(() -> cache.verify("not-a-jwt")));
+        measure("expired token", () -> rejects(() -> cache.verify(expired)));
+        measure("forged signature", () -> rejects(() -> cache.verify(forged)));
+        measure("uncached verification", () -> rejects(() -> jwtUtil.parseClaims(forged)));
+    }
+
+    private static void measure(String name, Runnable check) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            check.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            check.run();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("  %-22s %,12.0f checks/s%n", name, MEASURED_ITERATIONS / seconds);
+    }
+
+    private static void rejects(Runnable verification) {
+        try {
+            verification.run();
+            fail("Token should have been rejected");
+        } catch (RuntimeException expected) {
+            // rejection is the measured path
+        }
+    }
+
+    private void run(String authorization, int iterations, boolean expectRejection) {
+        for (int i = 0; i < iterations; i++) {
+            MockServerHttpRequest.BaseBuilder<?> builder = MockServerHttpRequest.get("/users/me");
+            if (authorization != null) {
+                builder.header(HttpHeaders.AUTHORIZATION, authorization);
+            }
+            MockServerWebExchange exchange = MockServerWebExchange.from(builder.build());
+            filter.filter(exchange, CHAIN).block();
+            if (i == 0) {
+                assertEquals(expectRejection, exchange.getResponse().getStatusCode() == HttpStatus.UNAUTHORIZED);
+            }
+        }
+    }
+
+    private static String token(String secret, long issuedAt, long expiresAt) {
+        return Jwts.builder()
+                .subject("bench@example.com")
+                .claim("userId", "user-1")
+                .claim("role", "USER")
+                .issuedAt(new Date(issuedAt))
+                .expiration(new Date(expiresAt))
+                .signWith(Keys.hmacShaKeyFor(Arrays.copyOf(secret.getBytes(), 32)))
+                .compact();
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.api_gateway.filter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineFilterTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private DeadlineFilter deadlineFilter;
+
+    private final AtomicReference<ServerWebExchange> forwarded = new AtomicReference<>();
+
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.set(exchange);
+        return Mono.empty();
+    };
+
+    @BeforeEach
+    void setUp() {
+        deadlineFilter = new DeadlineFilter();
+        ReflectionTestUtils.setField(deadlineFilter, "defaultTimeout", Duration.ofSeconds(10));
+        ReflectionTestUtils.setField(deadlineFilter, "clock", Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC));
+    }
+
+    @Test
+    void testFilter_StampsDefaultDeadline() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/wallets").build());
+
+        StepVerifier.create(deadlineFilter.filter(exchange, chain)).verifyComplete();
+
+        assertEquals(NOW + 10_000, deadline(forwarded.get()));
+    }
+
+    @Test
+    void testFilter_ClientMayShortenButNotExtendDeadline() {
+        MockServerWebExchange shorter = MockServerWebExchange.from(MockServerHttpRequest.get("/wallets")
+                .header(DeadlineFilter.HEADER, "2000").build());
+        StepVerifier.create(deadlineFilter.filter(shorter, chain)).verifyComplete();
+        assertEquals(NOW + 2_000, deadline(forwarded.get()));
+
+        MockServerWebExchange longer = MockServerWebExchange.from(MockServerHttpRequest.get("/wallets")
+                .header(DeadlineFilter.HEADER, "60000").build());
+        StepVerifier.create(deadlineFilter.filter(longer, chain)).verifyComplete();
+        assertEquals(NOW + 10_000, deadline(forwarded.get()));
+    }
+
+    @Test
+    void testFilter_RouteMetadataOverridesDefault() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/wallets").build());
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("wallet-service")
+                .uri(URI.create("http://localhost:8082"))
+                .predicate(e -> true)
+                .metadata(DeadlineFilter.DEADLINE_METADATA_KEY, "1500ms")
+                .build());
+
+        StepVerifier.create(deadlineFilter.filter(exchange, chain)).verifyComplete();
+
+        assertEquals(NOW + 1_500, deadline(forwarded.get()));
+        assertNull(exchange.getAttribute(DeadlineFilter.EXTENDED_DEADLINE_ATTR));
+    }
+
+    @Test
+    void testFilter_RouteDeadlineBeyondDefault_MarkedExtended() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/users").build());
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("user-export")
+                .uri(URI.create("http://localhost:8081"))
+                .predicate(e -> true)
+                .metadata(DeadlineFilter.DEADLINE_METADATA_KEY, "10m")
+                .build());
+
+        StepVerifier.create(deadlineFilter.filter(exchange, chain)).verifyComplete();
+
+        assertEquals(Boolean.TRUE, exchange.getAttribute(DeadlineFilter.EXTENDED_DEADLINE_ATTR));
+    }
+
+    @Test
+    void testFilter_ExpiredDeadline_RejectedWithoutForwarding() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/wallets")
+                .header(DeadlineFilter.HEADER, "0").build());
+
+        StepVerifier.create(deadlineFilter.filter(exchange, chain)).verifyComplete();
+
+        assertNull(forwarded.get());
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, exchange.getResponse().getStatusCode());
+    }
+
+    @Test
+    void testFilter_DownstreamPastDeadline_Returns504() {
+        ReflectionTestUtils.setField(deadlineFilter, "defaultTimeout", Duration.ofMillis(50));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/wallets").build());
+
+        StepVerifier.create(deadlineFilter.filter(exchange, e -> Mono.never()))
+                .expectComplete()
+                .verify(Duration.ofSeconds(2));
+
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, exchange.getResponse().getStatusCode());
+    }
+
+    private static long deadline(ServerWebExchange exchange) {
+        return exchange.<Long>getAttribute(DeadlineFilter.DEADLINE_ATTR);
+    }
+}
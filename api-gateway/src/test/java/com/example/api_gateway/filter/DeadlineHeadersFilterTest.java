@@ -0,0 +1,58 @@
+package com.example.api_gateway.filter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineHeadersFilterTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private DeadlineHeadersFilter headersFilter;
+
+    @BeforeEach
+    void setUp() {
+        headersFilter = new DeadlineHeadersFilter();
+        ReflectionTestUtils.setField(headersFilter, "clock", Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC));
+    }
+
+    @Test
+    void testFilter_SendsTimeLeftAtSendTime() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/wallets")
+                .header(DeadlineFilter.HEADER, "60000").build());
+        exchange.getAttributes().put(DeadlineFilter.DEADLINE_ATTR, NOW + 2_500);
+
+        HttpHeaders sent = headersFilter.filter(exchange.getRequest().getHeaders(), exchange);
+
+        assertEquals("2500", sent.getFirst(DeadlineFilter.HEADER));
+    }
+
+    @Test
+    void testFilter_DeadlinePassed_SendsZero() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/wallets").build());
+        exchange.getAttributes().put(DeadlineFilter.DEADLINE_ATTR, NOW - 100);
+
+        HttpHeaders sent = headersFilter.filter(exchange.getRequest().getHeaders(), exchange);
+
+        assertEquals("0", sent.getFirst(DeadlineFilter.HEADER));
+    }
+
+    @Test
+    void testFilter_NoDeadline_DropsClientValue() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/wallets")
+                .header(DeadlineFilter.HEADER, "60000").build());
+
+        HttpHeaders sent = headersFilter.filter(exchange.getRequest().getHeaders(), exchange);
+
+        assertFalse(sent.containsKey(DeadlineFilter.HEADER));
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.api_gateway.filter;
+
+import com.example.api_gateway.protection.DownstreamProtectionProperties;
+import com.example.api_gateway.protection.RouteProtection;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DownstreamProtectionFilterTest {
+
+    private DownstreamProtectionFilter protectionFilter;
+    private RouteProtection routeProtection;
+    private DownstreamProtectionProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        properties = new DownstreamProtectionProperties();
+        properties.getLimit().setInitialLimit(1);
+        properties.getLimit().setMinLimit(1);
+        properties.getLimit().setMaxLimit(1);
+        properties.getCircuitBreaker().setMinimumNumberOfCalls(2);
+        properties.getCircuitBreaker().setSlidingWindowSize(2);
+        properties.getCircuitBreaker().setWaitDurationInOpenState(Duration.ofSeconds(30));
+        meterRegistry = new SimpleMeterRegistry();
+
+        routeProtection = new RouteProtection();
+        ReflectionTestUtils.setField(routeProtection, "properties", properties);
+        ReflectionTestUtils.setField(routeProtection, "meterRegistry", meterRegistry);
+        routeProtection.init();
+
+        protectionFilter = new DownstreamProtectionFilter();
+        ReflectionTestUtils.setField(protectionFilter, "routeProtection", routeProtection);
+        ReflectionTestUtils.setField(protectionFilter, "properties", properties);
+    }
+
+    @Test
+    void testFilter_LimitReached_FailsFastWith503() {
+        Sinks.Empty<Void> gate = Sinks.empty();
+        GatewayFilterChain slow = exchange -> {
+            upstreamCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return gate.asMono();
+        };
+
+        Mono<Void> first = protectionFilter.filter(routed(), slow).cache();
+        first.subscribe();
+        MockServerWebExchange rejected = routed();
+        StepVerifier.create(protectionFilter.filter(rejected, slow)).verifyComplete();
+        gate.tryEmitEmpty();
+        first.block(Duration.ofSeconds(5));
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getResponse().getStatusCode());
+        assertEquals("1", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertTrue(rejected.getResponse().getBodyAsString().block().contains("\"status\": 503"));
+        assertEquals(1.0, meterRegistry.get("gateway.concurrency.rejected")
+                .tags("route", "wallet-service", "reason", "concurrency_limit").counter().count());
+    }
+
+    @Test
+    void testFilter_SlotReleasedAfterCompletion() {
+        GatewayFilterChain ok = respondWith(HttpStatus.OK);
+
+        for (int i = 0; i < 3; i++) {
+            MockServerWebExchange exchange = routed();
+            StepVerifier.create(protectionFilter.filter(exchange, ok)).verifyComplete();
+            assertEquals(HttpStatus.OK, exchange.getResponse().getStatusCode());
+        }
+
+        assertEquals(3, upstreamCalls.get());
+        assertEquals(0.0, meterRegistry.get("gateway.concurrency.inflight").tag("route", "wallet-service")
+                .gauge().value());
+    }
+
+    @Test
+    void testFilter_RepeatedServerErrors_OpenCircuit() {
+        GatewayFilterChain failing = respondWith(HttpStatus.INTERNAL_SERVER_ERROR);
+        StepVerifier.create(protectionFilter.filter(routed(), failing)).verifyComplete();
+        StepVerifier.create(protectionFilter.filter(routed(), failing)).verifyComplete();
+
+        MockServerWebExchange rejected = routed();
+        StepVerifier.create(protectionFilter.filter(rejected, failing)).verifyComplete();
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(CircuitBreaker.State.OPEN, routeProtection.circuitBreaker("wallet-service").getState());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getResponse().getStatusCode());
+        assertEquals("30", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(1.0, meterRegistry.get("gateway.concurrency.rejected")
+                .tags("route", "wallet-service", "reason", "circuit_open").counter().count());
+    }
+
+    @Test
+    void testFilter_ConnectionErrors_OpenCircuit() {
+        GatewayFilterChain broken = exchange -> {
+            upstreamCalls.incrementAndGet();
+            return Mono.error(new IllegalStateException("Connection refused"));
+        };
+        StepVerifier.create(protectionFilter.filter(routed(), broken)).verifyError();
+        StepVerifier.create(protectionFilter.filter(routed(), broken)).verifyError();
+
+        assertEquals(CircuitBreaker.State.OPEN, routeProtection.circuitBreaker("wallet-service").getState());
+    }
+
+    @Test
+    void testFilter_ClientErrors_DoNotOpenCircuit() {
+        GatewayFilterChain badRequest = respondWith(HttpStatus.BAD_REQUEST);
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(protectionFilter.filter(routed(), badRequest)).verifyComplete();
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, routeProtection.circuitBreaker("wallet-service").getState());
+        assertEquals(4, upstreamCalls.get());
+    }
+
+    @Test
+    void testFilter_ExportsBreakerStateMetric() {
+        StepVerifier.create(protectionFilter.filter(routed(), respondWith(HttpStatus.OK))).verifyComplete();
+
+        assertNotNull(meterRegistry.find("resilience4j.circuitbreaker.state")
+                .tags("name", "wallet-service", "state", "closed").gauge());
+        assertEquals(1.0, meterRegistry.get("gateway.concurrency.limit").tag("route", "wallet-service")
+                .gauge().value());
+    }
+
+    private GatewayFilterChain respondWith(HttpStatus status) {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            exchange.getResponse().setStatusCode(status);
+            return Mono.empty();
+        };
+    }
+
+    private static MockServerWebExchange routed() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/wallets").build());
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("wallet-service").uri("http://localhost:8082").predicate(e -> true).build());
+        return exchange;
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.api_gateway.filter;
+
+import com.example.api_gateway.faults.FaultInjectionProperties;
+import com.example.api_gateway.faults.FaultSpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FaultInjectionFilterTest {
+
+    private FaultInjectionFilter faultFilter;
+    private FaultInjectionProperties properties;
+    private final AtomicInteger forwarded = new AtomicInteger();
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.incrementAndGet();
+        return Mono.empty();
+    };
+
+    @BeforeEach
+    void setUp() {
+        properties = new FaultInjectionProperties();
+        faultFilter = new FaultInjectionFilter();
+        ReflectionTestUtils.setField(faultFilter, "properties", properties);
+        ReflectionTestUtils.setField(faultFilter, "applicationName", "api-gateway");
+    }
+
+    @Test
+    void testDisabled_HeaderIgnored() {
+        MockServerWebExchange exchange = exchange("api-gateway:error=1");
+
+        StepVerifier.create(faultFilter.filter(exchange, chain)).verifyComplete();
+
+        assertEquals(1, forwarded.get());
+        assertNull(exchange.getResponse().getStatusCode());
+    }
+
+    @Test
+    void testHeaderError_ShortCircuits() {
+        properties.setEnabled(true);
+        MockServerWebExchange exchange = exchange("api-gateway:error=1,status=500");
+
+        StepVerifier.create(faultFilter.filter(exchange, chain)).verifyComplete();
+
+        assertEquals(0, forwarded.get());
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exchange.getResponse().getStatusCode());
+    }
+
+    @Test
+    void testHeaderForOtherService_PassesThrough() {
+        properties.setEnabled(true);
+        MockServerWebExchange exchange = exchange("wallet-service:error=1");
+
+        StepVerifier.create(faultFilter.filter(exchange, chain)).verifyComplete();
+
+        assertEquals(1, forwarded.get());
+    }
+
+    @Test
+    void testRouteDelay_DelaysForwarding() {
+        properties.setEnabled(true);
+        properties.getRoutes().put("wallet-service", FaultSpec.parse("delay=5s"));
+        MockServerWebExchange exchange = exchange(null);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("wallet-service")
+                .uri(URI.create("http://localhost:8082"))
+                .predicate(e -> true)
+                .build());
+
+        StepVerifier.withVirtualTime(() -> faultFilter.filter(exchange, chain))
+                .expectSubscription()
+                .expectNoEvent(Duration.ofSeconds(4))
+                .then(() -> assertEquals(0, forwarded.get()))
+                .thenAwait(Duration.ofSeconds(1))
+                .verifyComplete();
+
+        assertEquals(1, forwarded.get());
+    }
+
+    @Test
+    void testHeaderAbort_WithoutNativeConnection_Errors() {
+        properties.setEnabled(true);
+        MockServerWebExchange exchange = exchange("api-gateway:abort=1");
+
+        StepVerifier.create(faultFilter.filter(exchange, chain)).verifyError(IllegalStateException.class);
+
+        assertEquals(0, forwarded.get());
+    }
+
+    @Test
+    void testMalformedHeader_Ignored() {
+        properties.setEnabled(true);
+        MockServerWebExchange exchange = exchange("api-gateway:explode=1");
+
+        StepVerifier.create(faultFilter.filter(exchange, chain)).verifyComplete();
+
+        assertEquals(1, forwarded.get());
+    }
+
+    @Test
+    void testOutOfRangeStatus_Ignored() {
+        properties.setEnabled(true);
+        MockServerWebExchange exchange = exchange("api-gateway:error=1,status=999");
+
+        StepVerifier.create(faultFilter.filter(exchange, chain)).verifyComplete();
+
+        assertEquals(1, forwarded.get());
+    }
+
+    private MockServerWebExchange exchange(String faultHeader) {
+        MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/wallets");
+        if (faultHeader != null) {
+            request.header("X-Fault-Inject", faultHeader);
+        }
+        return MockServerWebExchange.from(request);
+    }
+}
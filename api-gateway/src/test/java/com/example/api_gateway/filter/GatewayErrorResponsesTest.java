@@ -0,0 +1,35 @@
+package com.example.api_gateway.filter;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GatewayErrorResponsesTest {
+
+    @Test
+    void testWrite_WritesJsonErrorBody() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/users").build());
+
+        StepVerifier.create(GatewayErrorResponses.write(exchange, HttpStatus.UNAUTHORIZED, "Invalid or expired JWT token"))
+                .verifyComplete();
+
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, exchange.getResponse().getHeaders().getContentType());
+        StepVerifier.create(exchange.getResponse().getBodyAsString())
+                .expectNext("{\"error\": \"Unauthorized\", \"status\": 401, \"message\": \"Invalid or expired JWT token\"}")
+                .verifyComplete();
+    }
+
+    @Test
+    void testBody_EncodedOncePerStatusAndMessage() {
+        byte[] first = GatewayErrorResponses.body(HttpStatus.UNAUTHORIZED, "Authentication required");
+
+        assertSame(first, GatewayErrorResponses.body(HttpStatus.UNAUTHORIZED, "Authentication required"));
+        assertNotSame(first, GatewayErrorResponses.body(HttpStatus.FORBIDDEN, "Authentication required"));
+    }
+}
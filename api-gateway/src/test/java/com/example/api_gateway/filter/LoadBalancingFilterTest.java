@@ -0,0 +1,107 @@
+package com.example.api_gateway.filter;
+
+import com.example.api_gateway.filter.LoadBalancingFilter.InstanceOutcome;
+import com.example.api_gateway.loadbalancer.InstanceBalancer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadBalancingFilterTest {
+
+    private LoadBalancingFilter loadBalancingFilter;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        InstanceBalancer instanceBalancer = new InstanceBalancer();
+        ReflectionTestUtils.setField(instanceBalancer, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(instanceBalancer, "consecutiveFailures", 3);
+        ReflectionTestUtils.setField(instanceBalancer, "ejectionDuration", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(instanceBalancer, "nanoClock", (LongSupplier) System::nanoTime);
+
+        loadBalancingFilter = new LoadBalancingFilter();
+        ReflectionTestUtils.setField(loadBalancingFilter, "instanceBalancer", instanceBalancer);
+        ReflectionTestUtils.setField(loadBalancingFilter, "objectMapper", new ObjectMapper());
+    }
+
+    @Test
+    void testFilter_RoutesToInstance() {
+        MockServerWebExchange exchange = routed();
+
+        StepVerifier.create(loadBalancingFilter.filter(exchange, respondWith(HttpStatus.OK, null))).verifyComplete();
+
+        URI requestUrl = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+        assertEquals("http://localhost:9001/wallets", requestUrl.toString());
+    }
+
+    @Test
+    void testFilter_OutcomeAttributeOverridesResponseStatus() {
+        // A hedged request answered 200 by the other instance while the chosen one failed
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(loadBalancingFilter.filter(routed(), respondWith(HttpStatus.OK, InstanceOutcome.FAILED)))
+                    .verifyComplete();
+        }
+
+        assertEquals(1.0, ejections());
+    }
+
+    @Test
+    void testFilter_CancelCountsNeitherWay() {
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(loadBalancingFilter.filter(routed(), respondWith(HttpStatus.BAD_GATEWAY, null)))
+                    .verifyComplete();
+        }
+        Disposable cancelled = loadBalancingFilter.filter(routed(), exchange -> Mono.never()).subscribe();
+        cancelled.dispose();
+        StepVerifier.create(loadBalancingFilter.filter(routed(), respondWith(HttpStatus.BAD_GATEWAY, null)))
+                .verifyComplete();
+
+        assertEquals(1.0, ejections());
+        assertEquals(0.0, meterRegistry.get("gateway.lb.outstanding").gauge().value());
+    }
+
+    private double ejections() {
+        return meterRegistry.get("gateway.lb.ejections")
+                .tags("route", "wallet-service", "instance", "http://localhost:9001").counter().count();
+    }
+
+    private static GatewayFilterChain respondWith(HttpStatus status, InstanceOutcome outcome) {
+        return exchange -> {
+            exchange.getResponse().setStatusCode(status);
+            if (outcome != null) {
+                exchange.getAttributes().put(LoadBalancingFilter.INSTANCE_OUTCOME_ATTR, outcome);
+            }
+            return Mono.empty();
+        };
+    }
+
+    private static MockServerWebExchange routed() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/wallets").build());
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("wallet-service").uri("http://localhost:8082").predicate(e -> true)
+                .metadata(Map.of(LoadBalancingFilter.INSTANCES_METADATA_KEY, "http://localhost:9001"))
+                .build());
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR,
+                URI.create("http://localhost:8082/wallets"));
+        return exchange;
+    }
+}
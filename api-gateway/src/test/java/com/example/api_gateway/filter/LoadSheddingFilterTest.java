@@ -0,0 +1,192 @@
+package com.example.api_gateway.filter;
+
+import com.example.api_gateway.shedding.LoadShedder;
+import com.example.api_gateway.shedding.LoadSheddingProperties;
+import com.example.api_gateway.shedding.RequestPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadSheddingFilterTest {
+
+    private LoadSheddingFilter sheddingFilter;
+    private LoadSheddingProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private final AtomicLong nanoTime = new AtomicLong(1_000_000_000L);
+    private final Sinks.Empty<Void> upstreamGate = Sinks.empty();
+
+    @BeforeEach
+    void setUp() {
+        properties = new LoadSheddingProperties();
+        properties.setMaxInFlight(4);
+        properties.setLowPriorityInFlightRatio(0.5);
+        properties.setNormalPriorityInFlightRatio(0.75);
+        properties.setLatencyThreshold(Duration.ofMillis(500));
+        properties.setCriticalPaths(List.of("/transactions/verify-otp", "/wallets/transfer"));
+        properties.setLowPriorityPaths(List.of("/transactions"));
+        meterRegistry = new SimpleMeterRegistry();
+
+        LoadShedder loadShedder = new LoadShedder();
+        ReflectionTestUtils.setField(loadShedder, "properties", properties);
+        ReflectionTestUtils.setField(loadShedder, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(loadShedder, "nanoClock", (LongSupplier) nanoTime::get);
+        loadShedder.init();
+
+        sheddingFilter = new LoadSheddingFilter();
+        ReflectionTestUtils.setField(sheddingFilter, "loadShedder", loadShedder);
+        ReflectionTestUtils.setField(sheddingFilter, "properties", properties);
+        sheddingFilter.init();
+    }
+
+    @Test
+    void testClassify() {
+        assertEquals(RequestPriority.CRITICAL,
+                sheddingFilter.classify(MockServerHttpRequest.post("/transactions/verify-otp").build()));
+        assertEquals(RequestPriority.LOW,
+                sheddingFilter.classify(MockServerHttpRequest.get("/transactions?type=all").build()));
+        assertEquals(RequestPriority.NORMAL,
+                sheddingFilter.classify(MockServerHttpRequest.get("/wallets").build()));
+        assertEquals(RequestPriority.NORMAL,
+                sheddingFilter.classify(MockServerHttpRequest.post("/transactions").build()));
+    }
+
+    @Test
+    void testFilter_UnderLoad_ShedsLowPriorityFirstAndProtectsCritical() {
+        hold(MockServerHttpRequest.get("/wallets").build());
+        hold(MockServerHttpRequest.get("/wallets").build());
+
+        MockServerWebExchange lowPriority = run(MockServerHttpRequest.get("/transactions?type=all").build());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, lowPriority.getResponse().getStatusCode());
+        assertEquals("2", lowPriority.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+
+        hold(MockServerHttpRequest.get("/wallets").build());
+        MockServerWebExchange normal = run(MockServerHttpRequest.get("/wallets").build());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, normal.getResponse().getStatusCode());
+
+        MockServerWebExchange critical = run(MockServerHttpRequest.post("/transactions/verify-otp").build());
+        assertEquals(HttpStatus.OK, critical.getResponse().getStatusCode());
+
+        assertEquals(1.0, meterRegistry.get("gateway.shedding.requests")
+                .tags("priority", "low", "outcome", "shed").counter().count());
+        assertEquals(1.0, meterRegistry.get("gateway.shedding.requests")
+                .tags("priority", "critical", "outcome", "admitted").counter().count());
+    }
+
+    @Test
+    void testFilter_AboveHardLimit_ShedsCriticalToo() {
+        for (int i = 0; i < 4; i++) {
+            hold(MockServerHttpRequest.post("/wallets/transfer").build());
+        }
+
+        MockServerWebExchange critical = run(MockServerHttpRequest.post("/wallets/transfer").build());
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, critical.getResponse().getStatusCode());
+    }
+
+    @Test
+    void testFilter_HighRecentLatency_ShedsOnlyLowPriority() {
+        GatewayFilterChain slow = exchange -> {
+            nanoTime.addAndGet(Duration.ofSeconds(2).toNanos());
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return Mono.empty();
+        };
+        StepVerifier.create(sheddingFilter.filter(
+                MockServerWebExchange.from(MockServerHttpRequest.get("/wallets").build()), slow)).verifyComplete();
+
+        MockServerWebExchange lowPriority = run(MockServerHttpRequest.get("/transactions").build());
+        MockServerWebExchange normal = run(MockServerHttpRequest.get("/wallets").build());
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, lowPriority.getResponse().getStatusCode());
+        assertEquals(HttpStatus.OK, normal.getResponse().getStatusCode());
+    }
+
+    @Test
+    void testFilter_StaleLatencySample_StopsShedding() {
+        GatewayFilterChain slow = exchange -> {
+            nanoTime.addAndGet(Duration.ofSeconds(2).toNanos());
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return Mono.empty();
+        };
+        StepVerifier.create(sheddingFilter.filter(
+                MockServerWebExchange.from(MockServerHttpRequest.get("/wallets").build()), slow)).verifyComplete();
+
+        nanoTime.addAndGet(Duration.ofSeconds(5).toNanos());
+        MockServerWebExchange lowPriority = run(MockServerHttpRequest.get("/transactions").build());
+
+        assertEquals(HttpStatus.OK, lowPriority.getResponse().getStatusCode());
+    }
+
+    @Test
+    void testFilter_SlowStream_DoesNotCountAsHighLatency() {
+        GatewayFilterChain longExport = exchange -> {
+            nanoTime.addAndGet(Duration.ofMinutes(5).toNanos());
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_NDJSON);
+            return Mono.empty();
+        };
+        StepVerifier.create(sheddingFilter.filter(
+                MockServerWebExchange.from(MockServerHttpRequest.get("/users")
+                        .accept(MediaType.APPLICATION_NDJSON).build()), longExport)).verifyComplete();
+
+        MockServerWebExchange lowPriority = run(MockServerHttpRequest.get("/transactions").build());
+
+        assertEquals(HttpStatus.OK, lowPriority.getResponse().getStatusCode());
+    }
+
+    @Test
+    void testFilter_ExtendedDeadlineRoute_DoesNotCountAsHighLatency() {
+        MockServerWebExchange slowRoute = MockServerWebExchange.from(MockServerHttpRequest.get("/users").build());
+        slowRoute.getAttributes().put(DeadlineFilter.EXTENDED_DEADLINE_ATTR, Boolean.TRUE);
+        StepVerifier.create(sheddingFilter.filter(slowRoute, exchange -> {
+            nanoTime.addAndGet(Duration.ofMinutes(2).toNanos());
+            return Mono.empty();
+        })).verifyComplete();
+
+        MockServerWebExchange lowPriority = run(MockServerHttpRequest.get("/transactions").build());
+
+        assertEquals(HttpStatus.OK, lowPriority.getResponse().getStatusCode());
+    }
+
+    @Test
+    void testReflectsBackendLatency() {
+        MockServerWebExchange cacheHit = MockServerWebExchange.from(MockServerHttpRequest.get("/wallets").build());
+        cacheHit.getAttributes().put(ResponseCacheFilter.CACHE_HIT_ATTR, Boolean.TRUE);
+        MockServerWebExchange malformedAccept = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/wallets").header(HttpHeaders.ACCEPT, "not a media type").build());
+
+        assertFalse(LoadSheddingFilter.reflectsBackendLatency(cacheHit));
+        assertTrue(LoadSheddingFilter.reflectsBackendLatency(malformedAccept));
+        assertTrue(LoadSheddingFilter.reflectsBackendLatency(
+                MockServerWebExchange.from(MockServerHttpRequest.get("/wallets").build())));
+    }
+
+    private void hold(MockServerHttpRequest request) {
+        sheddingFilter.filter(MockServerWebExchange.from(request), exchange -> upstreamGate.asMono()).subscribe();
+    }
+
+    private MockServerWebExchange run(MockServerHttpRequest request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        StepVerifier.create(sheddingFilter.filter(exchange, ex -> {
+            ex.getResponse().setStatusCode(HttpStatus.OK);
+            return Mono.empty();
+        })).verifyComplete();
+        return exchange;
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.api_gateway.filter;
+
+import com.example.api_gateway.ratelimit.RateLimitProperties;
+import com.example.api_gateway.ratelimit.RateLimitResult;
+import com.example.api_gateway.ratelimit.RedisTokenBucketRateLimiter;
+import com.example.api_gateway.util.VerifiedClaims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.InetSocketAddress;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitFilterTest {
+
+    @Mock
+    private RedisTokenBucketRateLimiter rateLimiter;
+
+    @Mock
+    private GatewayFilterChain filterChain;
+
+    @InjectMocks
+    private RateLimitFilter rateLimitFilter;
+
+    private RateLimitProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.getBudgets().put("auth", new RateLimitProperties.Budget("/auth/**", 10, 1));
+        properties.getBudgets().put("wallets", new RateLimitProperties.Budget("/wallets/**", 40, 20));
+        ReflectionTestUtils.setField(rateLimitFilter, "properties", properties);
+        rateLimitFilter.init();
+    }
+
+    @Test
+    void testFilter_AllowedRequest_ContinuesWithRemainingHeader() {
+        ServerWebExchange exchange = authenticatedExchange("/wallets/with-balance", "user123");
+        when(rateLimiter.tryAcquire(eq("wallets"), any(), eq("user:user123")))
+                .thenReturn(Mono.just(new RateLimitResult(true, 39)));
+        when(filterChain.filter(exchange)).thenReturn(Mono.empty());
+
+        StepVerifier.create(rateLimitFilter.filter(exchange, filterChain)).verifyComplete();
+
+        verify(filterChain, times(1)).filter(exchange);
+        assertEquals("39", exchange.getResponse().getHeaders().getFirst(RateLimitFilter.REMAINING_HEADER));
+    }
+
+    @Test
+    void testFilter_RejectedRequest_Returns429WithRetryAfter() {
+        ServerWebExchange exchange = authenticatedExchange("/wallets/transfer", "user123");
+        when(rateLimiter.tryAcquire(eq("wallets"), any(), eq("user:user123")))
+                .thenReturn(Mono.just(new RateLimitResult(false, 0)));
+
+        StepVerifier.create(rateLimitFilter.filter(exchange, filterChain)).verifyComplete();
+
+        verify(filterChain, never()).filter(any(ServerWebExchange.class));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exchange.getResponse().getStatusCode());
+        assertEquals("1", exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void testFilter_AnonymousRequest_KeyedByClientAddress() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/auth/login")
+                .remoteAddress(new InetSocketAddress("10.0.0.7", 50000))
+                .build());
+        when(rateLimiter.tryAcquire(eq("auth"), any(), eq("ip:10.0.0.7")))
+                .thenReturn(Mono.just(new RateLimitResult(true, 9)));
+        when(filterChain.filter(exchange)).thenReturn(Mono.empty());
+
+        StepVerifier.create(rateLimitFilter.filter(exchange, filterChain)).verifyComplete();
+
+        verify(rateLimiter, times(1)).tryAcquire(eq("auth"), any(), eq("ip:10.0.0.7"));
+    }
+
+    @Test
+    void testFilter_SpoofedUserIdHeaderWithoutClaims_KeyedByClientAddress() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/auth/login")
+                .header("X-User-Id", "someone-else")
+                .remoteAddress(new InetSocketAddress("10.0.0.8", 50000))
+                .build());
+        when(rateLimiter.tryAcquire(eq("auth"), any(), anyString()))
+                .thenReturn(Mono.just(new RateLimitResult(true, 9)));
+        when(filterChain.filter(exchange)).thenReturn(Mono.empty());
+
+        StepVerifier.create(rateLimitFilter.filter(exchange, filterChain)).verifyComplete();
+
+        verify(rateLimiter, times(1)).tryAcquire(eq("auth"), any(), eq("ip:10.0.0.8"));
+    }
+
+    @Test
+    void testFilter_PathWithoutBudget_PassesThrough() {
+        ServerWebExchange exchange = authenticatedExchange("/users/123", "user123");
+        when(filterChain.filter(exchange)).thenReturn(Mono.empty());
+
+        StepVerifier.create(rateLimitFilter.filter(exchange, filterChain)).verifyComplete();
+
+        verify(rateLimiter, never()).tryAcquire(anyString(), any(), anyString());
+        verify(filterChain, times(1)).filter(exchange);
+    }
+
+    @Test
+    void testFilter_Disabled_PassesThrough() {
+        properties.setEnabled(false);
+        ServerWebExchange exchange = authenticatedExchange("/wallets", "user123");
+        when(filterChain.filter(exchange)).thenReturn(Mono.empty());
+
+        StepVerifier.create(rateLimitFilter.filter(exchange, filterChain)).verifyComplete();
+
+        verify(rateLimiter, never()).tryAcquire(anyString(), any(), anyString());
+    }
+
+    private ServerWebExchange authenticatedExchange(String path, String userId) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path).build());
+        exchange.getAttributes().put(AuthenticationFilter.CLAIMS_ATTR,
+                new VerifiedClaims("test@example.com", userId, "USER", null));
+        return exchange;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.api_gateway.filter;
+
+import com.example.api_gateway.util.VerifiedClaims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescingFilterTest {
+
+    private RequestCoalescingFilter coalescingFilter;
+    private SimpleMeterRegistry meterRegistry;
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final Sinks.Empty<Void> upstreamGate = Sinks.empty();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        coalescingFilter = new RequestCoalescingFilter();
+        ReflectionTestUtils.setField(coalescingFilter, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(coalescingFilter, "maximumBodySize", DataSize.ofKilobytes(256));
+    }
+
+    @Test
+    void testFilter_ConcurrentIdenticalGets_ShareOneUpstreamCall() {
+        MockServerWebExchange leader = get("/wallets/with-balance", "user1", true);
+        MockServerWebExchange follower1 = get("/wallets/with-balance", "user1", true);
+        MockServerWebExchange follower2 = get("/wallets/with-balance", "user1", true);
+        GatewayFilterChain chain = slowUpstream(HttpStatus.OK, "[{\"balance\":100}]");
+
+        Mono<Void> leaderDone = coalescingFilter.filter(leader, chain).cache();
+        leaderDone.subscribe();
+        Mono<Void> follower1Done = coalescingFilter.filter(follower1, chain).cache();
+        follower1Done.subscribe();
+        Mono<Void> follower2Done = coalescingFilter.filter(follower2, chain).cache();
+        follower2Done.subscribe();
+
+        upstreamGate.tryEmitEmpty();
+        leaderDone.block(Duration.ofSeconds(5));
+        follower1Done.block(Duration.ofSeconds(5));
+        follower2Done.block(Duration.ofSeconds(5));
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("[{\"balance\":100}]", follower1.getResponse().getBodyAsString().block());
+        assertEquals(HttpStatus.OK, follower2.getResponse().getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, follower2.getResponse().getHeaders().getContentType());
+        assertEquals(2.0, meterRegistry.get("gateway.requests.coalesced").tag("route", "wallet-service")
+                .counter().count());
+        assertEquals(0, coalescingFilter.inFlightCount());
+    }
+
+    @Test
+    void testFilter_DifferentUsers_NotCoalesced() {
+        GatewayFilterChain chain = slowUpstream(HttpStatus.OK, "[]");
+
+        Mono<Void> first = coalescingFilter.filter(get("/wallets", "user1", true), chain).cache();
+        first.subscribe();
+        Mono<Void> second = coalescingFilter.filter(get("/wallets", "user2", true), chain).cache();
+        second.subscribe();
+        upstreamGate.tryEmitEmpty();
+        first.block(Duration.ofSeconds(5));
+        second.block(Duration.ofSeconds(5));
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void testFilter_RouteNotOptedIn_NotCoalesced() {
+        GatewayFilterChain chain = slowUpstream(HttpStatus.OK, "[]");
+
+        Mono<Void> first = coalescingFilter.filter(get("/wallets", "user1", false), chain).cache();
+        first.subscribe();
+        Mono<Void> second = coalescingFilter.filter(get("/wallets", "user1", false), chain).cache();
+        second.subscribe();
+        upstreamGate.tryEmitEmpty();
+        first.block(Duration.ofSeconds(5));
+        second.block(Duration.ofSeconds(5));
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void testFilter_LeaderFails_FollowerCallsUpstreamItself() {
+        GatewayFilterChain failingThenOk = exchange -> {
+            if (upstreamCalls.incrementAndGet() == 1) {
+                return upstreamGate.asMono().then(Mono.error(new IllegalStateException("connection reset")));
+            }
+            return write(exchange.getResponse(), HttpStatus.OK, "[]");
+        };
+        MockServerWebExchange follower = get("/wallets", "user1", true);
+
+        Mono<Void> leaderDone = coalescingFilter.filter(get("/wallets", "user1", true), failingThenOk).cache();
+        leaderDone.subscribe(null, e -> { });
+        Mono<Void> followerDone = coalescingFilter.filter(follower, failingThenOk).cache();
+        followerDone.subscribe();
+        upstreamGate.tryEmitEmpty();
+        followerDone.block(Duration.ofSeconds(5));
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals("[]", follower.getResponse().getBodyAsString().block());
+        assertEquals(0, coalescingFilter.inFlightCount());
+    }
+
+    @Test
+    void testFilter_NonGetRequest_NotCoalesced() {
+        MockServerWebExchange post = MockServerWebExchange.from(MockServerHttpRequest.post("/wallets").build());
+        post.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route(true));
+        post.getAttributes().put(AuthenticationFilter.CLAIMS_ATTR,
+                new VerifiedClaims("user1@example.com", "user1", "USER", null));
+
+        coalescingFilter.filter(post, exchange -> write(exchange.getResponse(), HttpStatus.CREATED, "{}"))
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(0, coalescingFilter.inFlightCount());
+        assertEquals(HttpStatus.CREATED, post.getResponse().getStatusCode());
+    }
+
+    private GatewayFilterChain slowUpstream(HttpStatus status, String body) {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            return upstreamGate.asMono().then(Mono.defer(() -> write(exchange.getResponse(), status, body)));
+        };
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, HttpStatus status, String body) {
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static MockServerWebExchange get(String uri, String userId, boolean coalesce) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(uri).build());
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route(coalesce));
+        exchange.getAttributes().put(AuthenticationFilter.CLAIMS_ATTR,
+                new VerifiedClaims(userId + "@example.com", userId, "USER", null));
+        return exchange;
+    }
+
+    private static Route route(boolean coalesce) {
+        return Route.async()
+                .id("wallet-service")
+                .uri("http://localhost:8082")
+                .predicate(exchange -> true)
+                .metadata(RequestCoalescingFilter.COALESCE_METADATA_KEY, Boolean.toString(coalesce))
+                .build();
+    }
+}
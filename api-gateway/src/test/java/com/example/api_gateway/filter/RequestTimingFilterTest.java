@@ -0,0 +1,88 @@
+package com.example.api_gateway.filter;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestTimingFilterTest {
+
+    private RequestTimingFilter requestTimingFilter;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        requestTimingFilter = new RequestTimingFilter();
+        ReflectionTestUtils.setField(requestTimingFilter, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(requestTimingFilter, "slowRequestThreshold", Duration.ofSeconds(1));
+    }
+
+    @Test
+    void testFilter_RecordsTimerTaggedByRouteStatusAndAuthOutcome() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/wallets").build());
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("wallet-service").uri("http://localhost:8082").predicate(e -> true).build());
+        GatewayFilterChain chain = ex -> {
+            ex.getAttributes().put(AuthenticationFilter.AUTH_OUTCOME_ATTR, AuthenticationFilter.OUTCOME_AUTHENTICATED);
+            ex.getResponse().setStatusCode(HttpStatus.OK);
+            return Mono.empty();
+        };
+
+        StepVerifier.create(requestTimingFilter.filter(exchange, chain)).verifyComplete();
+
+        Timer timer = meterRegistry.get(RequestTimingFilter.REQUEST_TIMER)
+                .tags("route", "wallet-service", "status", "2xx", "auth", "authenticated").timer();
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void testFilter_RejectedBeforeRouting_TaggedWithAuthOutcome() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/wallets").build());
+        GatewayFilterChain chain = ex -> {
+            ex.getAttributes().put(AuthenticationFilter.AUTH_OUTCOME_ATTR, AuthenticationFilter.OUTCOME_MISSING_TOKEN);
+            ex.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+            return Mono.empty();
+        };
+
+        StepVerifier.create(requestTimingFilter.filter(exchange, chain)).verifyComplete();
+
+        assertEquals(1, meterRegistry.get(RequestTimingFilter.REQUEST_TIMER)
+                .tags("route", "none", "status", "4xx", "auth", "missing_token").timer().count());
+    }
+
+    @Test
+    void testFilter_PublishesPercentiles() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/wallets").build());
+        GatewayFilterChain chain = ex -> {
+            ex.getResponse().setStatusCode(HttpStatus.OK);
+            return Mono.empty();
+        };
+
+        StepVerifier.create(requestTimingFilter.filter(exchange, chain)).verifyComplete();
+
+        Timer timer = meterRegistry.get(RequestTimingFilter.REQUEST_TIMER).timer();
+        assertEquals(4, timer.takeSnapshot().percentileValues().length);
+    }
+
+    @Test
+    void testStatusClass() {
+        assertEquals("5xx", RequestTimingFilter.statusClass(HttpStatus.BAD_GATEWAY, SignalType.ON_COMPLETE));
+        assertEquals("5xx", RequestTimingFilter.statusClass(null, SignalType.ON_ERROR));
+        assertEquals("CANCELLED", RequestTimingFilter.statusClass(HttpStatus.OK, SignalType.CANCEL));
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.api_gateway.filter;
+
+import com.example.api_gateway.cache.GatewayResponseCache;
+import com.example.api_gateway.cache.ResponseCacheInvalidator;
+import com.example.api_gateway.cache.ResponseCacheProperties;
+import com.example.api_gateway.util.VerifiedClaims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ResponseCacheFilterTest {
+
+    private ResponseCacheFilter responseCacheFilter;
+    private ResponseCacheProperties properties;
+    private ReactiveStringRedisTemplate redisTemplate;
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        properties = new ResponseCacheProperties();
+        properties.getRoutes().put("wallets", new ResponseCacheProperties.CachedRoute("/wallets", Duration.ofMinutes(1)));
+        properties.getRoutes().put("transactions",
+                new ResponseCacheProperties.CachedRoute("/transactions", Duration.ofMinutes(1)));
+        properties.setInvalidatePaths(List.of("/wallets/**", "/transactions/verify-otp"));
+
+        GatewayResponseCache responseCache = new GatewayResponseCache();
+        ReflectionTestUtils.setField(responseCache, "properties", properties);
+        ReflectionTestUtils.setField(responseCache, "meterRegistry", new SimpleMeterRegistry());
+        responseCache.init();
+
+        redisTemplate = mock(ReactiveStringRedisTemplate.class);
+        lenient().when(redisTemplate.convertAndSend(anyString(), anyString())).thenReturn(Mono.just(1L));
+        ResponseCacheInvalidator invalidator = new ResponseCacheInvalidator();
+        ReflectionTestUtils.setField(invalidator, "responseCache", responseCache);
+        ReflectionTestUtils.setField(invalidator, "properties", properties);
+        ReflectionTestUtils.setField(invalidator, "redisTemplate", redisTemplate);
+
+        responseCacheFilter = new ResponseCacheFilter();
+        ReflectionTestUtils.setField(responseCacheFilter, "responseCache", responseCache);
+        ReflectionTestUtils.setField(responseCacheFilter, "invalidator", invalidator);
+        ReflectionTestUtils.setField(responseCacheFilter, "properties", properties);
+        responseCacheFilter.init();
+    }
+
+    @Test
+    void testFilter_RepeatedGet_ServedFromCache() {
+        MockServerWebExchange first = get("/wallets", "user1");
+        MockServerWebExchange second = get("/wallets", "user1");
+
+        run(first, upstream(HttpStatus.OK, "[{\"id\":1}]"));
+        run(second, upstream(HttpStatus.OK, "[{\"id\":2}]"));
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("MISS", first.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals(HttpStatus.OK, second.getResponse().getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, second.getResponse().getHeaders().getContentType());
+        assertEquals("[{\"id\":1}]", second.getResponse().getBodyAsString().block());
+        assertNull(first.getAttribute(ResponseCacheFilter.CACHE_HIT_ATTR));
+        assertEquals(Boolean.TRUE, second.getAttribute(ResponseCacheFilter.CACHE_HIT_ATTR));
+    }
+
+    @Test
+    void testFilter_Hit_ReplaysUpstreamCacheHeaders() {
+        GatewayFilterChain withValidators = exchange -> {
+            exchange.getResponse().getHeaders().setETag("\"w1\"");
+            exchange.getResponse().getHeaders().setCacheControl("private, max-age=5");
+            exchange.getResponse().getHeaders().add(HttpHeaders.SET_COOKIE, "session=abc");
+            return upstream(HttpStatus.OK, "[]").filter(exchange);
+        };
+        run(get("/wallets", "user1"), withValidators);
+        MockServerWebExchange hit = get("/wallets", "user1");
+        run(hit, withValidators);
+
+        HttpHeaders headers = hit.getResponse().getHeaders();
+        assertEquals("HIT", headers.getFirst(ResponseCacheFilter.CACHE_HEADER));
+        assertEquals("\"w1\"", headers.getETag());
+        assertEquals("private, max-age=5", headers.getCacheControl());
+        assertFalse(headers.containsKey(HttpHeaders.SET_COOKIE));
+    }
+
+    @Test
+    void testFilter_DifferentUsers_DoNotShareEntries() {
+        run(get("/wallets", "user1"), upstream(HttpStatus.OK, "user1-wallets"));
+        MockServerWebExchange other = get("/wallets", "user2");
+        run(other, upstream(HttpStatus.OK, "user2-wallets"));
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals("user2-wallets", other.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void testFilter_DifferentQueryStrings_AreCachedSeparately() {
+        run(get("/transactions?page=0", "user1"), upstream(HttpStatus.OK, "page0"));
+        MockServerWebExchange page1 = get("/transactions?page=1", "user1");
+        run(page1, upstream(HttpStatus.OK, "page1"));
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals("page1", page1.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void testFilter_ErrorResponse_NotCached() {
+        run(get("/wallets", "user1"), upstream(HttpStatus.INTERNAL_SERVER_ERROR, "boom"));
+        run(get("/wallets", "user1"), upstream(HttpStatus.OK, "ok"));
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void testFilter_SuccessfulWrite_InvalidatesUsersEntries() {
+        run(get("/wallets", "user1"), upstream(HttpStatus.OK, "before"));
+        run(get("/wallets", "user2"), upstream(HttpStatus.OK, "other-user"));
+        run(request(MockServerHttpRequest.post("/wallets/transfer"), "user1"), upstream(HttpStatus.OK, "{}"));
+
+        MockServerWebExchange afterWrite = get("/wallets", "user1");
+        run(afterWrite, upstream(HttpStatus.OK, "after"));
+        MockServerWebExchange otherUser = get("/wallets", "user2");
+        run(otherUser, upstream(HttpStatus.OK, "unused"));
+
+        assertEquals("after", afterWrite.getResponse().getBodyAsString().block());
+        assertEquals("HIT", otherUser.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_HEADER));
+    }
+
+    @Test
+    void testFilter_SuccessfulWrite_AnnouncedToOtherReplicas() {
+        run(request(MockServerHttpRequest.post("/wallets/transfer"), "user1"), upstream(HttpStatus.OK, "{}"));
+
+        verify(redisTemplate).convertAndSend(eq(ResponseCacheInvalidator.CHANNEL), endsWith(":user1"));
+    }
+
+    @Test
+    void testFilter_RedisDown_WriteStillInvalidatesLocally() {
+        when(redisTemplate.convertAndSend(anyString(), anyString()))
+                .thenReturn(Mono.error(new IllegalStateException("connection refused")));
+        run(get("/wallets", "user1"), upstream(HttpStatus.OK, "before"));
+
+        MockServerWebExchange write = request(MockServerHttpRequest.post("/wallets/transfer"), "user1");
+        run(write, upstream(HttpStatus.OK, "{}"));
+        MockServerWebExchange afterWrite = get("/wallets", "user1");
+        run(afterWrite, upstream(HttpStatus.OK, "after"));
+
+        assertEquals(HttpStatus.OK, write.getResponse().getStatusCode());
+        assertEquals("after", afterWrite.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void testFilter_FailedWrite_KeepsEntries() {
+        run(get("/wallets", "user1"), upstream(HttpStatus.OK, "before"));
+        run(request(MockServerHttpRequest.post("/transactions/verify-otp"), "user1"),
+                upstream(HttpStatus.BAD_REQUEST, "{}"));
+
+        MockServerWebExchange afterWrite = get("/wallets", "user1");
+        run(afterWrite, upstream(HttpStatus.OK, "after"));
+
+        assertEquals("before", afterWrite.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    void testFilter_UnauthenticatedRequest_NotCached() {
+        run(MockServerWebExchange.from(MockServerHttpRequest.get("/wallets").build()), upstream(HttpStatus.OK, "a"));
+        run(MockServerWebExchange.from(MockServerHttpRequest.get("/wallets").build()), upstream(HttpStatus.OK, "b"));
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @Test
+    void testFilter_UncachedPath_PassesThrough() {
+        run(get("/wallets/with-balance", "user1"), upstream(HttpStatus.OK, "a"));
+        run(get("/wallets/with-balance", "user1"), upstream(HttpStatus.OK, "b"));
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    private GatewayFilterChain upstream(HttpStatus status, String body) {
+        return exchange -> {
+            upstreamCalls.incrementAndGet();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(status);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response.writeWith(Mono.just(
+                    response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8))));
+        };
+    }
+
+    private void run(MockServerWebExchange exchange, GatewayFilterChain chain) {
+        StepVerifier.create(responseCacheFilter.filter(exchange, chain)).verifyComplete();
+    }
+
+    private MockServerWebExchange get(String uri, String userId) {
+        return request(MockServerHttpRequest.get(uri), userId);
+    }
+
+    private MockServerWebExchange request(MockServerHttpRequest.BaseBuilder<?> builder, String userId) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(builder.build());
+        exchange.getAttributes().put(AuthenticationFilter.CLAIMS_ATTR,
+                new VerifiedClaims(userId + "@example.com", userId, "USER", null));
+        return exchange;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.api_gateway.hedging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgeBudgetTest {
+
+    @Test
+    void testTryAcquire_AllowsOneHedgePerTwentyRequestsAtFivePercent() {
+        HedgeBudget budget = new HedgeBudget(0.05, 10);
+        int hedges = 0;
+
+        for (int i = 0; i < 1000; i++) {
+            budget.onRequest();
+            if (budget.tryAcquire()) {
+                hedges++;
+            }
+        }
+
+        assertEquals(50, hedges);
+    }
+
+    @Test
+    void testTryAcquire_EmptyBudget_Refuses() {
+        HedgeBudget budget = new HedgeBudget(0.05, 10);
+
+        budget.onRequest();
+
+        assertFalse(budget.tryAcquire());
+    }
+
+    @Test
+    void testOnRequest_BurstIsCapped() {
+        HedgeBudget budget = new HedgeBudget(0.5, 3);
+        for (int i = 0; i < 1000; i++) {
+            budget.onRequest();
+        }
+
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertTrue(budget.tryAcquire());
+        assertFalse(budget.tryAcquire());
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.api_gateway.hedging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyWindowTest {
+
+    @Test
+    void testPercentile_NoSamples_IsNegative() {
+        assertEquals(-1, new LatencyWindow(100, 0.95).percentileNanos());
+    }
+
+    @Test
+    void testPercentile_OverRecordedSamples() {
+        LatencyWindow window = new LatencyWindow(100, 0.95);
+
+        for (int i = 1; i <= 100; i++) {
+            window.record(i);
+        }
+
+        assertEquals(95, window.percentileNanos());
+        assertEquals(100, window.count());
+    }
+
+    @Test
+    void testPercentile_OldSamplesAgeOut() {
+        LatencyWindow window = new LatencyWindow(10, 0.5);
+        for (int i = 0; i < 10; i++) {
+            window.record(1_000);
+        }
+
+        for (int i = 0; i < 10; i++) {
+            window.record(5);
+        }
+
+        assertEquals(5, window.percentileNanos());
+        assertEquals(10, window.count());
+    }
+}
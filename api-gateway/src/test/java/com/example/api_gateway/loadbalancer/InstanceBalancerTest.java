@@ -0,0 +1,161 @@
+package com.example.api_gateway.loadbalancer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstanceBalancerTest {
+
+    private InstanceBalancer instanceBalancer;
+    private SimpleMeterRegistry meterRegistry;
+    private final AtomicLong nanoTime = new AtomicLong(1_000_000_000L);
+
+    private final List<URI> uris = List.of(
+            URI.create("http://localhost:9001"),
+            URI.create("http://localhost:9002"),
+            URI.create("http://localhost:9003"));
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        instanceBalancer = new InstanceBalancer();
+        ReflectionTestUtils.setField(instanceBalancer, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(instanceBalancer, "consecutiveFailures", 3);
+        ReflectionTestUtils.setField(instanceBalancer, "ejectionDuration", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(instanceBalancer, "nanoClock", (LongSupplier) nanoTime::get);
+    }
+
+    @Test
+    void testChoose_UsesEveryInstance() {
+        Set<URI> chosen = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            chosen.add(instanceBalancer.choose("wallet-service", uris).getUri());
+        }
+
+        assertEquals(Set.copyOf(uris), chosen);
+    }
+
+    @Test
+    void testChoose_PrefersLeastOutstanding() {
+        ServiceInstance busy1 = instanceFor(uris.get(0));
+        ServiceInstance busy2 = instanceFor(uris.get(1));
+        for (int i = 0; i < 10; i++) {
+            instanceBalancer.onStart(busy1);
+            instanceBalancer.onStart(busy2);
+        }
+
+        int idleChosen = 0;
+        for (int i = 0; i < 100; i++) {
+            if (instanceBalancer.choose("wallet-service", uris).getUri().equals(uris.get(2))) {
+                idleChosen++;
+            }
+        }
+
+        // The idle instance wins whenever it is one of the two random picks (2 of 3 pairs).
+        assertTrue(idleChosen > 50, "idle instance chosen " + idleChosen + " times");
+    }
+
+    @Test
+    void testOnComplete_ConsecutiveFailures_EjectInstance() {
+        ServiceInstance failing = instanceFor(uris.get(0));
+        for (int i = 0; i < 3; i++) {
+            instanceBalancer.onStart(failing);
+            instanceBalancer.onComplete("wallet-service", failing, true);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            assertNotEquals(uris.get(0), instanceBalancer.choose("wallet-service", uris).getUri());
+        }
+        assertEquals(1.0, meterRegistry.get("gateway.lb.ejections")
+                .tags("route", "wallet-service", "instance", "http://localhost:9001").counter().count());
+    }
+
+    @Test
+    void testChoose_NegativeClockDoesNotEjectFreshInstances() {
+        // nanoTime may be negative; a never-ejected instance must still be eligible
+        nanoTime.set(-1_000_000_000L);
+
+        Set<URI> chosen = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            chosen.add(instanceBalancer.choose("wallet-service", uris).getUri());
+        }
+
+        assertEquals(Set.copyOf(uris), chosen);
+    }
+
+    @Test
+    void testOnComplete_SuccessResetsFailureCount() {
+        ServiceInstance flaky = instanceFor(uris.get(0));
+        for (int i = 0; i < 10; i++) {
+            instanceBalancer.onComplete("wallet-service", flaky, true);
+            instanceBalancer.onComplete("wallet-service", flaky, true);
+            instanceBalancer.onComplete("wallet-service", flaky, false);
+        }
+
+        assertTrue(meterRegistry.find("gateway.lb.ejections").counters().isEmpty());
+    }
+
+    @Test
+    void testOnAbandoned_KeepsFailureCount() {
+        ServiceInstance failing = instanceFor(uris.get(0));
+        instanceBalancer.onStart(failing);
+        instanceBalancer.onComplete("wallet-service", failing, true);
+        instanceBalancer.onStart(failing);
+        instanceBalancer.onComplete("wallet-service", failing, true);
+        instanceBalancer.onStart(failing);
+        instanceBalancer.onAbandoned(failing);
+        instanceBalancer.onComplete("wallet-service", failing, true);
+
+        assertEquals(1.0, meterRegistry.get("gateway.lb.ejections")
+                .tags("route", "wallet-service", "instance", "http://localhost:9001").counter().count());
+    }
+
+    @Test
+    void testChoose_EjectedInstanceReturnsAfterEjectionDuration() {
+        ServiceInstance failing = instanceFor(uris.get(0));
+        for (int i = 0; i < 3; i++) {
+            instanceBalancer.onComplete("wallet-service", failing, true);
+        }
+
+        nanoTime.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        Set<URI> chosen = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            chosen.add(instanceBalancer.choose("wallet-service", uris).getUri());
+        }
+        assertTrue(chosen.contains(uris.get(0)));
+    }
+
+    @Test
+    void testChoose_AllEjected_FallsBackToAllInstances() {
+        for (URI uri : uris) {
+            ServiceInstance instance = instanceFor(uri);
+            for (int i = 0; i < 3; i++) {
+                instanceBalancer.onComplete("wallet-service", instance, true);
+            }
+        }
+
+        assertNotNull(instanceBalancer.choose("wallet-service", uris));
+    }
+
+    private ServiceInstance instanceFor(URI uri) {
+        for (int i = 0; i < 1000; i++) {
+            ServiceInstance instance = instanceBalancer.choose("wallet-service", uris);
+            if (instance.getUri().equals(uri)) {
+                return instance;
+            }
+        }
+        throw new AssertionError("instance never chosen: " + uri);
+    }
+}
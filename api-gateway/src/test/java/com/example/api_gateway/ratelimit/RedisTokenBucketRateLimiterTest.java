@@ -0,0 +1,167 @@
+package com.example.api_gateway.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedisTokenBucketRateLimiterTest {
+
+    private static RedisServer redisServer;
+    private static int redisPort;
+
+    private LettuceConnectionFactory connectionFactory;
+    private ReactiveStringRedisTemplate redisTemplate;
+    private RateLimitProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+
+    private final RateLimitProperties.Budget budget = new RateLimitProperties.Budget("/wallets/**", 3, 1);
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        redisPort = freePort();
+        redisServer = new RedisServer(redisPort);
+        redisServer.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        redisServer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setRedisTimeout(Duration.ofSeconds(2));
+        meterRegistry = new SimpleMeterRegistry();
+        connectionFactory = connectionFactory(redisPort);
+        redisTemplate = new ReactiveStringRedisTemplate(connectionFactory);
+        redisTemplate.execute(connection -> connection.serverCommands().flushAll()).blockLast();
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void testTryAcquire_AllowsBurstThenRejects() {
+        RedisTokenBucketRateLimiter limiter = new RedisTokenBucketRateLimiter(
+                redisTemplate, properties, meterRegistry, now::get);
+
+        assertTrue(limiter.tryAcquire("wallets", budget, "user:1").block().allowed());
+        assertTrue(limiter.tryAcquire("wallets", budget, "user:1").block().allowed());
+        RateLimitResult third = limiter.tryAcquire("wallets", budget, "user:1").block();
+        assertTrue(third.allowed());
+        assertEquals(0, third.remaining());
+
+        assertFalse(limiter.tryAcquire("wallets", budget, "user:1").block().allowed());
+        assertEquals(1.0, meterRegistry.get("gateway.rate-limit.requests")
+                .tags("budget", "wallets", "backend", "redis", "outcome", "rejected").counter().count());
+    }
+
+    @Test
+    void testTryAcquire_RefillsOverTime() throws InterruptedException {
+        RateLimitProperties.Budget fast = new RateLimitProperties.Budget("/wallets/**", 1, 20);
+        RedisTokenBucketRateLimiter limiter = new RedisTokenBucketRateLimiter(
+                redisTemplate, properties, meterRegistry, now::get);
+        assertTrue(limiter.tryAcquire("wallets", fast, "user:1").block().allowed());
+        assertFalse(limiter.tryAcquire("wallets", fast, "user:1").block().allowed());
+
+        // Refill follows Redis's clock, so real time has to pass
+        Thread.sleep(100);
+
+        assertTrue(limiter.tryAcquire("wallets", fast, "user:1").block().allowed());
+    }
+
+    @Test
+    void testTryAcquire_KeysAndBudgetsAreIndependent() {
+        RedisTokenBucketRateLimiter limiter = new RedisTokenBucketRateLimiter(
+                redisTemplate, properties, meterRegistry, now::get);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("wallets", budget, "user:1").block();
+        }
+
+        assertFalse(limiter.tryAcquire("wallets", budget, "user:1").block().allowed());
+        assertTrue(limiter.tryAcquire("wallets", budget, "user:2").block().allowed());
+        assertTrue(limiter.tryAcquire("transactions", budget, "user:1").block().allowed());
+    }
+
+    @Test
+    void testTryAcquire_SharedAcrossLimiterInstances() {
+        RedisTokenBucketRateLimiter replicaA = new RedisTokenBucketRateLimiter(
+                redisTemplate, properties, meterRegistry, now::get);
+        RedisTokenBucketRateLimiter replicaB = new RedisTokenBucketRateLimiter(
+                redisTemplate, properties, meterRegistry, now::get);
+
+        replicaA.tryAcquire("wallets", budget, "user:1").block();
+        replicaB.tryAcquire("wallets", budget, "user:1").block();
+        replicaA.tryAcquire("wallets", budget, "user:1").block();
+
+        assertFalse(replicaB.tryAcquire("wallets", budget, "user:1").block().allowed());
+    }
+
+    @Test
+    void testTryAcquire_IgnoresReplicaClockSkew() {
+        AtomicLong aheadClock = new AtomicLong(now.get() + 60_000);
+        RedisTokenBucketRateLimiter replicaA = new RedisTokenBucketRateLimiter(
+                redisTemplate, properties, meterRegistry, now::get);
+        RedisTokenBucketRateLimiter aheadReplica = new RedisTokenBucketRateLimiter(
+                redisTemplate, properties, meterRegistry, aheadClock::get);
+        for (int i = 0; i < 3; i++) {
+            replicaA.tryAcquire("wallets", budget, "user:1").block();
+        }
+
+        // A replica a minute ahead must not refill the bucket it shares
+        assertFalse(aheadReplica.tryAcquire("wallets", budget, "user:1").block().allowed());
+        assertFalse(replicaA.tryAcquire("wallets", budget, "user:1").block().allowed());
+    }
+
+    @Test
+    void testTryAcquire_RedisUnreachable_FallsBackToLocalBucket() throws IOException {
+        LettuceConnectionFactory unreachable = connectionFactory(freePort());
+        properties.setRedisTimeout(Duration.ofMillis(500));
+        try {
+            RedisTokenBucketRateLimiter limiter = new RedisTokenBucketRateLimiter(
+                    new ReactiveStringRedisTemplate(unreachable), properties, meterRegistry, now::get);
+
+            assertTrue(limiter.tryAcquire("wallets", budget, "user:1").block().allowed());
+            assertTrue(limiter.tryAcquire("wallets", budget, "user:1").block().allowed());
+            assertTrue(limiter.tryAcquire("wallets", budget, "user:1").block().allowed());
+            assertFalse(limiter.tryAcquire("wallets", budget, "user:1").block().allowed());
+
+            assertEquals(3.0, meterRegistry.get("gateway.rate-limit.requests")
+                    .tags("budget", "wallets", "backend", "local", "outcome", "allowed").counter().count());
+        } finally {
+            unreachable.destroy();
+        }
+    }
+
+    private static LettuceConnectionFactory connectionFactory(int port) {
+        LettuceConnectionFactory factory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration("localhost", port));
+        factory.afterPropertiesSet();
+        factory.start();
+        return factory;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
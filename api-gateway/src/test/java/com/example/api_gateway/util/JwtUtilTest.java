@@ -121,6 +121,23 @@ class JwtUtilTest {
         assertFalse(jwtUtil.validateToken(wrongSignatureToken));
     }
 
+    @Test
+    void testHasCompactJwsShape_SignedToken_ReturnsTrue() {
+        assertTrue(JwtUtil.hasCompactJwsShape(validToken));
+        assertTrue(JwtUtil.hasCompactJwsShape(expiredToken));
+    }
+
+    @Test
+    void testHasCompactJwsShape_NonJwsStrings_ReturnFalse() {
+        assertFalse(JwtUtil.hasCompactJwsShape(""));
+        assertFalse(JwtUtil.hasCompactJwsShape("invalid.token.here"));
+        assertFalse(JwtUtil.hasCompactJwsShape("eyJhbGciOiJIUzI1NiJ9.e30"));
+        assertFalse(JwtUtil.hasCompactJwsShape("eyJhbGciOiJIUzI1NiJ9..c2ln"));
+        assertFalse(JwtUtil.hasCompactJwsShape("eyJhbGciOiJIUzI1NiJ9.e30.c2ln."));
+        assertFalse(JwtUtil.hasCompactJwsShape("eyJhbGciOiJIUzI1NiJ9.e3 0.c2ln"));
+        assertFalse(JwtUtil.hasCompactJwsShape("eyJhbGciOiJIUzI1NiJ9.e30.c2ln" + "x".repeat(JwtUtil.MAX_TOKEN_LENGTH)));
+    }
+
     @Test
     void testGetEmailFromToken_ValidToken_ReturnsEmail() {
         String email = jwtUtil.getEmailFromToken(validToken);
@@ -235,4 +252,24 @@ class JwtUtilTest {
         String email = jwtUtil.getEmailFromToken(tokenWithClaims);
         assertEquals("user@example.com", email);
     }
+
+    @Test
+    void testParseClaims_ValidToken_ReturnsAllClaims() {
+        VerifiedClaims claims = jwtUtil.parseClaims(tokenWithClaims);
+
+        assertEquals("user@example.com", claims.email());
+        assertEquals("user456", claims.userId());
+        assertEquals("ADMIN", claims.role());
+        assertNotNull(claims.expiresAt());
+    }
+
+    @Test
+    void testParseClaims_ExpiredToken_ThrowsException() {
+        assertThrows(io.jsonwebtoken.ExpiredJwtException.class, () -> jwtUtil.parseClaims(expiredToken));
+    }
+
+    @Test
+    void testParseClaims_InvalidToken_ThrowsException() {
+        assertThrows(io.jsonwebtoken.JwtException.class, () -> jwtUtil.parseClaims("invalid.token.here"));
+    }
 }
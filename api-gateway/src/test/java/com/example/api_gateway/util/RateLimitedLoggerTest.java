@@ -0,0 +1,57 @@
+package com.example.api_gateway.util;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class RateLimitedLoggerTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final Logger logger = mock(Logger.class);
+
+    private final RateLimitedLogger rateLimitedLogger =
+            new RateLimitedLogger(logger, Duration.ofSeconds(10), nanos::get);
+
+    @Test
+    void testWarn_LogsAtMostOncePerInterval() {
+        when(logger.isWarnEnabled()).thenReturn(true);
+
+        for (int i = 0; i < 100; i++) {
+            rateLimitedLogger.warn("Rejected JWT token: {}", "expired");
+        }
+
+        verify(logger, times(1)).warn("Rejected JWT token: {}", "expired");
+        assertEquals(99, rateLimitedLogger.suppressedCount());
+    }
+
+    @Test
+    void testWarn_ReportsSuppressedCountInNextInterval() {
+        when(logger.isWarnEnabled()).thenReturn(true);
+
+        rateLimitedLogger.warn("Rejected JWT token: {}", "expired");
+        rateLimitedLogger.warn("Rejected JWT token: {}", "expired");
+        rateLimitedLogger.warn("Rejected JWT token: {}", "expired");
+        nanos.addAndGet(Duration.ofSeconds(10).toNanos());
+        rateLimitedLogger.warn("Rejected JWT token: {}", "forged");
+
+        verify(logger).warn("Rejected JWT token: {} ({} similar messages suppressed)", "forged", 2L);
+        assertEquals(0, rateLimitedLogger.suppressedCount());
+    }
+
+    @Test
+    void testWarn_DisabledLevel_DoesNothing() {
+        when(logger.isWarnEnabled()).thenReturn(false);
+
+        rateLimitedLogger.warn("Rejected JWT token: {}", "expired");
+
+        verify(logger, never()).warn(anyString(), any(Object.class));
+        assertEquals(0, rateLimitedLogger.suppressedCount());
+    }
+}
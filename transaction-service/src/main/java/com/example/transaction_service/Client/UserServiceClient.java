@@ -1,32 +1,51 @@
 package com.example.transaction_service.Client;
 
+import com.example.transaction_service.Util.RequestDeadline;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
 
 @Component
 public class UserServiceClient {
 
     private static final Logger logger = LogManager.getLogger(UserServiceClient.class);
+
+    // user-service accepts at most this many ids per batch request
+    static final int BATCH_SIZE = 500;
+
     private final WebClient webClient;
 
+    @Value("${service.client.timeout:5s}")
+    private Duration timeout = Duration.ofSeconds(5);
+
     public UserServiceClient(@Value("${user.service.url}") String userServiceUrl) {
         this.webClient = WebClient.builder()
                 .baseUrl(userServiceUrl)
+                .filter(RequestDeadline.propagate())
                 .build();
     }
 
     public UserDTO getUserDetails(UUID userId) {
+        RequestDeadline.check("calling user-service");
         try {
             return webClient.get()
                     .uri("/users/{id}", userId)
                     .retrieve()
                     .bodyToMono(UserDTO.class)
-                    .block();
+                    .block(RequestDeadline.remaining(timeout));
         } catch (WebClientResponseException.NotFound e) {
             logger.warn("User not found: {}", userId);
             return null;
@@ -39,10 +58,90 @@ public class UserServiceClient {
         }
     }
 
+    /**
+     * The user with this id, empty when user-service answers 404. Unlike
+     * {@link #getUserDetails}, a call that fails throws rather than looking like a missing user.
+     */
+    public Optional<UserDTO> findUser(UUID userId) {
+        RequestDeadline.check("calling user-service");
+        try {
+            return webClient.get()
+                    .uri("/users/{id}", userId)
+                    .retrieve()
+                    .bodyToMono(UserDTO.class)
+                    .blockOptional(RequestDeadline.remaining(timeout))
+                    .filter(user -> user.getId() != null);
+        } catch (WebClientResponseException.NotFound e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Resolves many users with one {@code POST /users/batch} per {@value #BATCH_SIZE} ids
+     * instead of a call per user. Ids user-service doesn't know are absent from the map; on
+     * an error the map is empty, as {@link #getUserDetails} returns null.
+     */
+    public Map<UUID, UserDTO> getUsersByIds(Collection<UUID> userIds) {
+        Map<UUID, UserDTO> users = new HashMap<>();
+        if (userIds == null || userIds.isEmpty()) {
+            return users;
+        }
+        List<UUID> ids = new ArrayList<>(new LinkedHashSet<>(userIds));
+        ids.removeIf(Objects::isNull);
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<UUID> batch = ids.subList(from, Math.min(ids.size(), from + BATCH_SIZE));
+            RequestDeadline.check("calling user-service");
+            try {
+                List<UserDTO> found = webClient.post()
+                        .uri("/users/batch")
+                        .bodyValue(Map.of("ids", batch))
+                        .retrieve()
+                        .bodyToFlux(UserDTO.class)
+                        .collectList()
+                        .block(RequestDeadline.remaining(timeout));
+                if (found != null) {
+                    found.forEach(user -> users.put(user.getId(), user));
+                }
+            } catch (WebClientResponseException e) {
+                logger.error("HTTP Error getting users by id: {} - {}", e.getStatusCode(), e.getMessage());
+                return new HashMap<>();
+            } catch (Exception e) {
+                logger.error("Error getting users by id: {}", e.getMessage(), e);
+                return new HashMap<>();
+            }
+        }
+        return users;
+    }
+
+    /**
+     * One page of {@code GET /users} in id order, starting after {@code after} (from the start
+     * when null). Null on an error, so a caller walking the pages stops there.
+     */
+    public UserPage listUsers(UUID after, int limit) {
+        RequestDeadline.check("calling user-service");
+        try {
+            return webClient.get()
+                    .uri(uriBuilder -> {
+                        uriBuilder.path("/users").queryParam("limit", limit);
+                        if (after != null) {
+                            uriBuilder.queryParam("after", after);
+                        }
+                        return uriBuilder.build();
+                    })
+                    .retrieve()
+                    .bodyToMono(UserPage.class)
+                    .block(RequestDeadline.remaining(timeout));
+        } catch (Exception e) {
+            logger.error("Error listing users: {}", e.getMessage(), e);
+            return null;
+        }
+    }
+
     public static class UserDTO {
         private UUID id;
         private String name;
         private String email;
+        private String role;
 
         // Getters and Setters
         public UUID getId() {
@@ -68,5 +167,43 @@ public class UserServiceClient {
         public void setEmail(String email) {
             this.email = email;
         }
+
+        public String getRole() {
+            return role;
+        }
+
+        public void setRole(String role) {
+            this.role = role;
+        }
+    }
+
+    public static class UserPage {
+        private List<UserDTO> content;
+        private UUID nextCursor;
+        private boolean hasNext;
+
+        public List<UserDTO> getContent() {
+            return content;
+        }
+
+        public void setContent(List<UserDTO> content) {
+            this.content = content;
+        }
+
+        public UUID getNextCursor() {
+            return nextCursor;
+        }
+
+        public void setNextCursor(UUID nextCursor) {
+            this.nextCursor = nextCursor;
+        }
+
+        public boolean isHasNext() {
+            return hasNext;
+        }
+
+        public void setHasNext(boolean hasNext) {
+            this.hasNext = hasNext;
+        }
     }
 }
@@ -1,5 +1,6 @@
 package com.example.transaction_service.Client;
 
+import com.example.transaction_service.Util.RequestDeadline;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Value;
@@ -8,6 +9,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import java.time.Duration;
 import java.util.List;
 import java.util.UUID;
 
@@ -17,13 +19,18 @@ public class WalletServiceClient {
     private static final Logger logger = LogManager.getLogger(WalletServiceClient.class);
     private final WebClient webClient;
 
+    @Value("${service.client.timeout:5s}")
+    private Duration timeout = Duration.ofSeconds(5);
+
     public WalletServiceClient(@Value("${wallet.service.url}") String walletServiceUrl) {
         this.webClient = WebClient.builder()
                 .baseUrl(walletServiceUrl)
+                .filter(RequestDeadline.propagate())
                 .build();
     }
 
     public List<WalletDTO> getUserWallets(UUID userId) {
+        RequestDeadline.check("calling wallet-service");
         try {
             return webClient.get()
                     .uri("/wallets/with-balance")
@@ -31,7 +38,7 @@ public class WalletServiceClient {
                     .retrieve()
                     .bodyToMono(new ParameterizedTypeReference<List<WalletDTO>>() {
                     })
-                    .block();
+                    .block(RequestDeadline.remaining(timeout));
         } catch (WebClientResponseException e) {
             logger.error("HTTP Error getting user wallets: {} - {}", e.getStatusCode(), e.getMessage());
             if (e.getStatusCode() == HttpStatus.NOT_FOUND) {
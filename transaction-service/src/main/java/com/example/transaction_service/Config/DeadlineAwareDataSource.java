@@ -0,0 +1,69 @@
+package com.example.transaction_service.Config;
+
+import com.example.transaction_service.Util.RequestDeadline;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+
+/**
+ * Gives every JDBC statement created during a request a query timeout no longer than the time
+ * left before the request deadline, and refuses to create one once it has passed. Statements
+ * outside a request (listeners, schedulers) are left alone.
+ */
+public class DeadlineAwareDataSource extends DelegatingDataSource {
+
+    public DeadlineAwareDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private static Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    if (result instanceof Statement statement) {
+                        applyDeadline(statement);
+                    }
+                    return result;
+                });
+    }
+
+    static void applyDeadline(Statement statement) throws SQLException {
+        Long deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return;
+        }
+        long remainingMillis = deadline - System.currentTimeMillis();
+        if (remainingMillis <= 0) {
+            statement.close();
+            throw new SQLTimeoutException("Request deadline exceeded before running query");
+        }
+        int seconds = (int) Math.max(1, (remainingMillis + 999) / 1000);
+        int current = statement.getQueryTimeout();
+        if (current == 0 || current > seconds) {
+            statement.setQueryTimeout(seconds);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.transaction_service.Config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class DeadlineDataSourceConfig {
+
+    /** Wraps the auto-configured pool so JPA queries are bounded by the request deadline. */
+    @Bean
+    public static BeanPostProcessor deadlineAwareDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof DeadlineAwareDataSource)) {
+                    return new DeadlineAwareDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.transaction_service.Config;
+
+import com.example.transaction_service.Util.FaultSpec;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/faults}: read the current faults, switch injection on or off
+ * ({@code POST {"enabled": true}}), and set or clear a named rule
+ * ({@code POST /actuator/faults/slow-reads {"spec": "path=/transactions,delay=300ms"}},
+ * {@code DELETE /actuator/faults/slow-reads}).
+ */
+@Component
+@Endpoint(id = "faults")
+public class FaultInjectionEndpoint {
+
+    private final FaultInjectionProperties properties;
+
+    public FaultInjectionEndpoint(FaultInjectionProperties properties) {
+        this.properties = properties;
+    }
+
+    @ReadOperation
+    public Map<String, Object> faults() {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("enabled", properties.isEnabled());
+        state.put("header", properties.getHeader());
+        state.put("rules", properties.getRules());
+        return state;
+    }
+
+    @WriteOperation
+    public Map<String, Object> setEnabled(boolean enabled) {
+        properties.setEnabled(enabled);
+        return faults();
+    }
+
+    @WriteOperation
+    public Map<String, Object> setRule(@Selector String name, String spec) {
+        properties.getRules().put(name, FaultSpec.parse(spec));
+        return faults();
+    }
+
+    @DeleteOperation
+    public Map<String, Object> clearRule(@Selector String name) {
+        properties.getRules().remove(name);
+        return faults();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.transaction_service.Config;
+
+import com.example.transaction_service.Util.FaultSpec;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Injects latency, errors and connection aborts into incoming requests, for reproducing a
+ * slow or failing service under load. Latency is slept on the request thread, as a slow
+ * handler would. Does nothing unless {@code faults.enabled} is on.
+ * <p>
+ * Registers its own properties, so that web slices which pick up servlet filters get them too.
+ */
+@Component
+@EnableConfigurationProperties(FaultInjectionProperties.class)
+public class FaultInjectionFilter extends OncePerRequestFilter {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final FaultInjectionProperties properties;
+
+    private final String applicationName;
+
+    public FaultInjectionFilter(FaultInjectionProperties properties,
+                                @Value("${spring.application.name}") String applicationName) {
+        this.properties = properties;
+        this.applicationName = applicationName;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Keep the actuator, and so the switch to turn faults off again, reachable
+        return request.getRequestURI().startsWith(request.getContextPath() + "/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        FaultSpec spec = properties.isEnabled() ? resolve(request) : null;
+        if (spec == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RandomGenerator random = ThreadLocalRandom.current();
+        Duration delay = spec.sampleDelay(random);
+        if (!delay.isZero()) {
+            try {
+                Thread.sleep(delay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        if (spec.shouldAbort(random)) {
+            // Promise a body, send part of it and close: the caller sees the connection drop mid-response
+            response.setHeader(HttpHeaders.CONNECTION, "close");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(1024);
+            response.getOutputStream().write('{');
+            response.flushBuffer();
+            return;
+        }
+        if (spec.shouldError(random)) {
+            response.setStatus(spec.getErrorStatus());
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write("Fault injected");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private FaultSpec resolve(HttpServletRequest request) {
+        try {
+            FaultSpec fromHeader = FaultSpec.forTarget(request.getHeader(properties.getHeader()), applicationName);
+            if (fromHeader != null) {
+                return fromHeader;
+            }
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (FaultSpec rule : properties.getRules().values()) {
+            if (PATH_MATCHER.match(rule.getPath(), path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+}
@@ -2,7 +2,14 @@ package com.example.transaction_service.Config;
 
 import com.example.transaction_service.DTO.TransactionCreatedEvent;
 import com.example.transaction_service.DTO.TransactionCompletedEvent;
+import com.example.transaction_service.DTO.UserChangedEvent;
+import com.example.transaction_service.Service.OtpNodeRouter;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
 import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
@@ -13,6 +20,9 @@ import org.springframework.amqp.support.converter.DefaultClassMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 public class RabbitMQConfig {
 
@@ -20,6 +30,14 @@ public class RabbitMQConfig {
     public static final String OTP_VERIFIED_QUEUE = "otp.verified";
     public static final String TRANSACTION_COMPLETED_QUEUE = "transaction.completed";
 
+    // user-service publishes user changes here; this service binds its own queue to get them
+    public static final String USER_EVENTS_EXCHANGE = "user.events";
+    public static final String USER_EVENTS_QUEUE = "transaction-service.user-events";
+
+    // Settled transactions are announced here for anyone who mirrors balances or statuses
+    public static final String TRANSACTION_EVENTS_EXCHANGE = "transaction.events";
+    public static final String TRANSACTION_SETTLED_ROUTING_KEY = "transaction.settled";
+
     @Bean
     public Queue transactionCreatedQueue() {
         return new Queue(TRANSACTION_CREATED_QUEUE, true);
@@ -35,6 +53,35 @@ public class RabbitMQConfig {
         return new Queue(TRANSACTION_COMPLETED_QUEUE, true);
     }
 
+    @Bean
+    public TopicExchange userEventsExchange() {
+        return new TopicExchange(USER_EVENTS_EXCHANGE, true, false);
+    }
+
+    @Bean
+    public Queue userEventsQueue() {
+        return new Queue(USER_EVENTS_QUEUE, true);
+    }
+
+    @Bean
+    public Binding userEventsBinding() {
+        return BindingBuilder.bind(userEventsQueue()).to(userEventsExchange()).with("user.*");
+    }
+
+    @Bean
+    public TopicExchange transactionEventsExchange() {
+        return new TopicExchange(TRANSACTION_EVENTS_EXCHANGE, true, false);
+    }
+
+    @Bean
+    public Declarables otpNodeQueues(OtpNodeRouter otpNodeRouter) {
+        List<Declarable> queues = new ArrayList<>();
+        for (String name : otpNodeRouter.getNodeQueues()) {
+            queues.add(new Queue(name, true));
+        }
+        return new Declarables(queues);
+    }
+
     @Bean
     public MessageConverter messageConverter() {
         Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
@@ -51,6 +98,9 @@ public class RabbitMQConfig {
                     if (typeId.equals("com.example.wallet_service.DTO.TransactionCompletedEvent")) {
                         return TransactionCompletedEvent.class;
                     }
+                    if (typeId.equals("com.example.DTO.UserChangedEvent")) {
+                        return UserChangedEvent.class;
+                    }
                 }
 
                 return super.toClass(properties);
@@ -59,7 +109,8 @@ public class RabbitMQConfig {
 
         classMapper.setTrustedPackages(
                 "com.example.wallet_service.DTO",
-                "com.example.transaction_service.DTO");
+                "com.example.transaction_service.DTO",
+                "com.example.DTO");
 
         converter.setClassMapper(classMapper);
         return converter;
@@ -0,0 +1,23 @@
+package com.example.transaction_service.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published on the transaction.events exchange once a transaction's final status is stored.
+ * By then the balances it moved are committed too, so consumers such as the gateway's
+ * response cache can refresh everything the listed users see.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionSettledEvent {
+    private UUID transactionId;
+    private String status;
+    private List<UUID> userIds;
+    private Long timestamp;
+}
@@ -0,0 +1,20 @@
+package com.example.transaction_service.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.UUID;
+
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserChangedEvent {
+    private UUID userId;
+    private String eventType; // "CREATED", "UPDATED", "DELETED"
+    private String name;
+    private String email;
+    private boolean active;
+    private Long version; // the user's row version in user-service, bumped on every change
+    private Long timestamp;
+}
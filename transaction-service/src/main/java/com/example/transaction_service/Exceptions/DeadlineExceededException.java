@@ -0,0 +1,7 @@
+package com.example.transaction_service.Exceptions;
+
+public class DeadlineExceededException extends RuntimeException {
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.transaction_service.Service;
+
+import com.example.transaction_service.Config.RabbitMQConfig;
+import com.example.transaction_service.Util.ConsistentHashRing;
+import jakarta.annotation.PostConstruct;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Decides which transaction-service node owns a transaction's OTP. OTPs only live in the
+ * local cache, so the node that creates one must be the node the gateway sends the
+ * verification to. Both use a {@link ConsistentHashRing} over the same node URLs
+ * ({@code transaction.cluster.nodes}, matching the gateway route's {@code metadata.instances}).
+ * <p>
+ * Each node also consumes its own {@code transaction.created.<host:port>} queue, which other
+ * nodes forward events to. With no nodes configured every transaction is local.
+ */
+@Service
+public class OtpNodeRouter {
+
+    private static final Logger logger = LogManager.getLogger(OtpNodeRouter.class);
+
+    @Value("${transaction.cluster.nodes:}")
+    private String nodesString;
+
+    @Value("${transaction.cluster.self-url:}")
+    private String selfUrl;
+
+    private ConsistentHashRing<String> ring;
+
+    private List<String> nodeQueues = List.of();
+
+    @PostConstruct
+    public void init() {
+        if (nodesString == null || nodesString.isBlank()) {
+            return;
+        }
+        List<String> nodes = new ArrayList<>();
+        for (String node : nodesString.split(",")) {
+            nodes.add(node.trim());
+        }
+        if (!nodes.contains(selfUrl)) {
+            throw new IllegalStateException(
+                    "transaction.cluster.self-url '" + selfUrl + "' is not one of transaction.cluster.nodes " + nodes);
+        }
+        ring = new ConsistentHashRing<>(nodes, node -> node);
+        nodeQueues = nodes.stream().map(OtpNodeRouter::queueFor).toList();
+        logger.info("OTP ownership split across {} nodes, this node is {}", nodes.size(), selfUrl);
+    }
+
+    public boolean isLocal(UUID transactionId) {
+        return ring == null || ring.nodeFor(transactionId.toString()).equals(selfUrl);
+    }
+
+    /** Queue consumed by the node owning the transaction. */
+    public String ownerQueue(UUID transactionId) {
+        return queueFor(ring.nodeFor(transactionId.toString()));
+    }
+
+    /** Queues this node's {@code transaction.created} listener consumes. */
+    public String[] getListenQueues() {
+        if (ring == null) {
+            return new String[] {RabbitMQConfig.TRANSACTION_CREATED_QUEUE};
+        }
+        return new String[] {RabbitMQConfig.TRANSACTION_CREATED_QUEUE, queueFor(selfUrl)};
+    }
+
+    /** Per-node queues of every node in the cluster, declared so forwarding never targets a missing queue. */
+    public List<String> getNodeQueues() {
+        return nodeQueues;
+    }
+
+    private static String queueFor(String nodeUrl) {
+        return RabbitMQConfig.TRANSACTION_CREATED_QUEUE + "." + URI.create(nodeUrl).getAuthority();
+    }
+}
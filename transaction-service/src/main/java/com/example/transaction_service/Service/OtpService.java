@@ -8,6 +8,7 @@ import org.springframework.stereotype.Service;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.example.transaction_service.DTO.OtpData;
 import com.example.transaction_service.Model.Transaction;
+import com.example.transaction_service.Util.RequestDeadline;
 import com.example.transaction_service.Repository.TransactionRepo;
 import com.example.transaction_service.Exceptions.ResourceNotFoundException;
 import com.example.transaction_service.Exceptions.ValidationException;
@@ -84,6 +85,8 @@ public class OtpService {
         }
 
         if (passwordEncoder.matches(enteredOtp, otpData.getHashedOtpCode())) {
+            // Don't consume the OTP for a caller that has already given up
+            RequestDeadline.check("publishing otp.verified");
             otpData.setIsVerified(true);
             otpCache.put(transactionId, otpData);
 
@@ -25,11 +25,24 @@ public class TransactionEventConsumer {
     @Autowired
     private OtpService otpService;
 
-    @RabbitListener(queues = RabbitMQConfig.TRANSACTION_CREATED_QUEUE)
+    @Autowired
+    private OtpNodeRouter otpNodeRouter;
+
+    @Autowired
+    private TransactionEventPublisher transactionEventPublisher;
+
+    @RabbitListener(queues = "#{@otpNodeRouter.listenQueues}")
     @Transactional
     public void handleTransactionCreated(TransactionCreatedEvent event) {
         logger.info("Received transaction.created event: {}", event.getTransactionId());
 
+        // The OTP must be created on the node the gateway will send its verification to.
+        if (!otpNodeRouter.isLocal(event.getTransactionId())) {
+            transactionEventPublisher.forwardTransactionCreated(
+                    otpNodeRouter.ownerQueue(event.getTransactionId()), event);
+            return;
+        }
+
         try {
 
             if (transactionRepo.existsById(event.getTransactionId())) {
@@ -92,6 +105,12 @@ public class TransactionEventConsumer {
 
             transactionRepo.save(transaction);
 
+            // Events from wallet-service builds that predate userIds have no one to notify
+            if (event.getUserIds() != null) {
+                transactionEventPublisher.publishTransactionSettled(
+                        event.getTransactionId(), event.getStatus(), event.getUserIds());
+            }
+
             logger.info("Transaction status updated: {} - {}", event.getTransactionId(), event.getStatus());
 
         } catch (Exception e) {
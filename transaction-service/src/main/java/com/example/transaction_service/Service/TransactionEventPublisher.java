@@ -2,12 +2,19 @@ package com.example.transaction_service.Service;
 
 import com.example.transaction_service.Config.RabbitMQConfig;
 import com.example.transaction_service.DTO.OtpVerifiedEvent;
+import com.example.transaction_service.DTO.TransactionCreatedEvent;
+import com.example.transaction_service.DTO.TransactionSettledEvent;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.amqp.AmqpException;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -42,5 +49,41 @@ public class TransactionEventPublisher {
         
         logger.info("Published otp.verified event: {}", transactionId);
     }
-}
 
+    public void forwardTransactionCreated(String queue, TransactionCreatedEvent event) {
+        rabbitTemplate.convertAndSend(queue, event);
+
+        logger.info("Forwarded transaction.created event {} to {}", event.getTransactionId(), queue);
+    }
+
+    /**
+     * Announces the stored status once the surrounding database transaction commits. Nothing
+     * depends on it for correctness, so a broker outage is only logged.
+     */
+    public void publishTransactionSettled(UUID transactionId, String status, List<UUID> userIds) {
+        TransactionSettledEvent event = new TransactionSettledEvent(
+                transactionId, status, new ArrayList<>(userIds), System.currentTimeMillis());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            sendTransactionSettled(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                sendTransactionSettled(event);
+            }
+        });
+    }
+
+    private void sendTransactionSettled(TransactionSettledEvent event) {
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.TRANSACTION_EVENTS_EXCHANGE,
+                    RabbitMQConfig.TRANSACTION_SETTLED_ROUTING_KEY, event);
+            logger.info("Published transaction.settled event: {}", event.getTransactionId());
+        } catch (AmqpException e) {
+            logger.error("Failed to publish transaction.settled event for {}: {}",
+                    event.getTransactionId(), e.getMessage());
+        }
+    }
+}
@@ -33,7 +33,7 @@ public class TransactionService {
     private WalletServiceClient walletServiceClient;
 
     @Autowired
-    private UserServiceClient userServiceClient;
+    private UserProjectionService userProjectionService;
 
     @Autowired
     private StatementCsvBuilder statementCsvBuilder;
@@ -188,7 +188,7 @@ public class TransactionService {
             throw new ValidationException("User not authenticated!");
         }
 
-        UserServiceClient.UserDTO user = userServiceClient.getUserDetails(currentUserId);
+        UserServiceClient.UserDTO user = userProjectionService.findUser(currentUserId);
         if (user == null) {
             throw new ValidationException("User not found");
         }
@@ -0,0 +1,211 @@
+package com.example.transaction_service.Service;
+
+import com.example.transaction_service.Client.UserServiceClient;
+import com.example.transaction_service.Config.RabbitMQConfig;
+import com.example.transaction_service.DTO.UserChangedEvent;
+import com.example.transaction_service.Model.UserProjection;
+import com.example.transaction_service.Repository.UserProjectionRepo;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Local copy of users, so resolving the user a statement goes to is an indexed lookup here
+ * instead of a call to user-service. Fed by user-service's change events; users not seen yet
+ * (an event still in flight, or lost while the broker was down) are fetched from user-service
+ * once and kept.
+ * <p>
+ * Events are published after commit without an outbox, so one can be lost. A row that hasn't
+ * been confirmed for {@code max-age} is therefore checked against user-service again when
+ * read, which bounds how long a lost update or deletion goes unnoticed.
+ */
+@Service
+public class UserProjectionService {
+
+    private static final Logger logger = LogManager.getLogger(UserProjectionService.class);
+
+    static final int BOOTSTRAP_PAGE_SIZE = 500;
+
+    // Version of a row user-service answered 404 for; deletion is final, so no event may revive it
+    static final long DELETED_VERSION = Long.MAX_VALUE;
+
+    @Autowired
+    private UserProjectionRepo userProjectionRepo;
+
+    @Autowired
+    private UserServiceClient userServiceClient;
+
+    @Value("${user.projection.max-age:10m}")
+    private Duration maxAge = Duration.ofMinutes(10);
+
+    @RabbitListener(queues = RabbitMQConfig.USER_EVENTS_QUEUE)
+    @Transactional
+    public void handleUserChanged(UserChangedEvent event) {
+        if (event.getUserId() == null) {
+            logger.warn("Ignoring user {} event without a user id", event.getEventType());
+            return;
+        }
+        long version = event.getVersion() != null ? event.getVersion() : 0L;
+
+        UserProjection projection = userProjectionRepo.findById(event.getUserId()).orElse(null);
+        if (projection != null && projection.getVersion() >= version) {
+            // Redelivered or overtaken by a later change
+            logger.debug("Ignoring stale {} event for user {}", event.getEventType(), event.getUserId());
+            return;
+        }
+        if (projection == null) {
+            projection = new UserProjection();
+            projection.setId(event.getUserId());
+        }
+
+        if ("DELETED".equalsIgnoreCase(event.getEventType())) {
+            // Keep the row so a late CREATED or UPDATED can't bring the user back
+            projection.setActive(false);
+        } else {
+            projection.setName(event.getName());
+            projection.setEmail(event.getEmail());
+            projection.setActive(event.isActive());
+        }
+        projection.setVersion(version);
+        projection.setRefreshedAt(Instant.now());
+        userProjectionRepo.save(projection);
+    }
+
+    public boolean userExists(UUID userId) {
+        return findUser(userId) != null;
+    }
+
+    /**
+     * The user with this id, or null when user-service doesn't have it (or was deleted).
+     */
+    public UserServiceClient.UserDTO findUser(UUID userId) {
+        if (userId == null) {
+            return null;
+        }
+        Optional<UserProjection> projection = userProjectionRepo.findById(userId);
+        if (projection.isPresent()) {
+            UserProjection current = projection.get();
+            if (current.isActive() && isStale(current)) {
+                current = refresh(current);
+            }
+            return current.isActive() ? toUserDTO(current) : null;
+        }
+
+        UserServiceClient.UserDTO user = userServiceClient.getUserDetails(userId);
+        if (user == null || user.getId() == null) {
+            return null;
+        }
+        saveIfAbsent(List.of(user));
+        return user;
+    }
+
+    private boolean isStale(UserProjection projection) {
+        return projection.getRefreshedAt() == null
+                || projection.getRefreshedAt().plus(maxAge).isBefore(Instant.now());
+    }
+
+    /**
+     * Checks a row against user-service. If user-service can't answer, the row is served as it
+     * is and checked again on the next read.
+     */
+    private UserProjection refresh(UserProjection projection) {
+        Optional<UserServiceClient.UserDTO> user;
+        try {
+            user = userServiceClient.findUser(projection.getId());
+        } catch (RuntimeException e) {
+            logger.warn("Could not re-check user {} with user-service: {}", projection.getId(), e.getMessage());
+            return projection;
+        }
+        UserProjection refreshed = user
+                .map(found -> new UserProjection(projection.getId(), found.getName(), found.getEmail(), true,
+                        projection.getVersion(), Instant.now()))
+                .orElseGet(() -> new UserProjection(projection.getId(), projection.getName(), projection.getEmail(),
+                        false, DELETED_VERSION, Instant.now()));
+        if (!refreshed.isActive()) {
+            logger.info("User {} is gone from user-service; its deletion event was missed", projection.getId());
+        }
+        int updated = userProjectionRepo.refresh(projection.getId(), projection.getVersion(), refreshed.getName(),
+                refreshed.getEmail(), refreshed.isActive(), refreshed.getVersion(), refreshed.getRefreshedAt());
+        // If an event got there first it is at least as new as what user-service just said
+        return updated > 0 ? refreshed : userProjectionRepo.findById(projection.getId()).orElse(refreshed);
+    }
+
+    /**
+     * Copies every user over from user-service when the table is empty, as on a first start.
+     * Runs in the background; until it finishes, lookups fall back to user-service.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrapIfEmpty() {
+        if (userProjectionRepo.count() > 0) {
+            return;
+        }
+        Thread thread = new Thread(this::bootstrap, "user-projection-bootstrap");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void bootstrap() {
+        int copied = 0;
+        UUID after = null;
+        do {
+            UserServiceClient.UserPage page = userServiceClient.listUsers(after, BOOTSTRAP_PAGE_SIZE);
+            if (page == null || page.getContent() == null) {
+                logger.warn("User bootstrap stopped after {} users; the rest load on first use", copied);
+                return;
+            }
+            copied += saveIfAbsent(page.getContent());
+            after = page.isHasNext() ? page.getNextCursor() : null;
+        } while (after != null);
+        logger.info("Copied {} users from user-service", copied);
+    }
+
+    /**
+     * Stores users not held yet, at version 0 so any later change wins. Users already held
+     * came from an event and are left alone.
+     */
+    private int saveIfAbsent(List<UserServiceClient.UserDTO> users) {
+        Instant now = Instant.now();
+        Set<UUID> ids = users.stream().map(UserServiceClient.UserDTO::getId).collect(Collectors.toSet());
+        Set<UUID> known = userProjectionRepo.findAllById(ids).stream()
+                .map(UserProjection::getId)
+                .collect(Collectors.toSet());
+        List<UserProjection> missing = users.stream()
+                .filter(user -> !known.contains(user.getId()))
+                .map(user -> new UserProjection(user.getId(), user.getName(), user.getEmail(), true, 0L, now))
+                .collect(Collectors.toList());
+        if (missing.isEmpty()) {
+            return 0;
+        }
+        try {
+            userProjectionRepo.saveAll(missing);
+            return missing.size();
+        } catch (DataAccessException e) {
+            // Raced with an event for the same user; the copy is only a cache
+            logger.debug("Could not store user copies: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    private static UserServiceClient.UserDTO toUserDTO(UserProjection projection) {
+        UserServiceClient.UserDTO user = new UserServiceClient.UserDTO();
+        user.setId(projection.getId());
+        user.setName(projection.getName());
+        user.setEmail(projection.getEmail());
+        return user;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.transaction_service.Util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Consistent hash ring with virtual nodes. Each node is placed at
+ * {@value #VIRTUAL_NODES} points, hashed from {@code "<nodeId>#<i>"} with the first eight
+ * bytes of MD5, and a key belongs to the first point at or after its own hash.
+ * <p>
+ * This is a copy of the api-gateway's ring: the gateway routes {@code /transactions/verify-otp}
+ * with it and the {@code transaction.created} consumer uses it to decide which node stores an
+ * OTP, so both must hash identically. Change them together.
+ */
+public final class ConsistentHashRing<T> {
+
+    static final int VIRTUAL_NODES = 160;
+
+    private final NavigableMap<Long, T> ring = new TreeMap<>();
+
+    public ConsistentHashRing(Collection<T> nodes, Function<T, String> nodeId) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("A hash ring needs at least one node");
+        }
+        for (T node : nodes) {
+            String id = nodeId.apply(node);
+            for (int i = 0; i < VIRTUAL_NODES; i++) {
+                ring.put(hash(id + "#" + i), node);
+            }
+        }
+    }
+
+    public T nodeFor(String key) {
+        Map.Entry<Long, T> entry = ring.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    static long hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(value.getBytes(StandardCharsets.UTF_8));
+            long hash = 0;
+            for (int i = 0; i < 8; i++) {
+                hash = (hash << 8) | (digest[i] & 0xFF);
+            }
+            return hash;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.transaction_service.Util;
+
+import com.example.transaction_service.Exceptions.DeadlineExceededException;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+
+import java.time.Duration;
+
+/**
+ * The deadline of the request being served on the current thread, in epoch milliseconds of
+ * this service's clock. The API Gateway sends the time left in {@value #HEADER} (milliseconds),
+ * which is turned into a local deadline on arrival and passed on the same way, so the hosts'
+ * clocks never have to agree. Outgoing calls, queries and publishes use it to bound their
+ * waits; without one they fall back to their own timeouts.
+ */
+public final class RequestDeadline {
+
+    public static final String HEADER = "X-Request-Budget-Ms";
+
+    private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    public static void set(long deadline) {
+        CURRENT.set(deadline);
+    }
+
+    /** Starts a deadline {@code budgetMillis} from now. */
+    public static void startBudget(long budgetMillis) {
+        CURRENT.set(System.currentTimeMillis() + budgetMillis);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /** The deadline in epoch milliseconds, or null outside a request that carried one. */
+    public static Long current() {
+        return CURRENT.get();
+    }
+
+    public static boolean isExpired() {
+        Long deadline = CURRENT.get();
+        return deadline != null && deadline <= System.currentTimeMillis();
+    }
+
+    /** Time left before the deadline, capped at {@code limit}; {@code limit} itself when there is none. */
+    public static Duration remaining(Duration limit) {
+        Long deadline = CURRENT.get();
+        if (deadline == null) {
+            return limit;
+        }
+        Duration left = Duration.ofMillis(Math.max(0, deadline - System.currentTimeMillis()));
+        return left.compareTo(limit) < 0 ? left : limit;
+    }
+
+    /**
+     * Abandons work that would start after the deadline.
+     *
+     * @throws DeadlineExceededException if the deadline has passed
+     */
+    public static void check(String work) {
+        if (isExpired()) {
+            throw new DeadlineExceededException("Request deadline exceeded before " + work);
+        }
+    }
+
+    /** Passes the time left before the current deadline on to the next service. */
+    public static ExchangeFilterFunction propagate() {
+        return (request, next) -> {
+            Long deadline = CURRENT.get();
+            if (deadline == null) {
+                return next.exchange(request);
+            }
+            long budget = Math.max(0, deadline - System.currentTimeMillis());
+            return next.exchange(ClientRequest.from(request)
+                    .header(HEADER, Long.toString(budget))
+                    .build());
+        };
+    }
+
+    /** Parses a header value, returning null when it is missing or malformed. */
+    public static Long parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
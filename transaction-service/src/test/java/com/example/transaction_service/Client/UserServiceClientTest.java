@@ -8,9 +8,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -31,6 +36,12 @@ class UserServiceClientTest {
     @Mock
     private WebClient.ResponseSpec responseSpec;
 
+    @Mock
+    private WebClient.RequestBodyUriSpec requestBodyUriSpec;
+
+    @Mock
+    private WebClient.RequestBodySpec requestBodySpec;
+
     private UserServiceClient userServiceClient;
     private UUID userId;
     private UserServiceClient.UserDTO userDTO;
@@ -100,5 +111,113 @@ class UserServiceClientTest {
 
         assertNull(result);
     }
-}
 
+    @Test
+    void testFindUser_NotFoundIsEmpty() {
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(anyString(), any(UUID.class))).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(UserServiceClient.UserDTO.class))
+            .thenReturn(Mono.error(WebClientResponseException.create(404, "Not Found", null, null, null)));
+
+        assertTrue(userServiceClient.findUser(userId).isEmpty());
+    }
+
+    @Test
+    void testFindUser_ServerErrorThrows() {
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(anyString(), any(UUID.class))).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(UserServiceClient.UserDTO.class))
+            .thenReturn(Mono.error(WebClientResponseException.create(500, "Internal Server Error", null, null, null)));
+
+        assertThrows(WebClientResponseException.class, () -> userServiceClient.findUser(userId));
+    }
+
+    @Test
+    void testGetUsersByIds_SingleRoundTrip() {
+        UserServiceClient.UserDTO other = new UserServiceClient.UserDTO();
+        other.setId(UUID.randomUUID());
+        other.setName("Other User");
+        when(webClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri("/users/batch")).thenReturn(requestBodySpec);
+        doReturn(requestHeadersSpec).when(requestBodySpec).bodyValue(any());
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToFlux(UserServiceClient.UserDTO.class)).thenReturn(Flux.just(userDTO, other));
+
+        Map<UUID, UserServiceClient.UserDTO> result =
+                userServiceClient.getUsersByIds(List.of(userId, other.getId(), userId, UUID.randomUUID()));
+
+        assertEquals(2, result.size());
+        assertEquals("Test User", result.get(userId).getName());
+        assertEquals("Other User", result.get(other.getId()).getName());
+        verify(webClient, times(1)).post();
+        verify(requestBodySpec).bodyValue(argThat(body -> ((Map<?, ?>) body).get("ids") instanceof List<?> ids && ids.size() == 3));
+    }
+
+    @Test
+    void testGetUsersByIds_SplitsLargeRequests() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < UserServiceClient.BATCH_SIZE + 1; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        when(webClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri("/users/batch")).thenReturn(requestBodySpec);
+        doReturn(requestHeadersSpec).when(requestBodySpec).bodyValue(any());
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToFlux(UserServiceClient.UserDTO.class)).thenReturn(Flux.empty());
+
+        assertTrue(userServiceClient.getUsersByIds(ids).isEmpty());
+
+        verify(webClient, times(2)).post();
+    }
+
+    @Test
+    void testGetUsersByIds_ErrorReturnsEmpty() {
+        when(webClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri("/users/batch")).thenReturn(requestBodySpec);
+        doReturn(requestHeadersSpec).when(requestBodySpec).bodyValue(any());
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToFlux(UserServiceClient.UserDTO.class))
+            .thenReturn(Flux.error(WebClientResponseException.create(500, "Internal Server Error", null, null, null)));
+
+        assertTrue(userServiceClient.getUsersByIds(List.of(userId)).isEmpty());
+    }
+
+    @Test
+    void testGetUsersByIds_EmptyInputMakesNoCall() {
+        assertTrue(userServiceClient.getUsersByIds(List.of()).isEmpty());
+
+        verifyNoInteractions(webClient);
+    }
+
+    @Test
+    void testListUsers_Success() {
+        UserServiceClient.UserPage page = new UserServiceClient.UserPage();
+        page.setContent(List.of(userDTO));
+        page.setNextCursor(userId);
+        page.setHasNext(true);
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(any(Function.class))).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(UserServiceClient.UserPage.class)).thenReturn(Mono.just(page));
+
+        UserServiceClient.UserPage result = userServiceClient.listUsers(null, 500);
+
+        assertNotNull(result);
+        assertEquals(1, result.getContent().size());
+        assertEquals(userId, result.getNextCursor());
+        assertTrue(result.isHasNext());
+    }
+
+    @Test
+    void testListUsers_ErrorReturnsNull() {
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(any(Function.class))).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(UserServiceClient.UserPage.class))
+            .thenReturn(Mono.error(new RuntimeException("Network error")));
+
+        assertNull(userServiceClient.listUsers(userId, 500));
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.transaction_service.Client;
 
+import com.example.transaction_service.Exceptions.DeadlineExceededException;
+import com.example.transaction_service.Util.RequestDeadline;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,6 +14,7 @@ import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
@@ -52,6 +56,11 @@ class WalletServiceClientTest {
         ReflectionTestUtils.setField(walletServiceClient, "webClient", webClient);
     }
 
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
     @Test
     void testGetUserWallets_Success() {
         List<WalletServiceClient.WalletDTO> wallets = Arrays.asList(walletDTO);
@@ -114,5 +123,28 @@ class WalletServiceClientTest {
         assertNotNull(result);
         assertTrue(result.isEmpty());
     }
-}
 
+    @Test
+    void testGetUserWallets_SlowWalletService_BoundedByDeadline() {
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(anyString())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.header(anyString(), anyString())).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(any(ParameterizedTypeReference.class))).thenReturn(Mono.never());
+        RequestDeadline.set(System.currentTimeMillis() + 100);
+
+        long start = System.nanoTime();
+        List<WalletServiceClient.WalletDTO> result = walletServiceClient.getUserWallets(userId);
+
+        assertTrue(result.isEmpty());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 2_000);
+    }
+
+    @Test
+    void testGetUserWallets_DeadlinePassed_NotCalled() {
+        RequestDeadline.set(System.currentTimeMillis() - 1);
+
+        assertThrows(DeadlineExceededException.class, () -> walletServiceClient.getUserWallets(userId));
+        verifyNoInteractions(webClient);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.transaction_service.Config;
+
+import com.example.transaction_service.Util.RequestDeadline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+class DeadlineAwareDataSourceTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void testNoDeadline_StatementUntouched() throws Exception {
+        Statement statement = mock(Statement.class);
+
+        DeadlineAwareDataSource.applyDeadline(statement);
+
+        verify(statement, never()).setQueryTimeout(anyInt());
+    }
+
+    @Test
+    void testDeadline_SetsQueryTimeoutToRemainingSeconds() throws Exception {
+        Statement statement = mock(Statement.class);
+        when(statement.getQueryTimeout()).thenReturn(0);
+        RequestDeadline.set(System.currentTimeMillis() + 2_500);
+
+        DeadlineAwareDataSource.applyDeadline(statement);
+
+        verify(statement).setQueryTimeout(3);
+    }
+
+    @Test
+    void testDeadline_KeepsShorterExistingTimeout() throws Exception {
+        Statement statement = mock(Statement.class);
+        when(statement.getQueryTimeout()).thenReturn(1);
+        RequestDeadline.set(System.currentTimeMillis() + 30_000);
+
+        DeadlineAwareDataSource.applyDeadline(statement);
+
+        verify(statement, never()).setQueryTimeout(anyInt());
+    }
+
+    @Test
+    void testExpiredDeadline_ClosesStatementAndThrows() throws Exception {
+        Statement statement = mock(Statement.class);
+        RequestDeadline.set(System.currentTimeMillis() - 1);
+
+        assertThrows(SQLTimeoutException.class, () -> DeadlineAwareDataSource.applyDeadline(statement));
+        verify(statement).close();
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.transaction_service.Config;
+
+import com.example.transaction_service.Util.FaultSpec;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FaultInjectionFilterTest {
+
+    private FaultInjectionProperties properties;
+    private FaultInjectionFilter filter;
+    private final AtomicInteger served = new AtomicInteger();
+    private final FilterChain chain = (req, res) -> served.incrementAndGet();
+
+    @BeforeEach
+    void setUp() {
+        properties = new FaultInjectionProperties();
+        filter = new FaultInjectionFilter(properties, "transaction-service");
+    }
+
+    @Test
+    void testDisabled_RulesIgnored() throws Exception {
+        properties.getRules().put("down", FaultSpec.parse("error=1"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/transactions"), response, chain);
+
+        assertEquals(1, served.get());
+        assertEquals(200, response.getStatus());
+    }
+
+    @Test
+    void testRule_AppliesOnlyToMatchingPath() throws Exception {
+        properties.setEnabled(true);
+        properties.getRules().put("down", FaultSpec.parse("path=/transactions/**,error=1,status=502"));
+
+        MockHttpServletResponse failed = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/transactions/statement"), failed, chain);
+        assertEquals(502, failed.getStatus());
+        assertEquals(0, served.get());
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/other"), new MockHttpServletResponse(), chain);
+        assertEquals(1, served.get());
+    }
+
+    @Test
+    void testHeader_OnlyClauseForThisService() throws Exception {
+        properties.setEnabled(true);
+        MockHttpServletRequest forOther = new MockHttpServletRequest("GET", "/transactions");
+        forOther.addHeader("X-Fault-Inject", "wallet-service:error=1");
+        filter.doFilter(forOther, new MockHttpServletResponse(), chain);
+        assertEquals(1, served.get());
+
+        MockHttpServletRequest forThis = new MockHttpServletRequest("GET", "/transactions");
+        forThis.addHeader("X-Fault-Inject", "wallet-service:error=1;transaction-service:error=1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(forThis, response, chain);
+        assertEquals(503, response.getStatus());
+        assertEquals(1, served.get());
+    }
+
+    @Test
+    void testHeader_OutOfRangeStatusIgnored() throws Exception {
+        properties.setEnabled(true);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/transactions");
+        request.addHeader("X-Fault-Inject", "transaction-service:error=1,status=999");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(1, served.get());
+    }
+
+    @Test
+    void testDelay_SleepsBeforeServing() throws Exception {
+        properties.setEnabled(true);
+        properties.getRules().put("slow", FaultSpec.parse("delay=100ms"));
+
+        long start = System.nanoTime();
+        filter.doFilter(new MockHttpServletRequest("GET", "/transactions"), new MockHttpServletResponse(), chain);
+
+        assertTrue((System.nanoTime() - start) / 1_000_000 >= 100);
+        assertEquals(1, served.get());
+    }
+
+    @Test
+    void testAbort_TruncatedResponseWithConnectionClose() throws Exception {
+        properties.setEnabled(true);
+        properties.getRules().put("flaky", FaultSpec.parse("abort=1"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/transactions"), response, chain);
+
+        assertEquals(0, served.get());
+        assertEquals("close", response.getHeader("Connection"));
+        assertTrue(response.getContentAsByteArray().length < response.getContentLength());
+    }
+
+    @Test
+    void testActuator_NeverFaulted() throws Exception {
+        properties.setEnabled(true);
+        properties.getRules().put("down", FaultSpec.parse("error=1"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/actuator/faults"), response, chain);
+
+        assertEquals(1, served.get());
+        assertEquals(200, response.getStatus());
+    }
+}
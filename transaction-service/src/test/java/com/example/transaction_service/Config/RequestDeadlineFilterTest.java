@@ -0,0 +1,55 @@
+package com.example.transaction_service.Config;
+
+import com.example.transaction_service.Util.RequestDeadline;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestDeadlineFilterTest {
+
+    private final RequestDeadlineFilter filter = new RequestDeadlineFilter();
+
+    @Test
+    void testBudgetHeader_StartsLocalDeadlineAndClearedAfter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/transactions");
+        request.addHeader(RequestDeadline.HEADER, "5000");
+        AtomicReference<Long> seen = new AtomicReference<>();
+        FilterChain chain = (req, res) -> seen.set(RequestDeadline.current());
+
+        long before = System.currentTimeMillis();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        long after = System.currentTimeMillis();
+
+        assertTrue(seen.get() >= before + 5_000 && seen.get() <= after + 5_000);
+        assertNull(RequestDeadline.current());
+    }
+
+    @Test
+    void testNoBudgetLeft_Returns504WithoutCallingChain() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/transactions");
+        request.addHeader(RequestDeadline.HEADER, "0");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<Boolean> called = new AtomicReference<>(false);
+
+        filter.doFilter(request, response, (req, res) -> called.set(true));
+
+        assertFalse(called.get());
+        assertEquals(504, response.getStatus());
+    }
+
+    @Test
+    void testMissingOrMalformedHeader_NoDeadline() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/transactions");
+        request.addHeader(RequestDeadline.HEADER, "soon");
+        AtomicReference<Long> seen = new AtomicReference<>(0L);
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> seen.set(RequestDeadline.current()));
+
+        assertNull(seen.get());
+    }
+}
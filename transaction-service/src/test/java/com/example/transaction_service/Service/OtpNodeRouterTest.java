@@ -0,0 +1,63 @@
+package com.example.transaction_service.Service;
+
+import com.example.transaction_service.Config.RabbitMQConfig;
+import com.example.transaction_service.Util.ConsistentHashRing;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OtpNodeRouterTest {
+
+    private static final String NODES =
+            "http://transaction-service-1:8083,http://transaction-service-2:8083,http://transaction-service-3:8083";
+
+    @Test
+    void testSingleNode_EveryTransactionIsLocal() {
+        OtpNodeRouter router = router("", "");
+
+        assertTrue(router.isLocal(UUID.randomUUID()));
+        assertArrayEquals(new String[] {RabbitMQConfig.TRANSACTION_CREATED_QUEUE}, router.getListenQueues());
+        assertTrue(router.getNodeQueues().isEmpty());
+    }
+
+    @Test
+    void testCluster_OwnershipFollowsRing() {
+        OtpNodeRouter router = router(NODES, "http://transaction-service-2:8083");
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(List.of(NODES.split(",")), node -> node);
+
+        for (int i = 0; i < 50; i++) {
+            UUID transactionId = UUID.randomUUID();
+            String owner = ring.nodeFor(transactionId.toString());
+            assertEquals(owner.equals("http://transaction-service-2:8083"), router.isLocal(transactionId));
+            assertEquals("transaction.created." + owner.substring("http://".length()), router.ownerQueue(transactionId));
+        }
+    }
+
+    @Test
+    void testCluster_ListensOnSharedAndOwnQueue() {
+        OtpNodeRouter router = router(NODES, "http://transaction-service-1:8083");
+
+        assertArrayEquals(new String[] {"transaction.created", "transaction.created.transaction-service-1:8083"},
+                router.getListenQueues());
+        assertEquals(List.of("transaction.created.transaction-service-1:8083",
+                "transaction.created.transaction-service-2:8083",
+                "transaction.created.transaction-service-3:8083"), router.getNodeQueues());
+    }
+
+    @Test
+    void testCluster_SelfNotInNodes_Throws() {
+        assertThrows(IllegalStateException.class, () -> router(NODES, "http://elsewhere:8083"));
+    }
+
+    private static OtpNodeRouter router(String nodes, String self) {
+        OtpNodeRouter router = new OtpNodeRouter();
+        ReflectionTestUtils.setField(router, "nodesString", nodes);
+        ReflectionTestUtils.setField(router, "selfUrl", self);
+        router.init();
+        return router;
+    }
+}
@@ -13,6 +13,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -29,6 +30,12 @@ class TransactionEventConsumerTest {
     @Mock
     private OtpService otpService;
 
+    @Mock
+    private OtpNodeRouter otpNodeRouter;
+
+    @Mock
+    private TransactionEventPublisher transactionEventPublisher;
+
     @InjectMocks
     private TransactionEventConsumer transactionEventConsumer;
 
@@ -60,6 +67,21 @@ class TransactionEventConsumerTest {
         completedEvent.setTransactionId(transactionId);
         completedEvent.setStatus("SUCCESS");
         completedEvent.setRemarks("Transaction completed");
+
+        lenient().when(otpNodeRouter.isLocal(any())).thenReturn(true);
+    }
+
+    @Test
+    void testHandleTransactionCreated_OwnedByOtherNode_ForwardsWithoutCreatingOtp() {
+        when(otpNodeRouter.isLocal(transactionId)).thenReturn(false);
+        when(otpNodeRouter.ownerQueue(transactionId)).thenReturn("transaction.created.transaction-service-2:8083");
+
+        transactionEventConsumer.handleTransactionCreated(createdEvent);
+
+        verify(transactionEventPublisher).forwardTransactionCreated(
+                "transaction.created.transaction-service-2:8083", createdEvent);
+        verify(transactionRepo, never()).save(any());
+        verify(otpService, never()).createAndSendOtp(any(), any(), anyString(), anyString());
     }
 
     @Test
@@ -180,6 +202,20 @@ class TransactionEventConsumerTest {
         assertEquals("Transaction completed", transaction.getRemarks());
     }
 
+    @Test
+    void testHandleTransactionCompleted_AnnouncesSettlementToWalletOwners() {
+        Transaction transaction = new Transaction();
+        transaction.setId(transactionId);
+        transaction.setStatus("PENDING");
+        completedEvent.setUserIds(List.of(userId));
+
+        when(transactionRepo.findById(transactionId)).thenReturn(Optional.of(transaction));
+
+        transactionEventConsumer.handleTransactionCompleted(completedEvent);
+
+        verify(transactionEventPublisher).publishTransactionSettled(transactionId, "SUCCESS", List.of(userId));
+    }
+
     @Test
     void testHandleTransactionCompleted_TransactionNotFound() {
         when(transactionRepo.findById(transactionId)).thenReturn(Optional.empty());
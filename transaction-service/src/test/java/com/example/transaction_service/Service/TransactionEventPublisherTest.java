@@ -1,16 +1,23 @@
 package com.example.transaction_service.Service;
 
 import com.example.transaction_service.Config.RabbitMQConfig;
+import com.example.transaction_service.DTO.TransactionSettledEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.List;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -67,5 +74,31 @@ class TransactionEventPublisherTest {
 
         verify(rabbitTemplate).convertAndSend(eq(RabbitMQConfig.OTP_VERIFIED_QUEUE), any(Object.class));
     }
-}
 
+    @Test
+    void testPublishTransactionSettled_InsideTransaction_SentAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            transactionEventPublisher.publishTransactionSettled(transactionId, "SUCCESS", List.of(userId));
+            verifyNoInteractions(rabbitTemplate);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        ArgumentCaptor<TransactionSettledEvent> event = ArgumentCaptor.forClass(TransactionSettledEvent.class);
+        verify(rabbitTemplate).convertAndSend(eq(RabbitMQConfig.TRANSACTION_EVENTS_EXCHANGE),
+                eq(RabbitMQConfig.TRANSACTION_SETTLED_ROUTING_KEY), event.capture());
+        assertEquals(List.of(userId), event.getValue().getUserIds());
+    }
+
+    @Test
+    void testPublishTransactionSettled_BrokerDown_Swallowed() {
+        doThrow(new AmqpConnectException(new java.net.ConnectException("refused")))
+                .when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class));
+
+        assertDoesNotThrow(() ->
+                transactionEventPublisher.publishTransactionSettled(transactionId, "FAILED", List.of(userId)));
+    }
+}
@@ -40,7 +40,7 @@ class TransactionServiceTest {
     private WalletServiceClient walletServiceClient;
 
     @Mock
-    private UserServiceClient userServiceClient;
+    private UserProjectionService userProjectionService;
 
     @Mock
     private StatementCsvBuilder statementCsvBuilder;
@@ -381,7 +381,7 @@ class TransactionServiceTest {
     @Test
     void testGenerateAndEmailStatement_Success() throws Exception {
         when(securityUtil.getCurrentUserId()).thenReturn(userId);
-        when(userServiceClient.getUserDetails(userId)).thenReturn(userDTO);
+        when(userProjectionService.findUser(userId)).thenReturn(userDTO);
         when(walletServiceClient.getUserWallets(userId)).thenReturn(Arrays.asList(walletDTO));
         when(transactionRepo.findAllByWalletIds(anyList())).thenReturn(Arrays.asList(transaction));
         when(statementCsvBuilder.buildStatementCsv(any(), anyList(), anyList())).thenReturn("csv content".getBytes());
@@ -404,7 +404,7 @@ class TransactionServiceTest {
     @Test
     void testGenerateAndEmailStatement_UserNotFound() {
         when(securityUtil.getCurrentUserId()).thenReturn(userId);
-        when(userServiceClient.getUserDetails(userId)).thenReturn(null);
+        when(userProjectionService.findUser(userId)).thenReturn(null);
 
         assertThrows(ValidationException.class, () -> {
             transactionService.generateAndEmailStatement();
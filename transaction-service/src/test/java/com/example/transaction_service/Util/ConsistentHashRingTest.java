@@ -0,0 +1,70 @@
+package com.example.transaction_service.Util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashRingTest {
+
+    private static final List<String> NODES = List.of(
+            "http://transaction-service-1:8083", "http://transaction-service-2:8083", "http://transaction-service-3:8083");
+
+    @Test
+    void testNodeFor_MatchesGatewayRing() {
+        // Same vectors as the api-gateway ConsistentHashRingTest; both sides must agree.
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(NODES, Function.identity());
+
+        assertEquals(NODES.get(2), ring.nodeFor("11111111-1111-1111-1111-111111111111"));
+        assertEquals(NODES.get(1), ring.nodeFor("22222222-2222-2222-2222-222222222222"));
+        assertEquals(NODES.get(0), ring.nodeFor("44444444-4444-4444-4444-444444444444"));
+    }
+
+    @Test
+    void testNodeFor_SpreadsKeysEvenly() {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(NODES, Function.identity());
+        Map<String, Integer> counts = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 30_000; i++) {
+            counts.merge(ring.nodeFor(new UUID(random.nextLong(), random.nextLong()).toString()), 1, Integer::sum);
+        }
+
+        for (String node : NODES) {
+            assertTrue(counts.get(node) > 7_500 && counts.get(node) < 12_500, node + " got " + counts.get(node));
+        }
+    }
+
+    @Test
+    void testNodeFor_AddingNodeOnlyMovesKeysToIt() {
+        ConsistentHashRing<String> before = new ConsistentHashRing<>(NODES, Function.identity());
+        String added = "http://transaction-service-4:8083";
+        ConsistentHashRing<String> after = new ConsistentHashRing<>(
+                List.of(NODES.get(0), NODES.get(1), NODES.get(2), added), Function.identity());
+        Random random = new Random(7);
+        int moved = 0;
+
+        for (int i = 0; i < 10_000; i++) {
+            String key = new UUID(random.nextLong(), random.nextLong()).toString();
+            String owner = after.nodeFor(key);
+            if (!owner.equals(before.nodeFor(key))) {
+                assertEquals(added, owner);
+                moved++;
+            }
+        }
+
+        assertTrue(moved > 1_500 && moved < 3_500, "moved " + moved);
+    }
+
+    @Test
+    void testConstructor_NoNodes_Throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ConsistentHashRing<>(List.<String>of(), Function.identity()));
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.transaction_service.Util;
+
+import com.example.transaction_service.Exceptions.DeadlineExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestDeadlineTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void testRemaining_NoDeadline_ReturnsLimit() {
+        assertEquals(Duration.ofSeconds(5), RequestDeadline.remaining(Duration.ofSeconds(5)));
+        assertDoesNotThrow(() -> RequestDeadline.check("work"));
+    }
+
+    @Test
+    void testRemaining_CappedByDeadline() {
+        RequestDeadline.set(System.currentTimeMillis() + 1_000);
+
+        Duration remaining = RequestDeadline.remaining(Duration.ofSeconds(5));
+
+        assertTrue(remaining.toMillis() <= 1_000);
+        assertTrue(remaining.toMillis() > 0);
+        assertEquals(Duration.ofMillis(10), RequestDeadline.remaining(Duration.ofMillis(10)));
+    }
+
+    @Test
+    void testCheck_PastDeadline_Throws() {
+        RequestDeadline.set(System.currentTimeMillis() - 1);
+
+        assertTrue(RequestDeadline.isExpired());
+        assertEquals(Duration.ZERO, RequestDeadline.remaining(Duration.ofSeconds(5)));
+        assertThrows(DeadlineExceededException.class, () -> RequestDeadline.check("work"));
+    }
+
+    @Test
+    void testPropagate_SendsTimeLeftNotTheLocalDeadline() {
+        RequestDeadline.set(System.currentTimeMillis() + 2_000);
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        ExchangeFunction next = request -> {
+            sent.set(request);
+            return Mono.empty();
+        };
+
+        RequestDeadline.propagate()
+                .filter(ClientRequest.create(HttpMethod.GET, URI.create("http://wallet-service/wallets")).build(), next)
+                .block();
+
+        long budget = Long.parseLong(sent.get().headers().getFirst(RequestDeadline.HEADER));
+        assertTrue(budget > 0 && budget <= 2_000);
+    }
+
+    @Test
+    void testParse() {
+        assertEquals(1_500L, RequestDeadline.parse(" 1500 "));
+        assertNull(RequestDeadline.parse(null));
+        assertNull(RequestDeadline.parse("later"));
+    }
+}
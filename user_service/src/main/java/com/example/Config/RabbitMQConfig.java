@@ -0,0 +1,54 @@
+package com.example.Config;
+
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * User changes go to a topic exchange rather than a queue, so every service keeping a copy of
+ * users binds its own queue and gets each event. Each user-service instance binds one too, a
+ * server-named queue that lives as long as the instance, to keep its search index current.
+ */
+@Configuration
+public class RabbitMQConfig {
+
+    public static final String USER_EVENTS_EXCHANGE = "user.events";
+    public static final String USER_CREATED_ROUTING_KEY = "user.created";
+    public static final String USER_UPDATED_ROUTING_KEY = "user.updated";
+    public static final String USER_DELETED_ROUTING_KEY = "user.deleted";
+
+    @Bean
+    public TopicExchange userEventsExchange() {
+        return new TopicExchange(USER_EVENTS_EXCHANGE, true, false);
+    }
+
+    @Bean
+    public Queue userSearchIndexQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding userSearchIndexBinding() {
+        return BindingBuilder.bind(userSearchIndexQueue()).to(userEventsExchange()).with("user.*");
+    }
+
+    @Bean
+    public MessageConverter messageConverter() {
+        return new Jackson2JsonMessageConverter();
+    }
+
+    @Bean
+    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
+        RabbitTemplate template = new RabbitTemplate(connectionFactory);
+        template.setMessageConverter(messageConverter());
+        return template;
+    }
+}
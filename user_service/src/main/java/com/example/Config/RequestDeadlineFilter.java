@@ -0,0 +1,44 @@
+package com.example.Config;
+
+import com.example.Util.RequestDeadline;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Starts a {@link RequestDeadline} from the budget in {@value RequestDeadline#HEADER} for the
+ * duration of the request, and answers 504 straight away if none is left.
+ */
+@Component
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Long budget = RequestDeadline.parse(request.getHeader(RequestDeadline.HEADER));
+        if (budget == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (budget <= 0) {
+            response.setStatus(HttpStatus.GATEWAY_TIMEOUT.value());
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write("Request deadline exceeded");
+            return;
+        }
+
+        RequestDeadline.startBudget(budget);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+}
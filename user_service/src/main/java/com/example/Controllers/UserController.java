@@ -4,13 +4,21 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.example.Service.UserService;
 import com.example.DTO.UserDTO;
+import com.example.DTO.CursorPage;
 import com.example.DTO.UserCreateDTO;
+import com.example.DTO.UserBatchRequestDTO;
+import com.example.DTO.UserSummaryDTO;
 import com.example.DTO.LoginRequestDTO;
 import com.example.DTO.AuthResponseDTO;
+import com.example.DTO.RefreshRequestDTO;
 
+import com.example.Util.ClientAddress;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,6 +26,10 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -29,9 +41,45 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ClientAddress clientAddress;
+
     @GetMapping("/users")
-    public List<UserDTO> getUsers() {
-        return userService.getUsers();
+    public CursorPage<UserDTO> getUsers(
+            @RequestParam(name = "after", required = false) UUID after,
+            @RequestParam(name = "limit", defaultValue = "50") int limit) {
+        return userService.getUsers(after, limit);
+    }
+
+    // Accept: application/x-ndjson streams every user, one JSON object per line, for exports
+    @GetMapping(value = "/users", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        StreamingResponseBody body = out -> {
+            try {
+                userService.streamUsers(userDTO -> {
+                    try {
+                        out.write(objectMapper.writeValueAsBytes(userDTO));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // Typeahead: users whose name or email starts with q
+    @GetMapping("/users/search")
+    public ResponseEntity<List<UserSummaryDTO>> searchUsers(
+            @RequestParam(name = "q") String query,
+            @RequestParam(name = "limit", defaultValue = "20") int limit) {
+        return ResponseEntity.ok(userService.searchUsers(query, limit));
     }
 
     @GetMapping("/users/{id}")
@@ -40,6 +88,12 @@ public class UserController {
         return ResponseEntity.ok(userDTO);
     }
 
+    // Service-to-service lookup of many users in one round trip
+    @PostMapping("/users/batch")
+    public ResponseEntity<List<UserSummaryDTO>> getUsersByIds(@Valid @RequestBody UserBatchRequestDTO batchRequest) {
+        return ResponseEntity.ok(userService.getUserSummaries(batchRequest.getIds()));
+    }
+
     @PostMapping("/users")
     public ResponseEntity<Map<String, String>> createUser(@Valid @RequestBody UserCreateDTO userCreateDTO) {
         userService.createUser(userCreateDTO);
@@ -71,8 +125,23 @@ public class UserController {
     }
 
     @PostMapping("/auth/login")
-    public ResponseEntity<AuthResponseDTO> login(@Valid @RequestBody LoginRequestDTO loginRequest) {
-        AuthResponseDTO response = userService.login(loginRequest);
+    public ResponseEntity<AuthResponseDTO> login(@Valid @RequestBody LoginRequestDTO loginRequest,
+                                                 HttpServletRequest request) {
+        AuthResponseDTO response = userService.login(loginRequest, clientAddress.of(request));
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/auth/refresh")
+    public ResponseEntity<AuthResponseDTO> refresh(@Valid @RequestBody RefreshRequestDTO refreshRequest) {
+        AuthResponseDTO response = userService.refresh(refreshRequest.getRefreshToken());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/auth/logout")
+    public ResponseEntity<Map<String, String>> logout(@Valid @RequestBody RefreshRequestDTO refreshRequest) {
+        userService.logout(refreshRequest.getRefreshToken());
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Logged out successfully");
         return ResponseEntity.ok(response);
     }
 }
@@ -15,5 +15,7 @@ public class AuthResponseDTO {
     private Date issuedAt;
     private String message;
     private UserDTO user;
+    private String refreshToken;
+    private Date refreshExpiresAt;
 }
 
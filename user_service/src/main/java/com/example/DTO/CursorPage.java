@@ -0,0 +1,21 @@
+package com.example.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One page of a keyset-paginated listing. Pass {@code nextCursor} back as {@code after} to
+ * get the following page; it is null on the last one.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+    private List<T> content;
+    private UUID nextCursor;
+    private boolean hasNext;
+    private int limit;
+}
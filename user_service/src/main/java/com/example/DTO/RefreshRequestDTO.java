@@ -0,0 +1,15 @@
+package com.example.DTO;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RefreshRequestDTO {
+    @NotBlank(message = "Refresh token is required and cannot be empty")
+    private String refreshToken;
+}
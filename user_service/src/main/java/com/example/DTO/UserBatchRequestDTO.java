@@ -0,0 +1,21 @@
+package com.example.DTO;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+import java.util.UUID;
+
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserBatchRequestDTO {
+    public static final int MAX_IDS = 500;
+
+    @NotEmpty(message = "At least one user id is required")
+    @Size(max = MAX_IDS, message = "At most " + MAX_IDS + " user ids per request")
+    private List<UUID> ids;
+}
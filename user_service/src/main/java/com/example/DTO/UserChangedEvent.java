@@ -0,0 +1,21 @@
+package com.example.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.UUID;
+
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserChangedEvent {
+    private UUID userId;
+    private String eventType; // "CREATED", "UPDATED", "DELETED"
+    private String name;
+    private String email;
+    private String role;
+    private boolean active;
+    private Long version; // the user's row version; consumers ignore events not newer than what they hold
+    private Long timestamp; // when it was published
+}
@@ -0,0 +1,17 @@
+package com.example.DTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.UUID;
+
+/** The fields other services need about a user, without the contact details of {@link UserDTO}. */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserSummaryDTO {
+    private UUID id;
+    private String name;
+    private String email;
+    private String role;
+}
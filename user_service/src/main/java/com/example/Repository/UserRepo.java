@@ -1,8 +1,18 @@
 package com.example.Repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+import com.example.DTO.UserSummaryDTO;
 import com.example.Model.User;
 
 public interface UserRepo extends JpaRepository<User, UUID> {
@@ -10,4 +20,18 @@ public interface UserRepo extends JpaRepository<User, UUID> {
     boolean existsByEmail(String email);
     Optional<User> findByEmail(String email);
     Optional<User> findByName(String name);
+
+    // Same single IN query as findAllById, selecting only the summary columns
+    @Query("select new com.example.DTO.UserSummaryDTO(u.id, u.name, u.email, u.role) from User u where u.id in :ids")
+    List<UserSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Keyset pagination: seek past the last id seen instead of counting an offset
+    List<User> findAllByOrderByIdAsc(Limit limit);
+
+    List<User> findByIdGreaterThanOrderByIdAsc(UUID after, Limit limit);
+
+    // Integer.MIN_VALUE makes MySQL Connector/J stream rows instead of buffering the result set
+    @Query("select u from User u order by u.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "-2147483648"))
+    Stream<User> streamAllByOrderByIdAsc();
 }
@@ -0,0 +1,16 @@
+package com.example.Security;
+
+import com.example.Model.User;
+
+import java.util.UUID;
+
+/**
+ * What a request's principal needs to know about its user. Kept apart from {@link User} so the
+ * password hash and the rest of the entity are never cached or held in the security context.
+ */
+public record AuthenticatedUser(UUID id, String email, String role) {
+
+    public static AuthenticatedUser of(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getRole());
+    }
+}
@@ -1,8 +1,7 @@
 package com.example.Security;
 
-import com.example.Repository.UserRepo;
-import com.example.Model.User;
 import com.example.Util.JwtUtil;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -27,7 +26,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtUtil jwtUtil;
 
     @Autowired
-    private UserRepo userRepo;
+    private PrincipalCache principalCache;
 
     @Override
     protected void doFilterInternal(
@@ -37,66 +36,62 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String authHeader = request.getHeader("Authorization");
         String token = null;
-        String email = null;
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-
             token = authHeader.substring(7).trim(); // Remove "Bearer " prefix and trim whitespace
-
-            try {
-
-                email = jwtUtil.getEmailFromToken(token);
-                logger.debug("Extracted email from token: " + email);
-            } catch (Exception e) {
-                logger.warn("Could not extract email from token: " + e.getMessage());
-
-            }
         } else if (authHeader != null) {
             logger.warn("Authorization header present but doesn't start with 'Bearer ': " + authHeader);
         }
 
-        if (token != null && email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        if (token == null) {
+            logger.debug("No JWT token found in request to: " + request.getRequestURI());
+        } else if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            authenticate(token, request);
+        }
+        filterChain.doFilter(request, response);
+    }
 
-            // Validate the token
-            if (jwtUtil.validateToken(token)) {
+    private void authenticate(String token, HttpServletRequest request) {
+        // Verify once and read every claim from the same parse
+        Claims claims;
+        try {
+            claims = jwtUtil.parseClaims(token);
+        } catch (Exception e) {
+            logger.warn("JWT token validation failed: " + e.getMessage());
+            return;
+        }
 
-                Optional<User> userOptional = userRepo.findByEmail(email);
+        String email = claims.getSubject();
+        if (email == null) {
+            logger.warn("Could not extract email from token for request: " + request.getRequestURI());
+            return;
+        }
 
-                if (userOptional.isPresent()) {
-                    User user = userOptional.get();
+        Optional<AuthenticatedUser> userOptional = principalCache.get(claims.get("userId", String.class), email);
+        if (userOptional.isEmpty()) {
+            logger.warn("User not found in database for email: " + email);
+            return;
+        }
+        AuthenticatedUser user = userOptional.get();
 
-                    List<SimpleGrantedAuthority> authorities = new ArrayList<>();
-                    if (user.getRole() != null) {
+        List<SimpleGrantedAuthority> authorities = new ArrayList<>();
+        if (user.role() != null) {
 
-                        String roleName = "ROLE_" + user.getRole().toUpperCase();
-                        authorities.add(new SimpleGrantedAuthority(roleName));
-                    }
+            String roleName = "ROLE_" + user.role().toUpperCase();
+            authorities.add(new SimpleGrantedAuthority(roleName));
+        }
 
-                    UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
-                            user, // Principal
-                            null, // Credentials
-                            authorities // Authorities
-                    );
+        UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
+                user, // Principal
+                null, // Credentials
+                authorities // Authorities
+        );
 
-                    authenticationToken.setDetails(
-                            new WebAuthenticationDetailsSource().buildDetails(request));
+        authenticationToken.setDetails(
+                new WebAuthenticationDetailsSource().buildDetails(request));
 
-                    SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
 
-                    logger.info("User authenticated successfully: " + email + " with role: " + user.getRole());
-                } else {
-                    logger.warn("User not found in database for email: " + email);
-                }
-            } else {
-                logger.warn("JWT token validation failed for email: " + email);
-            }
-        } else {
-            if (token == null) {
-                logger.debug("No JWT token found in request to: " + request.getRequestURI());
-            } else if (email == null) {
-                logger.warn("Could not extract email from token for request: " + request.getRequestURI());
-            }
-        }
-        filterChain.doFilter(request, response);
+        logger.debug("User authenticated successfully: " + email + " with role: " + user.role());
     }
 }
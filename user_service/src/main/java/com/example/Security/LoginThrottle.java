@@ -0,0 +1,213 @@
+package com.example.Security;
+
+import com.example.Exceptions.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Counts failed logins per email and per client address over a sliding window, and once
+ * either passes its limit refuses further attempts for a while, before any password is
+ * hashed. Each block is twice as long as the one before, up to {@code max-backoff}, so a
+ * password-spraying burst costs a few BCrypt runs per target instead of one per request.
+ * <p>
+ * Windows live in bounded caches that forget a key after it has been quiet for a window plus
+ * the longest block; under more distinct keys than that the least recently used are dropped.
+ */
+@Component
+public class LoginThrottle {
+
+    public static final String EMAIL_CACHE_NAME = "auth.login.email-windows";
+
+    public static final String ADDRESS_CACHE_NAME = "auth.login.address-windows";
+
+    public static final String THROTTLED_COUNTER = "auth.login.throttled";
+
+    private final int emailLimit;
+
+    private final int addressLimit;
+
+    private final long windowNanos;
+
+    private final long baseBackoffNanos;
+
+    private final long maxBackoffNanos;
+
+    private final Ticker ticker;
+
+    private final Cache<String, Window> emailWindows;
+
+    private final Cache<String, Window> addressWindows;
+
+    private final Counter emailThrottled;
+
+    private final Counter addressThrottled;
+
+    @Autowired
+    public LoginThrottle(
+            @Value("${security.login-throttle.email-limit:5}") int emailLimit,
+            @Value("${security.login-throttle.address-limit:50}") int addressLimit,
+            @Value("${security.login-throttle.window:15m}") Duration window,
+            @Value("${security.login-throttle.base-backoff:1s}") Duration baseBackoff,
+            @Value("${security.login-throttle.max-backoff:15m}") Duration maxBackoff,
+            @Value("${security.login-throttle.maximum-size:100000}") long maximumSize,
+            MeterRegistry meterRegistry) {
+        this(emailLimit, addressLimit, window, baseBackoff, maxBackoff, maximumSize, meterRegistry,
+                Ticker.systemTicker());
+    }
+
+    LoginThrottle(int emailLimit, int addressLimit, Duration window, Duration baseBackoff, Duration maxBackoff,
+                  long maximumSize, MeterRegistry meterRegistry, Ticker ticker) {
+        this.emailLimit = emailLimit;
+        this.addressLimit = addressLimit;
+        this.windowNanos = window.toNanos();
+        this.baseBackoffNanos = baseBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+        this.ticker = ticker;
+        this.emailWindows = windows(window.plus(maxBackoff), maximumSize, ticker);
+        this.addressWindows = windows(window.plus(maxBackoff), maximumSize, ticker);
+        CaffeineCacheMetrics.monitor(meterRegistry, emailWindows, EMAIL_CACHE_NAME);
+        CaffeineCacheMetrics.monitor(meterRegistry, addressWindows, ADDRESS_CACHE_NAME);
+        this.emailThrottled = throttledCounter(meterRegistry, "email");
+        this.addressThrottled = throttledCounter(meterRegistry, "address");
+    }
+
+    /**
+     * Refuses the attempt if the email or the client address is serving a block.
+     *
+     * @throws TooManyRequestsException with the time left on the longer block
+     */
+    public void check(String email, String clientAddress) {
+        long now = ticker.read();
+        long emailWait = remainingBlock(emailWindows, emailKey(email), now);
+        long addressWait = remainingBlock(addressWindows, clientAddress, now);
+        if (emailWait == 0 && addressWait == 0) {
+            return;
+        }
+        (emailWait >= addressWait ? emailThrottled : addressThrottled).increment();
+        Duration retryAfter = Duration.ofNanos(Math.max(emailWait, addressWait));
+        throw new TooManyRequestsException("Too many failed login attempts, try again later", retryAfter);
+    }
+
+    public void recordFailure(String email, String clientAddress) {
+        long now = ticker.read();
+        recordFailure(emailWindows, emailKey(email), emailLimit, now);
+        recordFailure(addressWindows, clientAddress, addressLimit, now);
+    }
+
+    /**
+     * Clears the email's record. The address keeps its count: one account the sprayer owns
+     * must not reset the limit for all the others.
+     */
+    public void recordSuccess(String email) {
+        String key = emailKey(email);
+        if (key != null) {
+            emailWindows.invalidate(key);
+        }
+    }
+
+    private long remainingBlock(Cache<String, Window> windows, String key, long now) {
+        if (key == null) {
+            return 0;
+        }
+        Window window = windows.getIfPresent(key);
+        return window != null ? window.remainingBlock(now) : 0;
+    }
+
+    private void recordFailure(Cache<String, Window> windows, String key, int limit, long now) {
+        if (key == null) {
+            return;
+        }
+        windows.get(key, k -> new Window(now)).recordFailure(now, limit, windowNanos, baseBackoffNanos, maxBackoffNanos);
+    }
+
+    long estimatedSize() {
+        emailWindows.cleanUp();
+        addressWindows.cleanUp();
+        return emailWindows.estimatedSize() + addressWindows.estimatedSize();
+    }
+
+    private static String emailKey(String email) {
+        return email != null ? email.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    private static Cache<String, Window> windows(Duration idle, long maximumSize, Ticker ticker) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(idle)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    private static Counter throttledCounter(MeterRegistry meterRegistry, String scope) {
+        return Counter.builder(THROTTLED_COUNTER)
+                .description("Login attempts refused before password verification")
+                .tag("scope", scope)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Failures in the current fixed window and the one before. The sliding count weighs the
+     * previous window by how much of it still overlaps the last {@code window} of time, which
+     * is close to an exact log of failures at the cost of two counters.
+     */
+    static final class Window {
+
+        private long start;
+
+        private int current;
+
+        private int previous;
+
+        private int blocks;
+
+        private long blockedUntil;
+
+        Window(long now) {
+            this.start = now;
+        }
+
+        synchronized long remainingBlock(long now) {
+            return Math.max(0, blockedUntil - now);
+        }
+
+        synchronized void recordFailure(long now, int limit, long windowNanos, long baseBackoff, long maxBackoff) {
+            roll(now, windowNanos);
+            current++;
+            if (count(now, windowNanos) >= limit) {
+                // 1x, 2x, 4x ... the base backoff, capped
+                long backoff = baseBackoff;
+                for (int i = 0; i < blocks && backoff < maxBackoff; i++) {
+                    backoff *= 2;
+                }
+                blockedUntil = now + Math.min(backoff, maxBackoff);
+                blocks++;
+            }
+        }
+
+        private void roll(long now, long windowNanos) {
+            long elapsed = now - start;
+            if (elapsed < windowNanos) {
+                return;
+            }
+            previous = elapsed < 2 * windowNanos ? current : 0;
+            current = 0;
+            start += elapsed / windowNanos * windowNanos;
+        }
+
+        private double count(long now, long windowNanos) {
+            double overlap = 1.0 - (double) (now - start) / windowNanos;
+            return previous * overlap + current;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.Security;
+
+import com.example.Exceptions.ServiceUnavailableException;
+import com.example.Util.RequestDeadline;
+import jakarta.annotation.PreDestroy;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs BCrypt on a pool sized to the CPUs with a bounded queue, so a login burst uses at most
+ * those cores instead of every request thread, and cheap endpoints keep their share. When the
+ * queue is full the caller gets a {@link ServiceUnavailableException} straight away rather
+ * than waiting behind work it will likely time out on.
+ */
+@Component
+public class PasswordHasher {
+
+    private static final Logger logger = LogManager.getLogger(PasswordHasher.class);
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final int strength;
+
+    private final Duration timeout;
+
+    private final BCryptPasswordEncoder encoder;
+
+    private final ThreadPoolExecutor executor;
+
+    @Value("${security.password-hashing.target-latency:250ms}")
+    private Duration targetLatency = Duration.ofMillis(250);
+
+    public PasswordHasher(
+            @Value("${security.password-hashing.strength:10}") int strength,
+            @Value("${security.password-hashing.threads:0}") int threads,
+            @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password-hashing.timeout:5s}") Duration timeout) {
+        this.strength = strength;
+        this.timeout = timeout;
+        this.encoder = new BCryptPasswordEncoder(strength);
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public String encode(String rawPassword) {
+        return run("hashing password", () -> encoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run("verifying password", () -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * True when a stored hash was made at a different cost than the configured one, so a
+     * successful login should store a fresh hash. Works in both directions: lowering the
+     * strength to meet a latency target takes effect as users log in, as raising it does.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        Integer cost = costOf(encodedPassword);
+        return cost != null && cost != strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    /**
+     * Times one hash at the configured strength once the service is up and logs the cost
+     * that would land nearest {@code security.password-hashing.target-latency}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportCost() {
+        reportCost(targetLatency);
+    }
+
+    void reportCost(Duration target) {
+        long start = System.nanoTime();
+        encode("calibration");
+        Duration measured = Duration.ofNanos(System.nanoTime() - start);
+        int suggested = suggestStrength(strength, measured, target);
+        if (suggested == strength) {
+            logger.info("BCrypt strength " + strength + " takes " + measured.toMillis()
+                    + "ms per hash (target " + target.toMillis() + "ms)");
+        } else {
+            logger.warn("BCrypt strength " + strength + " takes " + measured.toMillis()
+                    + "ms per hash against a target of " + target.toMillis()
+                    + "ms; consider security.password-hashing.strength=" + suggested);
+        }
+    }
+
+    /** Each step of BCrypt cost doubles the work, so the distance to the target is a log2. */
+    static int suggestStrength(int strength, Duration measured, Duration target) {
+        double ratio = (double) target.toNanos() / Math.max(1, measured.toNanos());
+        int suggested = strength + (int) Math.round(Math.log(ratio) / Math.log(2));
+        return Math.max(4, Math.min(31, suggested));
+    }
+
+    static Integer costOf(String encodedPassword) {
+        if (encodedPassword == null) {
+            return null;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : null;
+    }
+
+    private <T> T run(String work, Callable<T> task) {
+        RequestDeadline.check(work);
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException("Too many concurrent password operations, retry shortly");
+        }
+        Duration wait = RequestDeadline.remaining(timeout);
+        try {
+            return future.get(wait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            RequestDeadline.check(work);
+            throw new ServiceUnavailableException("Timed out waiting for password hashing");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted waiting for password hashing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.Security;
+
+import com.example.Repository.UserRepo;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Bounded cache of authenticated users keyed by id, so a request with a valid token doesn't
+ * cost a query to load the user's role. {@link com.example.Service.UserService} invalidates
+ * entries when a user is updated or deleted; the TTL bounds staleness from changes made
+ * elsewhere. Only the immutable {@link AuthenticatedUser} is kept, never the entity.
+ */
+@Component
+public class PrincipalCache {
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Value("${security.principal-cache.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${security.principal-cache.ttl:PT5M}")
+    private Duration ttl;
+
+    private Cache<UUID, AuthenticatedUser> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * The user the token's {@code userId} and subject claims name, or empty if there is none.
+     * A token whose subject no longer matches the user's email (issued before an email change)
+     * resolves to nothing, as the email lookup it replaces would have.
+     */
+    public Optional<AuthenticatedUser> get(String userIdClaim, String email) {
+        UUID userId = parseId(userIdClaim);
+        if (userId == null) {
+            return userRepo.findByEmail(email).map(AuthenticatedUser::of);
+        }
+        AuthenticatedUser user = cache.get(userId,
+                id -> userRepo.findById(id).map(AuthenticatedUser::of).orElse(null));
+        if (user == null || !Objects.equals(user.email(), email)) {
+            return Optional.empty();
+        }
+        return Optional.of(user);
+    }
+
+    public void invalidate(UUID userId) {
+        cache.invalidate(userId);
+    }
+
+    private static UUID parseId(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
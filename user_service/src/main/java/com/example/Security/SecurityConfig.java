@@ -3,6 +3,7 @@ package com.example.Security;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -29,8 +30,12 @@ public class SecurityConfig {
 
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/auth/signup", "/auth/login").permitAll()
+                        .requestMatchers("/auth/signup", "/auth/login", "/auth/refresh", "/auth/logout").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
+                        // Fault injection switch for local load tests; exposed only in the loadtest profile
+                        .requestMatchers("/actuator/faults", "/actuator/faults/**").hasRole("ADMIN")
+                        // Typeahead over every user's name and email, for admin tools only
+                        .requestMatchers(HttpMethod.GET, "/users/search").hasRole("ADMIN")
                         // Allow service-to-service calls - Wallet Service and Transaction Service need to access /users/{id}
                         .requestMatchers("/users/**").permitAll()
                         .anyRequest().authenticated())
@@ -17,7 +17,7 @@ public class SecurityUtil {
     private UserRepo userRepo;
 
     
-    public User getCurrentUser() {
+    public AuthenticatedUser getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         
         if (authentication == null || !authentication.isAuthenticated()) {
@@ -26,32 +26,32 @@ public class SecurityUtil {
         
         Object principal = authentication.getPrincipal();
         
-        if (principal instanceof User) {
-            return (User) principal;
+        if (principal instanceof AuthenticatedUser) {
+            return (AuthenticatedUser) principal;
         }
         
         if (principal instanceof String) {
             String email = (String) principal;
             Optional<User> userOptional = userRepo.findByEmail(email);
-            return userOptional.orElse(null);
+            return userOptional.map(AuthenticatedUser::of).orElse(null);
         }
         
         return null;
     }
 
     public java.util.UUID getCurrentUserId() {
-        User user = getCurrentUser();
-        return user != null ? user.getId() : null;
+        AuthenticatedUser user = getCurrentUser();
+        return user != null ? user.id() : null;
     }
 
     public boolean isAdmin() {
-        User user = getCurrentUser();
-        return user != null && "ADMIN".equalsIgnoreCase(user.getRole());
+        AuthenticatedUser user = getCurrentUser();
+        return user != null && "ADMIN".equalsIgnoreCase(user.role());
     }
 
     public boolean hasRole(String role) {
-        User user = getCurrentUser();
-        return user != null && role != null && role.equalsIgnoreCase(user.getRole());
+        AuthenticatedUser user = getCurrentUser();
+        return user != null && role != null && role.equalsIgnoreCase(user.role());
     }
 }
 
@@ -0,0 +1,122 @@
+package com.example.Service;
+
+import com.example.Exceptions.ValidationException;
+import com.example.Model.RefreshToken;
+import com.example.Repository.RefreshTokenRepo;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Opaque refresh tokens: 256 random bits handed to the client, stored only as their SHA-256.
+ * Refreshing is a hash and an indexed lookup, with no BCrypt involved. Every refresh rotates
+ * the token; presenting a token that was already rotated or revoked is treated as theft and
+ * revokes its whole family.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LogManager.getLogger(RefreshTokenService.class);
+
+    private static final String INVALID = "Invalid refresh token";
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Autowired
+    private RefreshTokenRepo refreshTokenRepo;
+
+    @Value("${security.refresh-token.ttl:14d}")
+    private Duration ttl = Duration.ofDays(14);
+
+    /** A token value as the client sees it, returned only at issue time. */
+    public record Issued(String token, UUID userId, Instant expiresAt) {
+    }
+
+    /** Starts a new token family, as on login or signup. */
+    @Transactional
+    public Issued issue(UUID userId) {
+        Instant now = Instant.now();
+        refreshTokenRepo.deleteExpiredForUser(userId, now);
+        return create(userId, UUID.randomUUID(), now);
+    }
+
+    /**
+     * Exchanges a refresh token for its successor in the same family.
+     *
+     * @throws ValidationException if the token is unknown, expired, or already used
+     */
+    @Transactional(noRollbackFor = ValidationException.class)
+    public Issued rotate(String rawToken) {
+        Instant now = Instant.now();
+        RefreshToken current = refreshTokenRepo.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new ValidationException(INVALID));
+        if (current.getRevokedAt() != null) {
+            throw reuse(current, now);
+        }
+        if (!current.getExpiresAt().isAfter(now)) {
+            throw new ValidationException(INVALID);
+        }
+        // Conditional on still being active, so of two concurrent refreshes with the same
+        // token only one rotates; the other finds it revoked and is treated as reuse
+        if (refreshTokenRepo.revokeIfActive(current.getId(), now) == 0) {
+            throw reuse(current, now);
+        }
+        return create(current.getUserId(), current.getFamilyId(), now);
+    }
+
+    private ValidationException reuse(RefreshToken token, Instant now) {
+        logger.warn("Reuse of a rotated refresh token for user " + token.getUserId()
+                + "; revoking its token family");
+        refreshTokenRepo.revokeFamily(token.getFamilyId(), now);
+        return new ValidationException(INVALID);
+    }
+
+    /** Revokes the family of the given token, as on logout. Unknown tokens are ignored. */
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepo.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepo.revokeFamily(token.getFamilyId(), Instant.now()));
+    }
+
+    /** Revokes every outstanding token of a user, as on a password change or deletion. */
+    @Transactional
+    public void revokeAll(UUID userId) {
+        refreshTokenRepo.revokeAllForUser(userId, Instant.now());
+    }
+
+    private Issued create(UUID userId, UUID familyId, Instant now) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash(rawToken));
+        token.setUserId(userId);
+        token.setFamilyId(familyId);
+        token.setExpiresAt(now.plus(ttl));
+        refreshTokenRepo.save(token);
+        return new Issued(rawToken, userId, token.getExpiresAt());
+    }
+
+    static String hash(String rawToken) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(rawToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
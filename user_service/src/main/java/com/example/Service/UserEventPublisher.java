@@ -0,0 +1,65 @@
+package com.example.Service;
+
+import com.example.Config.RabbitMQConfig;
+import com.example.DTO.UserChangedEvent;
+import com.example.Model.User;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * Publishes user changes for the copies wallet-service and transaction-service keep. The
+ * change is already committed when this runs, so a broker outage is logged rather than failing
+ * the request; those services fall back to asking user-service about users they don't know.
+ */
+@Service
+public class UserEventPublisher {
+
+    private static final Logger logger = LogManager.getLogger(UserEventPublisher.class);
+
+    @Autowired
+    private RabbitTemplate rabbitTemplate;
+
+    public void publishUserCreated(User user) {
+        publish(RabbitMQConfig.USER_CREATED_ROUTING_KEY, event(user.getId(), "CREATED", user, true, user.getVersion()));
+    }
+
+    public void publishUserUpdated(User user) {
+        publish(RabbitMQConfig.USER_UPDATED_ROUTING_KEY, event(user.getId(), "UPDATED", user, true, user.getVersion()));
+    }
+
+    /** {@code user} is the row as it was deleted; the deletion is one version past it. */
+    public void publishUserDeleted(User user) {
+        publish(RabbitMQConfig.USER_DELETED_ROUTING_KEY,
+                event(user.getId(), "DELETED", null, false, user.getVersion() + 1));
+    }
+
+    private static UserChangedEvent event(UUID userId, String eventType, User user, boolean active, long version) {
+        UserChangedEvent event = new UserChangedEvent();
+        event.setUserId(userId);
+        event.setEventType(eventType);
+        if (user != null) {
+            event.setName(user.getName());
+            event.setEmail(user.getEmail());
+            event.setRole(user.getRole());
+        }
+        event.setActive(active);
+        event.setVersion(version);
+        event.setTimestamp(System.currentTimeMillis());
+        return event;
+    }
+
+    private void publish(String routingKey, UserChangedEvent event) {
+        try {
+            rabbitTemplate.convertAndSend(RabbitMQConfig.USER_EVENTS_EXCHANGE, routingKey, event);
+            logger.info("Published {} event: {}", routingKey, event.getUserId());
+        } catch (AmqpException e) {
+            logger.error("Failed to publish {} event for user {}: {}", routingKey, event.getUserId(), e.getMessage());
+        }
+    }
+}
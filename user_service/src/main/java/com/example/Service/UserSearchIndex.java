@@ -0,0 +1,195 @@
+package com.example.Service;
+
+import com.example.DTO.UserChangedEvent;
+import com.example.DTO.UserSummaryDTO;
+import com.example.Model.User;
+import com.example.Repository.UserRepo;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory prefix index over user names and emails, for typeahead search without a
+ * {@code LIKE} scan. Every searchable term (the email, the name, and the name from each later
+ * word on) is a key in one sorted map, so a prefix query is a seek plus a walk over the
+ * matching range. Terms are lower-cased with accents and repeated spaces removed.
+ * <p>
+ * Each instance keeps its own index. It is built from the database at startup, updated by
+ * {@link UserService} as this instance changes users, and by the user change events every
+ * instance publishes, so changes made through another instance show up too. Each user is
+ * filed with its row version and older news is ignored; a deleted user stays as a tombstone
+ * so that a late event cannot bring it back.
+ */
+@Component
+public class UserSearchIndex {
+
+    private static final Logger logger = LogManager.getLogger(UserSearchIndex.class);
+
+    static final int REBUILD_PAGE_SIZE = 1_000;
+
+    // Sorts before any character a term can hold, so "ann" + SEPARATOR precedes "anna"
+    private static final char SEPARATOR = '\u0000';
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // "term\0id" -> user; the id suffix keeps users sharing a term apart
+    private final ConcurrentSkipListMap<String, UserSummaryDTO> terms = new ConcurrentSkipListMap<>();
+
+    // The keys each user is filed under, to remove them when the user changes
+    private final ConcurrentHashMap<UUID, Filing> filings = new ConcurrentHashMap<>();
+
+    @Autowired
+    private UserRepo userRepo;
+
+    /**
+     * Loads every user, a page at a time so memory holds one page of entities, not the table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        int count = 0;
+        List<User> page = userRepo.findAllByOrderByIdAsc(Limit.of(REBUILD_PAGE_SIZE));
+        while (!page.isEmpty()) {
+            page.forEach(this::put);
+            count += page.size();
+            if (page.size() < REBUILD_PAGE_SIZE) {
+                break;
+            }
+            UUID last = page.get(page.size() - 1).getId();
+            page = userRepo.findByIdGreaterThanOrderByIdAsc(last, Limit.of(REBUILD_PAGE_SIZE));
+        }
+        logger.info("Indexed {} users for search in {} ms", count, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /** Adds a user, or refiles one whose name or email changed. */
+    public void put(User user) {
+        file(new UserSummaryDTO(user.getId(), user.getName(), user.getEmail(), user.getRole()), user.getVersion());
+    }
+
+    /** {@code user} is the row as it was deleted; the deletion is one version past it. */
+    public void remove(User user) {
+        remove(user.getId(), user.getVersion() + 1);
+    }
+
+    /** Applies a change made through any instance, this one included. */
+    @RabbitListener(queues = "#{userSearchIndexQueue.name}")
+    public void handleUserChanged(UserChangedEvent event) {
+        if (event.getUserId() == null) {
+            logger.warn("Ignoring user {} event without a user id", event.getEventType());
+            return;
+        }
+        long version = event.getVersion() != null ? event.getVersion() : 0L;
+        if ("DELETED".equalsIgnoreCase(event.getEventType())) {
+            remove(event.getUserId(), version);
+        } else {
+            file(new UserSummaryDTO(event.getUserId(), event.getName(), event.getEmail(), event.getRole()), version);
+        }
+    }
+
+    private void file(UserSummaryDTO summary, long version) {
+        filings.compute(summary.getId(), (id, previous) -> {
+            if (previous != null && previous.version() > version) {
+                return previous;
+            }
+            Set<String> keys = keysFor(summary);
+            if (previous != null) {
+                previous.keys().stream().filter(key -> !keys.contains(key)).forEach(terms::remove);
+            }
+            keys.forEach(key -> terms.put(key, summary));
+            return new Filing(version, keys);
+        });
+    }
+
+    private void remove(UUID userId, long version) {
+        filings.compute(userId, (id, previous) -> {
+            if (previous != null && previous.version() > version) {
+                return previous;
+            }
+            if (previous != null) {
+                previous.keys().forEach(terms::remove);
+            }
+            return new Filing(version, Set.of());
+        });
+    }
+
+    /**
+     * Up to {@code limit} users with a name or email starting with {@code query}, ordered by
+     * the term that matched. Each user appears once. A trailing space ends the last word, so
+     * {@code "ann "} finds Ann and Mary Ann but not Anna.
+     */
+    public List<UserSummaryDTO> search(String query, int limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        boolean wholeWord = Character.isWhitespace(query.charAt(query.length() - 1));
+        String from = wholeWord ? prefix + SEPARATOR : prefix;
+        String to = (wholeWord ? prefix + ' ' : prefix) + Character.MAX_VALUE;
+        Map<UUID, UserSummaryDTO> found = new LinkedHashMap<>();
+        for (UserSummaryDTO user : terms.subMap(from, to).values()) {
+            found.putIfAbsent(user.getId(), user);
+            if (found.size() == limit) {
+                break;
+            }
+        }
+        return new ArrayList<>(found.values());
+    }
+
+    /** Users currently searchable, not counting deleted ones. */
+    public int size() {
+        return (int) filings.values().stream().filter(filing -> !filing.keys().isEmpty()).count();
+    }
+
+    private static Set<String> keysFor(UserSummaryDTO user) {
+        Set<String> keys = new LinkedHashSet<>();
+        String suffix = SEPARATOR + user.getId().toString();
+        String email = normalize(user.getEmail());
+        if (!email.isEmpty()) {
+            keys.add(email + suffix);
+        }
+        // "mary ann smith", "ann smith" and "smith", so any word of the name can start a query
+        String name = normalize(user.getName());
+        int from = 0;
+        while (from < name.length()) {
+            keys.add(name.substring(from) + suffix);
+            int space = name.indexOf(' ', from);
+            if (space < 0) {
+                break;
+            }
+            from = space + 1;
+        }
+        return keys;
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String withoutAccents = COMBINING_MARKS.matcher(Normalizer.normalize(value, Normalizer.Form.NFKD)).replaceAll("");
+        return WHITESPACE.matcher(withoutAccents.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    /** The keys a user is filed under and the version they came from; no keys once deleted. */
+    private record Filing(long version, Set<String> keys) {
+    }
+}
@@ -1,42 +1,146 @@
 package com.example.Service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import com.example.Repository.UserRepo;
 import com.example.Model.User;
 import com.example.DTO.UserDTO;
+import com.example.DTO.CursorPage;
 import com.example.DTO.UserCreateDTO;
+import com.example.DTO.UserBatchRequestDTO;
+import com.example.DTO.UserSummaryDTO;
 import com.example.DTO.LoginRequestDTO;
 import com.example.DTO.AuthResponseDTO;
+import com.example.Security.LoginThrottle;
+import com.example.Security.PasswordHasher;
+import com.example.Security.PrincipalCache;
 import com.example.Util.JwtUtil;
+import com.example.Util.RequestDeadline;
 import com.example.Exceptions.DuplicateResourceException;
 import com.example.Exceptions.ResourceNotFoundException;
 import com.example.Exceptions.ValidationException;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class UserService {
 
+    private static final Logger logger = LogManager.getLogger(UserService.class);
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 100;
+
+    // ER_DUP_ENTRY
+    private static final int MYSQL_DUPLICATE_KEY = 1062;
+
+    public static final String REHASH_FAILURES_COUNTER = "auth.password.rehash.failures";
+
+    // Failed rehashes log at most this often; the counter has the full count
+    private static final long REHASH_WARNING_INTERVAL_NANOS = Duration.ofMinutes(1).toNanos();
+
     @Autowired
     private UserRepo userRepo;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Autowired
     private JwtUtil jwtUtil;
 
-    // BCrypt password encoder
-    private BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private UserEventPublisher userEventPublisher;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    // BCrypt runs on its own bounded pool, off the request threads
+    @Autowired
+    private PasswordHasher passwordHasher;
 
-    public List<UserDTO> getUsers() {
-        return userRepo.findAll().stream()
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final AtomicLong nextRehashWarning = new AtomicLong(System.nanoTime());
+
+    /**
+     * A page of users ordered by id, starting after {@code after} (from the start when null).
+     * Each page is an index range scan, however deep into the listing it is.
+     */
+    public CursorPage<UserDTO> getUsers(UUID after, int limit) {
+        if (limit < 1) {
+            limit = DEFAULT_PAGE_SIZE;
+        } else if (limit > MAX_PAGE_SIZE) {
+            limit = MAX_PAGE_SIZE;
+        }
+
+        // One extra row tells whether another page follows
+        Limit fetch = Limit.of(limit + 1);
+        List<User> users = after == null
+                ? userRepo.findAllByOrderByIdAsc(fetch)
+                : userRepo.findByIdGreaterThanOrderByIdAsc(after, fetch);
+
+        boolean hasNext = users.size() > limit;
+        List<UserDTO> content = users.stream()
+                .limit(limit)
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
+        UUID nextCursor = hasNext ? content.get(content.size() - 1).getId() : null;
+        return new CursorPage<>(content, nextCursor, hasNext, limit);
+    }
+
+    /**
+     * Hands every user to {@code sink} in id order as rows arrive from the database. Each
+     * entity is detached once converted, so memory stays flat however many users there are.
+     */
+    @Transactional(readOnly = true)
+    public void streamUsers(Consumer<UserDTO> sink) {
+        try (Stream<User> users = userRepo.streamAllByOrderByIdAsc()) {
+            users.forEach(user -> {
+                UserDTO userDTO = convertToDTO(user);
+                entityManager.detach(user);
+                sink.accept(userDTO);
+            });
+        }
     }
 
     public UserDTO createUser(UserCreateDTO userCreateDTO) {
+        return convertToDTO(insertUser(userCreateDTO));
+    }
+
+    /**
+     * Validates and inserts a new user. The unique index on email is the duplicate check: a
+     * query beforehand would cost a round trip and still race with a concurrent signup.
+     */
+    private User insertUser(UserCreateDTO userCreateDTO) {
 
         if (userCreateDTO.getEmail() == null || userCreateDTO.getEmail().trim().isEmpty()) {
             throw new ValidationException("Email is required and cannot be empty");
@@ -46,14 +150,34 @@ public class UserService {
             throw new ValidationException("Password is required and cannot be empty");
         }
 
-        if (userRepo.existsByEmail(userCreateDTO.getEmail())) {
+        User user = convertToEntity(userCreateDTO);
+
+        try {
+            // Flush so the violation surfaces here rather than at some later commit
+            user = userRepo.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (!isDuplicateKey(e)) {
+                throw e;
+            }
             throw new DuplicateResourceException("User with email '" + userCreateDTO.getEmail() + "' already exists");
         }
+        userSearchIndex.put(user);
+        userEventPublisher.publishUserCreated(user);
+        return user;
+    }
 
-        User user = convertToEntity(userCreateDTO);
-
-        User savedUser = userRepo.save(user);
-        return convertToDTO(savedUser);
+    /**
+     * Whether the insert broke a unique key, as opposed to some other constraint such as a
+     * value too long for its column. Email is the only unique key a new user can collide on,
+     * the id being generated.
+     */
+    private static boolean isDuplicateKey(DataIntegrityViolationException e) {
+        for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && sqlException.getErrorCode() == MYSQL_DUPLICATE_KEY) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public UserDTO getUserById(UUID id) {
@@ -62,6 +186,41 @@ public class UserService {
         return convertToDTO(user);
     }
 
+    /**
+     * Summaries of the given users in one query, for callers that would otherwise fetch
+     * {@code /users/{id}} once per user. Unknown ids are left out of the result.
+     */
+    public List<UserSummaryDTO> getUserSummaries(List<UUID> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new ValidationException("At least one user id is required");
+        }
+        Set<UUID> distinctIds = new LinkedHashSet<>(ids);
+        distinctIds.remove(null);
+        if (distinctIds.size() > UserBatchRequestDTO.MAX_IDS) {
+            throw new ValidationException("At most " + UserBatchRequestDTO.MAX_IDS + " user ids per request");
+        }
+        if (distinctIds.isEmpty()) {
+            return List.of();
+        }
+        return userRepo.findSummariesByIdIn(distinctIds);
+    }
+
+    /**
+     * Users whose name or email starts with {@code query}, for typeahead. Served from the
+     * in-memory index, not the database.
+     */
+    public List<UserSummaryDTO> searchUsers(String query, int limit) {
+        if (query == null || query.trim().isEmpty()) {
+            throw new ValidationException("Search query is required");
+        }
+        if (limit < 1) {
+            limit = DEFAULT_SEARCH_LIMIT;
+        } else if (limit > MAX_SEARCH_LIMIT) {
+            limit = MAX_SEARCH_LIMIT;
+        }
+        return userSearchIndex.search(query, limit);
+    }
+
     public UserDTO updateUser(UUID id, UserCreateDTO userCreateDTO) {
         User user = userRepo.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
@@ -80,7 +239,7 @@ public class UserService {
             user.setEmail(userCreateDTO.getEmail());
         }
         if (userCreateDTO.getPassword() != null) {
-            String hashedPassword = passwordEncoder.encode(userCreateDTO.getPassword());
+            String hashedPassword = passwordHasher.encode(userCreateDTO.getPassword());
             user.setPassword(hashedPassword);
         }
         if (userCreateDTO.getPhoneNumber() != null) {
@@ -91,6 +250,12 @@ public class UserService {
         }
 
         User updatedUser = userRepo.save(user);
+        principalCache.invalidate(id);
+        userSearchIndex.put(updatedUser);
+        userEventPublisher.publishUserUpdated(updatedUser);
+        if (userCreateDTO.getPassword() != null) {
+            refreshTokenService.revokeAll(id);
+        }
         return convertToDTO(updatedUser);
     }
 
@@ -98,6 +263,10 @@ public class UserService {
         User user = userRepo.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
         userRepo.delete(user);
+        principalCache.invalidate(id);
+        refreshTokenService.revokeAll(id);
+        userSearchIndex.remove(user);
+        userEventPublisher.publishUserDeleted(user);
 
     }
 
@@ -112,7 +281,11 @@ public class UserService {
 
     }
 
-    public AuthResponseDTO login(LoginRequestDTO loginRequest) {
+    /**
+     * Logs in with email and password. {@code clientAddress} may be null, in which case only
+     * the per-email failure limit applies.
+     */
+    public AuthResponseDTO login(LoginRequestDTO loginRequest, String clientAddress) {
 
         if (loginRequest.getEmail() == null || loginRequest.getEmail().trim().isEmpty()) {
             throw new ValidationException("Email is required");
@@ -121,49 +294,89 @@ public class UserService {
             throw new ValidationException("Password is required");
         }
 
+        // Refuse repeat offenders before the lookup and the hash
+        loginThrottle.check(loginRequest.getEmail(), clientAddress);
+
         Optional<User> userOptional = userRepo.findByEmail(loginRequest.getEmail());
 
         if (userOptional.isEmpty()) {
+            loginThrottle.recordFailure(loginRequest.getEmail(), clientAddress);
             throw new ValidationException("Invalid email or password");
         }
 
         User user = userOptional.get();
 
-        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
+        // BCrypt is the expensive part of a login; skip it if the caller has given up
+        RequestDeadline.check("verifying password");
+        if (!passwordHasher.matches(loginRequest.getPassword(), user.getPassword())) {
+            loginThrottle.recordFailure(loginRequest.getEmail(), clientAddress);
             throw new ValidationException("Invalid email or password");
         }
+        loginThrottle.recordSuccess(loginRequest.getEmail());
+        rehashIfNeeded(user, loginRequest.getPassword());
 
-        String token = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole());
+        return authResponse(user, refreshTokenService.issue(user.getId()), "Login successful");
+    }
 
-        UserDTO userDTO = convertToDTO(user);
+    /**
+     * Mints a new access token from a refresh token, rotating the refresh token. No password
+     * hash is involved, so clients should refresh rather than log in again when the access
+     * token expires.
+     */
+    public AuthResponseDTO refresh(String refreshToken) {
+        RefreshTokenService.Issued issued = refreshTokenService.rotate(refreshToken);
+        User user = userRepo.findById(issued.userId())
+                .orElseThrow(() -> new ValidationException("Invalid refresh token"));
+        return authResponse(user, issued, "Token refreshed");
+    }
 
-        AuthResponseDTO response = new AuthResponseDTO();
-        response.setToken(token);
-        response.setTokenType("Bearer");
-        response.setExpiresAt(jwtUtil.getExpirationDateFromToken(token));
-        response.setIssuedAt(jwtUtil.getIssuedAtDateFromToken(token));
-        response.setMessage("Login successful");
-        response.setUser(userDTO);
+    public void logout(String refreshToken) {
+        refreshTokenService.revoke(refreshToken);
+    }
 
-        return response;
+    /**
+     * Moves a stored hash to the configured BCrypt strength while the plain password is at
+     * hand. Best effort: a busy hashing pool or a failed save leaves the old hash, which
+     * still verifies.
+     */
+    private void rehashIfNeeded(User user, String rawPassword) {
+        if (!passwordHasher.needsRehash(user.getPassword())) {
+            return;
+        }
+        try {
+            user.setPassword(passwordHasher.encode(rawPassword));
+            userRepo.save(user);
+        } catch (RuntimeException e) {
+            // Keep the login; the next one will try again. Counted so a failure that never
+            // clears, and leaves every hash at the old cost, shows up
+            meterRegistry.counter(REHASH_FAILURES_COUNTER, "exception", e.getClass().getSimpleName()).increment();
+            long now = System.nanoTime();
+            long next = nextRehashWarning.get();
+            if (now - next >= 0 && nextRehashWarning.compareAndSet(next, now + REHASH_WARNING_INTERVAL_NANOS)) {
+                logger.warn("Could not rehash the password of user {}: {}", user.getId(), e.toString());
+            }
+        }
     }
 
     public AuthResponseDTO signup(UserCreateDTO userCreateDTO) {
 
-        UserDTO userDTO = createUser(userCreateDTO);
+        User user = insertUser(userCreateDTO);
 
-        User user = userRepo.findById(userDTO.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found after creation"));
+        return authResponse(user, refreshTokenService.issue(user.getId()), "Signup successful");
+    }
 
-        String token = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole());
+    private AuthResponseDTO authResponse(User user, RefreshTokenService.Issued refreshToken, String message) {
+        JwtUtil.IssuedToken token = jwtUtil.issueToken(user.getId(), user.getEmail(), user.getRole());
 
         AuthResponseDTO response = new AuthResponseDTO();
-        response.setToken(token);
+        response.setToken(token.token());
         response.setTokenType("Bearer");
-        response.setExpiresAt(jwtUtil.getExpirationDateFromToken(token));
-        response.setIssuedAt(jwtUtil.getIssuedAtDateFromToken(token));
-        response.setMessage("Signup successful");
-        response.setUser(userDTO);
+        response.setExpiresAt(token.expiresAt());
+        response.setIssuedAt(token.issuedAt());
+        response.setMessage(message);
+        response.setUser(convertToDTO(user));
+        response.setRefreshToken(refreshToken.token());
+        response.setRefreshExpiresAt(Date.from(refreshToken.expiresAt()));
 
         return response;
     }
@@ -173,7 +386,7 @@ public class UserService {
         user.setName(userCreateDTO.getName());
 
         user.setEmail(userCreateDTO.getEmail());
-        String hashedPassword = passwordEncoder.encode(userCreateDTO.getPassword());
+        String hashedPassword = passwordHasher.encode(userCreateDTO.getPassword());
         user.setPassword(hashedPassword);
         user.setPhoneNumber(userCreateDTO.getPhoneNumber());
         user.setRole(userCreateDTO.getRole() != null ? userCreateDTO.getRole() : "USER");
@@ -0,0 +1,50 @@
+package com.example.Util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * The address a request came from. When the connection is from one of the
+ * {@code security.trusted-proxies} (the API Gateway), that is the last {@value #FORWARDED_FOR}
+ * entry, the one the gateway appended; entries before it are whatever the client sent. From
+ * anyone else the header is ignored, since a caller reaching this service directly could put
+ * any address in it.
+ */
+@Component
+public class ClientAddress {
+
+    public static final String FORWARDED_FOR = "X-Forwarded-For";
+
+    private final List<IpAddressMatcher> trustedProxies;
+
+    public ClientAddress(@Value("${security.trusted-proxies:127.0.0.1,::1}") List<String> trustedProxies) {
+        this.trustedProxies = trustedProxies.stream()
+                .map(String::trim)
+                .filter(proxy -> !proxy.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+    }
+
+    public String of(HttpServletRequest request) {
+        String remoteAddress = request.getRemoteAddr();
+        if (!isTrustedProxy(remoteAddress)) {
+            return remoteAddress;
+        }
+        String forwardedFor = request.getHeader(FORWARDED_FOR);
+        if (forwardedFor != null && !forwardedFor.isBlank()) {
+            String last = forwardedFor.substring(forwardedFor.lastIndexOf(',') + 1).trim();
+            if (!last.isEmpty()) {
+                return last;
+            }
+        }
+        return remoteAddress;
+    }
+
+    private boolean isTrustedProxy(String address) {
+        return address != null && trustedProxies.stream().anyMatch(proxy -> proxy.matches(address));
+    }
+}
@@ -54,11 +54,16 @@ public class JwtUtil {
         }
     }
 
-    public String generateToken(UUID userId, String email, String role) {
-        Date now = new Date();
+    /** A signed token together with the times it was built with, so callers needn't parse it back. */
+    public record IssuedToken(String token, Date issuedAt, Date expiresAt) {
+    }
+
+    public IssuedToken issueToken(UUID userId, String email, String role) {
+        // JWT dates have second precision; truncate so these match what the token carries
+        Date now = new Date(System.currentTimeMillis() / 1000 * 1000);
         Date expiryDate = new Date(now.getTime() + EXPIRATION_TIME);
 
-        return Jwts.builder()
+        String token = Jwts.builder()
                 .subject(email)
                 .claim("userId", userId.toString())
                 .claim("role", role != null ? role : "USER")
@@ -66,6 +71,26 @@ public class JwtUtil {
                 .expiration(expiryDate)
                 .signWith(secretKey)
                 .compact();
+        return new IssuedToken(token, now, expiryDate);
+    }
+
+    public String generateToken(UUID userId, String email, String role) {
+        return issueToken(userId, email, role).token();
+    }
+
+    /**
+     * Verifies the signature and expiry and returns the claims, so callers needing several
+     * claims parse the token once.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
+     * @throws IllegalArgumentException if the token is null or empty
+     */
+    public Claims parseClaims(String token) {
+        return Jwts.parser()
+                .verifyWith(secretKey)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
     }
 
     public boolean validateToken(String token) {
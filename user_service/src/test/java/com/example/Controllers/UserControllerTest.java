@@ -1,15 +1,21 @@
 package com.example.Controllers;
 
 import com.example.DTO.AuthResponseDTO;
+import com.example.DTO.CursorPage;
 import com.example.DTO.LoginRequestDTO;
+import com.example.DTO.RefreshRequestDTO;
 import com.example.DTO.UserCreateDTO;
+import com.example.DTO.UserBatchRequestDTO;
 import com.example.DTO.UserDTO;
+import com.example.DTO.UserSummaryDTO;
 import com.example.Exceptions.DuplicateResourceException;
 import com.example.Exceptions.ResourceNotFoundException;
+import com.example.Exceptions.TooManyRequestsException;
 import com.example.Exceptions.ValidationException;
 import com.example.Repository.UserRepo;
 import com.example.Service.UserService;
 import com.example.Security.JwtAuthenticationFilter;
+import com.example.Util.ClientAddress;
 import com.example.Util.JwtUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,6 +23,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.context.annotation.Import;
 import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
 import org.springframework.boot.autoconfigure.security.servlet.SecurityFilterAutoConfiguration;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -24,9 +31,13 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.function.Consumer;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -38,6 +49,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         SecurityFilterAutoConfiguration.class
 })
 @AutoConfigureMockMvc(addFilters = false)
+@Import(ClientAddress.class)
 @DisplayName("UserController REST API Tests")
 class UserControllerTest {
 
@@ -97,20 +109,62 @@ class UserControllerTest {
     }
 
     @Test
-    @DisplayName("GET /users - Should return list of users")
+    @DisplayName("GET /users - Should return a page of users with a cursor")
     void testGetUsers_Success() throws Exception {
-        List<UserDTO> users = Arrays.asList(testUserDTO);
-        when(userService.getUsers()).thenReturn(users);
+        CursorPage<UserDTO> page = new CursorPage<>(List.of(testUserDTO), testUserId, true, 1);
+        when(userService.getUsers(null, 1)).thenReturn(page);
 
-        mockMvc.perform(get("/users"))
+        mockMvc.perform(get("/users").param("limit", "1"))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$[0].id").value(testUserId.toString()))
-                .andExpect(jsonPath("$[0].name").value("John Doe"))
-                .andExpect(jsonPath("$[0].email").value("john.doe@example.com"));
+                .andExpect(jsonPath("$.content").isArray())
+                .andExpect(jsonPath("$.content[0].id").value(testUserId.toString()))
+                .andExpect(jsonPath("$.content[0].name").value("John Doe"))
+                .andExpect(jsonPath("$.content[0].email").value("john.doe@example.com"))
+                .andExpect(jsonPath("$.nextCursor").value(testUserId.toString()))
+                .andExpect(jsonPath("$.hasNext").value(true));
+
+        verify(userService, times(1)).getUsers(null, 1);
+    }
+
+    @Test
+    @DisplayName("GET /users?after= - Should pass the cursor through")
+    void testGetUsers_WithCursor() throws Exception {
+        when(userService.getUsers(testUserId, 50)).thenReturn(new CursorPage<>(List.of(), null, false, 50));
 
-        verify(userService, times(1)).getUsers();
+        mockMvc.perform(get("/users").param("after", testUserId.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content").isEmpty())
+                .andExpect(jsonPath("$.hasNext").value(false));
+
+        verify(userService, times(1)).getUsers(testUserId, 50);
+    }
+
+    @Test
+    @DisplayName("GET /users as NDJSON - Should stream one user per line")
+    void testExportUsers_Ndjson() throws Exception {
+        UserDTO another = new UserDTO(UUID.randomUUID(), "Jane Doe", "jane.doe@example.com", null, "ADMIN");
+        doAnswer(invocation -> {
+            Consumer<UserDTO> sink = invocation.getArgument(0);
+            sink.accept(testUserDTO);
+            sink.accept(another);
+            return null;
+        }).when(userService).streamUsers(any());
+
+        MvcResult started = mockMvc.perform(get("/users").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(testUserId.toString(), objectMapper.readTree(lines[0]).get("id").asText());
+        assertEquals("Jane Doe", objectMapper.readTree(lines[1]).get("name").asText());
+        verify(userService, never()).getUsers(any(), anyInt());
     }
 
     @Test
@@ -271,7 +325,7 @@ class UserControllerTest {
     @Test
     @DisplayName("POST /auth/login - Should login successfully")
     void testLogin_Success() throws Exception {
-        when(userService.login(any(LoginRequestDTO.class))).thenReturn(testAuthResponseDTO);
+        when(userService.login(any(LoginRequestDTO.class), any())).thenReturn(testAuthResponseDTO);
 
         mockMvc.perform(post("/auth/login")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -283,13 +337,116 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.message").value("Login successful"))
                 .andExpect(jsonPath("$.user.id").value(testUserId.toString()));
 
-        verify(userService, times(1)).login(any(LoginRequestDTO.class));
+        verify(userService, times(1)).login(any(LoginRequestDTO.class), any());
+    }
+
+    @Test
+    @DisplayName("POST /users/batch - Should return summaries of the requested users")
+    void testGetUsersByIds_Success() throws Exception {
+        UUID missingId = UUID.randomUUID();
+        when(userService.getUserSummaries(List.of(testUserId, missingId)))
+                .thenReturn(List.of(new UserSummaryDTO(testUserId, "John Doe", "john.doe@example.com", "USER")));
+
+        mockMvc.perform(post("/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserBatchRequestDTO(List.of(testUserId, missingId)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(testUserId.toString()))
+                .andExpect(jsonPath("$[0].role").value("USER"))
+                .andExpect(jsonPath("$[0].phoneNumber").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /users/search - Should return users matching the prefix")
+    void testSearchUsers_Success() throws Exception {
+        when(userService.searchUsers("john", 5))
+                .thenReturn(List.of(new UserSummaryDTO(testUserId, "John Doe", "john.doe@example.com", "USER")));
+
+        mockMvc.perform(get("/users/search").param("q", "john").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(testUserId.toString()))
+                .andExpect(jsonPath("$[0].email").value("john.doe@example.com"));
+
+        verify(userService, never()).getUserById(any());
+    }
+
+    @Test
+    @DisplayName("GET /users/search - Should return 400 when the query is blank")
+    void testSearchUsers_BlankQuery() throws Exception {
+        when(userService.searchUsers(" ", 20)).thenThrow(new ValidationException("Search query is required"));
+
+        mockMvc.perform(get("/users/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /users/batch - Should return 400 when no ids are given")
+    void testGetUsersByIds_Empty() throws Exception {
+        mockMvc.perform(post("/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new UserBatchRequestDTO(List.of()))))
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).getUserSummaries(any());
+    }
+
+    @Test
+    @DisplayName("POST /auth/refresh - Should return new tokens")
+    void testRefresh_Success() throws Exception {
+        testAuthResponseDTO.setRefreshToken("rotated-refresh-token");
+        when(userService.refresh("old-refresh-token")).thenReturn(testAuthResponseDTO);
+
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequestDTO("old-refresh-token"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("test-jwt-token"))
+                .andExpect(jsonPath("$.refreshToken").value("rotated-refresh-token"));
+
+        verify(userService, times(1)).refresh("old-refresh-token");
+    }
+
+    @Test
+    @DisplayName("POST /auth/refresh - Should return 400 when the refresh token is rejected")
+    void testRefresh_Invalid() throws Exception {
+        when(userService.refresh("reused-token")).thenThrow(new ValidationException("Invalid refresh token"));
+
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequestDTO("reused-token"))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /auth/refresh - Should return 400 when the refresh token is missing")
+    void testRefresh_ValidationError() throws Exception {
+        mockMvc.perform(post("/auth/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequestDTO(""))))
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).refresh(anyString());
+    }
+
+    @Test
+    @DisplayName("POST /auth/logout - Should revoke the refresh token")
+    void testLogout_Success() throws Exception {
+        mockMvc.perform(post("/auth/logout")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequestDTO("some-token"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Logged out successfully"));
+
+        verify(userService, times(1)).logout("some-token");
     }
 
     @Test
     @DisplayName("POST /auth/login - Should return 400 when credentials are invalid")
     void testLogin_InvalidCredentials() throws Exception {
-        when(userService.login(any(LoginRequestDTO.class)))
+        when(userService.login(any(LoginRequestDTO.class), any()))
                 .thenThrow(new ValidationException("Invalid email or password"));
 
         mockMvc.perform(post("/auth/login")
@@ -297,7 +454,53 @@ class UserControllerTest {
                         .content(objectMapper.writeValueAsString(testLoginRequestDTO)))
                 .andExpect(status().isBadRequest());
 
-        verify(userService, times(1)).login(any(LoginRequestDTO.class));
+        verify(userService, times(1)).login(any(LoginRequestDTO.class), any());
+    }
+
+    @Test
+    @DisplayName("POST /auth/login - Should pass the gateway-appended client address")
+    void testLogin_ClientAddressFromGateway() throws Exception {
+        when(userService.login(any(LoginRequestDTO.class), any())).thenReturn(testAuthResponseDTO);
+
+        mockMvc.perform(post("/auth/login")
+                        .header("X-Forwarded-For", "10.9.9.9, 198.51.100.23")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testLoginRequestDTO)))
+                .andExpect(status().isOk());
+
+        verify(userService).login(any(LoginRequestDTO.class), eq("198.51.100.23"));
+    }
+
+    @Test
+    @DisplayName("POST /auth/login - Should ignore X-Forwarded-For from a caller that isn't the gateway")
+    void testLogin_ForwardedForFromUntrustedCallerIgnored() throws Exception {
+        when(userService.login(any(LoginRequestDTO.class), any())).thenReturn(testAuthResponseDTO);
+
+        mockMvc.perform(post("/auth/login")
+                        .with(request -> {
+                            request.setRemoteAddr("203.0.113.7");
+                            return request;
+                        })
+                        .header("X-Forwarded-For", "198.51.100.23")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testLoginRequestDTO)))
+                .andExpect(status().isOk());
+
+        verify(userService).login(any(LoginRequestDTO.class), eq("203.0.113.7"));
+    }
+
+    @Test
+    @DisplayName("POST /auth/login - Should return 429 with Retry-After when throttled")
+    void testLogin_Throttled() throws Exception {
+        when(userService.login(any(LoginRequestDTO.class), any()))
+                .thenThrow(new TooManyRequestsException("Too many failed login attempts, try again later",
+                        Duration.ofMillis(2500)));
+
+        mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(testLoginRequestDTO)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "3"));
     }
 
     @Test
@@ -310,6 +513,6 @@ class UserControllerTest {
                         .content(objectMapper.writeValueAsString(testLoginRequestDTO)))
                 .andExpect(status().isBadRequest());
 
-        verify(userService, never()).login(any(LoginRequestDTO.class));
+        verify(userService, never()).login(any(LoginRequestDTO.class), any());
     }
 }
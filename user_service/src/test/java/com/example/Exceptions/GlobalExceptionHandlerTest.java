@@ -6,12 +6,15 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -26,6 +29,15 @@ class GlobalExceptionHandlerTest {
     @InjectMocks
     private GlobalExceptionHandler globalExceptionHandler;
 
+    @Test
+    @DisplayName("Should handle a concurrent user update with 409 status")
+    void testHandleOptimisticLockingFailureException() {
+        ResponseEntity<String> response = globalExceptionHandler.handleOptimisticLockingFailureException(
+                new OptimisticLockingFailureException("Row was updated or deleted by another transaction"));
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
+
     @Test
     @DisplayName("Should handle ResourceNotFoundException with 404 status")
     void testHandleResourceNotFoundException() {
@@ -62,6 +74,35 @@ class GlobalExceptionHandlerTest {
         assertEquals(message, response.getBody());
     }
 
+    @Test
+    @DisplayName("Should handle ServiceUnavailableException with 503 status and Retry-After")
+    void testHandleServiceUnavailableException() {
+        String message = "Too many concurrent password operations, retry shortly";
+        ServiceUnavailableException exception = new ServiceUnavailableException(message);
+
+        ResponseEntity<String> response = globalExceptionHandler.handleServiceUnavailableException(exception);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(message, response.getBody());
+    }
+
+    @Test
+    @DisplayName("Should handle TooManyRequestsException with 429 status and Retry-After in whole seconds")
+    void testHandleTooManyRequestsException() {
+        String message = "Too many failed login attempts, try again later";
+
+        ResponseEntity<String> response = globalExceptionHandler.handleTooManyRequestsException(
+                new TooManyRequestsException(message, Duration.ofMillis(1200)));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("2", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(message, response.getBody());
+
+        response = globalExceptionHandler.handleTooManyRequestsException(
+                new TooManyRequestsException(message, Duration.ofMillis(5)));
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
     @Test
     @DisplayName("Should handle IllegalArgumentException with 400 status")
     void testHandleIllegalArgumentException() {
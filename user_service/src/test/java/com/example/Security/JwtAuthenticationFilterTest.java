@@ -1,8 +1,11 @@
 package com.example.Security;
 
 import com.example.Model.User;
-import com.example.Repository.UserRepo;
 import com.example.Util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -32,7 +35,7 @@ class JwtAuthenticationFilterTest {
     private JwtUtil jwtUtil;
 
     @Mock
-    private UserRepo userRepo;
+    private PrincipalCache principalCache;
 
     @Mock
     private HttpServletRequest request;
@@ -60,7 +63,7 @@ class JwtAuthenticationFilterTest {
 
         verify(filterChain).doFilter(request, response);
         assertNull(SecurityContextHolder.getContext().getAuthentication());
-        verifyNoInteractions(jwtUtil, userRepo);
+        verifyNoInteractions(jwtUtil, principalCache);
     }
 
     @Test
@@ -72,38 +75,39 @@ class JwtAuthenticationFilterTest {
 
         verify(filterChain).doFilter(request, response);
         assertNull(SecurityContextHolder.getContext().getAuthentication());
-        verifyNoInteractions(jwtUtil, userRepo);
+        verifyNoInteractions(jwtUtil, principalCache);
     }
 
     @Test
-    @DisplayName("Skips authentication when email extraction fails")
-    void doFilter_EmailExtractionFails() throws ServletException, IOException {
+    @DisplayName("Skips authentication when token cannot be parsed")
+    void doFilter_MalformedToken() throws ServletException, IOException {
         when(request.getHeader("Authorization")).thenReturn("Bearer invalid");
-        when(jwtUtil.getEmailFromToken("invalid")).thenThrow(new RuntimeException("bad token"));
+        when(jwtUtil.parseClaims("invalid")).thenThrow(new MalformedJwtException("bad token"));
 
         filter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
         assertNull(SecurityContextHolder.getContext().getAuthentication());
-        verify(jwtUtil).getEmailFromToken("invalid");
-        verifyNoInteractions(userRepo);
+        verify(jwtUtil).parseClaims("invalid");
+        verifyNoInteractions(principalCache);
     }
 
     @Test
-    @DisplayName("Sets authentication when token valid and user found")
+    @DisplayName("Sets authentication when token valid and user found, parsing the token once")
     void doFilter_ValidTokenSetsAuthentication() throws ServletException, IOException {
         String token = "valid.token";
         User user = buildUser("USER");
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.getEmailFromToken(token)).thenReturn(user.getEmail());
-        when(jwtUtil.validateToken(token)).thenReturn(true);
-        when(userRepo.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(jwtUtil.parseClaims(token)).thenReturn(claims(user));
+        when(principalCache.get(user.getId().toString(), user.getEmail())).thenReturn(Optional.of(AuthenticatedUser.of(user)));
 
         filter.doFilterInternal(request, response, filterChain);
 
         assertNotNull(SecurityContextHolder.getContext().getAuthentication());
-        assertEquals(user, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        assertEquals(AuthenticatedUser.of(user), SecurityContextHolder.getContext().getAuthentication().getPrincipal());
         assertTrue(SecurityContextHolder.getContext().getAuthentication().isAuthenticated());
+        verify(jwtUtil, times(1)).parseClaims(token);
+        verifyNoMoreInteractions(jwtUtil);
         verify(filterChain).doFilter(request, response);
     }
 
@@ -112,24 +116,23 @@ class JwtAuthenticationFilterTest {
     void doFilter_InvalidToken() throws ServletException, IOException {
         String token = "bad.token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.getEmailFromToken(token)).thenReturn("john@example.com");
-        when(jwtUtil.validateToken(token)).thenReturn(false);
+        when(jwtUtil.parseClaims(token)).thenThrow(new ExpiredJwtException(null, null, "expired"));
 
         filter.doFilterInternal(request, response, filterChain);
 
         assertNull(SecurityContextHolder.getContext().getAuthentication());
         verify(filterChain).doFilter(request, response);
-        verify(userRepo, never()).findByEmail(anyString());
+        verify(principalCache, never()).get(anyString(), anyString());
     }
 
     @Test
     @DisplayName("Does not authenticate when user not found")
     void doFilter_UserNotFound() throws ServletException, IOException {
         String token = "valid.token";
+        User user = buildUser("USER");
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.getEmailFromToken(token)).thenReturn("john@example.com");
-        when(jwtUtil.validateToken(token)).thenReturn(true);
-        when(userRepo.findByEmail("john@example.com")).thenReturn(Optional.empty());
+        when(jwtUtil.parseClaims(token)).thenReturn(claims(user));
+        when(principalCache.get(user.getId().toString(), user.getEmail())).thenReturn(Optional.empty());
 
         filter.doFilterInternal(request, response, filterChain);
 
@@ -138,23 +141,19 @@ class JwtAuthenticationFilterTest {
     }
 
     @Test
-    @DisplayName("Skips authentication when already authenticated")
+    @DisplayName("Skips token parsing when already authenticated")
     void doFilter_AlreadyAuthenticated() throws ServletException, IOException {
         String token = "valid.token";
-        User user = buildUser("USER");
         org.springframework.security.core.Authentication existingAuth = 
             mock(org.springframework.security.core.Authentication.class);
         SecurityContextHolder.getContext().setAuthentication(existingAuth);
         
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.getEmailFromToken(token)).thenReturn(user.getEmail());
-        // validateToken is not called when already authenticated, so no stub needed
 
         filter.doFilterInternal(request, response, filterChain);
 
         assertEquals(existingAuth, SecurityContextHolder.getContext().getAuthentication());
-        verify(userRepo, never()).findByEmail(anyString());
-        verify(jwtUtil, never()).validateToken(anyString());
+        verifyNoInteractions(jwtUtil, principalCache);
         verify(filterChain).doFilter(request, response);
     }
 
@@ -164,14 +163,13 @@ class JwtAuthenticationFilterTest {
         String token = "valid.token";
         User user = buildUser(null);
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.getEmailFromToken(token)).thenReturn(user.getEmail());
-        when(jwtUtil.validateToken(token)).thenReturn(true);
-        when(userRepo.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(jwtUtil.parseClaims(token)).thenReturn(claims(user));
+        when(principalCache.get(user.getId().toString(), user.getEmail())).thenReturn(Optional.of(AuthenticatedUser.of(user)));
 
         filter.doFilterInternal(request, response, filterChain);
 
         assertNotNull(SecurityContextHolder.getContext().getAuthentication());
-        assertEquals(user, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+        assertEquals(AuthenticatedUser.of(user), SecurityContextHolder.getContext().getAuthentication().getPrincipal());
         assertTrue(SecurityContextHolder.getContext().getAuthentication().getAuthorities().isEmpty());
         verify(filterChain).doFilter(request, response);
     }
@@ -182,9 +180,8 @@ class JwtAuthenticationFilterTest {
         String token = "valid.token";
         User user = buildUser("USER");
         when(request.getHeader("Authorization")).thenReturn("Bearer   " + token + "   ");
-        when(jwtUtil.getEmailFromToken(token)).thenReturn(user.getEmail());
-        when(jwtUtil.validateToken(token)).thenReturn(true);
-        when(userRepo.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+        when(jwtUtil.parseClaims(token)).thenReturn(claims(user));
+        when(principalCache.get(user.getId().toString(), user.getEmail())).thenReturn(Optional.of(AuthenticatedUser.of(user)));
 
         filter.doFilterInternal(request, response, filterChain);
 
@@ -205,19 +202,28 @@ class JwtAuthenticationFilterTest {
     }
 
     @Test
-    @DisplayName("Logs warning when email extraction fails")
+    @DisplayName("Logs warning when token has no subject")
     void doFilter_EmailNullLogsWarning() throws ServletException, IOException {
         String token = "valid.token";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtUtil.getEmailFromToken(token)).thenReturn(null);
+        when(jwtUtil.parseClaims(token)).thenReturn(Jwts.claims().add("userId", UUID.randomUUID().toString()).build());
         when(request.getRequestURI()).thenReturn("/api/test");
 
         filter.doFilterInternal(request, response, filterChain);
 
         assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verifyNoInteractions(principalCache);
         verify(filterChain).doFilter(request, response);
     }
 
+    private static Claims claims(User user) {
+        return Jwts.claims()
+                .subject(user.getEmail())
+                .add("userId", user.getId().toString())
+                .add("role", user.getRole() != null ? user.getRole() : "USER")
+                .build();
+    }
+
     private User buildUser(String role) {
         User user = new User();
         user.setId(UUID.randomUUID());
@@ -0,0 +1,101 @@
+package com.example.Security;
+
+import com.example.Exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * A password-spraying burst replayed against real BCrypt with and without the login throttle:
+ * every attempt that gets past {@link LoginThrottle#check} pays for one hash. Also measures
+ * the throttle's own cost per attempt with far more distinct keys than it may hold. Run with
+ * {@code mvn -Pbenchmark test}.
+ */
+@Tag("benchmark")
+class LoginThrottleBenchmarkTest {
+
+    private static final int ATTEMPTS = 1_000;
+
+    private static final int TARGETED_EMAILS = 100;
+
+    private static final int ATTACKER_ADDRESSES = 4;
+
+    @Test
+    void benchmarkSprayCpuTime() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(8);
+        String hash = encoder.encode("CorrectHorse1");
+
+        System.out.printf("Spray of %,d attempts over %d emails from %d addresses, BCrypt cost 8:%n",
+                ATTEMPTS, TARGETED_EMAILS, ATTACKER_ADDRESSES);
+        Result unthrottled = spray(null, encoder, hash);
+        Result throttled = spray(throttle(100_000), encoder, hash);
+        unthrottled.print("without throttle");
+        throttled.print("with throttle");
+
+        assertTrue(throttled.hashes < unthrottled.hashes / 4,
+                "Throttle let " + throttled.hashes + " of " + ATTEMPTS + " attempts reach BCrypt");
+    }
+
+    @Test
+    void benchmarkThrottleOverhead() {
+        LoginThrottle throttle = throttle(10_000);
+        int iterations = 2_000_000;
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            String email = "user" + (i % 1_000_000) + "@example.com";
+            String address = "10." + (i >>> 16 & 255) + "." + (i >>> 8 & 255) + "." + (i & 255);
+            try {
+                throttle.check(email, address);
+                throttle.recordFailure(email, address);
+            } catch (TooManyRequestsException e) {
+                // refused is as cheap as allowed
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Throttle check + failure, 1M distinct emails, single thread: %,.0f attempts/s, %,d windows held%n",
+                iterations / seconds, throttle.estimatedSize());
+        assertTrue(throttle.estimatedSize() <= 20_000);
+    }
+
+    private static Result spray(LoginThrottle throttle, BCryptPasswordEncoder encoder, String hash) {
+        int hashes = 0;
+        int refused = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ATTEMPTS; i++) {
+            String email = "user" + (i % TARGETED_EMAILS) + "@example.com";
+            String address = "203.0.113." + (i % ATTACKER_ADDRESSES);
+            if (throttle != null) {
+                try {
+                    throttle.check(email, address);
+                } catch (TooManyRequestsException e) {
+                    refused++;
+                    continue;
+                }
+            }
+            hashes++;
+            if (!encoder.matches("Password" + i, hash) && throttle != null) {
+                throttle.recordFailure(email, address);
+            }
+        }
+        return new Result(hashes, refused, System.nanoTime() - start);
+    }
+
+    private static LoginThrottle throttle(long maximumSize) {
+        return new LoginThrottle(5, 50, Duration.ofMinutes(15), Duration.ofSeconds(1), Duration.ofMinutes(15),
+                maximumSize, new SimpleMeterRegistry());
+    }
+
+    private record Result(int hashes, int refused, long nanos) {
+
+        void print(String label) {
+            System.out.printf("  %-18s %,6d hashed  %,6d refused  %,8d ms CPU%n",
+                    label, hashes, refused, Duration.ofNanos(nanos).toMillis());
+        }
+    }
+}
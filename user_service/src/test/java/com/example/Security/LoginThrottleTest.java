@@ -0,0 +1,213 @@
+package com.example.Security;
+
+import com.example.Exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LoginThrottle Unit Tests")
+class LoginThrottleTest {
+
+    private static final String EMAIL = "victim@example.com";
+
+    private static final String ADDRESS = "203.0.113.7";
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private LoginThrottle throttle;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        throttle = throttle(1000);
+    }
+
+    @Test
+    @DisplayName("Lets failures through up to the email limit, then blocks")
+    void check_BlocksEmailAtLimit() {
+        for (int i = 0; i < 4; i++) {
+            throttle.check(EMAIL, ADDRESS);
+            throttle.recordFailure(EMAIL, ADDRESS);
+        }
+        throttle.check(EMAIL, ADDRESS);
+        throttle.recordFailure(EMAIL, ADDRESS);
+
+        TooManyRequestsException e = assertThrows(TooManyRequestsException.class,
+                () -> throttle.check(EMAIL, ADDRESS));
+        assertEquals(Duration.ofSeconds(1), e.getRetryAfter());
+        assertEquals(1.0, throttled("email"));
+    }
+
+    @Test
+    @DisplayName("Matches emails case-insensitively")
+    void check_EmailCaseInsensitive() {
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure(i % 2 == 0 ? EMAIL : EMAIL.toUpperCase(), null);
+        }
+
+        assertThrows(TooManyRequestsException.class, () -> throttle.check(" Victim@Example.com ", null));
+    }
+
+    @Test
+    @DisplayName("Doubles the block each time failures continue after one ends")
+    void recordFailure_BacksOffExponentially() {
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure(EMAIL, null);
+        }
+        assertEquals(Duration.ofSeconds(1), blockedFor(EMAIL));
+
+        advance(Duration.ofSeconds(1));
+        throttle.check(EMAIL, null);
+        throttle.recordFailure(EMAIL, null);
+        assertEquals(Duration.ofSeconds(2), blockedFor(EMAIL));
+
+        advance(Duration.ofSeconds(2));
+        throttle.recordFailure(EMAIL, null);
+        assertEquals(Duration.ofSeconds(4), blockedFor(EMAIL));
+    }
+
+    @Test
+    @DisplayName("Caps the block at the maximum backoff")
+    void recordFailure_BackoffCapped() {
+        for (int i = 0; i < 5; i++) {
+            throttle.recordFailure(EMAIL, null);
+        }
+        Duration longest = Duration.ZERO;
+        for (int i = 0; i < 20; i++) {
+            advance(blockedFor(EMAIL));
+            throttle.recordFailure(EMAIL, null);
+            Duration blocked = blockedFor(EMAIL);
+            longest = blocked.compareTo(longest) > 0 ? blocked : longest;
+        }
+
+        assertEquals(Duration.ofMinutes(15), longest);
+    }
+
+    @Test
+    @DisplayName("Forgets failures as they slide out of the window")
+    void check_WindowSlides() {
+        for (int i = 0; i < 4; i++) {
+            throttle.recordFailure(EMAIL, null);
+        }
+        // Half a window later the four count as two
+        advance(Duration.ofMinutes(15));
+        advance(Duration.ofMinutes(7).plusSeconds(30));
+        throttle.recordFailure(EMAIL, null);
+        throttle.recordFailure(EMAIL, null);
+        throttle.check(EMAIL, null);
+
+        throttle.recordFailure(EMAIL, null);
+        assertThrows(TooManyRequestsException.class, () -> throttle.check(EMAIL, null));
+    }
+
+    @Test
+    @DisplayName("Clears the email on success but keeps the address count")
+    void recordSuccess_ClearsEmailOnly() {
+        for (int i = 0; i < 4; i++) {
+            throttle.recordFailure(EMAIL, ADDRESS);
+        }
+        throttle.recordSuccess(EMAIL);
+        for (int i = 0; i < 4; i++) {
+            throttle.recordFailure(EMAIL, ADDRESS);
+        }
+        throttle.check(EMAIL, ADDRESS);
+
+        for (int i = 0; i < 42; i++) {
+            throttle.recordFailure("other" + i + "@example.com", ADDRESS);
+        }
+        assertThrows(TooManyRequestsException.class, () -> throttle.check("fresh@example.com", ADDRESS));
+        assertEquals(1.0, throttled("address"));
+    }
+
+    @Test
+    @DisplayName("A spray across many emails from one address reaches the hash only up to the address limit")
+    void syntheticSprayFromOneAddress() {
+        int hashed = 0;
+        for (int attempt = 0; attempt < 10_000; attempt++) {
+            String email = "user" + (attempt % 2_000) + "@example.com";
+            try {
+                throttle.check(email, ADDRESS);
+            } catch (TooManyRequestsException e) {
+                advance(Duration.ofMillis(10));
+                continue;
+            }
+            hashed++;
+            throttle.recordFailure(email, ADDRESS);
+            advance(Duration.ofMillis(10));
+        }
+
+        // 100 s of attack: the first 50 failures, then a few per doubling block
+        assertTrue(hashed <= 50 + 10, "hashed " + hashed);
+    }
+
+    @Test
+    @DisplayName("A distributed attack on one email reaches the hash only up to the email limit")
+    void syntheticDistributedAttackOnOneEmail() {
+        int hashed = 0;
+        for (int attempt = 0; attempt < 10_000; attempt++) {
+            String address = "198.51." + (attempt / 256 % 256) + "." + (attempt % 256);
+            try {
+                throttle.check(EMAIL, address);
+            } catch (TooManyRequestsException e) {
+                advance(Duration.ofMillis(10));
+                continue;
+            }
+            hashed++;
+            throttle.recordFailure(EMAIL, address);
+            advance(Duration.ofMillis(10));
+        }
+
+        assertTrue(hashed <= 5 + 10, "hashed " + hashed);
+    }
+
+    @Test
+    @DisplayName("Holds no more windows than the maximum size under many distinct keys")
+    void memoryBounded() {
+        LoginThrottle small = throttle(100);
+        for (int i = 0; i < 5_000; i++) {
+            small.recordFailure("user" + i + "@example.com", "10.0." + (i / 256) + "." + (i % 256));
+        }
+
+        assertTrue(small.estimatedSize() <= 200, "size " + small.estimatedSize());
+    }
+
+    @Test
+    @DisplayName("Ignores a missing client address")
+    void nullAddress() {
+        for (int i = 0; i < 100; i++) {
+            throttle.recordFailure("user" + i + "@example.com", null);
+        }
+
+        assertDoesNotThrow(() -> throttle.check("fresh@example.com", null));
+    }
+
+    private LoginThrottle throttle(long maximumSize) {
+        return new LoginThrottle(5, 50, Duration.ofMinutes(15), Duration.ofSeconds(1), Duration.ofMinutes(15),
+                maximumSize, meterRegistry, now::get);
+    }
+
+    private Duration blockedFor(String email) {
+        try {
+            throttle.check(email, null);
+            return Duration.ZERO;
+        } catch (TooManyRequestsException e) {
+            return e.getRetryAfter();
+        }
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+
+    private double throttled(String scope) {
+        return meterRegistry.get(LoginThrottle.THROTTLED_COUNTER).tag("scope", scope).counter().count();
+    }
+}
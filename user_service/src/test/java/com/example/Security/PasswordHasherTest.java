@@ -0,0 +1,89 @@
+package com.example.Security;
+
+import com.example.Exceptions.DeadlineExceededException;
+import com.example.Exceptions.ServiceUnavailableException;
+import com.example.Util.RequestDeadline;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PasswordHasher Unit Tests")
+class PasswordHasherTest {
+
+    private final PasswordHasher hasher = new PasswordHasher(4, 1, 1, Duration.ofSeconds(5));
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+        hasher.shutdown();
+    }
+
+    @Test
+    @DisplayName("Encodes at the configured strength and verifies")
+    void encodeAndMatch() {
+        String hash = hasher.encode("secret");
+
+        assertTrue(hash.startsWith("$2a$04$"));
+        assertTrue(hasher.matches("secret", hash));
+        assertFalse(hasher.matches("wrong", hash));
+    }
+
+    @Test
+    @DisplayName("Flags hashes made at another cost in either direction")
+    void needsRehash() {
+        assertFalse(hasher.needsRehash(new BCryptPasswordEncoder(4).encode("secret")));
+        assertTrue(hasher.needsRehash(new BCryptPasswordEncoder(5).encode("secret")));
+        assertTrue(new PasswordHasher(12, 1, 1, Duration.ofSeconds(1)).needsRehash("$2a$10$abcdefghijklmnopqrstuv"));
+        assertFalse(hasher.needsRehash("plain-text"));
+        assertFalse(hasher.needsRehash(null));
+    }
+
+    @Test
+    @DisplayName("Rejects work immediately once the pool and queue are full")
+    void saturatedPoolFailsFast() throws Exception {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(hasher, "executor");
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await();
+        executor.execute(() -> { });
+
+        try {
+            assertThrows(ServiceUnavailableException.class, () -> hasher.encode("secret"));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Does not queue work for a request that is already past its deadline")
+    void expiredDeadline() {
+        RequestDeadline.set(System.currentTimeMillis() - 1);
+
+        assertThrows(DeadlineExceededException.class, () -> hasher.encode("secret"));
+    }
+
+    @Test
+    @DisplayName("Suggests the cost nearest the latency target")
+    void suggestStrength() {
+        assertEquals(10, PasswordHasher.suggestStrength(10, Duration.ofMillis(250), Duration.ofMillis(250)));
+        assertEquals(12, PasswordHasher.suggestStrength(10, Duration.ofMillis(60), Duration.ofMillis(250)));
+        assertEquals(9, PasswordHasher.suggestStrength(10, Duration.ofMillis(500), Duration.ofMillis(250)));
+        assertEquals(4, PasswordHasher.suggestStrength(5, Duration.ofSeconds(10), Duration.ofMillis(1)));
+    }
+}
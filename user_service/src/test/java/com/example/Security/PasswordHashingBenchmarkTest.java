@@ -0,0 +1,103 @@
+package com.example.Security;
+
+import com.example.Exceptions.ServiceUnavailableException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Login password checks per second at several BCrypt costs, with twice as many concurrent
+ * callers as CPUs so the bounded queue is exercised. Run with {@code mvn -Pbenchmark test};
+ * pick the highest cost whose p99 stays under the latency target.
+ */
+@Tag("benchmark")
+class PasswordHashingBenchmarkTest {
+
+    private static final int[] COSTS = {8, 10, 12};
+
+    private static final Duration RUN_TIME = Duration.ofSeconds(10);
+
+    @Test
+    void benchmarkLoginThroughputByCost() throws Exception {
+        int cpus = Runtime.getRuntime().availableProcessors();
+        int callers = cpus * 2;
+
+        System.out.printf("Password checks, %d CPUs, %d concurrent callers, queue %d:%n", cpus, callers, cpus * 4);
+        for (int cost : COSTS) {
+            PasswordHasher hasher = new PasswordHasher(cost, cpus, cpus * 4, Duration.ofSeconds(30));
+            String hash = new BCryptPasswordEncoder(cost).encode("Password123");
+            try {
+                run(hasher, hash, callers, Duration.ofSeconds(2));
+                Result result = run(hasher, hash, callers, RUN_TIME);
+                assertTrue(result.completed > 0, "No password check completed at cost " + cost);
+                System.out.printf("  cost %2d  %,8.1f logins/s  p50 %5d ms  p99 %5d ms  rejected %,d%n",
+                        cost, result.completed / (double) RUN_TIME.toSeconds(),
+                        result.percentile(50), result.percentile(99), result.rejected);
+            } finally {
+                hasher.shutdown();
+            }
+        }
+    }
+
+    private static Result run(PasswordHasher hasher, String hash, int callers, Duration duration) throws Exception {
+        long end = System.nanoTime() + duration.toNanos();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            workers.add(pool.submit(() -> {
+                while (System.nanoTime() < end) {
+                    long start = System.nanoTime();
+                    try {
+                        assertTrue(hasher.matches("Password123", hash));
+                        latencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    } catch (ServiceUnavailableException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        pool.shutdown();
+        return new Result(latencies, rejected.get());
+    }
+
+    private static final class Result {
+
+        private final List<Long> latencies;
+
+        private final int completed;
+
+        private final int rejected;
+
+        private Result(List<Long> latencies, int rejected) {
+            this.latencies = new ArrayList<>(latencies);
+            Collections.sort(this.latencies);
+            this.completed = this.latencies.size();
+            this.rejected = rejected;
+        }
+
+        private long percentile(int p) {
+            if (latencies.isEmpty()) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p / 100.0 * latencies.size()) - 1;
+            return latencies.get(Math.max(0, index));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.Security;
+
+import com.example.Model.User;
+import com.example.Repository.UserRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PrincipalCache Unit Tests")
+class PrincipalCacheTest {
+
+    @Mock
+    private UserRepo userRepo;
+
+    @InjectMocks
+    private PrincipalCache principalCache;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(principalCache, "maximumSize", 100L);
+        ReflectionTestUtils.setField(principalCache, "ttl", Duration.ofMinutes(5));
+        principalCache.init();
+
+        user = new User(UUID.randomUUID(), "John", "john@example.com", "hash", "123", "ADMIN", 0L);
+    }
+
+    @Test
+    @DisplayName("Loads a user once and serves later lookups from the cache")
+    void get_CachesById() {
+        when(userRepo.findById(user.getId())).thenReturn(Optional.of(user));
+
+        Optional<AuthenticatedUser> first = principalCache.get(user.getId().toString(), user.getEmail());
+        Optional<AuthenticatedUser> second = principalCache.get(user.getId().toString(), user.getEmail());
+
+        assertEquals("ADMIN", first.orElseThrow().role());
+        assertEquals(first, second);
+        verify(userRepo, times(1)).findById(user.getId());
+    }
+
+    @Test
+    @DisplayName("Keeps only id, email and role, never the password hash")
+    void get_ReturnsProjection() {
+        when(userRepo.findById(user.getId())).thenReturn(Optional.of(user));
+
+        assertEquals(new AuthenticatedUser(user.getId(), "john@example.com", "ADMIN"),
+                principalCache.get(user.getId().toString(), user.getEmail()).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("A user without an email resolves to nothing")
+    void get_UserWithoutEmail() {
+        user.setEmail(null);
+        when(userRepo.findById(user.getId())).thenReturn(Optional.of(user));
+
+        assertTrue(principalCache.get(user.getId().toString(), "john@example.com").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Invalidation forces a reload")
+    void invalidate_Reloads() {
+        when(userRepo.findById(user.getId())).thenReturn(Optional.of(user));
+        principalCache.get(user.getId().toString(), user.getEmail());
+
+        principalCache.invalidate(user.getId());
+        principalCache.get(user.getId().toString(), user.getEmail());
+
+        verify(userRepo, times(2)).findById(user.getId());
+    }
+
+    @Test
+    @DisplayName("Token for an old email resolves to nothing")
+    void get_EmailMismatch() {
+        when(userRepo.findById(user.getId())).thenReturn(Optional.of(user));
+
+        assertTrue(principalCache.get(user.getId().toString(), "old@example.com").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Missing users are not cached")
+    void get_UnknownUser() {
+        UUID id = UUID.randomUUID();
+        when(userRepo.findById(id)).thenReturn(Optional.empty());
+
+        assertTrue(principalCache.get(id.toString(), "ghost@example.com").isEmpty());
+        assertTrue(principalCache.get(id.toString(), "ghost@example.com").isEmpty());
+        verify(userRepo, times(2)).findById(id);
+    }
+
+    @Test
+    @DisplayName("Falls back to email lookup without a userId claim")
+    void get_NoUserIdClaim() {
+        when(userRepo.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+
+        assertEquals(Optional.of(AuthenticatedUser.of(user)), principalCache.get(null, user.getEmail()));
+        verify(userRepo, never()).findById(any());
+    }
+}
@@ -59,17 +59,17 @@ class SecurityUtilTest {
     }
 
     @Test
-    @DisplayName("Returns principal when authentication contains User")
+    @DisplayName("Returns principal when authentication contains AuthenticatedUser")
     void getCurrentUser_PrincipalUser() {
         User user = buildUser("USER");
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getPrincipal()).thenReturn(user);
+        when(authentication.getPrincipal()).thenReturn(AuthenticatedUser.of(user));
         SecurityContextHolder.setContext(securityContext);
 
-        User result = securityUtil.getCurrentUser();
+        AuthenticatedUser result = securityUtil.getCurrentUser();
 
-        assertEquals(user, result);
+        assertEquals(AuthenticatedUser.of(user), result);
     }
 
     @Test
@@ -82,11 +82,11 @@ class SecurityUtilTest {
         when(userRepo.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
         SecurityContextHolder.setContext(securityContext);
 
-        User result = securityUtil.getCurrentUser();
+        AuthenticatedUser result = securityUtil.getCurrentUser();
 
         assertNotNull(result);
-        assertEquals(user.getId(), result.getId());
-        assertEquals("ADMIN", result.getRole());
+        assertEquals(user.getId(), result.id());
+        assertEquals("ADMIN", result.role());
     }
 
     @Test
@@ -107,7 +107,7 @@ class SecurityUtilTest {
         User user = buildUser("USER");
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getPrincipal()).thenReturn(user);
+        when(authentication.getPrincipal()).thenReturn(AuthenticatedUser.of(user));
         SecurityContextHolder.setContext(securityContext);
 
         assertEquals(user.getId(), securityUtil.getCurrentUserId());
@@ -125,7 +125,7 @@ class SecurityUtilTest {
         User admin = buildUser("admin");
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getPrincipal()).thenReturn(admin);
+        when(authentication.getPrincipal()).thenReturn(AuthenticatedUser.of(admin));
         SecurityContextHolder.setContext(securityContext);
 
         assertTrue(securityUtil.isAdmin());
@@ -137,7 +137,7 @@ class SecurityUtilTest {
         User user = buildUser("User");
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getPrincipal()).thenReturn(user);
+        when(authentication.getPrincipal()).thenReturn(AuthenticatedUser.of(user));
         SecurityContextHolder.setContext(securityContext);
 
         assertTrue(securityUtil.hasRole("user"));
@@ -145,7 +145,7 @@ class SecurityUtilTest {
     }
 
     @Test
-    @DisplayName("Returns null when principal is neither User nor String")
+    @DisplayName("Returns null when principal is neither AuthenticatedUser nor String")
     void getCurrentUser_PrincipalOtherType() {
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.isAuthenticated()).thenReturn(true);
@@ -176,7 +176,7 @@ class SecurityUtilTest {
         User user = buildUser("USER");
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getPrincipal()).thenReturn(user);
+        when(authentication.getPrincipal()).thenReturn(AuthenticatedUser.of(user));
         SecurityContextHolder.setContext(securityContext);
 
         assertFalse(securityUtil.isAdmin());
@@ -188,7 +188,7 @@ class SecurityUtilTest {
         User user = buildUser(null);
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getPrincipal()).thenReturn(user);
+        when(authentication.getPrincipal()).thenReturn(AuthenticatedUser.of(user));
         SecurityContextHolder.setContext(securityContext);
 
         assertFalse(securityUtil.isAdmin());
@@ -200,7 +200,7 @@ class SecurityUtilTest {
         User user = buildUser("USER");
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getPrincipal()).thenReturn(user);
+        when(authentication.getPrincipal()).thenReturn(AuthenticatedUser.of(user));
         SecurityContextHolder.setContext(securityContext);
 
         assertFalse(securityUtil.hasRole(null));
@@ -218,7 +218,7 @@ class SecurityUtilTest {
         User user = buildUser(null);
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.isAuthenticated()).thenReturn(true);
-        when(authentication.getPrincipal()).thenReturn(user);
+        when(authentication.getPrincipal()).thenReturn(AuthenticatedUser.of(user));
         SecurityContextHolder.setContext(securityContext);
 
         assertFalse(securityUtil.hasRole("USER"));
@@ -0,0 +1,153 @@
+package com.example.Service;
+
+import com.example.Exceptions.ValidationException;
+import com.example.Model.RefreshToken;
+import com.example.Repository.RefreshTokenRepo;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefreshTokenService Unit Tests")
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepo refreshTokenRepo;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Stores only the hash of an issued token")
+    void issue_StoresHash() {
+        RefreshTokenService.Issued issued = refreshTokenService.issue(userId);
+
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepo).save(saved.capture());
+        assertEquals(RefreshTokenService.hash(issued.token()), saved.getValue().getTokenHash());
+        assertNotEquals(issued.token(), saved.getValue().getTokenHash());
+        assertEquals(userId, saved.getValue().getUserId());
+        assertTrue(issued.expiresAt().isAfter(Instant.now()));
+        verify(refreshTokenRepo).deleteExpiredForUser(eq(userId), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Rotation revokes the presented token and issues one in the same family")
+    void rotate_Success() {
+        RefreshToken current = stored("old-token", null, Instant.now().plusSeconds(60));
+        when(refreshTokenRepo.findByTokenHash(RefreshTokenService.hash("old-token"))).thenReturn(Optional.of(current));
+        when(refreshTokenRepo.revokeIfActive(eq(current.getId()), any(Instant.class))).thenReturn(1);
+
+        RefreshTokenService.Issued issued = refreshTokenService.rotate("old-token");
+
+        assertNotEquals("old-token", issued.token());
+        assertEquals(userId, issued.userId());
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepo).save(saved.capture());
+        assertEquals(current.getFamilyId(), saved.getValue().getFamilyId());
+        verify(refreshTokenRepo, never()).revokeFamily(any(), any());
+    }
+
+    @Test
+    @DisplayName("Of two concurrent refreshes with one token, one rotates and the other revokes the family")
+    void rotate_ConcurrentReuse() throws Exception {
+        RefreshToken current = stored("old-token", null, Instant.now().plusSeconds(60));
+        // Both requests read the token while it is still active
+        CyclicBarrier bothRead = new CyclicBarrier(2);
+        when(refreshTokenRepo.findByTokenHash(RefreshTokenService.hash("old-token"))).thenAnswer(invocation -> {
+            bothRead.await(5, TimeUnit.SECONDS);
+            return Optional.of(current);
+        });
+        // The database applies the conditional update to one of them only
+        AtomicBoolean active = new AtomicBoolean(true);
+        when(refreshTokenRepo.revokeIfActive(eq(current.getId()), any(Instant.class)))
+                .thenAnswer(invocation -> active.compareAndSet(true, false) ? 1 : 0);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<RefreshTokenService.Issued>> results = executor.invokeAll(List.of(
+                    () -> refreshTokenService.rotate("old-token"),
+                    () -> refreshTokenService.rotate("old-token")));
+
+            int rotated = 0;
+            int rejected = 0;
+            for (Future<RefreshTokenService.Issued> result : results) {
+                try {
+                    assertNotNull(result.get());
+                    rotated++;
+                } catch (ExecutionException e) {
+                    assertInstanceOf(ValidationException.class, e.getCause());
+                    rejected++;
+                }
+            }
+            assertEquals(1, rotated);
+            assertEquals(1, rejected);
+        } finally {
+            executor.shutdownNow();
+        }
+        verify(refreshTokenRepo).save(any(RefreshToken.class));
+        verify(refreshTokenRepo).revokeFamily(eq(current.getFamilyId()), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("Reusing a rotated token revokes its whole family")
+    void rotate_ReuseRevokesFamily() {
+        RefreshToken current = stored("old-token", Instant.now().minusSeconds(5), Instant.now().plusSeconds(60));
+        when(refreshTokenRepo.findByTokenHash(RefreshTokenService.hash("old-token"))).thenReturn(Optional.of(current));
+
+        assertThrows(ValidationException.class, () -> refreshTokenService.rotate("old-token"));
+
+        verify(refreshTokenRepo).revokeFamily(eq(current.getFamilyId()), any(Instant.class));
+        verify(refreshTokenRepo, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Expired and unknown tokens are rejected")
+    void rotate_ExpiredOrUnknown() {
+        RefreshToken expired = stored("expired-token", null, Instant.now().minusSeconds(1));
+        when(refreshTokenRepo.findByTokenHash(RefreshTokenService.hash("expired-token"))).thenReturn(Optional.of(expired));
+        when(refreshTokenRepo.findByTokenHash(RefreshTokenService.hash("unknown"))).thenReturn(Optional.empty());
+
+        assertThrows(ValidationException.class, () -> refreshTokenService.rotate("expired-token"));
+        assertThrows(ValidationException.class, () -> refreshTokenService.rotate("unknown"));
+        verify(refreshTokenRepo, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Logout revokes the token family")
+    void revoke_RevokesFamily() {
+        RefreshToken current = stored("old-token", null, Instant.now().plusSeconds(60));
+        when(refreshTokenRepo.findByTokenHash(RefreshTokenService.hash("old-token"))).thenReturn(Optional.of(current));
+
+        refreshTokenService.revoke("old-token");
+
+        verify(refreshTokenRepo).revokeFamily(eq(current.getFamilyId()), any(Instant.class));
+    }
+
+    private RefreshToken stored(String rawToken, Instant revokedAt, Instant expiresAt) {
+        return new RefreshToken(UUID.randomUUID(), RefreshTokenService.hash(rawToken), userId,
+                UUID.randomUUID(), expiresAt, revokedAt);
+    }
+}
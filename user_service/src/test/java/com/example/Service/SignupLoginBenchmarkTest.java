@@ -0,0 +1,158 @@
+package com.example.Service;
+
+import com.example.DTO.LoginRequestDTO;
+import com.example.DTO.UserCreateDTO;
+import com.example.Model.User;
+import com.example.Repository.UserRepo;
+import com.example.Security.LoginThrottle;
+import com.example.Security.PasswordHasher;
+import com.example.Security.PrincipalCache;
+import com.example.Util.JwtUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Signup and login throughput with each repository call charged a simulated database round
+ * trip, comparing the old path (exists check, insert, re-read, token parsed back twice) with
+ * the current one. BCrypt runs at cost 4 so the round trips, not the hash, dominate. Run with
+ * {@code mvn -Pbenchmark test}; each figure is operations per second on one thread.
+ */
+@Tag("benchmark")
+class SignupLoginBenchmarkTest {
+
+    private static final long ROUND_TRIP_NANOS = Duration.ofMillis(1).toNanos();
+
+    private static final int WARMUP_ITERATIONS = 200;
+
+    private static final int MEASURED_ITERATIONS = 1_000;
+
+    private final AtomicInteger roundTrips = new AtomicInteger();
+
+    private UserService userService;
+
+    private JwtUtil jwtUtil;
+
+    private UserRepo userRepo;
+
+    private PasswordHasher passwordHasher;
+
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secretKeyString",
+                "MySecretKeyForJWTTokenGenerationMustBeAtLeast256BitsLongForHS256Algorithm");
+        jwtUtil.initializeSecretKey();
+
+        passwordHasher = new PasswordHasher(4, 1, 16, Duration.ofSeconds(5));
+        User stored = new User(UUID.randomUUID(), "Bench", "bench@example.com",
+                passwordHasher.encode("Password123"), "123", "USER", 0L);
+
+        userRepo = mock(UserRepo.class);
+        when(userRepo.existsByEmail(anyString())).thenAnswer(invocation -> roundTrip(false));
+        when(userRepo.saveAndFlush(any(User.class))).thenAnswer(invocation -> roundTrip(withId(invocation.getArgument(0))));
+        when(userRepo.save(any(User.class))).thenAnswer(invocation -> roundTrip(withId(invocation.getArgument(0))));
+        when(userRepo.findById(any(UUID.class))).thenAnswer(invocation -> roundTrip(Optional.of(stored)));
+        when(userRepo.findByEmail(anyString())).thenAnswer(invocation -> roundTrip(Optional.of(stored)));
+
+        refreshTokenService = mock(RefreshTokenService.class);
+        when(refreshTokenService.issue(any(UUID.class))).thenAnswer(invocation ->
+                roundTrip(new RefreshTokenService.Issued("refresh", invocation.getArgument(0), Instant.now())));
+
+        userService = new UserService();
+        ReflectionTestUtils.setField(userService, "userRepo", userRepo);
+        ReflectionTestUtils.setField(userService, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(userService, "passwordHasher", passwordHasher);
+        ReflectionTestUtils.setField(userService, "principalCache", mock(PrincipalCache.class));
+        ReflectionTestUtils.setField(userService, "refreshTokenService", refreshTokenService);
+        ReflectionTestUtils.setField(userService, "loginThrottle", mock(LoginThrottle.class));
+        ReflectionTestUtils.setField(userService, "userEventPublisher", mock(UserEventPublisher.class));
+        ReflectionTestUtils.setField(userService, "userSearchIndex", mock(UserSearchIndex.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    void benchmarkSignupAndLogin() {
+        UserCreateDTO signup = new UserCreateDTO();
+        signup.setName("Bench");
+        signup.setEmail("bench@example.com");
+        signup.setPassword("Password123");
+        LoginRequestDTO login = new LoginRequestDTO("bench@example.com", "Password123");
+
+        System.out.printf("Signup/login, %d ms per database round trip, single thread:%n",
+                Duration.ofNanos(ROUND_TRIP_NANOS).toMillis());
+        measure("signup (previous path)", () -> previousSignup(signup));
+        measure("signup", () -> assertNotNull(userService.signup(signup).getToken()));
+        measure("login (previous path)", () -> previousLogin(login));
+        measure("login", () -> assertNotNull(userService.login(login, null).getToken()));
+    }
+
+    // The pre-change sequence, replayed against the same mocks for comparison
+    private void previousSignup(UserCreateDTO signup) {
+        userRepo.existsByEmail(signup.getEmail());
+        User saved = userRepo.save(new User(null, signup.getName(), signup.getEmail(),
+                passwordHasher.encode(signup.getPassword()), null, "USER", 0L));
+        User reread = userRepo.findById(saved.getId()).orElseThrow();
+        refreshTokenService.issue(reread.getId());
+        mintAndParse(reread);
+    }
+
+    private void previousLogin(LoginRequestDTO login) {
+        User user = userRepo.findByEmail(login.getEmail()).orElseThrow();
+        assertTrue(passwordHasher.matches(login.getPassword(), user.getPassword()));
+        refreshTokenService.issue(user.getId());
+        mintAndParse(user);
+    }
+
+    private void mintAndParse(User user) {
+        String token = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole());
+        assertNotNull(jwtUtil.getExpirationDateFromToken(token));
+        assertNotNull(jwtUtil.getIssuedAtDateFromToken(token));
+    }
+
+    private void measure(String name, Runnable operation) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            operation.run();
+        }
+        roundTrips.set(0);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            operation.run();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("  %-24s %,8.0f ops/s  %.1f round trips/op%n", name, MEASURED_ITERATIONS / seconds,
+                roundTrips.get() / (double) MEASURED_ITERATIONS);
+    }
+
+    private <T> T roundTrip(T result) {
+        roundTrips.incrementAndGet();
+        LockSupport.parkNanos(ROUND_TRIP_NANOS);
+        return result;
+    }
+
+    private static User withId(User user) {
+        if (user.getId() == null) {
+            user.setId(UUID.randomUUID());
+        }
+        return user;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.Service;
+
+import com.example.Config.RabbitMQConfig;
+import com.example.DTO.UserChangedEvent;
+import com.example.Model.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.net.ConnectException;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserEventPublisherTest {
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @InjectMocks
+    private UserEventPublisher userEventPublisher;
+
+    private final User user = new User(UUID.randomUUID(), "John Doe", "john@example.com", "hash", "123", "USER", 3L);
+
+    @Test
+    void testPublishUserCreated() {
+        userEventPublisher.publishUserCreated(user);
+
+        ArgumentCaptor<UserChangedEvent> event = ArgumentCaptor.forClass(UserChangedEvent.class);
+        verify(rabbitTemplate).convertAndSend(eq(RabbitMQConfig.USER_EVENTS_EXCHANGE),
+                eq(RabbitMQConfig.USER_CREATED_ROUTING_KEY), event.capture());
+        assertEquals(user.getId(), event.getValue().getUserId());
+        assertEquals("CREATED", event.getValue().getEventType());
+        assertEquals("john@example.com", event.getValue().getEmail());
+        assertTrue(event.getValue().isActive());
+        assertEquals(3L, event.getValue().getVersion());
+        assertNotNull(event.getValue().getTimestamp());
+    }
+
+    @Test
+    void testPublishUserUpdated() {
+        userEventPublisher.publishUserUpdated(user);
+
+        verify(rabbitTemplate).convertAndSend(eq(RabbitMQConfig.USER_EVENTS_EXCHANGE),
+                eq(RabbitMQConfig.USER_UPDATED_ROUTING_KEY), any(UserChangedEvent.class));
+    }
+
+    @Test
+    void testPublishUserDeleted() {
+        userEventPublisher.publishUserDeleted(user);
+
+        ArgumentCaptor<UserChangedEvent> event = ArgumentCaptor.forClass(UserChangedEvent.class);
+        verify(rabbitTemplate).convertAndSend(eq(RabbitMQConfig.USER_EVENTS_EXCHANGE),
+                eq(RabbitMQConfig.USER_DELETED_ROUTING_KEY), event.capture());
+        assertEquals("DELETED", event.getValue().getEventType());
+        assertFalse(event.getValue().isActive());
+        assertNull(event.getValue().getEmail());
+        assertEquals(4L, event.getValue().getVersion());
+    }
+
+    @Test
+    void testPublishFailureDoesNotPropagate() {
+        doThrow(new AmqpConnectException(new ConnectException("refused")))
+                .when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class));
+
+        assertDoesNotThrow(() -> userEventPublisher.publishUserCreated(user));
+    }
+}
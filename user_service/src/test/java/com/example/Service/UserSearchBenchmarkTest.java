@@ -0,0 +1,68 @@
+package com.example.Service;
+
+import com.example.Model.User;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Typeahead latency of the in-memory user search index over a large directory, for prefixes
+ * from one to five characters. Run with {@code mvn -Pbenchmark test}; each figure is the mean
+ * time per query on one thread.
+ */
+@Tag("benchmark")
+class UserSearchBenchmarkTest {
+
+    private static final int USERS = 200_000;
+
+    private static final int WARMUP_QUERIES = 20_000;
+
+    private static final int MEASURED_QUERIES = 100_000;
+
+    private static final String[] FIRST_NAMES = {"james", "mary", "john", "patricia", "robert", "jennifer",
+            "michael", "linda", "william", "elizabeth", "david", "barbara", "richard", "susan", "joseph", "jessica"};
+
+    private static final String[] LAST_NAMES = {"smith", "johnson", "williams", "brown", "jones", "garcia",
+            "miller", "davis", "rodriguez", "martinez", "hernandez", "lopez", "gonzalez", "wilson", "anderson"};
+
+    @Test
+    void benchmarkPrefixQueries() {
+        Random random = new Random(42);
+        UserSearchIndex index = new UserSearchIndex();
+        long start = System.nanoTime();
+        for (int i = 0; i < USERS; i++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            index.put(new User(UUID.randomUUID(), first + " " + last, first + "." + last + i + "@example.com",
+                    "hash", null, "USER", 0L));
+        }
+        System.out.printf("Indexed %,d users in %,d ms%n", USERS, (System.nanoTime() - start) / 1_000_000);
+
+        for (int length = 1; length <= 5; length++) {
+            String[] queries = new String[64];
+            for (int q = 0; q < queries.length; q++) {
+                String name = (q % 2 == 0 ? FIRST_NAMES : LAST_NAMES)[random.nextInt(LAST_NAMES.length)];
+                queries[q] = name.substring(0, Math.min(length, name.length()));
+            }
+            run(index, queries, WARMUP_QUERIES);
+            long began = System.nanoTime();
+            int results = run(index, queries, MEASURED_QUERIES);
+            double micros = (System.nanoTime() - began) / 1e3 / MEASURED_QUERIES;
+            assertTrue(results > 0);
+            System.out.printf("  prefix length %d  %8.1f us/query%n", length, micros);
+            assertTrue(micros < 1_000, "Typeahead query took " + micros + " us");
+        }
+    }
+
+    private static int run(UserSearchIndex index, String[] queries, int count) {
+        int results = 0;
+        for (int i = 0; i < count; i++) {
+            results += index.search(queries[i % queries.length], 20).size();
+        }
+        return results;
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.Service;
+
+import com.example.DTO.UserChangedEvent;
+import com.example.DTO.UserSummaryDTO;
+import com.example.Model.User;
+import com.example.Repository.UserRepo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserSearchIndex Unit Tests")
+class UserSearchIndexTest {
+
+    @Mock
+    private UserRepo userRepo;
+
+    @InjectMocks
+    private UserSearchIndex index;
+
+    @Test
+    @DisplayName("Matches a prefix of the email or of any word of the name")
+    void search_MatchesEmailAndNameWords() {
+        User mary = user("Mary Ann Smith", "msmith@example.com");
+        User ann = user("Ann Lee", "lee@example.com");
+        User anna = user("Anna Bell", "bell@example.com");
+        index.put(mary);
+        index.put(ann);
+        index.put(anna);
+
+        assertEquals(List.of(ann.getId(), mary.getId(), anna.getId()), ids(index.search("ann", 10)));
+        assertEquals(List.of(ann.getId(), mary.getId()), ids(index.search("ann ", 10)));
+        assertEquals(List.of(mary.getId()), ids(index.search("ms", 10)));
+        assertEquals(List.of(mary.getId()), ids(index.search("smi", 10)));
+        assertTrue(index.search("zed", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Ignores case, accents and extra spaces")
+    void search_Normalizes() {
+        User jose = user("José  Ångström", "Jose.A@Example.com");
+        index.put(jose);
+
+        assertEquals(List.of(jose.getId()), ids(index.search("  JOSE ang", 10)));
+        assertEquals(List.of(jose.getId()), ids(index.search("angstrÖ", 10)));
+        assertEquals(List.of(jose.getId()), ids(index.search("jose.a@", 10)));
+    }
+
+    @Test
+    @DisplayName("Lists each user once and stops at the limit")
+    void search_DedupesAndLimits() {
+        User john = user("John Johnson", "john@example.com");
+        index.put(john);
+        for (int i = 0; i < 5; i++) {
+            index.put(user("Johnny " + i, "johnny" + i + "@example.com"));
+        }
+
+        List<UserSummaryDTO> results = index.search("john", 3);
+
+        assertEquals(3, results.size());
+        assertEquals(3, ids(results).stream().distinct().count());
+        assertEquals(List.of(john.getId()), ids(index.search("john j", 10)));
+    }
+
+    @Test
+    @DisplayName("Refiles a user whose name or email changed")
+    void put_ReplacesOldTerms() {
+        User user = user("Old Name", "old@example.com");
+        index.put(user);
+
+        user.setName("New Name");
+        user.setEmail("new@example.com");
+        index.put(user);
+
+        assertTrue(index.search("old", 10).isEmpty());
+        assertEquals("New Name", index.search("new", 10).get(0).getName());
+        assertEquals(List.of(user.getId()), ids(index.search("name", 10)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("Forgets a removed user")
+    void remove_DropsAllTerms() {
+        User user = user("Gone User", "gone@example.com");
+        index.put(user);
+
+        index.remove(user);
+        index.remove(user("Never Filed", "never@example.com"));
+
+        assertTrue(index.search("gone", 10).isEmpty());
+        assertTrue(index.search("user", 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    @DisplayName("Applies changes made through another instance")
+    void handleUserChanged_FilesRemoteChanges() {
+        User user = user("Old Name", "old@example.com");
+        index.put(user);
+
+        index.handleUserChanged(event(user.getId(), "UPDATED", "New Name", 1L));
+        UUID created = UUID.randomUUID();
+        index.handleUserChanged(event(created, "CREATED", "Fresh User", 0L));
+
+        assertTrue(index.search("old", 10).isEmpty());
+        assertEquals(List.of(user.getId()), ids(index.search("new", 10)));
+        assertEquals(List.of(created), ids(index.search("fresh", 10)));
+        assertEquals("ADMIN", index.search("fresh", 10).get(0).getRole());
+    }
+
+    @Test
+    @DisplayName("Ignores events older than what it holds")
+    void handleUserChanged_IgnoresStaleEvents() {
+        User user = user("Current Name", "current@example.com");
+        user.setVersion(5L);
+        index.put(user);
+
+        index.handleUserChanged(event(user.getId(), "UPDATED", "Stale Name", 4L));
+
+        assertTrue(index.search("stale", 10).isEmpty());
+        assertEquals(List.of(user.getId()), ids(index.search("current", 10)));
+    }
+
+    @Test
+    @DisplayName("A deleted user is not brought back by a late event")
+    void handleUserChanged_DeleteIsFinal() {
+        User user = user("Late User", "late@example.com");
+        user.setVersion(2L);
+        index.put(user);
+
+        index.handleUserChanged(event(user.getId(), "DELETED", null, 3L));
+        index.handleUserChanged(event(user.getId(), "UPDATED", "Late User", 2L));
+
+        assertTrue(index.search("late", 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    @DisplayName("Returns nothing for a blank query")
+    void search_BlankQuery() {
+        index.put(user("Some One", "someone@example.com"));
+
+        assertTrue(index.search("   ", 10).isEmpty());
+        assertTrue(index.search(null, 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Rebuilds from the database a page at a time")
+    void rebuild_PagesThroughUsers() {
+        List<User> firstPage = new ArrayList<>();
+        for (int i = 0; i < UserSearchIndex.REBUILD_PAGE_SIZE; i++) {
+            firstPage.add(user("User " + i, "user" + i + "@example.com"));
+        }
+        User last = firstPage.get(firstPage.size() - 1);
+        when(userRepo.findAllByOrderByIdAsc(any(Limit.class))).thenReturn(firstPage);
+        when(userRepo.findByIdGreaterThanOrderByIdAsc(eq(last.getId()), any(Limit.class)))
+                .thenReturn(List.of(user("Zoe Final", "zoe@example.com")));
+
+        index.rebuild();
+
+        assertEquals(UserSearchIndex.REBUILD_PAGE_SIZE + 1, index.size());
+        assertEquals(1, index.search("zoe", 10).size());
+        verify(userRepo, times(1)).findByIdGreaterThanOrderByIdAsc(any(), any(Limit.class));
+    }
+
+    private static User user(String name, String email) {
+        return new User(UUID.randomUUID(), name, email, "hash", "123", "USER", 0L);
+    }
+
+    private static UserChangedEvent event(UUID userId, String eventType, String name, long version) {
+        String email = name != null ? name.toLowerCase().replace(' ', '.') + "@example.com" : null;
+        return new UserChangedEvent(userId, eventType, name, email, "ADMIN", !"DELETED".equals(eventType),
+                version, System.currentTimeMillis());
+    }
+
+    private static List<UUID> ids(List<UserSummaryDTO> users) {
+        return users.stream().map(UserSummaryDTO::getId).collect(Collectors.toList());
+    }
+}
@@ -1,15 +1,24 @@
 package com.example.Service;
 
 import com.example.DTO.AuthResponseDTO;
+import com.example.DTO.CursorPage;
 import com.example.DTO.LoginRequestDTO;
 import com.example.DTO.UserCreateDTO;
 import com.example.DTO.UserDTO;
+import com.example.DTO.UserSummaryDTO;
 import com.example.Exceptions.DuplicateResourceException;
 import com.example.Exceptions.ResourceNotFoundException;
+import com.example.Exceptions.ServiceUnavailableException;
+import com.example.Exceptions.TooManyRequestsException;
 import com.example.Exceptions.ValidationException;
 import com.example.Model.User;
 import com.example.Repository.UserRepo;
+import com.example.Security.LoginThrottle;
+import com.example.Security.PasswordHasher;
+import com.example.Security.PrincipalCache;
 import com.example.Util.JwtUtil;
+import jakarta.persistence.EntityManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,10 +26,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
+import java.sql.SQLDataException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -30,12 +47,38 @@ import static org.mockito.Mockito.*;
 @DisplayName("UserService Unit Tests")
 class UserServiceTest {
 
+    private static final String CLIENT_ADDRESS = "203.0.113.7";
+
     @Mock
     private UserRepo userRepo;
 
     @Mock
     private JwtUtil jwtUtil;
 
+    @Mock
+    private PrincipalCache principalCache;
+
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private UserEventPublisher userEventPublisher;
+
+    @Mock
+    private LoginThrottle loginThrottle;
+
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
+    @Spy
+    private PasswordHasher passwordHasher = new PasswordHasher(10, 2, 16, Duration.ofSeconds(5));
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private UserService userService;
 
@@ -47,6 +90,7 @@ class UserServiceTest {
     private String testToken;
     private Date testExpirationDate;
     private Date testIssuedAtDate;
+    private JwtUtil.IssuedToken issuedToken;
 
     @BeforeEach
     void setUp() {
@@ -55,6 +99,7 @@ class UserServiceTest {
         testToken = "test-jwt-token";
         testExpirationDate = new Date(System.currentTimeMillis() + 1800000); // 30 mins
         testIssuedAtDate = new Date();
+        issuedToken = new JwtUtil.IssuedToken(testToken, testIssuedAtDate, testExpirationDate);
 
         testUser = new User();
         testUser.setId(testUserId);
@@ -74,40 +119,82 @@ class UserServiceTest {
         testLoginRequestDTO = new LoginRequestDTO();
         testLoginRequestDTO.setEmail("john.doe@example.com");
         testLoginRequestDTO.setPassword("Password123");
+
+        lenient().when(refreshTokenService.issue(any(UUID.class))).thenAnswer(invocation ->
+                new RefreshTokenService.Issued("test-refresh-token", invocation.getArgument(0),
+                        Instant.now().plus(Duration.ofDays(14))));
     }
 
     @Test
-    @DisplayName("Should return all users when getUsers is called")
-    void testGetUsers_Success() {
-        List<User> users = Arrays.asList(testUser, createAnotherUser());
-        when(userRepo.findAll()).thenReturn(users);
+    @DisplayName("Should return the first page with a cursor when more users follow")
+    void testGetUsers_FirstPage() {
+        User another = createAnotherUser();
+        when(userRepo.findAllByOrderByIdAsc(Limit.of(2))).thenReturn(Arrays.asList(testUser, another));
 
-        List<UserDTO> result = userService.getUsers();
+        CursorPage<UserDTO> result = userService.getUsers(null, 1);
 
-        assertNotNull(result);
-        assertEquals(2, result.size());
-        assertEquals(testUser.getId(), result.get(0).getId());
-        assertEquals(testUser.getEmail(), result.get(0).getEmail());
-        verify(userRepo, times(1)).findAll();
+        assertEquals(1, result.getContent().size());
+        assertEquals(testUser.getId(), result.getContent().get(0).getId());
+        assertTrue(result.isHasNext());
+        assertEquals(testUser.getId(), result.getNextCursor());
+        verify(userRepo, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Should seek past the cursor and end without a next cursor")
+    void testGetUsers_LastPage() {
+        User another = createAnotherUser();
+        when(userRepo.findByIdGreaterThanOrderByIdAsc(testUserId, Limit.of(51))).thenReturn(List.of(another));
+
+        CursorPage<UserDTO> result = userService.getUsers(testUserId, 50);
+
+        assertEquals(1, result.getContent().size());
+        assertFalse(result.isHasNext());
+        assertNull(result.getNextCursor());
     }
 
     @Test
-    @DisplayName("Should return empty list when no users exist")
+    @DisplayName("Should return an empty page when no users exist")
     void testGetUsers_EmptyList() {
-        when(userRepo.findAll()).thenReturn(Collections.emptyList());
+        when(userRepo.findAllByOrderByIdAsc(any(Limit.class))).thenReturn(Collections.emptyList());
 
-        List<UserDTO> result = userService.getUsers();
+        CursorPage<UserDTO> result = userService.getUsers(null, 50);
 
         assertNotNull(result);
-        assertTrue(result.isEmpty());
-        verify(userRepo, times(1)).findAll();
+        assertTrue(result.getContent().isEmpty());
+        assertFalse(result.isHasNext());
+    }
+
+    @Test
+    @DisplayName("Should clamp the page size")
+    void testGetUsers_ClampsLimit() {
+        when(userRepo.findAllByOrderByIdAsc(any(Limit.class))).thenReturn(Collections.emptyList());
+
+        assertEquals(500, userService.getUsers(null, 10_000).getLimit());
+        assertEquals(50, userService.getUsers(null, 0).getLimit());
+        verify(userRepo).findAllByOrderByIdAsc(Limit.of(501));
+        verify(userRepo).findAllByOrderByIdAsc(Limit.of(51));
+    }
+
+    @Test
+    @DisplayName("Should stream every user and detach each entity")
+    void testStreamUsers() {
+        User another = createAnotherUser();
+        when(userRepo.streamAllByOrderByIdAsc()).thenReturn(Stream.of(testUser, another));
+        List<UserDTO> received = new ArrayList<>();
+
+        userService.streamUsers(received::add);
+
+        assertEquals(2, received.size());
+        assertEquals(testUser.getId(), received.get(0).getId());
+        verify(entityManager).detach(testUser);
+        verify(entityManager).detach(another);
     }
 
     @Test
     @DisplayName("Should create user successfully with valid data")
     void testCreateUser_Success() {
-        when(userRepo.existsByEmail(testUserCreateDTO.getEmail())).thenReturn(false);
-        when(userRepo.save(any(User.class))).thenReturn(testUser);
+        when(userRepo.saveAndFlush(any(User.class))).thenReturn(testUser);
 
         UserDTO result = userService.createUser(testUserCreateDTO);
 
@@ -119,12 +206,14 @@ class UserServiceTest {
         assertEquals(testUser.getRole(), result.getRole());
 
         ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
-        verify(userRepo, times(1)).existsByEmail(testUserCreateDTO.getEmail());
-        verify(userRepo, times(1)).save(userCaptor.capture());
+        verify(userRepo, never()).existsByEmail(anyString());
+        verify(userRepo, times(1)).saveAndFlush(userCaptor.capture());
 
         User savedUser = userCaptor.getValue();
         assertTrue(passwordEncoder.matches(testUserCreateDTO.getPassword(), savedUser.getPassword()));
         assertEquals(testUserCreateDTO.getEmail(), savedUser.getEmail());
+        verify(userEventPublisher).publishUserCreated(testUser);
+        verify(userSearchIndex).put(testUser);
     }
 
     @Test
@@ -138,7 +227,7 @@ class UserServiceTest {
 
         assertEquals("Email is required and cannot be empty", exception.getMessage());
         verify(userRepo, never()).existsByEmail(anyString());
-        verify(userRepo, never()).save(any(User.class));
+        verify(userRepo, never()).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -152,7 +241,7 @@ class UserServiceTest {
 
         assertEquals("Email is required and cannot be empty", exception.getMessage());
         verify(userRepo, never()).existsByEmail(anyString());
-        verify(userRepo, never()).save(any(User.class));
+        verify(userRepo, never()).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -166,7 +255,7 @@ class UserServiceTest {
 
         assertEquals("Password is required and cannot be empty", exception.getMessage());
         verify(userRepo, never()).existsByEmail(anyString());
-        verify(userRepo, never()).save(any(User.class));
+        verify(userRepo, never()).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -180,34 +269,35 @@ class UserServiceTest {
 
         assertEquals("Password is required and cannot be empty", exception.getMessage());
         verify(userRepo, never()).existsByEmail(anyString());
-        verify(userRepo, never()).save(any(User.class));
+        verify(userRepo, never()).saveAndFlush(any(User.class));
     }
 
     @Test
     @DisplayName("Should throw DuplicateResourceException when email already exists")
     void testCreateUser_DuplicateEmail() {
-        when(userRepo.existsByEmail(testUserCreateDTO.getEmail())).thenReturn(true);
+        when(userRepo.saveAndFlush(any(User.class))).thenThrow(duplicateEmail());
 
         DuplicateResourceException exception = assertThrows(DuplicateResourceException.class, () -> {
             userService.createUser(testUserCreateDTO);
         });
 
         assertEquals("User with email '" + testUserCreateDTO.getEmail() + "' already exists", exception.getMessage());
-        verify(userRepo, times(1)).existsByEmail(testUserCreateDTO.getEmail());
-        verify(userRepo, never()).save(any(User.class));
+        verify(userRepo, never()).existsByEmail(anyString());
+        verify(userRepo, times(1)).saveAndFlush(any(User.class));
+        verifyNoInteractions(userEventPublisher);
+        verifyNoInteractions(userSearchIndex);
     }
 
     @Test
     @DisplayName("Should set default role as USER when role is null")
     void testCreateUser_DefaultRole() {
         testUserCreateDTO.setRole(null);
-        when(userRepo.existsByEmail(testUserCreateDTO.getEmail())).thenReturn(false);
-        when(userRepo.save(any(User.class))).thenReturn(testUser);
+        when(userRepo.saveAndFlush(any(User.class))).thenReturn(testUser);
 
         userService.createUser(testUserCreateDTO);
 
         ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
-        verify(userRepo).save(userCaptor.capture());
+        verify(userRepo).saveAndFlush(userCaptor.capture());
         assertEquals("USER", userCaptor.getValue().getRole());
     }
 
@@ -267,6 +357,10 @@ class UserServiceTest {
         assertTrue(passwordEncoder.matches(updateDTO.getPassword(), updatedUser.getPassword()));
         assertEquals(updateDTO.getPhoneNumber(), updatedUser.getPhoneNumber());
         assertEquals(updateDTO.getRole(), updatedUser.getRole());
+        verify(principalCache).invalidate(testUserId);
+        verify(refreshTokenService).revokeAll(testUserId);
+        verify(userEventPublisher).publishUserUpdated(testUser);
+        verify(userSearchIndex).put(testUser);
     }
 
     @Test
@@ -285,6 +379,7 @@ class UserServiceTest {
         User updatedUser = userCaptor.getValue();
         assertEquals(updateDTO.getName(), updatedUser.getName());
         assertEquals(testUser.getEmail(), updatedUser.getEmail());
+        verify(refreshTokenService, never()).revokeAll(any());
     }
 
     @Test
@@ -318,6 +413,7 @@ class UserServiceTest {
         assertEquals("User with email '" + updateDTO.getEmail() + "' already exists", exception.getMessage());
         verify(userRepo, times(1)).existsByEmail(updateDTO.getEmail());
         verify(userRepo, never()).save(any(User.class));
+        verifyNoInteractions(principalCache);
     }
 
     @Test
@@ -337,6 +433,37 @@ class UserServiceTest {
         verify(userRepo, times(1)).save(any(User.class));
     }
 
+    @Test
+    @DisplayName("Should resolve many users with one query, dropping duplicate ids")
+    void testGetUserSummaries_Success() {
+        UUID otherId = UUID.randomUUID();
+        List<UserSummaryDTO> summaries = List.of(
+                new UserSummaryDTO(testUserId, "John Doe", "john.doe@example.com", "USER"));
+        when(userRepo.findSummariesByIdIn(anyCollection())).thenReturn(summaries);
+
+        List<UserSummaryDTO> result = userService.getUserSummaries(List.of(testUserId, otherId, testUserId));
+
+        assertEquals(summaries, result);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<UUID>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(userRepo, times(1)).findSummariesByIdIn(ids.capture());
+        assertEquals(2, ids.getValue().size());
+        verify(userRepo, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Should reject an empty or oversized batch")
+    void testGetUserSummaries_Invalid() {
+        List<UUID> tooMany = new ArrayList<>();
+        for (int i = 0; i <= 500; i++) {
+            tooMany.add(UUID.randomUUID());
+        }
+
+        assertThrows(ValidationException.class, () -> userService.getUserSummaries(List.of()));
+        assertThrows(ValidationException.class, () -> userService.getUserSummaries(tooMany));
+        verifyNoInteractions(userRepo);
+    }
+
     @Test
     @DisplayName("Should delete user successfully when user exists")
     void testDeleteUser_Success() {
@@ -347,6 +474,10 @@ class UserServiceTest {
 
         verify(userRepo, times(1)).findById(testUserId);
         verify(userRepo, times(1)).delete(testUser);
+        verify(principalCache).invalidate(testUserId);
+        verify(refreshTokenService).revokeAll(testUserId);
+        verify(userEventPublisher).publishUserDeleted(testUser);
+        verify(userSearchIndex).remove(testUser);
     }
 
     @Test
@@ -364,15 +495,43 @@ class UserServiceTest {
         verify(userRepo, never()).delete(any(User.class));
     }
 
+    @Test
+    @DisplayName("Should search the index with the requested limit")
+    void testSearchUsers_Success() {
+        List<UserSummaryDTO> matches = List.of(new UserSummaryDTO(testUserId, "John Doe", "john.doe@example.com", "USER"));
+        when(userSearchIndex.search("jo", 10)).thenReturn(matches);
+
+        assertEquals(matches, userService.searchUsers("jo", 10));
+        verifyNoInteractions(userRepo);
+    }
+
+    @Test
+    @DisplayName("Should clamp the search limit")
+    void testSearchUsers_ClampsLimit() {
+        when(userSearchIndex.search(anyString(), anyInt())).thenReturn(List.of());
+
+        userService.searchUsers("jo", 0);
+        userService.searchUsers("jo", 10_000);
+
+        verify(userSearchIndex).search("jo", 20);
+        verify(userSearchIndex).search("jo", 100);
+    }
+
+    @Test
+    @DisplayName("Should reject a blank search query")
+    void testSearchUsers_BlankQuery() {
+        assertThrows(ValidationException.class, () -> userService.searchUsers("  ", 10));
+        assertThrows(ValidationException.class, () -> userService.searchUsers(null, 10));
+        verifyNoInteractions(userSearchIndex);
+    }
+
     @Test
     @DisplayName("Should login successfully with valid credentials")
     void testLogin_Success() {
         when(userRepo.findByEmail(testLoginRequestDTO.getEmail())).thenReturn(Optional.of(testUser));
-        when(jwtUtil.generateToken(testUserId, testUser.getEmail(), testUser.getRole())).thenReturn(testToken);
-        when(jwtUtil.getExpirationDateFromToken(testToken)).thenReturn(testExpirationDate);
-        when(jwtUtil.getIssuedAtDateFromToken(testToken)).thenReturn(testIssuedAtDate);
+        when(jwtUtil.issueToken(testUserId, testUser.getEmail(), testUser.getRole())).thenReturn(issuedToken);
 
-        AuthResponseDTO result = userService.login(testLoginRequestDTO);
+        AuthResponseDTO result = userService.login(testLoginRequestDTO, CLIENT_ADDRESS);
 
         assertNotNull(result);
         assertEquals(testToken, result.getToken());
@@ -385,7 +544,7 @@ class UserServiceTest {
         assertEquals(testUser.getEmail(), result.getUser().getEmail());
 
         verify(userRepo, times(1)).findByEmail(testLoginRequestDTO.getEmail());
-        verify(jwtUtil, times(1)).generateToken(testUserId, testUser.getEmail(), testUser.getRole());
+        verify(jwtUtil, times(1)).issueToken(testUserId, testUser.getEmail(), testUser.getRole());
     }
 
     @Test
@@ -394,7 +553,7 @@ class UserServiceTest {
         testLoginRequestDTO.setEmail(null);
 
         ValidationException exception = assertThrows(ValidationException.class, () -> {
-            userService.login(testLoginRequestDTO);
+            userService.login(testLoginRequestDTO, CLIENT_ADDRESS);
         });
 
         assertEquals("Email is required", exception.getMessage());
@@ -407,7 +566,7 @@ class UserServiceTest {
         testLoginRequestDTO.setEmail("   ");
 
         ValidationException exception = assertThrows(ValidationException.class, () -> {
-            userService.login(testLoginRequestDTO);
+            userService.login(testLoginRequestDTO, CLIENT_ADDRESS);
         });
 
         assertEquals("Email is required", exception.getMessage());
@@ -420,7 +579,7 @@ class UserServiceTest {
         testLoginRequestDTO.setPassword(null);
 
         ValidationException exception = assertThrows(ValidationException.class, () -> {
-            userService.login(testLoginRequestDTO);
+            userService.login(testLoginRequestDTO, CLIENT_ADDRESS);
         });
 
         assertEquals("Password is required", exception.getMessage());
@@ -433,7 +592,7 @@ class UserServiceTest {
         testLoginRequestDTO.setPassword("   ");
 
         ValidationException exception = assertThrows(ValidationException.class, () -> {
-            userService.login(testLoginRequestDTO);
+            userService.login(testLoginRequestDTO, CLIENT_ADDRESS);
         });
 
         assertEquals("Password is required", exception.getMessage());
@@ -446,12 +605,12 @@ class UserServiceTest {
         when(userRepo.findByEmail(testLoginRequestDTO.getEmail())).thenReturn(Optional.empty());
 
         ValidationException exception = assertThrows(ValidationException.class, () -> {
-            userService.login(testLoginRequestDTO);
+            userService.login(testLoginRequestDTO, CLIENT_ADDRESS);
         });
 
         assertEquals("Invalid email or password", exception.getMessage());
         verify(userRepo, times(1)).findByEmail(testLoginRequestDTO.getEmail());
-        verify(jwtUtil, never()).generateToken(any(), anyString(), anyString());
+        verify(jwtUtil, never()).issueToken(any(), anyString(), anyString());
     }
 
     @Test
@@ -461,23 +620,176 @@ class UserServiceTest {
         when(userRepo.findByEmail(testLoginRequestDTO.getEmail())).thenReturn(Optional.of(testUser));
 
         ValidationException exception = assertThrows(ValidationException.class, () -> {
-            userService.login(testLoginRequestDTO);
+            userService.login(testLoginRequestDTO, CLIENT_ADDRESS);
         });
 
         assertEquals("Invalid email or password", exception.getMessage());
         verify(userRepo, times(1)).findByEmail(testLoginRequestDTO.getEmail());
-        verify(jwtUtil, never()).generateToken(any(), anyString(), anyString());
+        verify(jwtUtil, never()).issueToken(any(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should refuse a throttled login before looking up the user or hashing")
+    void testLogin_Throttled() {
+        doThrow(new TooManyRequestsException("Too many failed login attempts, try again later", Duration.ofSeconds(4)))
+                .when(loginThrottle).check(testLoginRequestDTO.getEmail(), CLIENT_ADDRESS);
+
+        assertThrows(TooManyRequestsException.class, () -> userService.login(testLoginRequestDTO, CLIENT_ADDRESS));
+
+        verify(userRepo, never()).findByEmail(anyString());
+        verify(passwordHasher, never()).matches(anyString(), anyString());
+        verify(loginThrottle, never()).recordFailure(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should count a failed login against the email and address")
+    void testLogin_FailureRecorded() {
+        testLoginRequestDTO.setPassword("WrongPassword123");
+        when(userRepo.findByEmail(testLoginRequestDTO.getEmail())).thenReturn(Optional.of(testUser));
+
+        assertThrows(ValidationException.class, () -> userService.login(testLoginRequestDTO, CLIENT_ADDRESS));
+
+        verify(loginThrottle).recordFailure(testLoginRequestDTO.getEmail(), CLIENT_ADDRESS);
+        verify(loginThrottle, never()).recordSuccess(anyString());
+    }
+
+    @Test
+    @DisplayName("Should count a login for an unknown email as a failure")
+    void testLogin_UnknownEmailRecorded() {
+        when(userRepo.findByEmail(testLoginRequestDTO.getEmail())).thenReturn(Optional.empty());
+
+        assertThrows(ValidationException.class, () -> userService.login(testLoginRequestDTO, CLIENT_ADDRESS));
+
+        verify(loginThrottle).recordFailure(testLoginRequestDTO.getEmail(), CLIENT_ADDRESS);
+    }
+
+    @Test
+    @DisplayName("Should clear the email's failures on a successful login")
+    void testLogin_SuccessRecorded() {
+        when(userRepo.findByEmail(testLoginRequestDTO.getEmail())).thenReturn(Optional.of(testUser));
+        when(jwtUtil.issueToken(testUserId, testUser.getEmail(), testUser.getRole())).thenReturn(issuedToken);
+
+        userService.login(testLoginRequestDTO, CLIENT_ADDRESS);
+
+        verify(loginThrottle).check(testLoginRequestDTO.getEmail(), CLIENT_ADDRESS);
+        verify(loginThrottle).recordSuccess(testLoginRequestDTO.getEmail());
+        verify(loginThrottle, never()).recordFailure(anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should issue a refresh token on login")
+    void testLogin_IssuesRefreshToken() {
+        when(userRepo.findByEmail(testLoginRequestDTO.getEmail())).thenReturn(Optional.of(testUser));
+        when(jwtUtil.issueToken(testUserId, testUser.getEmail(), testUser.getRole())).thenReturn(issuedToken);
+
+        AuthResponseDTO result = userService.login(testLoginRequestDTO, CLIENT_ADDRESS);
+
+        assertEquals("test-refresh-token", result.getRefreshToken());
+        assertNotNull(result.getRefreshExpiresAt());
+        verify(refreshTokenService).issue(testUserId);
+    }
+
+    @Test
+    @DisplayName("Should mint a new access token from a refresh token without hashing")
+    void testRefresh_Success() {
+        RefreshTokenService.Issued rotated = new RefreshTokenService.Issued("rotated-token", testUserId,
+                Instant.now().plus(Duration.ofDays(14)));
+        when(refreshTokenService.rotate("old-token")).thenReturn(rotated);
+        when(userRepo.findById(testUserId)).thenReturn(Optional.of(testUser));
+        when(jwtUtil.issueToken(testUserId, testUser.getEmail(), testUser.getRole())).thenReturn(issuedToken);
+
+        AuthResponseDTO result = userService.refresh("old-token");
+
+        assertEquals(testToken, result.getToken());
+        assertEquals("rotated-token", result.getRefreshToken());
+        assertEquals("Token refreshed", result.getMessage());
+        assertEquals(testUserId, result.getUser().getId());
+        verifyNoInteractions(passwordHasher);
+    }
+
+    @Test
+    @DisplayName("Should reject a refresh token whose user no longer exists")
+    void testRefresh_UserGone() {
+        when(refreshTokenService.rotate("old-token")).thenReturn(new RefreshTokenService.Issued("rotated-token",
+                testUserId, Instant.now().plus(Duration.ofDays(14))));
+        when(userRepo.findById(testUserId)).thenReturn(Optional.empty());
+
+        ValidationException exception = assertThrows(ValidationException.class, () -> userService.refresh("old-token"));
+
+        assertEquals("Invalid refresh token", exception.getMessage());
+        verify(jwtUtil, never()).issueToken(any(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should revoke the refresh token on logout")
+    void testLogout() {
+        userService.logout("some-token");
+
+        verify(refreshTokenService).revoke("some-token");
+    }
+
+    @Test
+    @DisplayName("Should rehash a password stored at a different cost on login")
+    void testLogin_RehashesOutdatedCost() {
+        String weakHash = new BCryptPasswordEncoder(4).encode("Password123");
+        testUser.setPassword(weakHash);
+        when(userRepo.findByEmail(testLoginRequestDTO.getEmail())).thenReturn(Optional.of(testUser));
+        when(jwtUtil.issueToken(testUserId, testUser.getEmail(), testUser.getRole())).thenReturn(issuedToken);
+
+        userService.login(testLoginRequestDTO, CLIENT_ADDRESS);
+
+        ArgumentCaptor<User> saved = ArgumentCaptor.forClass(User.class);
+        verify(userRepo, times(1)).save(saved.capture());
+        assertNotEquals(weakHash, saved.getValue().getPassword());
+        assertTrue(saved.getValue().getPassword().startsWith("$2a$10$"));
+        assertTrue(passwordEncoder.matches("Password123", saved.getValue().getPassword()));
+        verifyNoInteractions(userEventPublisher);
+    }
+
+    @Test
+    @DisplayName("Should not rehash a password already at the configured cost")
+    void testLogin_NoRehashAtConfiguredCost() {
+        when(userRepo.findByEmail(testLoginRequestDTO.getEmail())).thenReturn(Optional.of(testUser));
+        when(jwtUtil.issueToken(testUserId, testUser.getEmail(), testUser.getRole())).thenReturn(issuedToken);
+
+        userService.login(testLoginRequestDTO, CLIENT_ADDRESS);
+
+        verify(userRepo, never()).save(any(User.class));
+        verify(passwordHasher, never()).encode(anyString());
+    }
+
+    @Test
+    @DisplayName("Should still log in when the rehash can't be scheduled")
+    void testLogin_RehashRejectedKeepsLogin() {
+        testUser.setPassword(new BCryptPasswordEncoder(4).encode("Password123"));
+        when(userRepo.findByEmail(testLoginRequestDTO.getEmail())).thenReturn(Optional.of(testUser));
+        when(jwtUtil.issueToken(testUserId, testUser.getEmail(), testUser.getRole())).thenReturn(issuedToken);
+        doThrow(new ServiceUnavailableException("busy")).when(passwordHasher).encode(anyString());
+
+        AuthResponseDTO result = userService.login(testLoginRequestDTO, CLIENT_ADDRESS);
+
+        assertEquals(testToken, result.getToken());
+        verify(userRepo, never()).save(any(User.class));
+        assertEquals(1.0, meterRegistry.get(UserService.REHASH_FAILURES_COUNTER)
+                .tag("exception", "ServiceUnavailableException").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should fail fast with ServiceUnavailableException when hashing is saturated")
+    void testLogin_HashingSaturated() {
+        when(userRepo.findByEmail(testLoginRequestDTO.getEmail())).thenReturn(Optional.of(testUser));
+        doThrow(new ServiceUnavailableException("busy")).when(passwordHasher).matches(anyString(), anyString());
+
+        assertThrows(ServiceUnavailableException.class, () -> userService.login(testLoginRequestDTO, CLIENT_ADDRESS));
+
+        verify(jwtUtil, never()).issueToken(any(), anyString(), anyString());
     }
 
     @Test
     @DisplayName("Should signup successfully with valid data")
     void testSignup_Success() {
-        when(userRepo.existsByEmail(testUserCreateDTO.getEmail())).thenReturn(false);
-        when(userRepo.save(any(User.class))).thenReturn(testUser);
-        when(userRepo.findById(testUserId)).thenReturn(Optional.of(testUser));
-        when(jwtUtil.generateToken(testUserId, testUser.getEmail(), testUser.getRole())).thenReturn(testToken);
-        when(jwtUtil.getExpirationDateFromToken(testToken)).thenReturn(testExpirationDate);
-        when(jwtUtil.getIssuedAtDateFromToken(testToken)).thenReturn(testIssuedAtDate);
+        when(userRepo.saveAndFlush(any(User.class))).thenReturn(testUser);
+        when(jwtUtil.issueToken(testUserId, testUser.getEmail(), testUser.getRole())).thenReturn(issuedToken);
 
         AuthResponseDTO result = userService.signup(testUserCreateDTO);
 
@@ -490,27 +802,14 @@ class UserServiceTest {
         assertNotNull(result.getUser());
         assertEquals(testUser.getId(), result.getUser().getId());
 
-        verify(userRepo, times(1)).existsByEmail(testUserCreateDTO.getEmail());
-        verify(userRepo, times(1)).save(any(User.class));
-        verify(userRepo, times(1)).findById(testUserId);
-        verify(jwtUtil, times(1)).generateToken(testUserId, testUser.getEmail(), testUser.getRole());
-    }
-
-    @Test
-    @DisplayName("Should throw ResourceNotFoundException when user not found after creation in signup")
-    void testSignup_UserNotFoundAfterCreation() {
-        when(userRepo.existsByEmail(testUserCreateDTO.getEmail())).thenReturn(false);
-        when(userRepo.save(any(User.class))).thenReturn(testUser);
-        when(userRepo.findById(testUserId)).thenReturn(Optional.empty());
-
-        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
-            userService.signup(testUserCreateDTO);
-        });
-
-        assertEquals("User not found after creation", exception.getMessage());
-        verify(userRepo, times(1)).save(any(User.class));
-        verify(userRepo, times(1)).findById(testUserId);
-        verify(jwtUtil, never()).generateToken(any(), anyString(), anyString());
+        verify(userRepo, never()).existsByEmail(anyString());
+        verify(userRepo, times(1)).saveAndFlush(any(User.class));
+        verify(userRepo, never()).findById(any());
+        verify(jwtUtil, never()).getExpirationDateFromToken(anyString());
+        verify(jwtUtil, never()).getIssuedAtDateFromToken(anyString());
+        verify(jwtUtil, times(1)).issueToken(testUserId, testUser.getEmail(), testUser.getRole());
+        verify(userEventPublisher).publishUserCreated(testUser);
+        verify(userSearchIndex).put(testUser);
     }
 
     @Test
@@ -524,21 +823,36 @@ class UserServiceTest {
 
         assertEquals("Email is required and cannot be empty", exception.getMessage());
         verify(userRepo, never()).existsByEmail(anyString());
-        verify(userRepo, never()).save(any(User.class));
+        verify(userRepo, never()).saveAndFlush(any(User.class));
+    }
+
+    @Test
+    @DisplayName("Should not report other constraint failures as a duplicate email")
+    void testCreateUser_OtherConstraintViolationRethrown() {
+        DataIntegrityViolationException tooLong = new DataIntegrityViolationException("could not execute statement",
+                new SQLDataException("Data too long for column 'phone'", "22001", 1406));
+        when(userRepo.saveAndFlush(any(User.class))).thenThrow(tooLong);
+
+        DataIntegrityViolationException exception = assertThrows(DataIntegrityViolationException.class, () -> {
+            userService.createUser(testUserCreateDTO);
+        });
+
+        assertSame(tooLong, exception);
+        verifyNoInteractions(userEventPublisher);
     }
 
     @Test
     @DisplayName("Should throw DuplicateResourceException when email already exists in signup")
     void testSignup_DuplicateEmail() {
-        when(userRepo.existsByEmail(testUserCreateDTO.getEmail())).thenReturn(true);
+        when(userRepo.saveAndFlush(any(User.class))).thenThrow(duplicateEmail());
 
         DuplicateResourceException exception = assertThrows(DuplicateResourceException.class, () -> {
             userService.signup(testUserCreateDTO);
         });
 
         assertEquals("User with email '" + testUserCreateDTO.getEmail() + "' already exists", exception.getMessage());
-        verify(userRepo, times(1)).existsByEmail(testUserCreateDTO.getEmail());
-        verify(userRepo, never()).save(any(User.class));
+        verify(userRepo, never()).existsByEmail(anyString());
+        verify(userRepo, times(1)).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -623,15 +937,13 @@ class UserServiceTest {
     void testLogin_AdminRole() {
         testUser.setRole("ADMIN");
         when(userRepo.findByEmail(testLoginRequestDTO.getEmail())).thenReturn(Optional.of(testUser));
-        when(jwtUtil.generateToken(testUserId, testUser.getEmail(), "ADMIN")).thenReturn(testToken);
-        when(jwtUtil.getExpirationDateFromToken(testToken)).thenReturn(testExpirationDate);
-        when(jwtUtil.getIssuedAtDateFromToken(testToken)).thenReturn(testIssuedAtDate);
+        when(jwtUtil.issueToken(testUserId, testUser.getEmail(), "ADMIN")).thenReturn(issuedToken);
 
-        AuthResponseDTO result = userService.login(testLoginRequestDTO);
+        AuthResponseDTO result = userService.login(testLoginRequestDTO, CLIENT_ADDRESS);
 
         assertNotNull(result);
         assertEquals("ADMIN", result.getUser().getRole());
-        verify(jwtUtil, times(1)).generateToken(testUserId, testUser.getEmail(), "ADMIN");
+        verify(jwtUtil, times(1)).issueToken(testUserId, testUser.getEmail(), "ADMIN");
     }
 
     @Test
@@ -639,18 +951,14 @@ class UserServiceTest {
     void testSignup_AdminRole() {
         testUserCreateDTO.setRole("ADMIN");
         testUser.setRole("ADMIN");
-        when(userRepo.existsByEmail(testUserCreateDTO.getEmail())).thenReturn(false);
-        when(userRepo.save(any(User.class))).thenReturn(testUser);
-        when(userRepo.findById(testUserId)).thenReturn(Optional.of(testUser));
-        when(jwtUtil.generateToken(testUserId, testUser.getEmail(), "ADMIN")).thenReturn(testToken);
-        when(jwtUtil.getExpirationDateFromToken(testToken)).thenReturn(testExpirationDate);
-        when(jwtUtil.getIssuedAtDateFromToken(testToken)).thenReturn(testIssuedAtDate);
+        when(userRepo.saveAndFlush(any(User.class))).thenReturn(testUser);
+        when(jwtUtil.issueToken(testUserId, testUser.getEmail(), "ADMIN")).thenReturn(issuedToken);
 
         AuthResponseDTO result = userService.signup(testUserCreateDTO);
 
         assertNotNull(result);
         assertEquals("ADMIN", result.getUser().getRole());
-        verify(jwtUtil, times(1)).generateToken(testUserId, testUser.getEmail(), "ADMIN");
+        verify(jwtUtil, times(1)).issueToken(testUserId, testUser.getEmail(), "ADMIN");
     }
 
     private User createAnotherUser() {
@@ -663,4 +971,9 @@ class UserServiceTest {
         user.setRole("ADMIN");
         return user;
     }
+
+    private static DataIntegrityViolationException duplicateEmail() {
+        return new DataIntegrityViolationException("could not execute statement",
+                new SQLIntegrityConstraintViolationException("Duplicate entry for key 'users.email'", "23000", 1062));
+    }
 }
@@ -53,6 +53,17 @@ class JwtUtilTest {
         assertTrue(token.contains("."));
     }
 
+    @Test
+    @DisplayName("Should issue a token whose times match the claims it carries")
+    void testIssueToken_TimesMatchClaims() {
+        JwtUtil.IssuedToken issued = jwtUtil.issueToken(testUserId, testEmail, testRole);
+
+        assertEquals(testEmail, jwtUtil.getEmailFromToken(issued.token()));
+        assertEquals(jwtUtil.getIssuedAtDateFromToken(issued.token()), issued.issuedAt());
+        assertEquals(jwtUtil.getExpirationDateFromToken(issued.token()), issued.expiresAt());
+        assertEquals(30 * 60 * 1000, issued.expiresAt().getTime() - issued.issuedAt().getTime());
+    }
+
     @Test
     @DisplayName("Should generate token with default role when role is null")
     void testGenerateToken_DefaultRole() {
@@ -1,77 +1,235 @@
 package com.example.wallet_service.Client;
 
+import com.example.wallet_service.Util.RequestDeadline;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+/**
+ * Single-user lookups go through one cache: users found are kept for {@code ttl}, ids
+ * user-service answers 404 for are kept for the shorter {@code negative-ttl}, and concurrent
+ * misses for the same id share one request. Failed lookups are not cached. That shared request
+ * is bounded by the client timeout alone and carries no caller's deadline, since it outlives
+ * whichever caller happened to start it.
+ */
 @Component
 public class UserServiceClient {
 
+    public static final String CACHE_NAME = "user.lookups";
+
     private static final Logger logger = LogManager.getLogger(UserServiceClient.class);
+
+    // user-service accepts at most this many ids per batch request
+    static final int BATCH_SIZE = 500;
+
     private final WebClient webClient;
 
+    // For requests shared between callers, so without any one caller's deadline header
+    private final WebClient sharedWebClient;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${service.client.timeout:5s}")
+    private Duration timeout = Duration.ofSeconds(5);
+
+    @Value("${user.service.cache.maximum-size:10000}")
+    private long cacheMaximumSize = 10_000;
+
+    @Value("${user.service.cache.ttl:30s}")
+    private Duration cacheTtl = Duration.ofSeconds(30);
+
+    @Value("${user.service.cache.negative-ttl:5s}")
+    private Duration cacheNegativeTtl = Duration.ofSeconds(5);
+
+    private AsyncCache<UUID, Lookup> cache;
+
     public UserServiceClient(@Value("${user.service.url}") String userServiceUrl) {
         this.webClient = WebClient.builder()
+                .baseUrl(userServiceUrl)
+                .filter(RequestDeadline.propagate())
+                .build();
+        this.sharedWebClient = WebClient.builder()
                 .baseUrl(userServiceUrl)
                 .build();
     }
 
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfter(new LookupExpiry(cacheTtl, cacheNegativeTtl))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
     public boolean validateUser(UUID userId) {
-        try {
-            UserDTO user = webClient.get()
-                    .uri("/users/{id}", userId)
-                    .retrieve()
-                    .bodyToMono(UserDTO.class)
-                    .block();
-            return user != null && user.getId() != null;
-        } catch (WebClientResponseException.NotFound e) {
-            // User not found - this is expected for validation
-            return false;
-        } catch (WebClientResponseException e) {
-            // Other HTTP errors (5xx, etc.)
-            logger.warn("HTTP Error validating user: {} - {}", e.getStatusCode(), e.getMessage());
-            return false;
-        } catch (Exception e) {
-            // Network errors, timeouts, etc.
-            logger.error("Error validating user: {}", e.getMessage(), e);
-            return false;
-        }
+        return lookup(userId) != null;
     }
 
-   
     public String getUserEmail(UUID userId) {
+        UserDTO user = lookup(userId);
+        return user != null ? user.getEmail() : null;
+    }
+
+    public UserDTO getUserDetails(UUID userId) {
+        return lookup(userId);
+    }
+
+    /** Drops a cached lookup, for when the user is known to have changed. */
+    public void invalidate(UUID userId) {
+        cache.synchronous().invalidate(userId);
+    }
+
+    /**
+     * The user with this id, empty when user-service doesn't know it. Unlike
+     * {@link #getUserDetails}, this always asks user-service rather than the cache, and a lookup
+     * that fails throws rather than looking like a missing user. The answer refreshes the cache.
+     */
+    public Optional<UserDTO> findUser(UUID userId) {
+        RequestDeadline.check("calling user-service");
+        Lookup lookup = request(webClient, userId).block(RequestDeadline.remaining(timeout));
+        cache.synchronous().put(userId, lookup);
+        return Optional.ofNullable(lookup.user()).map(UserServiceClient::copy);
+    }
+
+    /**
+     * The user with this id, or null when user-service doesn't know it or couldn't answer.
+     * Callers get a copy, never the cached instance.
+     */
+    private UserDTO lookup(UUID userId) {
+        if (userId == null) {
+            return null;
+        }
+        RequestDeadline.check("calling user-service");
+        Duration wait = RequestDeadline.remaining(timeout);
         try {
-            UserDTO user = webClient.get()
-                    .uri("/users/{id}", userId)
-                    .retrieve()
-                    .bodyToMono(UserDTO.class)
-                    .block();
-            return user != null ? user.getEmail() : null;
-        } catch (WebClientResponseException.NotFound e) {
-            // User not found
+            Lookup lookup = await(userId, wait);
+            return lookup.user() != null ? copy(lookup.user()) : null;
+        } catch (TimeoutException e) {
+            logger.warn("Timed out after {} looking up user {}", wait, userId);
             return null;
-        } catch (Exception e) {
-            logger.error("Error getting user email: {}", e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof WebClientResponseException httpError) {
+                logger.warn("HTTP Error looking up user: {} - {}", httpError.getStatusCode(), httpError.getMessage());
+            } else {
+                logger.error("Error looking up user: {}", e.getCause().getMessage(), e.getCause());
+            }
             return null;
         }
     }
 
-    
-    public UserDTO getUserDetails(UUID userId) {
+    private Lookup await(UUID userId, Duration wait)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        return cache.get(userId, (id, executor) -> fetch(id)).get(wait.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private CompletableFuture<Lookup> fetch(UUID userId) {
+        // Shared by every caller waiting on this id, so bounded by the client's own timeout
+        return request(sharedWebClient, userId)
+                .timeout(timeout)
+                .toFuture();
+    }
+
+    private static Mono<Lookup> request(WebClient client, UUID userId) {
+        return client.get()
+                .uri("/users/{id}", userId)
+                .retrieve()
+                .bodyToMono(UserDTO.class)
+                .map(user -> user.getId() != null ? new Lookup(user) : Lookup.NOT_FOUND)
+                .defaultIfEmpty(Lookup.NOT_FOUND)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.just(Lookup.NOT_FOUND));
+    }
+
+    /**
+     * Resolves many users with one {@code POST /users/batch} per {@value #BATCH_SIZE} ids
+     * instead of a call per user. Ids user-service doesn't know are absent from the map; on
+     * an error the map is empty, as {@link #getUserDetails} returns null.
+     */
+    public Map<UUID, UserDTO> getUsersByIds(Collection<UUID> userIds) {
+        Map<UUID, UserDTO> users = new HashMap<>();
+        if (userIds == null || userIds.isEmpty()) {
+            return users;
+        }
+        List<UUID> ids = new ArrayList<>(new LinkedHashSet<>(userIds));
+        ids.removeIf(Objects::isNull);
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<UUID> batch = ids.subList(from, Math.min(ids.size(), from + BATCH_SIZE));
+            RequestDeadline.check("calling user-service");
+            try {
+                List<UserDTO> found = webClient.post()
+                        .uri("/users/batch")
+                        .bodyValue(Map.of("ids", batch))
+                        .retrieve()
+                        .bodyToFlux(UserDTO.class)
+                        .collectList()
+                        .block(RequestDeadline.remaining(timeout));
+                if (found != null) {
+                    for (UserDTO user : found) {
+                        users.put(user.getId(), user);
+                        cache.synchronous().put(user.getId(), new Lookup(copy(user)));
+                    }
+                }
+            } catch (WebClientResponseException e) {
+                logger.error("HTTP Error getting users by id: {} - {}", e.getStatusCode(), e.getMessage());
+                return new HashMap<>();
+            } catch (Exception e) {
+                logger.error("Error getting users by id: {}", e.getMessage(), e);
+                return new HashMap<>();
+            }
+        }
+        return users;
+    }
+
+    /**
+     * One page of {@code GET /users} in id order, starting after {@code after} (from the start
+     * when null). Null on an error, so a caller walking the pages stops there.
+     */
+    public UserPage listUsers(UUID after, int limit) {
+        RequestDeadline.check("calling user-service");
         try {
             return webClient.get()
-                    .uri("/users/{id}", userId)
+                    .uri(uriBuilder -> {
+                        uriBuilder.path("/users").queryParam("limit", limit);
+                        if (after != null) {
+                            uriBuilder.queryParam("after", after);
+                        }
+                        return uriBuilder.build();
+                    })
                     .retrieve()
-                    .bodyToMono(UserDTO.class)
-                    .block();
-        } catch (WebClientResponseException.NotFound e) {
-            return null;
+                    .bodyToMono(UserPage.class)
+                    .block(RequestDeadline.remaining(timeout));
         } catch (Exception e) {
-            logger.error("Error getting user details: {}", e.getMessage(), e);
+            logger.error("Error listing users: {}", e.getMessage(), e);
             return null;
         }
     }
@@ -81,6 +239,7 @@ public class UserServiceClient {
         private UUID id;
         private String name;
         private String email;
+        private String role;
         
         // Getters and Setters
         public UUID getId() { return id; }
@@ -91,6 +250,68 @@ public class UserServiceClient {
         
         public String getEmail() { return email; }
         public void setEmail(String email) { this.email = email; }
+
+        public String getRole() { return role; }
+        public void setRole(String role) { this.role = role; }
+    }
+
+    public static class UserPage {
+        private List<UserDTO> content;
+        private UUID nextCursor;
+        private boolean hasNext;
+
+        public List<UserDTO> getContent() { return content; }
+        public void setContent(List<UserDTO> content) { this.content = content; }
+
+        public UUID getNextCursor() { return nextCursor; }
+        public void setNextCursor(UUID nextCursor) { this.nextCursor = nextCursor; }
+
+        public boolean isHasNext() { return hasNext; }
+        public void setHasNext(boolean hasNext) { this.hasNext = hasNext; }
+    }
+
+    private static UserDTO copy(UserDTO user) {
+        UserDTO copy = new UserDTO();
+        copy.setId(user.getId());
+        copy.setName(user.getName());
+        copy.setEmail(user.getEmail());
+        copy.setRole(user.getRole());
+        return copy;
+    }
+
+    /** A cached answer from user-service; {@code user} is null for an id it doesn't know. */
+    record Lookup(UserDTO user) {
+        static final Lookup NOT_FOUND = new Lookup(null);
     }
-}
 
+    /**
+     * Keeps found users for the full TTL and unknown ids for the negative TTL, so a user
+     * created just after a miss is seen soon.
+     */
+    static final class LookupExpiry implements Expiry<UUID, Lookup> {
+
+        private final Duration ttl;
+
+        private final Duration negativeTtl;
+
+        LookupExpiry(Duration ttl, Duration negativeTtl) {
+            this.ttl = ttl;
+            this.negativeTtl = negativeTtl;
+        }
+
+        @Override
+        public long expireAfterCreate(UUID key, Lookup lookup, long currentTime) {
+            return lookup.user() != null ? ttl.toNanos() : negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(UUID key, Lookup lookup, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, lookup, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(UUID key, Lookup lookup, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
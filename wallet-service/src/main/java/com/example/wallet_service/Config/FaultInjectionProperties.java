@@ -0,0 +1,48 @@
+package com.example.wallet_service.Config;
+
+import com.example.wallet_service.Util.FaultSpec;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fault injection for load testing, off by default. Faults come from the named
+ * {@code faults.rules.<name>} whose path matches the request or, per request, from the clause
+ * addressed to this service in the {@code header}. Both can be changed at runtime through the
+ * {@code faults} actuator endpoint. Registered by {@link FaultInjectionFilter}.
+ */
+@ConfigurationProperties(prefix = "faults")
+public class FaultInjectionProperties {
+
+    private volatile boolean enabled = false;
+
+    /** Request header carrying per-request faults, see {@link FaultSpec#forTarget}. */
+    private String header = "X-Fault-Inject";
+
+    private Map<String, FaultSpec> rules = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getHeader() {
+        return header;
+    }
+
+    public void setHeader(String header) {
+        this.header = header;
+    }
+
+    public Map<String, FaultSpec> getRules() {
+        return rules;
+    }
+
+    public void setRules(Map<String, FaultSpec> rules) {
+        this.rules = new ConcurrentHashMap<>(rules);
+    }
+}
@@ -1,7 +1,11 @@
 package com.example.wallet_service.Config;
 
 import com.example.wallet_service.DTO.OtpVerifiedEvent;
+import com.example.wallet_service.DTO.UserChangedEvent;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
 import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
@@ -19,6 +23,10 @@ public class RabbitMQConfig {
     public static final String OTP_VERIFIED_QUEUE = "otp.verified";
     public static final String TRANSACTION_COMPLETED_QUEUE = "transaction.completed";
 
+    // user-service publishes user changes here; this service binds its own queue to get them
+    public static final String USER_EVENTS_EXCHANGE = "user.events";
+    public static final String USER_EVENTS_QUEUE = "wallet-service.user-events";
+
     @Bean
     public Queue transactionCreatedQueue() {
         return new Queue(TRANSACTION_CREATED_QUEUE, true); // true = durable
@@ -34,6 +42,21 @@ public class RabbitMQConfig {
         return new Queue(TRANSACTION_COMPLETED_QUEUE, true);
     }
 
+    @Bean
+    public TopicExchange userEventsExchange() {
+        return new TopicExchange(USER_EVENTS_EXCHANGE, true, false);
+    }
+
+    @Bean
+    public Queue userEventsQueue() {
+        return new Queue(USER_EVENTS_QUEUE, true);
+    }
+
+    @Bean
+    public Binding userEventsBinding() {
+        return BindingBuilder.bind(userEventsQueue()).to(userEventsExchange()).with("user.*");
+    }
+
     @Bean
     public MessageConverter messageConverter() {
         Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
@@ -47,6 +70,9 @@ public class RabbitMQConfig {
                     if (typeId.equals("com.example.transaction_service.DTO.OtpVerifiedEvent")) {
                         return OtpVerifiedEvent.class;
                     }
+                    if (typeId.equals("com.example.DTO.UserChangedEvent")) {
+                        return UserChangedEvent.class;
+                    }
                 }
 
                 return super.toClass(properties);
@@ -55,7 +81,8 @@ public class RabbitMQConfig {
 
         classMapper.setTrustedPackages(
                 "com.example.transaction_service.DTO",
-                "com.example.wallet_service.DTO");
+                "com.example.wallet_service.DTO",
+                "com.example.DTO");
 
         converter.setClassMapper(classMapper);
         return converter;
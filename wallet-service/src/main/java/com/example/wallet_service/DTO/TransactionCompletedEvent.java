@@ -3,6 +3,7 @@ package com.example.wallet_service.DTO;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import java.util.List;
 import java.util.UUID;
 
 
@@ -13,6 +14,8 @@ public class TransactionCompletedEvent {
     private UUID transactionId;
     private String status; // "SUCCESS" or "FAILED"
     private String remarks;
+    // Owners of the wallets the transaction touched, whatever the outcome
+    private List<UUID> userIds;
     private Long timestamp;
 }
 
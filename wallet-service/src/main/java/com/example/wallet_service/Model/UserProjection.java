@@ -0,0 +1,40 @@
+package com.example.wallet_service.Model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * This service's copy of a user-service user, kept up to date from user change events. The
+ * id is user-service's, not generated here; {@code version} is the user-service row version
+ * the row reflects, 0 when it was copied over without an event. {@code refreshedAt} is when the row
+ * was last known to match user-service, by an event or by asking.
+ */
+@Entity
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "user_projections")
+public class UserProjection {
+
+    @Id
+    private UUID id;
+
+    private String name;
+
+    private String email;
+
+    @Column(nullable = false)
+    private boolean active;
+
+    @Column(nullable = false)
+    private long version;
+
+    private Instant refreshedAt;
+}
@@ -0,0 +1,25 @@
+package com.example.wallet_service.Repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import com.example.wallet_service.Model.UserProjection;
+import java.time.Instant;
+import java.util.UUID;
+
+public interface UserProjectionRepo extends JpaRepository<UserProjection, UUID> {
+
+    /**
+     * Stores what user-service said about a user, unless an event moved the row past
+     * {@code version} in the meantime; 0 means the event won.
+     */
+    @Modifying
+    @Transactional
+    @Query("update UserProjection p set p.name = :name, p.email = :email, p.active = :active, "
+            + "p.version = :newVersion, p.refreshedAt = :refreshedAt where p.id = :id and p.version = :version")
+    int refresh(@Param("id") UUID id, @Param("version") long version, @Param("name") String name,
+                @Param("email") String email, @Param("active") boolean active,
+                @Param("newVersion") long newVersion, @Param("refreshedAt") Instant refreshedAt);
+}
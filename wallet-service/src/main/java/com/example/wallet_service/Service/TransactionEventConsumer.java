@@ -13,6 +13,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -31,6 +33,7 @@ public class TransactionEventConsumer {
     public void handleOtpVerified(OtpVerifiedEvent event) {
         logger.info("Received OTP verified event for transaction: {}", event.getTransactionId());
 
+        List<UUID> userIds = new ArrayList<>();
         try {
             UUID transactionId = event.getTransactionId();
             UUID senderWalletId = event.getSenderWalletId();
@@ -46,6 +49,11 @@ public class TransactionEventConsumer {
                     .orElseThrow(() -> new ResourceNotFoundException(
                             "Receiver wallet not found: " + receiverWalletId));
 
+            userIds.add(senderWallet.getUserId());
+            if ("TRANSFER".equalsIgnoreCase(transactionType)) {
+                userIds.add(receiverWallet.getUserId());
+            }
+
             if ("CREDIT".equalsIgnoreCase(transactionType)) {
                 senderWallet.setBalance(senderWallet.getBalance() + amount);
                 walletRepo.save(senderWallet);
@@ -53,14 +61,16 @@ public class TransactionEventConsumer {
                 transactionEventPublisher.publishTransactionCompleted(
                         transactionId,
                         "SUCCESS",
-                        "Credit transaction completed successfully");
+                        "Credit transaction completed successfully",
+                        userIds);
 
             } else if ("WITHDRAW".equalsIgnoreCase(transactionType)) {
                 if (senderWallet.getBalance() < amount) {
                     transactionEventPublisher.publishTransactionCompleted(
                             transactionId,
                             "FAILED",
-                            "Insufficient balance");
+                            "Insufficient balance",
+                            userIds);
                     throw new ValidationException("Insufficient balance");
                 }
 
@@ -70,14 +80,16 @@ public class TransactionEventConsumer {
                 transactionEventPublisher.publishTransactionCompleted(
                         transactionId,
                         "SUCCESS",
-                        "Withdrawal transaction completed successfully");
+                        "Withdrawal transaction completed successfully",
+                        userIds);
 
             } else if ("TRANSFER".equalsIgnoreCase(transactionType)) {
                 if (senderWallet.getBalance() < amount) {
                     transactionEventPublisher.publishTransactionCompleted(
                             transactionId,
                             "FAILED",
-                            "Insufficient balance");
+                            "Insufficient balance",
+                            userIds);
                     throw new ValidationException("Insufficient balance");
                 }
 
@@ -89,7 +101,8 @@ public class TransactionEventConsumer {
                 transactionEventPublisher.publishTransactionCompleted(
                         transactionId,
                         "SUCCESS",
-                        "Transfer transaction completed successfully");
+                        "Transfer transaction completed successfully",
+                        userIds);
             }
 
             logger.info("Transaction processed successfully: {}", transactionId);
@@ -99,7 +112,8 @@ public class TransactionEventConsumer {
             transactionEventPublisher.publishTransactionCompleted(
                     event.getTransactionId(),
                     "FAILED",
-                    "Transaction processing failed: " + e.getMessage());
+                    "Transaction processing failed: " + e.getMessage(),
+                    userIds);
         }
     }
 }
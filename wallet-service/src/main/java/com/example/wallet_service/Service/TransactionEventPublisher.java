@@ -3,12 +3,17 @@ package com.example.wallet_service.Service;
 import com.example.wallet_service.Config.RabbitMQConfig;
 import com.example.wallet_service.DTO.TransactionCompletedEvent;
 import com.example.wallet_service.DTO.TransactionCreatedEvent;
+import com.example.wallet_service.Util.RequestDeadline;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -40,6 +45,8 @@ public class TransactionEventPublisher {
         event.setUserEmail(userEmail);
         event.setTimestamp(System.currentTimeMillis());
 
+        // Nothing has been written yet, so a caller that has given up can be dropped here
+        RequestDeadline.check("publishing transaction.created");
         rabbitTemplate.convertAndSend(
                 RabbitMQConfig.TRANSACTION_CREATED_QUEUE,
                 event);
@@ -47,21 +54,45 @@ public class TransactionEventPublisher {
         logger.info("Published transaction.created event: {}", transactionId);
     }
 
+    /**
+     * Sent once the surrounding database transaction has finished, so whoever reacts to it
+     * (transaction-service, and through it the gateway's response cache) reads the balances
+     * as committed. A success whose balance update was rolled back is reported as failed.
+     */
     public void publishTransactionCompleted(
             UUID transactionId,
             String status,
-            String remarks) {
+            String remarks,
+            List<UUID> userIds) {
 
         TransactionCompletedEvent event = new TransactionCompletedEvent();
         event.setTransactionId(transactionId);
         event.setStatus(status);
         event.setRemarks(remarks);
+        event.setUserIds(new ArrayList<>(userIds));
         event.setTimestamp(System.currentTimeMillis());
 
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            sendTransactionCompleted(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int completionStatus) {
+                if (completionStatus != STATUS_COMMITTED && "SUCCESS".equals(event.getStatus())) {
+                    event.setStatus("FAILED");
+                    event.setRemarks("Transaction processing failed: balance update was rolled back");
+                }
+                sendTransactionCompleted(event);
+            }
+        });
+    }
+
+    private void sendTransactionCompleted(TransactionCompletedEvent event) {
         rabbitTemplate.convertAndSend(
                 RabbitMQConfig.TRANSACTION_COMPLETED_QUEUE,
                 event);
 
-        logger.info("Published transaction.completed event: {} - {}", transactionId, status);
+        logger.info("Published transaction.completed event: {} - {}", event.getTransactionId(), event.getStatus());
     }
 }
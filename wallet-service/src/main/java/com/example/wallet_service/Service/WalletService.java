@@ -17,7 +17,6 @@ import com.example.wallet_service.Exceptions.DuplicateResourceException;
 import com.example.wallet_service.Exceptions.ResourceNotFoundException;
 import com.example.wallet_service.Exceptions.ValidationException;
 import com.example.wallet_service.Security.SecurityUtil;
-import com.example.wallet_service.Client.UserServiceClient;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -37,7 +36,7 @@ public class WalletService {
     private PasswordEncoder passwordEncoder;
 
     @Autowired
-    private UserServiceClient userServiceClient;
+    private UserProjectionService userProjectionService;
 
     @Autowired
     private TransactionEventPublisher transactionEventPublisher;
@@ -116,7 +115,7 @@ public class WalletService {
      */
     public WalletDTO createWallet(WalletCreateDTO walletCreateDTO) {
         // Validate user exists in User Service
-        if (!userServiceClient.validateUser(walletCreateDTO.getUserId())) {
+        if (!userProjectionService.userExists(walletCreateDTO.getUserId())) {
             throw new ResourceNotFoundException("User not found with id: " + walletCreateDTO.getUserId());
         }
 
@@ -194,7 +193,7 @@ public class WalletService {
             } catch (IllegalArgumentException e) {
                 throw new ValidationException("Invalid new user identifier format. Expected UUID.");
             }
-            if (!userServiceClient.validateUser(newUserId)) {
+            if (!userProjectionService.userExists(newUserId)) {
                 throw new ResourceNotFoundException("User not found with id: " + newUserId);
             }
             wallet.setUserId(newUserId);
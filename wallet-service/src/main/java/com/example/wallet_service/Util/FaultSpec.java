@@ -0,0 +1,192 @@
+package com.example.wallet_service.Util;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.random.RandomGenerator;
+
+/**
+ * One set of faults to inject: added latency drawn from a {@link Distribution}, a share of
+ * requests answered with an error status, and a share whose connection is aborted, for requests
+ * matching {@link #path}. Bound from {@code faults.rules.<name>.*}, or parsed from a clause such
+ * as {@code path=/wallets/**,delay=200ms,distribution=exponential,error=0.05,abort=0.01}.
+ */
+public class FaultSpec {
+
+    public enum Distribution {
+        /** Always {@code delay}. */
+        FIXED,
+        /** Uniform between zero and twice {@code delay}. */
+        UNIFORM,
+        /** Exponential with mean {@code delay}. */
+        EXPONENTIAL,
+        /** Pareto with minimum {@code delay}: mostly close to it, with a heavy tail. */
+        PARETO
+    }
+
+    private static final double PARETO_SHAPE = 1.5;
+
+    /** Path pattern the faults apply to; ignored for faults given in a request header. */
+    private String path = "/**";
+
+    private Distribution distribution = Distribution.FIXED;
+
+    private Duration delay = Duration.ZERO;
+
+    /** Upper bound on any sampled delay, so a heavy tail can't stall a request forever. */
+    private Duration maxDelay = Duration.ofSeconds(30);
+
+    /** Share of requests that get the delay at all. */
+    private double delayProbability = 1.0;
+
+    /** Share of requests answered with {@link #errorStatus} instead of being served. */
+    private double errorRate;
+
+    private int errorStatus = 503;
+
+    /** Share of requests whose connection is closed without a response. */
+    private double abortRate;
+
+    /**
+     * Parses a comma-separated list of {@code key=value} pairs.
+     *
+     * @throws IllegalArgumentException on an unknown key or a malformed value, including a
+     *         status outside 100-599
+     */
+    public static FaultSpec parse(String clause) {
+        FaultSpec spec = new FaultSpec();
+        for (String pair : clause.split(",")) {
+            if (pair.isBlank()) {
+                continue;
+            }
+            int eq = pair.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Expected key=value but got '" + pair.trim() + "'");
+            }
+            String key = pair.substring(0, eq).trim().toLowerCase(Locale.ROOT);
+            String value = pair.substring(eq + 1).trim();
+            switch (key) {
+                case "path" -> spec.setPath(value);
+                case "delay" -> spec.setDelay(DurationStyle.detectAndParse(value));
+                case "max-delay" -> spec.setMaxDelay(DurationStyle.detectAndParse(value));
+                case "distribution" -> spec.setDistribution(Distribution.valueOf(value.toUpperCase(Locale.ROOT)));
+                case "delay-probability" -> spec.setDelayProbability(Double.parseDouble(value));
+                case "error" -> spec.setErrorRate(Double.parseDouble(value));
+                case "status" -> spec.setErrorStatus(Integer.parseInt(value));
+                case "abort" -> spec.setAbortRate(Double.parseDouble(value));
+                default -> throw new IllegalArgumentException("Unknown fault '" + key + "'");
+            }
+        }
+        return spec;
+    }
+
+    /**
+     * Picks the clause addressed to {@code target} out of a header value such as
+     * {@code api-gateway:delay=200ms;wallet-service:error=0.5}, or null if there is none.
+     *
+     * @throws IllegalArgumentException if that clause is malformed
+     */
+    public static FaultSpec forTarget(String header, String target) {
+        if (header == null) {
+            return null;
+        }
+        for (String entry : header.split(";")) {
+            int colon = entry.indexOf(':');
+            if (colon > 0 && entry.substring(0, colon).trim().equals(target)) {
+                return parse(entry.substring(colon + 1));
+            }
+        }
+        return null;
+    }
+
+    public Duration sampleDelay(RandomGenerator random) {
+        if (delay.isZero() || delay.isNegative()
+                || (delayProbability < 1.0 && random.nextDouble() >= delayProbability)) {
+            return Duration.ZERO;
+        }
+        long base = delay.toMillis();
+        long millis = switch (distribution) {
+            case FIXED -> base;
+            case UNIFORM -> random.nextLong(2 * base + 1);
+            case EXPONENTIAL -> (long) (-base * Math.log(1.0 - random.nextDouble()));
+            case PARETO -> (long) (base / Math.pow(1.0 - random.nextDouble(), 1.0 / PARETO_SHAPE));
+        };
+        return Duration.ofMillis(Math.min(millis, maxDelay.toMillis()));
+    }
+
+    public boolean shouldAbort(RandomGenerator random) {
+        return abortRate > 0 && random.nextDouble() < abortRate;
+    }
+
+    public boolean shouldError(RandomGenerator random) {
+        return errorRate > 0 && random.nextDouble() < errorRate;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public Distribution getDistribution() {
+        return distribution;
+    }
+
+    public void setDistribution(Distribution distribution) {
+        this.distribution = distribution;
+    }
+
+    public Duration getDelay() {
+        return delay;
+    }
+
+    public void setDelay(Duration delay) {
+        this.delay = delay;
+    }
+
+    public Duration getMaxDelay() {
+        return maxDelay;
+    }
+
+    public void setMaxDelay(Duration maxDelay) {
+        this.maxDelay = maxDelay;
+    }
+
+    public double getDelayProbability() {
+        return delayProbability;
+    }
+
+    public void setDelayProbability(double delayProbability) {
+        this.delayProbability = delayProbability;
+    }
+
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    public int getErrorStatus() {
+        return errorStatus;
+    }
+
+    public void setErrorStatus(int errorStatus) {
+        if (errorStatus < 100 || errorStatus > 599) {
+            throw new IllegalArgumentException("Error status must be between 100 and 599 but was " + errorStatus);
+        }
+        this.errorStatus = errorStatus;
+    }
+
+    public double getAbortRate() {
+        return abortRate;
+    }
+
+    public void setAbortRate(double abortRate) {
+        this.abortRate = abortRate;
+    }
+}
@@ -1,21 +1,67 @@
 package com.example.wallet_service.Client;
 
+import com.example.wallet_service.Util.RequestDeadline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
 
+@ExtendWith(MockitoExtension.class)
 class UserServiceClientTest {
 
+    @Mock
+    private WebClient webClient;
+
+    @Mock
+    private WebClient.RequestHeadersUriSpec requestHeadersUriSpec;
+
+    @Mock
+    private WebClient.RequestHeadersSpec requestHeadersSpec;
+
+    @Mock
+    private WebClient.ResponseSpec responseSpec;
+
+    @Mock
+    private WebClient.RequestBodyUriSpec requestBodyUriSpec;
+
+    @Mock
+    private WebClient.RequestBodySpec requestBodySpec;
+
+    private SimpleMeterRegistry meterRegistry;
     private UserServiceClient userServiceClient;
     private UUID userId;
     private UserServiceClient.UserDTO userDTO;
 
     @BeforeEach
     void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
         userServiceClient = new UserServiceClient("http://localhost:8081");
+        ReflectionTestUtils.setField(userServiceClient, "meterRegistry", meterRegistry);
+        userServiceClient.init();
         userId = UUID.randomUUID();
         userDTO = new UserServiceClient.UserDTO();
         userDTO.setId(userId);
@@ -41,16 +87,222 @@ class UserServiceClientTest {
         assertNotNull(userServiceClient);
     }
 
+    @Test
+    void testLookups_ShareOneCachedFetch() {
+        useMockWebClient();
+        stubGet(Mono.just(userDTO));
+
+        assertTrue(userServiceClient.validateUser(userId));
+        assertEquals("test@example.com", userServiceClient.getUserEmail(userId));
+        assertEquals("Test User", userServiceClient.getUserDetails(userId).getName());
+
+        verify(webClient, times(1)).get();
+        assertEquals(2.0, cacheGets("hit"));
+        assertEquals(1.0, cacheGets("miss"));
+    }
+
+    @Test
+    void testGetUserDetails_ReturnsCopy() {
+        useMockWebClient();
+        stubGet(Mono.just(userDTO));
+
+        userServiceClient.getUserDetails(userId).setName("Changed");
+
+        assertEquals("Test User", userServiceClient.getUserDetails(userId).getName());
+    }
+
+    @Test
+    void testNotFound_IsCached() {
+        useMockWebClient();
+        stubGet(Mono.error(WebClientResponseException.create(404, "Not Found", null, null, null)));
+
+        assertFalse(userServiceClient.validateUser(userId));
+        assertNull(userServiceClient.getUserDetails(userId));
+
+        verify(webClient, times(1)).get();
+    }
+
+    @Test
+    void testNotFound_ExpiresSooner() {
+        ReflectionTestUtils.setField(userServiceClient, "cacheNegativeTtl", Duration.ZERO);
+        userServiceClient.init();
+        useMockWebClient();
+        stubGet(Mono.error(WebClientResponseException.create(404, "Not Found", null, null, null)));
+
+        assertFalse(userServiceClient.validateUser(userId));
+        assertFalse(userServiceClient.validateUser(userId));
+
+        verify(webClient, times(2)).get();
+    }
+
+    @Test
+    void testServerError_IsNotCached() {
+        useMockWebClient();
+        stubGet(Mono.error(WebClientResponseException.create(500, "Internal Server Error", null, null, null)));
+
+        assertFalse(userServiceClient.validateUser(userId));
+        assertFalse(userServiceClient.validateUser(userId));
+
+        verify(webClient, times(2)).get();
+    }
+
+    @Test
+    void testFindUser_NotFoundIsEmpty() {
+        useMockWebClient();
+        stubGet(Mono.error(WebClientResponseException.create(404, "Not Found", null, null, null)));
+
+        assertTrue(userServiceClient.findUser(userId).isEmpty());
+    }
+
+    @Test
+    void testFindUser_ServerErrorThrows() {
+        useMockWebClient();
+        stubGet(Mono.error(WebClientResponseException.create(500, "Internal Server Error", null, null, null)));
+
+        assertThrows(WebClientResponseException.class, () -> userServiceClient.findUser(userId));
+    }
+
+    @Test
+    void testFindUser_BypassesCache() {
+        useMockWebClient();
+        stubGet(Mono.just(userDTO));
+
+        userServiceClient.getUserDetails(userId);
+        assertTrue(userServiceClient.findUser(userId).isPresent());
+
+        verify(webClient, times(2)).get();
+    }
+
+    @Test
+    void testFindUser_RefreshesCache() {
+        useMockWebClient();
+        stubGet(Mono.just(userDTO));
+
+        userServiceClient.findUser(userId);
+        assertTrue(userServiceClient.validateUser(userId));
+
+        verify(webClient, times(1)).get();
+    }
+
+    @Test
+    void testSharedFetch_DoesNotForwardCallerDeadline() {
+        List<ClientRequest> requests = new ArrayList<>();
+        captureRequests("sharedWebClient", requests);
+        captureRequests("webClient", requests);
+        RequestDeadline.startBudget(2_000);
+        try {
+            userServiceClient.getUserDetails(userId);
+            userServiceClient.findUser(userId);
+        } finally {
+            RequestDeadline.clear();
+        }
+
+        assertEquals(2, requests.size());
+        assertNull(requests.get(0).headers().getFirst(RequestDeadline.HEADER));
+        assertNotNull(requests.get(1).headers().getFirst(RequestDeadline.HEADER));
+    }
+
+    @Test
+    void testConcurrentMisses_ShareOneRequest() throws Exception {
+        useMockWebClient();
+        CompletableFuture<UserServiceClient.UserDTO> response = new CompletableFuture<>();
+        stubGet(Mono.fromFuture(response));
+
+        CompletableFuture<UserServiceClient.UserDTO> first =
+                CompletableFuture.supplyAsync(() -> userServiceClient.getUserDetails(userId));
+        CompletableFuture<UserServiceClient.UserDTO> second =
+                CompletableFuture.supplyAsync(() -> userServiceClient.getUserDetails(userId));
+        Thread.sleep(100);
+        response.complete(userDTO);
+
+        assertEquals(userId, first.get(5, TimeUnit.SECONDS).getId());
+        assertEquals(userId, second.get(5, TimeUnit.SECONDS).getId());
+        verify(webClient, times(1)).get();
+    }
+
+    @Test
+    void testInvalidate_FetchesAgain() {
+        useMockWebClient();
+        stubGet(Mono.just(userDTO));
+
+        userServiceClient.getUserDetails(userId);
+        userServiceClient.invalidate(userId);
+        userServiceClient.getUserDetails(userId);
+
+        verify(webClient, times(2)).get();
+    }
+
+    @Test
+    void testGetUsersByIds_FillsCache() {
+        useMockWebClient();
+        when(webClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri("/users/batch")).thenReturn(requestBodySpec);
+        doReturn(requestHeadersSpec).when(requestBodySpec).bodyValue(any());
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToFlux(UserServiceClient.UserDTO.class)).thenReturn(Flux.just(userDTO));
+
+        assertEquals(1, userServiceClient.getUsersByIds(List.of(userId)).size());
+        assertTrue(userServiceClient.validateUser(userId));
+
+        verify(webClient, never()).get();
+    }
+
+    @Test
+    void testGetUsersByIds() {
+        assertTrue(userServiceClient.getUsersByIds(List.of()).isEmpty());
+        assertTrue(userServiceClient.getUsersByIds(List.of(userId)).isEmpty());
+    }
+
+    @Test
+    void testListUsers_UnreachableReturnsNull() {
+        assertNull(userServiceClient.listUsers(null, 10));
+        assertNull(userServiceClient.listUsers(userId, 10));
+    }
+
     @Test
     void testUserDTO() {
         UserServiceClient.UserDTO dto = new UserServiceClient.UserDTO();
         dto.setId(userId);
         dto.setEmail("test@example.com");
         dto.setName("Test User");
+        dto.setRole("ADMIN");
 
         assertEquals(userId, dto.getId());
+        assertEquals("ADMIN", dto.getRole());
         assertEquals("test@example.com", dto.getEmail());
         assertEquals("Test User", dto.getName());
     }
-}
 
+    private void useMockWebClient() {
+        ReflectionTestUtils.setField(userServiceClient, "webClient", webClient);
+        ReflectionTestUtils.setField(userServiceClient, "sharedWebClient", webClient);
+    }
+
+    /** Swaps the named client's transport for one that records each request and answers with the user. */
+    private void captureRequests(String field, List<ClientRequest> requests) {
+        WebClient client = (WebClient) ReflectionTestUtils.getField(userServiceClient, field);
+        ExchangeFunction exchange = request -> {
+            requests.add(request);
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body("{\"id\":\"" + userId + "\"}")
+                    .build());
+        };
+        ReflectionTestUtils.setField(userServiceClient, field, client.mutate().exchangeFunction(exchange).build());
+    }
+
+    private void stubGet(Mono<UserServiceClient.UserDTO> response) {
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersUriSpec.uri(anyString(), any(UUID.class))).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.bodyToMono(UserServiceClient.UserDTO.class)).thenReturn(response);
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", UserServiceClient.CACHE_NAME)
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+}
@@ -10,11 +10,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -43,10 +45,12 @@ class TransactionEventConsumerTest {
 
         senderWallet = new Wallet();
         senderWallet.setId(senderWalletId);
+        senderWallet.setUserId(UUID.randomUUID());
         senderWallet.setBalance(1000.0);
 
         receiverWallet = new Wallet();
         receiverWallet.setId(receiverWalletId);
+        receiverWallet.setUserId(UUID.randomUUID());
         receiverWallet.setBalance(500.0);
     }
 
@@ -62,13 +66,13 @@ class TransactionEventConsumerTest {
         when(walletRepo.findById(senderWalletId)).thenReturn(Optional.of(senderWallet));
         when(walletRepo.findById(receiverWalletId)).thenReturn(Optional.of(receiverWallet));
         when(walletRepo.save(any(Wallet.class))).thenReturn(senderWallet);
-        doNothing().when(transactionEventPublisher).publishTransactionCompleted(any(), any(), any());
+        doNothing().when(transactionEventPublisher).publishTransactionCompleted(any(), any(), any(), any());
 
         assertDoesNotThrow(() -> transactionEventConsumer.handleOtpVerified(event));
 
         assertEquals(1100.0, senderWallet.getBalance());
         verify(walletRepo).save(senderWallet);
-        verify(transactionEventPublisher).publishTransactionCompleted(eq(transactionId), eq("SUCCESS"), any());
+        verify(transactionEventPublisher).publishTransactionCompleted(eq(transactionId), eq("SUCCESS"), any(), any());
     }
 
     @Test
@@ -83,13 +87,13 @@ class TransactionEventConsumerTest {
         when(walletRepo.findById(senderWalletId)).thenReturn(Optional.of(senderWallet));
         when(walletRepo.findById(receiverWalletId)).thenReturn(Optional.of(receiverWallet));
         when(walletRepo.save(any(Wallet.class))).thenReturn(senderWallet);
-        doNothing().when(transactionEventPublisher).publishTransactionCompleted(any(), any(), any());
+        doNothing().when(transactionEventPublisher).publishTransactionCompleted(any(), any(), any(), any());
 
         assertDoesNotThrow(() -> transactionEventConsumer.handleOtpVerified(event));
 
         assertEquals(900.0, senderWallet.getBalance());
         verify(walletRepo).save(senderWallet);
-        verify(transactionEventPublisher).publishTransactionCompleted(eq(transactionId), eq("SUCCESS"), any());
+        verify(transactionEventPublisher).publishTransactionCompleted(eq(transactionId), eq("SUCCESS"), any(), any());
     }
 
     @Test
@@ -103,11 +107,11 @@ class TransactionEventConsumerTest {
 
         when(walletRepo.findById(senderWalletId)).thenReturn(Optional.of(senderWallet));
         when(walletRepo.findById(receiverWalletId)).thenReturn(Optional.of(receiverWallet));
-        doNothing().when(transactionEventPublisher).publishTransactionCompleted(any(), any(), any());
+        doNothing().when(transactionEventPublisher).publishTransactionCompleted(any(), any(), any(), any());
 
         assertDoesNotThrow(() -> transactionEventConsumer.handleOtpVerified(event));
 
-        verify(transactionEventPublisher, times(2)).publishTransactionCompleted(eq(transactionId), eq("FAILED"), any());
+        verify(transactionEventPublisher, times(2)).publishTransactionCompleted(eq(transactionId), eq("FAILED"), any(), any());
     }
 
     @Test
@@ -122,7 +126,7 @@ class TransactionEventConsumerTest {
         when(walletRepo.findById(senderWalletId)).thenReturn(Optional.of(senderWallet));
         when(walletRepo.findById(receiverWalletId)).thenReturn(Optional.of(receiverWallet));
         when(walletRepo.save(any(Wallet.class))).thenReturn(senderWallet);
-        doNothing().when(transactionEventPublisher).publishTransactionCompleted(any(), any(), any());
+        doNothing().when(transactionEventPublisher).publishTransactionCompleted(any(), any(), any(), any());
 
         assertDoesNotThrow(() -> transactionEventConsumer.handleOtpVerified(event));
 
@@ -130,7 +134,8 @@ class TransactionEventConsumerTest {
         assertEquals(600.0, receiverWallet.getBalance());
         verify(walletRepo).save(senderWallet);
         verify(walletRepo).save(receiverWallet);
-        verify(transactionEventPublisher).publishTransactionCompleted(eq(transactionId), eq("SUCCESS"), any());
+        verify(transactionEventPublisher).publishTransactionCompleted(eq(transactionId), eq("SUCCESS"), any(),
+                eq(List.of(senderWallet.getUserId(), receiverWallet.getUserId())));
     }
 
     @Test
@@ -144,11 +149,11 @@ class TransactionEventConsumerTest {
 
         when(walletRepo.findById(senderWalletId)).thenReturn(Optional.of(senderWallet));
         when(walletRepo.findById(receiverWalletId)).thenReturn(Optional.of(receiverWallet));
-        doNothing().when(transactionEventPublisher).publishTransactionCompleted(any(), any(), any());
+        doNothing().when(transactionEventPublisher).publishTransactionCompleted(any(), any(), any(), any());
 
         assertDoesNotThrow(() -> transactionEventConsumer.handleOtpVerified(event));
 
-        verify(transactionEventPublisher, times(2)).publishTransactionCompleted(eq(transactionId), eq("FAILED"), any());
+        verify(transactionEventPublisher, times(2)).publishTransactionCompleted(eq(transactionId), eq("FAILED"), any(), any());
     }
 
     @Test
@@ -161,11 +166,11 @@ class TransactionEventConsumerTest {
         event.setTransactionType("CREDIT");
 
         when(walletRepo.findById(senderWalletId)).thenReturn(Optional.empty());
-        doNothing().when(transactionEventPublisher).publishTransactionCompleted(any(), any(), any());
+        doNothing().when(transactionEventPublisher).publishTransactionCompleted(any(), any(), any(), any());
 
         assertDoesNotThrow(() -> transactionEventConsumer.handleOtpVerified(event));
 
-        verify(transactionEventPublisher).publishTransactionCompleted(eq(transactionId), eq("FAILED"), any());
+        verify(transactionEventPublisher).publishTransactionCompleted(eq(transactionId), eq("FAILED"), any(), any());
     }
 
     @Test
@@ -179,11 +184,11 @@ class TransactionEventConsumerTest {
 
         when(walletRepo.findById(senderWalletId)).thenReturn(Optional.of(senderWallet));
         when(walletRepo.findById(receiverWalletId)).thenReturn(Optional.empty());
-        doNothing().when(transactionEventPublisher).publishTransactionCompleted(any(), any(), any());
+        doNothing().when(transactionEventPublisher).publishTransactionCompleted(any(), any(), any(), any());
 
         assertDoesNotThrow(() -> transactionEventConsumer.handleOtpVerified(event));
 
-        verify(transactionEventPublisher).publishTransactionCompleted(eq(transactionId), eq("FAILED"), any());
+        verify(transactionEventPublisher).publishTransactionCompleted(eq(transactionId), eq("FAILED"), any(), any());
     }
 
     @Test
@@ -196,11 +201,11 @@ class TransactionEventConsumerTest {
         event.setTransactionType("CREDIT");
 
         when(walletRepo.findById(senderWalletId)).thenThrow(new RuntimeException("Database error"));
-        doNothing().when(transactionEventPublisher).publishTransactionCompleted(any(), any(), any());
+        doNothing().when(transactionEventPublisher).publishTransactionCompleted(any(), any(), any(), any());
 
         assertDoesNotThrow(() -> transactionEventConsumer.handleOtpVerified(event));
 
-        verify(transactionEventPublisher).publishTransactionCompleted(eq(transactionId), eq("FAILED"), any());
+        verify(transactionEventPublisher).publishTransactionCompleted(eq(transactionId), eq("FAILED"), any(), any());
     }
 }
 
@@ -1,16 +1,24 @@
 package com.example.wallet_service.Service;
 
 import com.example.wallet_service.Config.RabbitMQConfig;
+import com.example.wallet_service.DTO.TransactionCompletedEvent;
+import com.example.wallet_service.Exceptions.DeadlineExceededException;
+import com.example.wallet_service.Util.RequestDeadline;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.List;
 import java.util.UUID;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -61,10 +69,64 @@ class TransactionEventPublisherTest {
         transactionEventPublisher.publishTransactionCompleted(
                 transactionId,
                 "SUCCESS",
-                "Transaction completed"
+                "Transaction completed",
+                List.of(userId)
         );
 
         verify(rabbitTemplate).convertAndSend(eq(RabbitMQConfig.TRANSACTION_COMPLETED_QUEUE), any(Object.class));
     }
-}
 
+    @Test
+    void testPublishTransactionCompleted_InsideTransaction_SentAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            transactionEventPublisher.publishTransactionCompleted(transactionId, "SUCCESS", "done", List.of(userId));
+            verifyNoInteractions(rabbitTemplate);
+
+            completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        ArgumentCaptor<TransactionCompletedEvent> event = ArgumentCaptor.forClass(TransactionCompletedEvent.class);
+        verify(rabbitTemplate).convertAndSend(eq(RabbitMQConfig.TRANSACTION_COMPLETED_QUEUE), event.capture());
+        assertEquals("SUCCESS", event.getValue().getStatus());
+        assertEquals(List.of(userId), event.getValue().getUserIds());
+    }
+
+    @Test
+    void testPublishTransactionCompleted_RolledBack_ReportedAsFailed() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            transactionEventPublisher.publishTransactionCompleted(transactionId, "SUCCESS", "done", List.of(userId));
+
+            completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        ArgumentCaptor<TransactionCompletedEvent> event = ArgumentCaptor.forClass(TransactionCompletedEvent.class);
+        verify(rabbitTemplate).convertAndSend(eq(RabbitMQConfig.TRANSACTION_COMPLETED_QUEUE), event.capture());
+        assertEquals("FAILED", event.getValue().getStatus());
+    }
+
+    @Test
+    void testPublishTransactionCreated_DeadlinePassed_NotPublished() {
+        RequestDeadline.set(System.currentTimeMillis() - 1);
+        try {
+            assertThrows(DeadlineExceededException.class, () -> transactionEventPublisher.publishTransactionCreated(
+                    transactionId, userId, senderWalletId, receiverWalletId, 100.0,
+                    "CREDIT", "Credit transaction", "test@example.com"));
+        } finally {
+            RequestDeadline.clear();
+        }
+
+        verifyNoInteractions(rabbitTemplate);
+    }
+
+    private static void completeTransaction(int status) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(status);
+        }
+    }
+}
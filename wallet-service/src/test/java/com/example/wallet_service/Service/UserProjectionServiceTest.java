@@ -0,0 +1,280 @@
+package com.example.wallet_service.Service;
+
+import com.example.wallet_service.Client.UserServiceClient;
+import com.example.wallet_service.DTO.UserChangedEvent;
+import com.example.wallet_service.Model.UserProjection;
+import com.example.wallet_service.Repository.UserProjectionRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserProjectionServiceTest {
+
+    @Mock
+    private UserProjectionRepo userProjectionRepo;
+
+    @Mock
+    private UserServiceClient userServiceClient;
+
+    @InjectMocks
+    private UserProjectionService userProjectionService;
+
+    // Every event in these tests is published in the same millisecond; only the version orders them
+    private static final long PUBLISHED_AT = 1_700_000_000_000L;
+
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+    }
+
+    @Test
+    void testHandleUserChanged_CreatesProjection() {
+        when(userProjectionRepo.findById(userId)).thenReturn(Optional.empty());
+
+        userProjectionService.handleUserChanged(event("CREATED", 100L));
+
+        ArgumentCaptor<UserProjection> saved = ArgumentCaptor.forClass(UserProjection.class);
+        verify(userProjectionRepo).save(saved.capture());
+        assertEquals(userId, saved.getValue().getId());
+        assertEquals("Test User", saved.getValue().getName());
+        assertEquals("test@example.com", saved.getValue().getEmail());
+        assertTrue(saved.getValue().isActive());
+        assertEquals(100L, saved.getValue().getVersion());
+        verify(userServiceClient).invalidate(userId);
+    }
+
+    @Test
+    void testHandleUserChanged_IgnoresStaleEvent() {
+        UserProjection current = new UserProjection(userId, "New Name", "new@example.com", true, 200L, Instant.now());
+        when(userProjectionRepo.findById(userId)).thenReturn(Optional.of(current));
+
+        userProjectionService.handleUserChanged(event("UPDATED", 150L));
+
+        verify(userProjectionRepo, never()).save(any());
+        assertEquals("New Name", current.getName());
+    }
+
+    @Test
+    void testHandleUserChanged_SameMillisecondUpdateApplied() {
+        UserProjection current = new UserProjection(userId, "Old Name", "old@example.com", true, 1L, Instant.now());
+        when(userProjectionRepo.findById(userId)).thenReturn(Optional.of(current));
+
+        userProjectionService.handleUserChanged(event("UPDATED", 2L));
+
+        verify(userProjectionRepo).save(current);
+        assertEquals("Test User", current.getName());
+        assertEquals(2L, current.getVersion());
+    }
+
+    @Test
+    void testHandleUserChanged_DeleteLeavesTombstone() {
+        UserProjection current = new UserProjection(userId, "Test User", "test@example.com", true, 100L, Instant.now());
+        when(userProjectionRepo.findById(userId)).thenReturn(Optional.of(current));
+
+        UserChangedEvent deleted = new UserChangedEvent(userId, "DELETED", null, null, false, 300L, PUBLISHED_AT);
+        userProjectionService.handleUserChanged(deleted);
+
+        verify(userProjectionRepo).save(current);
+        assertFalse(current.isActive());
+        assertEquals(300L, current.getVersion());
+        assertEquals("test@example.com", current.getEmail());
+    }
+
+    @Test
+    void testHandleUserChanged_WithoutUserIdIgnored() {
+        userProjectionService.handleUserChanged(new UserChangedEvent());
+
+        verifyNoInteractions(userProjectionRepo);
+    }
+
+    @Test
+    void testUserExists_FromProjection() {
+        when(userProjectionRepo.findById(userId))
+                .thenReturn(Optional.of(new UserProjection(userId, "Test User", "test@example.com", true, 100L, Instant.now())));
+
+        assertTrue(userProjectionService.userExists(userId));
+        verifyNoInteractions(userServiceClient);
+    }
+
+    @Test
+    void testUserExists_DeletedUser() {
+        when(userProjectionRepo.findById(userId))
+                .thenReturn(Optional.of(new UserProjection(userId, "Test User", "test@example.com", false, 100L, Instant.now())));
+
+        assertFalse(userProjectionService.userExists(userId));
+        verifyNoInteractions(userServiceClient);
+    }
+
+    @Test
+    void testUserExists_MissFallsBackAndKeepsCopy() {
+        when(userProjectionRepo.findById(userId)).thenReturn(Optional.empty());
+        when(userServiceClient.getUserDetails(userId)).thenReturn(userDTO(userId));
+        when(userProjectionRepo.findAllById(anyIterable())).thenReturn(List.of());
+
+        assertTrue(userProjectionService.userExists(userId));
+
+        ArgumentCaptor<List<UserProjection>> saved = ArgumentCaptor.forClass(List.class);
+        verify(userProjectionRepo).saveAll(saved.capture());
+        assertEquals(1, saved.getValue().size());
+        assertEquals(userId, saved.getValue().get(0).getId());
+        assertEquals(0L, saved.getValue().get(0).getVersion());
+    }
+
+    @Test
+    void testUserExists_UnknownUser() {
+        when(userProjectionRepo.findById(userId)).thenReturn(Optional.empty());
+        when(userServiceClient.getUserDetails(userId)).thenReturn(null);
+
+        assertFalse(userProjectionService.userExists(userId));
+        verify(userProjectionRepo, never()).saveAll(any());
+    }
+
+    @Test
+    void testFindUser_StaleRowRefreshedFromUserService() {
+        UserProjection stale = new UserProjection(userId, "Old Name", "old@example.com", true, 100L,
+                Instant.now().minus(Duration.ofHours(1)));
+        when(userProjectionRepo.findById(userId)).thenReturn(Optional.of(stale));
+        UserServiceClient.UserDTO current = userDTO(userId);
+        current.setEmail("new@example.com");
+        when(userServiceClient.findUser(userId)).thenReturn(Optional.of(current));
+        when(userProjectionRepo.refresh(eq(userId), eq(100L), eq("Test User"), eq("new@example.com"), eq(true),
+                eq(100L), any(Instant.class))).thenReturn(1);
+
+        UserServiceClient.UserDTO user = userProjectionService.findUser(userId);
+
+        assertEquals("new@example.com", user.getEmail());
+    }
+
+    @Test
+    void testFindUser_StaleRowOfDeletedUserBecomesTombstone() {
+        UserProjection stale = new UserProjection(userId, "Test User", "test@example.com", true, 100L, null);
+        when(userProjectionRepo.findById(userId)).thenReturn(Optional.of(stale));
+        when(userServiceClient.findUser(userId)).thenReturn(Optional.empty());
+        when(userProjectionRepo.refresh(eq(userId), eq(100L), any(), any(), eq(false),
+                eq(UserProjectionService.DELETED_VERSION), any(Instant.class))).thenReturn(1);
+
+        assertFalse(userProjectionService.userExists(userId));
+    }
+
+    @Test
+    void testFindUser_StaleRowServedWhenUserServiceFails() {
+        UserProjection stale = new UserProjection(userId, "Test User", "test@example.com", true, 100L,
+                Instant.now().minus(Duration.ofHours(1)));
+        when(userProjectionRepo.findById(userId)).thenReturn(Optional.of(stale));
+        when(userServiceClient.findUser(userId)).thenThrow(new IllegalStateException("connection refused"));
+
+        assertEquals("test@example.com", userProjectionService.findUser(userId).getEmail());
+        verify(userProjectionRepo, never()).refresh(any(), anyLong(), any(), any(), anyBoolean(), anyLong(), any());
+    }
+
+    @Test
+    void testFindUser_StaleRowKeepsNewerEvent() {
+        UserProjection stale = new UserProjection(userId, "Test User", "test@example.com", true, 100L,
+                Instant.now().minus(Duration.ofHours(1)));
+        UserProjection afterEvent = new UserProjection(userId, "Test User", "event@example.com", true, 200L, Instant.now());
+        when(userProjectionRepo.findById(userId)).thenReturn(Optional.of(stale), Optional.of(afterEvent));
+        when(userServiceClient.findUser(userId)).thenReturn(Optional.of(userDTO(userId)));
+        when(userProjectionRepo.refresh(eq(userId), eq(100L), any(), any(), eq(true), eq(100L), any(Instant.class)))
+                .thenReturn(0);
+
+        assertEquals("event@example.com", userProjectionService.findUser(userId).getEmail());
+    }
+
+    @Test
+    void testHandleUserChanged_TombstoneFromRecheckIsFinal() {
+        UserProjection tombstone = new UserProjection(userId, "Test User", "test@example.com", false,
+                UserProjectionService.DELETED_VERSION, Instant.now());
+        when(userProjectionRepo.findById(userId)).thenReturn(Optional.of(tombstone));
+
+        userProjectionService.handleUserChanged(event("UPDATED", 500L));
+
+        verify(userProjectionRepo, never()).save(any());
+    }
+
+    @Test
+    void testUserExists_NullId() {
+        assertFalse(userProjectionService.userExists(null));
+        verifyNoInteractions(userProjectionRepo, userServiceClient);
+    }
+
+    @Test
+    void testBootstrap_CopiesEveryPage() {
+        UUID secondId = UUID.randomUUID();
+        UUID knownId = UUID.randomUUID();
+        UserServiceClient.UserPage first = page(List.of(userDTO(userId), userDTO(knownId)), userId, true);
+        UserServiceClient.UserPage second = page(List.of(userDTO(secondId)), null, false);
+        when(userServiceClient.listUsers(null, UserProjectionService.BOOTSTRAP_PAGE_SIZE)).thenReturn(first);
+        when(userServiceClient.listUsers(userId, UserProjectionService.BOOTSTRAP_PAGE_SIZE)).thenReturn(second);
+        when(userProjectionRepo.findAllById(anyIterable()))
+                .thenReturn(List.of(new UserProjection(knownId, "Known", "known@example.com", true, 100L, Instant.now())))
+                .thenReturn(List.of());
+
+        userProjectionService.bootstrap();
+
+        ArgumentCaptor<List<UserProjection>> saved = ArgumentCaptor.forClass(List.class);
+        verify(userProjectionRepo, times(2)).saveAll(saved.capture());
+        assertEquals(userId, saved.getAllValues().get(0).get(0).getId());
+        assertEquals(1, saved.getAllValues().get(0).size());
+        assertEquals(secondId, saved.getAllValues().get(1).get(0).getId());
+    }
+
+    @Test
+    void testBootstrap_StopsOnError() {
+        when(userServiceClient.listUsers(null, UserProjectionService.BOOTSTRAP_PAGE_SIZE)).thenReturn(null);
+
+        userProjectionService.bootstrap();
+
+        verify(userProjectionRepo, never()).saveAll(any());
+    }
+
+    @Test
+    void testBootstrapIfEmpty_SkipsWhenPopulated() {
+        when(userProjectionRepo.count()).thenReturn(3L);
+
+        userProjectionService.bootstrapIfEmpty();
+
+        verify(userServiceClient, never()).listUsers(any(), anyInt());
+    }
+
+    private UserChangedEvent event(String eventType, long version) {
+        return new UserChangedEvent(userId, eventType, "Test User", "test@example.com", true, version, PUBLISHED_AT);
+    }
+
+    private static UserServiceClient.UserDTO userDTO(UUID id) {
+        UserServiceClient.UserDTO user = new UserServiceClient.UserDTO();
+        user.setId(id);
+        user.setName("Test User");
+        user.setEmail("test@example.com");
+        return user;
+    }
+
+    private static UserServiceClient.UserPage page(List<UserServiceClient.UserDTO> content, UUID next, boolean hasNext) {
+        UserServiceClient.UserPage page = new UserServiceClient.UserPage();
+        page.setContent(content);
+        page.setNextCursor(next);
+        page.setHasNext(hasNext);
+        return page;
+    }
+}
@@ -1,6 +1,5 @@
 package com.example.wallet_service.Service;
 
-import com.example.wallet_service.Client.UserServiceClient;
 import com.example.wallet_service.DTO.*;
 import com.example.wallet_service.Exceptions.DuplicateResourceException;
 import com.example.wallet_service.Exceptions.ResourceNotFoundException;
@@ -36,7 +35,7 @@ class WalletServiceTest {
     private PasswordEncoder passwordEncoder;
 
     @Mock
-    private UserServiceClient userServiceClient;
+    private UserProjectionService userProjectionService;
 
     @Mock
     private TransactionEventPublisher transactionEventPublisher;
@@ -187,7 +186,7 @@ class WalletServiceTest {
         dto.setBalance(500.0);
         dto.setPasscode("1234");
 
-        when(userServiceClient.validateUser(userId)).thenReturn(true);
+        when(userProjectionService.userExists(userId)).thenReturn(true);
         when(walletRepo.existsByAccountNumber("9876543210")).thenReturn(false);
         when(passwordEncoder.encode("1234")).thenReturn("$2a$10$hashed");
         when(walletRepo.save(any(Wallet.class))).thenAnswer(invocation -> {
@@ -206,7 +205,7 @@ class WalletServiceTest {
     void testCreateWallet_UserNotFound() {
         WalletCreateDTO dto = new WalletCreateDTO();
         dto.setUserId(userId);
-        when(userServiceClient.validateUser(userId)).thenReturn(false);
+        when(userProjectionService.userExists(userId)).thenReturn(false);
 
         assertThrows(ResourceNotFoundException.class, () -> walletService.createWallet(dto));
     }
@@ -216,7 +215,7 @@ class WalletServiceTest {
         WalletCreateDTO dto = new WalletCreateDTO();
         dto.setUserId(userId);
         dto.setAccountNumber("1234567890");
-        when(userServiceClient.validateUser(userId)).thenReturn(true);
+        when(userProjectionService.userExists(userId)).thenReturn(true);
         when(walletRepo.existsByAccountNumber("1234567890")).thenReturn(true);
 
         assertThrows(DuplicateResourceException.class, () -> walletService.createWallet(dto));
@@ -230,7 +229,7 @@ class WalletServiceTest {
         dto.setAccountNumber("1234567890");
         dto.setBalance(-100.0);
         dto.setPasscode("1234");
-        when(userServiceClient.validateUser(userId)).thenReturn(true);
+        when(userProjectionService.userExists(userId)).thenReturn(true);
         lenient().when(walletRepo.existsByAccountNumber(anyString())).thenReturn(false);
 
         assertThrows(ValidationException.class, () -> walletService.createWallet(dto));
@@ -244,7 +243,7 @@ class WalletServiceTest {
         dto.setAccountNumber("1234567890");
         dto.setBalance(100.0);
         dto.setPasscode("123");
-        when(userServiceClient.validateUser(userId)).thenReturn(true);
+        when(userProjectionService.userExists(userId)).thenReturn(true);
         lenient().when(walletRepo.existsByAccountNumber(anyString())).thenReturn(false);
 
         assertThrows(ValidationException.class, () -> walletService.createWallet(dto));
@@ -258,7 +257,7 @@ class WalletServiceTest {
         dto.setAccountNumber("1234567890");
         dto.setBalance(100.0);
         dto.setPasscode(null);
-        when(userServiceClient.validateUser(userId)).thenReturn(true);
+        when(userProjectionService.userExists(userId)).thenReturn(true);
         lenient().when(walletRepo.existsByAccountNumber(anyString())).thenReturn(false);
 
         assertThrows(ValidationException.class, () -> walletService.createWallet(dto));
@@ -367,7 +366,7 @@ class WalletServiceTest {
         when(securityUtil.getCurrentUserId()).thenReturn(userId);
         when(securityUtil.isAdmin()).thenReturn(true);
         when(walletRepo.findByUserId(userId)).thenReturn(Arrays.asList(wallet));
-        when(userServiceClient.validateUser(newUserId)).thenReturn(true);
+        when(userProjectionService.userExists(newUserId)).thenReturn(true);
         when(walletRepo.save(any(Wallet.class))).thenReturn(wallet);
 
         walletService.updateWallet(dto);